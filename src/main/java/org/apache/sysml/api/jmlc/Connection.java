@@ -206,6 +206,21 @@ public class Connection implements Closeable
 		return new PreparedScript(rtprog, inputs, outputs);
 	}
 	
+	/**
+	 * Prepares (compiles) a transform specification and its meta data into a 
+	 * pipeline for row-at-a-time transformapply and decode.
+	 * 
+	 * @param spec transform specification as json string
+	 * @param meta transform meta data (e.g., see readTransformMetaDataFromFile)
+	 * @return TransformPipeline object representing the compiled transform
+	 * @throws DMLException if DMLException occurs
+	 */
+	public TransformPipeline prepareTransformPipeline(String spec, FrameBlock meta) 
+		throws DMLException 
+	{
+		return new TransformPipeline(spec, meta);
+	}
+	
 	/**
 	 * Close connection to SystemML, which clears the
 	 * thread-local DML and compiler configurations.
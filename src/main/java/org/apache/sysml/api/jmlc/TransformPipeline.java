@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.api.jmlc;
+
+import java.util.Arrays;
+
+import org.apache.sysml.api.DMLException;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.transform.decode.Decoder;
+import org.apache.sysml.runtime.transform.decode.DecoderFactory;
+import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+
+/**
+ * A TransformPipeline object represents a transform specification compiled
+ * with its transform meta data, for row-at-a-time transformapply (encode) and
+ * decode in scoring scenarios. In contrast to transformapply and decode in
+ * prepared scripts, rows are directly encoded and decoded without intermediate
+ * frame and matrix blocks, and all buffers are allocated once and reused.
+ *
+ * Note that the returned rows are reused across calls, and hence, a pipeline
+ * must not be shared across threads (use one pipeline per thread).
+ *
+ */
+public class TransformPipeline
+{
+	private final Encoder _encoder;
+	private final Decoder _decoder;
+	private final int _clen;
+
+	//reused row buffers
+	private final double[] _encIn;
+	private final double[] _encOut;
+	private final Object[] _decOut;
+
+	/**
+	 * Creates a transform pipeline for the given specification and transform
+	 * meta data, where the column names are taken from the meta data.
+	 *
+	 * @param spec transform specification as json string
+	 * @param meta transform meta data
+	 * @throws DMLException if DMLException occurs
+	 */
+	public TransformPipeline(String spec, FrameBlock meta)
+		throws DMLException
+	{
+		this(spec, meta, null);
+	}
+
+	/**
+	 * Creates a transform pipeline for the given specification and transform
+	 * meta data, where the column names are taken from the meta data.
+	 *
+	 * @param spec transform specification as json string
+	 * @param meta transform meta data
+	 * @param schema value types of decoded rows (default: string and double for pass-through)
+	 * @throws DMLException if DMLException occurs
+	 */
+	public TransformPipeline(String spec, FrameBlock meta, ValueType[] schema)
+		throws DMLException
+	{
+		String[] colnames = meta.getColumnNames();
+		_clen = meta.getNumColumns();
+		_encoder = EncoderFactory.createEncoder(spec, colnames, _clen, meta);
+		_decoder = DecoderFactory.createDecoder(spec, colnames, schema, meta);
+
+		//allocate reused buffers (num columns before and after dummy coding)
+		_encIn = new double[_clen];
+		_encOut = new double[Math.max(_encoder.getNumCols(), _clen)];
+		_decOut = new Object[_clen];
+	}
+
+	/**
+	 * Obtain the number of columns of input rows to encode.
+	 *
+	 * @return number of input columns
+	 */
+	public int getNumInputCols() {
+		return _clen;
+	}
+
+	/**
+	 * Obtain the number of columns of encoded rows,
+	 * e.g., including the columns of dummy coding.
+	 *
+	 * @return number of output columns
+	 */
+	public int getNumOutputCols() {
+		return _encoder.getNumCols();
+	}
+
+	/**
+	 * Encodes (transformapply) a single row given as string array.
+	 *
+	 * @param row input row
+	 * @return encoded row (reused across calls), or null if the row is omitted
+	 */
+	public double[] encode(String[] row) {
+		return encode((Object[])row);
+	}
+
+	/**
+	 * Encodes (transformapply) a single row given as object array of
+	 * strings, doubles, longs, or booleans.
+	 *
+	 * @param row input row
+	 * @return encoded row (reused across calls), or null if the row is omitted
+	 */
+	public double[] encode(Object[] row) {
+		if( row.length != _clen )
+			throw new RuntimeException("Invalid row length: "+row.length+" (expected "+_clen+").");
+		Arrays.fill(_encIn, 0);
+		return _encoder.applyRow(row, _encIn, _encOut);
+	}
+
+	/**
+	 * Decodes a single encoded row (e.g., model outputs) into a row
+	 * of the original value domain.
+	 *
+	 * @param row encoded row
+	 * @return decoded row (reused across calls)
+	 */
+	public Object[] decode(double[] row) {
+		return _decoder.decodeRow(row, _decOut);
+	}
+}
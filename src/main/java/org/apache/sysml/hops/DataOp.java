@@ -442,8 +442,9 @@ public class DataOp extends Hop
 		{
 			checkAndSetForcedPlatform();
 
-			//additional check for write only
-			if( getDataType()==DataType.SCALAR || (getDataType()==DataType.FRAME && REMOTE==ExecType.MR) )
+			//additional check for write only (no libsvm write in MR)
+			if( getDataType()==DataType.SCALAR || (getDataType()==DataType.FRAME && REMOTE==ExecType.MR)
+				|| (_inFormat==FileFormatTypes.LIBSVM && REMOTE==ExecType.MR) )
 				_etypeForced = ExecType.CP;
 			
 			if( _etypeForced != null ) 			
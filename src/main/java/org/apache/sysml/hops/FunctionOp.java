@@ -21,11 +21,13 @@ package org.apache.sysml.hops;
 
 import java.util.ArrayList;
 
+import org.apache.sysml.hops.Hop.MultiThreadedHop;
 import org.apache.sysml.lops.FunctionCallCP;
 import org.apache.sysml.lops.Lop;
 import org.apache.sysml.lops.LopsException;
 import org.apache.sysml.lops.LopProperties.ExecType;
 import org.apache.sysml.parser.Expression.DataType;
+import org.apache.sysml.parser.Expression.ParameterizedBuiltinFunctionOp;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.controlprogram.Program;
 import org.apache.sysml.runtime.controlprogram.parfor.opt.CostEstimatorHops;
@@ -36,7 +38,7 @@ import org.apache.sysml.runtime.controlprogram.parfor.opt.CostEstimatorHops;
  * Note: Currently, we support expressions in function arguments but no function calls
  * in expressions.
  */
-public class FunctionOp extends Hop
+public class FunctionOp extends Hop implements MultiThreadedHop
 {
 	
 	public static String OPSTRING = "extfunct";
@@ -55,6 +57,8 @@ public class FunctionOp extends Hop
 	private String[] _outputs = null; 
 	private ArrayList<Hop> _outputHops = null;
 	
+	private int _maxNumThreads = -1; //-1 for unlimited
+	
 	private FunctionOp() {
 		//default constructor for clone
 	}
@@ -108,6 +112,39 @@ public class FunctionOp extends Hop
 	{
 		return _type;
 	}
+	
+	/**
+	 * Indicates if this function call is a multi-return parameterized builtin
+	 * function of the given opcode (e.g., transformencode).
+	 * 
+	 * @param op parameterized builtin function opcode
+	 * @return true if builtin function call of the given opcode
+	 */
+	public boolean isBuiltinFunction(ParameterizedBuiltinFunctionOp op) {
+		return _type == FunctionType.MULTIRETURN_BUILTIN 
+			&& op.toString().equalsIgnoreCase(_fname);
+	}
+	
+	/**
+	 * Indicates if this function call is a multi-threaded builtin function,
+	 * i.e., if the degree of parallelism is passed to the function call.
+	 * 
+	 * @return true if multi-threaded builtin function call
+	 */
+	public boolean isMultiThreadedBuiltinFunction() {
+		//column-parallel build and row-partitioned parallel apply
+		return isBuiltinFunction(ParameterizedBuiltinFunctionOp.TRANSFORMENCODE);
+	}
+	
+	@Override
+	public void setMaxNumThreads( int k ) {
+		_maxNumThreads = k;
+	}
+	
+	@Override
+	public int getMaxNumThreads() {
+		return _maxNumThreads;
+	}
 
 	@Override
 	public boolean allowsAllExecTypes() {
@@ -221,6 +258,8 @@ public class FunctionOp extends Hop
 		
 		//construct function call
 		FunctionCallCP fcall = new FunctionCallCP( tmp, _fnamespace, _fname, _outputs, _outputHops, et );
+		if( et == ExecType.CP && isMultiThreadedBuiltinFunction() )
+			fcall.setNumThreads(OptimizerUtils.getConstrainedNumThreads(_maxNumThreads));
 		setLineNumbers( fcall );
 		setLops( fcall );
 	
@@ -244,7 +283,7 @@ public class FunctionOp extends Hop
 		if ( getFunctionType() == FunctionType.MULTIRETURN_BUILTIN ) {
 			
 			// check if there is sufficient memory to execute this function
-			if( getFunctionName().equalsIgnoreCase("transformencode") ) {
+			if( isBuiltinFunction(ParameterizedBuiltinFunctionOp.TRANSFORMENCODE) ) {
 				_etype = ((_etypeForced==ExecType.SPARK 
 					|| (getMemEstimate() >= OptimizerUtils.getLocalMemBudget()
 						&& OptimizerUtils.isSparkExecutionMode())) ? ExecType.SPARK : ExecType.CP);
@@ -287,6 +326,7 @@ public class FunctionOp extends Hop
 		ret._outputs = _outputs.clone();
 		if( _outputHops != null )
 			ret._outputHops = (ArrayList<Hop>) _outputHops.clone();
+		ret._maxNumThreads = _maxNumThreads;
 		
 		return ret;
 	}
@@ -1064,7 +1064,7 @@ public abstract class Hop
 	};
 
 	public enum FileFormatTypes {
-		TEXT, BINARY, MM, CSV
+		TEXT, BINARY, MM, CSV, LIBSVM
 	};
 
 	public enum DataOpTypes {
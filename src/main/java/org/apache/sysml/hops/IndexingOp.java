@@ -21,6 +21,8 @@ package org.apache.sysml.hops;
 
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.hops.AggBinaryOp.SparkAggType;
+import org.apache.sysml.hops.Hop.DataOpTypes;
+import org.apache.sysml.hops.Hop.FileFormatTypes;
 import org.apache.sysml.hops.rewrite.HopRewriteUtils;
 import org.apache.sysml.lops.Aggregate;
 import org.apache.sysml.lops.Data;
@@ -171,6 +173,7 @@ public class IndexingOp extends Hop
 							input.constructLops(), getInput().get(1).constructLops(), getInput().get(2).constructLops(),
 							getInput().get(3).constructLops(), getInput().get(4).constructLops(), dummy, dummy,
 							getDataType(), getValueType(), et);
+					reindex.setReadPushdown(isReadPushdown());
 					
 					setOutputDimensions(reindex);
 					setLineNumbers(reindex);
@@ -226,7 +229,11 @@ public class IndexingOp extends Hop
 				_outputMemEstimate = lOutMemEst;
 				_memEstimate = getInputOutputSize();				
 			}
-		}		
+		}
+		
+		//no input materialization if pushed into read
+		if( isReadPushdown() )
+			_memEstimate = _outputMemEstimate;
 	}
 	
 	@Override
@@ -345,6 +352,25 @@ public class IndexingOp extends Hop
 		return OptimizerUtils.isIndexingRangeBlockAligned(rl, ru, cl, cu, brlen, bclen);
 	}
 
+	/**
+	 * Indicates if this right indexing can be pushed into the read of its input,
+	 * i.e., if the input is a binary block persistent read (w/o reblock) that is
+	 * not consumed by any other operation. In this case, only the blocks of the
+	 * index range are read and materialized.
+	 * 
+	 * @return true if read pushdown applicable
+	 */
+	public boolean isReadPushdown() {
+		Hop input = getInput().get(0);
+		return OptimizerUtils.ALLOW_INDEXING_READ_PUSHDOWN
+			&& getDataType() == DataType.MATRIX
+			&& input instanceof DataOp 
+			&& ((DataOp)input).getDataOpType() == DataOpTypes.PERSISTENTREAD
+			&& ((DataOp)input).getInputFormatType() == FileFormatTypes.BINARY
+			&& !input.requiresReblock() && input.dimsKnown()
+			&& input.getParent().size() == 1;
+	}
+
 	private long getBlockIndexingExpressionSize(Hop lbound, Hop ubound) 
 	{
 		//NOTE: ensure consistency with isBlockIndexingExpression
@@ -173,6 +173,20 @@ public class OptimizerUtils
 	 */
 	public static boolean ALLOW_LOOP_UPDATE_IN_PLACE = true;
 	
+	/**
+	 * Enables the pushdown of cp right indexing into the read of binary block persistent
+	 * reads, if the read is not consumed by other operations. This avoids reading the
+	 * entire matrix and buffer pool pressure for unused data.
+	 */
+	public static boolean ALLOW_INDEXING_READ_PUSHDOWN = true;
+
+	/**
+	 * Enables the asynchronous write-behind of text outputs (csv, text cell, matrix market)
+	 * for sequential single-file writes, which overlaps the formatting of rows with the
+	 * write of already formatted output buffers.
+	 */
+	public static boolean ALLOW_ASYNC_TEXT_WRITE = true;
+	
 	
 	/**
 	 * Specifies a multiplier computing the degree of parallelism of parallel
@@ -754,7 +768,7 @@ public class OptimizerUtils
 		long bsize = MatrixBlock.estimateSizeOnDisk(rows, cols, nnz);
 		if( oinfo == OutputInfo.TextCellOutputInfo || oinfo == OutputInfo.MatrixMarketOutputInfo )
 			return bsize * 3;
-		else if( oinfo == OutputInfo.CSVOutputInfo )
+		else if( oinfo == OutputInfo.CSVOutputInfo || oinfo == OutputInfo.LIBSVMOutputInfo )
 			return bsize * 2;
 		
 		//unknown output info
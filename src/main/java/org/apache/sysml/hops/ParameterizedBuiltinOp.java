@@ -213,7 +213,6 @@ public class ParameterizedBuiltinOp extends Hop implements MultiThreadedHop
 			case CDF:
 			case INVCDF: 
 			case REPLACE:
-			case TRANSFORMAPPLY: 
 			case TRANSFORMDECODE: 
 			case TRANSFORMMETA: 
 			case TOSTRING: {
@@ -225,6 +224,16 @@ public class ParameterizedBuiltinOp extends Hop implements MultiThreadedHop
 				setLops(pbilop);
 				break;
 			}
+			case TRANSFORMAPPLY: {
+				ExecType et = optFindExecType();
+				int k = OptimizerUtils.getConstrainedNumThreads( _maxNumThreads );
+				ParameterizedBuiltin pbilop = new ParameterizedBuiltin(inputlops,
+						HopsParameterizedBuiltinLops.get(_op), getDataType(), getValueType(), et, k);
+				setOutputDimensions(pbilop);
+				setLineNumbers(pbilop);
+				setLops(pbilop);
+				break;
+			}
 			default:
 				throw new HopsException("Unknown ParamBuiltinOp: "+_op);
 		}
@@ -435,7 +444,8 @@ public class ParameterizedBuiltinOp extends Hop implements MultiThreadedHop
 		
 		if( et == ExecType.CP || et == ExecType.CP_FILE )
 		{
-			ParameterizedBuiltin pbilop = new ParameterizedBuiltin(inputlops,HopsParameterizedBuiltinLops.get(_op), getDataType(), getValueType(), et);
+			int k = OptimizerUtils.getConstrainedNumThreads( _maxNumThreads );
+			ParameterizedBuiltin pbilop = new ParameterizedBuiltin(inputlops,HopsParameterizedBuiltinLops.get(_op), getDataType(), getValueType(), et, k);
 			setOutputDimensions(pbilop);
 			setLineNumbers(pbilop);
 			setLops(pbilop);
@@ -779,8 +789,9 @@ public class ParameterizedBuiltinOp extends Hop implements MultiThreadedHop
 	{
 		if( et == ExecType.CP || et == ExecType.SPARK )
 		{
+			int k = OptimizerUtils.getConstrainedNumThreads( _maxNumThreads );
 			ParameterizedBuiltin pbilop = new ParameterizedBuiltin(inputlops, 
-					HopsParameterizedBuiltinLops.get(_op), getDataType(), getValueType(), et);
+					HopsParameterizedBuiltinLops.get(_op), getDataType(), getValueType(), et, k);
 			setOutputDimensions(pbilop);
 			setLineNumbers(pbilop);
 			setLops(pbilop);
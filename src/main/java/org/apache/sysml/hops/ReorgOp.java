@@ -173,9 +173,9 @@ public class ReorgOp extends Hop implements MultiThreadedHop
 							DataType.MATRIX, getValueType(), et);
 				}
 				else { //CP/SPARK
-
+					int k = OptimizerUtils.getConstrainedNumThreads(_maxNumThreads);
 					rev = new Transform( getInput().get(0).constructLops(), 
-						HopsTransf2Lops.get(op), getDataType(), getValueType(), et);
+						HopsTransf2Lops.get(op), getDataType(), getValueType(), et, k);
 				}
 				
 				setOutputDimensions(rev);
@@ -216,8 +216,9 @@ public class ReorgOp extends Hop implements MultiThreadedHop
 				}
 				else //CP/SPARK
 				{
+					int k = OptimizerUtils.getConstrainedNumThreads(_maxNumThreads);
 					Transform transform1 = new Transform( getInput().get(0).constructLops(), 
-							HopsTransf2Lops.get(op), getDataType(), getValueType(), et);
+							HopsTransf2Lops.get(op), getDataType(), getValueType(), et, k);
 					setOutputDimensions(transform1);
 					setLineNumbers(transform1);
 					
@@ -21,6 +21,7 @@ package org.apache.sysml.hops;
 
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.Hop.MultiThreadedHop;
 import org.apache.sysml.hops.rewrite.HopRewriteUtils;
 import org.apache.sysml.lops.Aggregate;
 import org.apache.sysml.lops.CentralMoment;
@@ -58,7 +59,7 @@ import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
  * however, since there does not exist a real TernaryOp yet - we can leave it as is for now. 
  */
 
-public class TernaryOp extends Hop 
+public class TernaryOp extends Hop implements MultiThreadedHop
 {
 	
 	public static boolean ALLOW_CTABLE_SEQUENCE_REWRITES = true;
@@ -70,6 +71,7 @@ public class TernaryOp extends Hop
 	private boolean _dimInputsPresent = false;
 	private boolean _disjointInputs = false;
 	
+	private int _maxNumThreads = -1; //-1 for unlimited
 	
 	private TernaryOp() {
 		//default constructor for clone
@@ -110,6 +112,16 @@ public class TernaryOp extends Hop
 		return _op;
 	}
 	
+	@Override
+	public void setMaxNumThreads( int k ) {
+		_maxNumThreads = k;
+	}
+	
+	@Override
+	public int getMaxNumThreads() {
+		return _maxNumThreads;
+	}
+	
 	public void setDisjointInputs(boolean flag){
 		_disjointInputs = flag;
 	}
@@ -406,7 +418,8 @@ public class TernaryOp extends Hop
 				inputLops[1] = ((ParameterizedBuiltinOp)getInput().get(1)).getTargetHop().getInput().get(0).constructLops();
 			}
 			
-			Ternary tertiary = new Ternary(inputLops, tertiaryOp, getDataType(), getValueType(), ignoreZeros, et);
+			int k = OptimizerUtils.getConstrainedNumThreads( _maxNumThreads );
+			Ternary tertiary = new Ternary(inputLops, tertiaryOp, getDataType(), getValueType(), ignoreZeros, et, k);
 			
 			tertiary.getOutputParameters().setDimensions(_dim1, _dim2, getRowsInBlock(), getColsInBlock(), -1);
 			tertiary.setAllPositions(this.getBeginLine(), this.getBeginColumn(), this.getEndLine(), this.getEndColumn());
@@ -935,6 +948,7 @@ public class TernaryOp extends Hop
 		ret._op = _op;
 		ret._dimInputsPresent  = _dimInputsPresent;
 		ret._disjointInputs    = _disjointInputs;
+		ret._maxNumThreads     = _maxNumThreads;
 		
 		return ret;
 	}
@@ -33,10 +33,10 @@ import org.apache.sysml.parser.VariableSet;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
 
 /**
- * Rule: Split Hop DAG after CSV reads with unknown size. This is
+ * Rule: Split Hop DAG after CSV/LIBSVM reads with unknown size. This is
  * important to create recompile hooks if format is read from mtd
  * (we are not able to split it on statementblock creation) and 
- * mtd has unknown size (which can only happen for CSV). 
+ * mtd has unknown size (which can only happen for CSV and LIBSVM). 
  * 
  */
 public class RewriteSplitDagUnknownCSVRead extends StatementBlockRewriteRule
@@ -140,12 +140,13 @@ public class RewriteSplitDagUnknownCSVRead extends StatementBlockRewriteRule
 		if( hop.getVisited() == VisitStatus.DONE )
 			return;
 		
-		//collect persistent reads (of type csv, with unknown size)
+		//collect persistent reads (of type csv/libsvm, with unknown size)
 		if( hop instanceof DataOp )
 		{
 			DataOp dop = (DataOp) hop;
 			if(    dop.getDataOpType() == DataOpTypes.PERSISTENTREAD
-				&& dop.getInputFormatType() == FileFormatTypes.CSV
+				&& (dop.getInputFormatType() == FileFormatTypes.CSV 
+					|| dop.getInputFormatType() == FileFormatTypes.LIBSVM)
 				&& !dop.dimsKnown()
 				&& !HopRewriteUtils.hasOnlyWriteParents(dop, true, false)
 				&& !HopRewriteUtils.hasTransformParents(hop) )
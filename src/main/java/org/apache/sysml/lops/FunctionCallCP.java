@@ -37,6 +37,7 @@ public class FunctionCallCP extends Lop
 	private String _fname;
 	private String[] _outputs;
 	private ArrayList<Lop> _outputLops = null;
+	private int _numThreads = -1; //-1 for no thread parameter
 
 	public FunctionCallCP(ArrayList<Lop> inputs, String fnamespace, String fname, String[] outputs, ArrayList<Hop> outputHops, ExecType et) 
 		throws HopsException, LopsException 
@@ -76,6 +77,10 @@ public class FunctionCallCP extends Lop
 		return _outputLops;
 	}
 	
+	public void setNumThreads(int k) {
+		_numThreads = k;
+	}
+	
 	@Override
 	public String toString() {
 		return "function call: " + DMLProgram.constructFunctionKey(_fnamespace, _fname);
@@ -98,6 +103,12 @@ public class FunctionCallCP extends Lop
 			sb.append(_outputs[i]);
 		}
 		
+		//optional degree of parallelism (multi-threaded builtins only)
+		if( _numThreads > 0 ) {
+			sb.append(Lop.OPERAND_DELIMITOR);
+			sb.append(_numThreads);
+		}
+		
 		return sb.toString();
 	}
 	
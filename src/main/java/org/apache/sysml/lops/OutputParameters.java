@@ -31,7 +31,7 @@ public class OutputParameters
 {
 	
 	public enum Format {
-		TEXT, BINARY, MM, CSV
+		TEXT, BINARY, MM, CSV, LIBSVM
 	};
 
 	private boolean _blocked = true;
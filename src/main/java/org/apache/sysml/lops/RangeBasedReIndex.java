@@ -34,6 +34,9 @@ public class RangeBasedReIndex extends Lop
 
 	//optional attribute for spark exec type
 	private SparkAggType _aggtype = SparkAggType.MULTI_BLOCK;
+	
+	//optional attribute for cp exec type (pushdown into binary block read)
+	private boolean _readPushdown = false;
 
 	public RangeBasedReIndex(Lop input, Lop rowL, Lop rowU, Lop colL, Lop colU, Lop rowDim, Lop colDim, 
 			DataType dt, ValueType vt, ExecType et, boolean forleft)
@@ -99,6 +102,10 @@ public class RangeBasedReIndex extends Lop
 		forLeftIndexing=forleft;
 	}
 	
+	public void setReadPushdown(boolean flag) {
+		_readPushdown = flag;
+	}
+	
 	private String getOpcode() {
 		if(forLeftIndexing)
 			return "rangeReIndexForLeft";
@@ -151,6 +158,12 @@ public class RangeBasedReIndex extends Lop
 			sb.append( _aggtype );	
 		}
 		
+		//in case of cp, we compile the optional read pushdown flag into the instruction.
+		if( getExecType() == ExecType.CP && _readPushdown ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _readPushdown );
+		}
+		
 		return sb.toString();
 	}
 
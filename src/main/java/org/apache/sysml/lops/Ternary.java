@@ -36,6 +36,7 @@ public class Ternary extends Lop
 {
 	
 	private boolean _ignoreZeros = false;
+	private int _numThreads = 1;
 	
 	public enum OperationTypes { 
 		CTABLE_TRANSFORM, 
@@ -58,6 +59,11 @@ public class Ternary extends Lop
 		_ignoreZeros = ignoreZeros;
 	}
 	
+	public Ternary(Lop[] inputLops, OperationTypes op, DataType dt, ValueType vt, boolean ignoreZeros, ExecType et, int k) {
+		this(inputLops, op, dt, vt, ignoreZeros, et);
+		_numThreads = k;
+	}
+	
 	private void init(Lop[] inputLops, OperationTypes op, ExecType et) {
 		operation = op;
 		
@@ -190,6 +196,11 @@ public class Ternary extends Lop
 		sb.append( OPERAND_DELIMITOR );
 		sb.append( _ignoreZeros );
 		
+		if( getExecType() == ExecType.CP ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
+		
 		return sb.toString();
 	}
 
@@ -170,7 +170,8 @@ public class Transform extends Lop
 		sb.append( OPERAND_DELIMITOR );
 		sb.append( this.prepOutputOperand(output));
 
-		if( getExecType()==ExecType.CP && operation == OperationTypes.Transpose ) {
+		if( getExecType()==ExecType.CP && (operation == OperationTypes.Transpose 
+			|| operation == OperationTypes.Rev) ) {
 			sb.append( OPERAND_DELIMITOR );
 			sb.append( _numThreads );
 		}
@@ -208,6 +209,10 @@ public class Transform extends Lop
 			sb.append( OPERAND_DELIMITOR );
 			sb.append( _bSortIndInMem );
 		}
+		else if( getExecType()==ExecType.CP && operation == OperationTypes.Reshape ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
 		
 		return sb.toString();
 	}
@@ -42,6 +42,8 @@ public class UAggOuterChain extends Lop
 	private PartialAggregate.DirectionTypes _uaggDir = null;
 	//inner operation
 	private Binary.OperationTypes _binOp             = null;	
+	//number of threads (CP only)
+	private int _numThreads = 1;
 		
 	
 	/**
@@ -59,6 +61,26 @@ public class UAggOuterChain extends Lop
 	 */
 	public UAggOuterChain(Lop input1, Lop input2, Aggregate.OperationTypes uaop, PartialAggregate.DirectionTypes uadir, Binary.OperationTypes bop, DataType dt, ValueType vt, ExecType et) 
 		throws LopsException 
+	{
+		this(input1, input2, uaop, uadir, bop, dt, vt, et, 1);
+	}
+	
+	/**
+	 * Constructor to setup a unaryagg outer chain with a given number of threads
+	 * 
+	 * @param input1 low-level operator 1
+	 * @param input2 low-level operator 2
+	 * @param uaop aggregate operation type
+	 * @param uadir partial aggregate direction type
+	 * @param bop binary operation type
+	 * @param dt data type
+	 * @param vt value type
+	 * @param et execution type
+	 * @param k number of threads
+	 * @throws LopsException if LopsException occurs
+	 */
+	public UAggOuterChain(Lop input1, Lop input2, Aggregate.OperationTypes uaop, PartialAggregate.DirectionTypes uadir, Binary.OperationTypes bop, DataType dt, ValueType vt, ExecType et, int k) 
+		throws LopsException 
 	{
 		super(Lop.Type.UaggOuterChain, dt, vt);		
 		addInput(input1);
@@ -70,6 +92,7 @@ public class UAggOuterChain extends Lop
 		_uaggOp = uaop;
 		_uaggDir = uadir;
 		_binOp = bop;
+		_numThreads = k;
 		
 		//setup MR parameters 
 		if( et == ExecType.MR )
@@ -158,6 +181,12 @@ public class UAggOuterChain extends Lop
 		sb.append( getInputs().get(0).prepInputOperand(input2));
 		sb.append(Lop.OPERAND_DELIMITOR);
 		sb.append( this.prepOutputOperand(output));
+		
+		//num threads
+		if( getExecType()==ExecType.CP ) {
+			sb.append(Lop.OPERAND_DELIMITOR);
+			sb.append(_numThreads);
+		}
 				
 		return sb.toString();
 	}
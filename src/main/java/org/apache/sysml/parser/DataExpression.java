@@ -70,6 +70,7 @@ public class DataExpression extends DataIdentifier
 	public static final String FORMAT_TYPE_VALUE_BINARY 		= "binary";
 	public static final String FORMAT_TYPE_VALUE_CSV			= "csv";
 	public static final String FORMAT_TYPE_VALUE_MATRIXMARKET	= "mm";
+	public static final String FORMAT_TYPE_VALUE_LIBSVM			= "libsvm";
 	
 	public static final String ROWBLOCKCOUNTPARAM = "rows_in_block";
 	public static final String COLUMNBLOCKCOUNTPARAM = "cols_in_block";
@@ -782,6 +783,38 @@ public class DataExpression extends DataIdentifier
 	        
 			boolean isCSV = false;
 			isCSV = (formatTypeString != null && formatTypeString.equalsIgnoreCase(FORMAT_TYPE_VALUE_CSV));
+			boolean isLIBSVM = false;
+			isLIBSVM = (formatTypeString != null && formatTypeString.equalsIgnoreCase(FORMAT_TYPE_VALUE_LIBSVM));
+			if (isLIBSVM){
+				 // Handle libsvm file format (label and sparse features, w/ optional metadata)
+				 // 
+				 // only allow IO_FILENAME, FORMAT_TYPE, READROWPARAM, READCOLPARAM, READNUMNONZEROPARAM, 
+				 // DATATYPEPARAM and VALUETYPEPARAM as valid parameters
+				if( !inferredFormatType ){
+					for (String key : _varParams.keySet()){
+						if (!  (key.equals(IO_FILENAME) || key.equals(FORMAT_TYPE) 
+								|| key.equals(READROWPARAM) || key.equals(READCOLPARAM)
+								|| key.equals(READNUMNONZEROPARAM) || key.equals(DATATYPEPARAM) 
+								|| key.equals(VALUETYPEPARAM)) )
+						{	
+							String msg = "Only parameters allowed are: " + IO_FILENAME + "," 
+									   + READROWPARAM + "," 
+									   + READCOLPARAM + "," 
+									   + READNUMNONZEROPARAM;
+							
+							raiseValidateError("Invalid parameter " + key + " in read statement: " +
+									toString() + ". " + msg, conditional, LanguageErrorCodes.INVALID_PARAMETERS);
+						}
+					}
+				}
+				
+				// libsvm files are only supported for matrices
+				String dt = (getVarParam(DATATYPEPARAM) == null) ? null : getVarParam(DATATYPEPARAM).toString();
+				if( dt != null && !dt.equalsIgnoreCase(Statement.MATRIX_DATA_TYPE) ) {
+					raiseValidateError("Invalid data type " + dt + " for format=" + FORMAT_TYPE_VALUE_LIBSVM 
+							+ " in read statement: " + toString(), conditional, LanguageErrorCodes.INVALID_PARAMETERS);
+				}
+			}
 			if (isCSV){
 				 // Handle delimited file format
 				 // 
@@ -902,8 +935,8 @@ public class DataExpression extends DataIdentifier
 				// initialize size of target data identifier to UNKNOWN
 				getOutput().setDimensions(-1, -1);
 				
-				if ( !isCSV && ConfigurationManager.getCompilerConfig()
-						.getBool(ConfigType.REJECT_READ_WRITE_UNKNOWNS) //skip check for csv format / jmlc api
+				if ( !isCSV && !isLIBSVM && ConfigurationManager.getCompilerConfig()
+						.getBool(ConfigType.REJECT_READ_WRITE_UNKNOWNS) //skip check for csv/libsvm format / jmlc api
 					&& (getVarParam(READROWPARAM) == null || getVarParam(READCOLPARAM) == null) ) {
 						raiseValidateError("Missing or incomplete dimension information in read statement: " 
 								+ mtdFileName, conditional, LanguageErrorCodes.INVALID_PARAMETERS);				
@@ -915,7 +948,7 @@ public class DataExpression extends DataIdentifier
 					// these are strings that are long values
 					Long dim1 = (getVarParam(READROWPARAM) == null) ? null : Long.valueOf( getVarParam(READROWPARAM).toString());
 					Long dim2 = (getVarParam(READCOLPARAM) == null) ? null : Long.valueOf( getVarParam(READCOLPARAM).toString());					
-					if ( !isCSV && (dim1 <= 0 || dim2 <= 0) && ConfigurationManager
+					if ( !isCSV && !isLIBSVM && (dim1 <= 0 || dim2 <= 0) && ConfigurationManager
 							.getCompilerConfig().getBool(ConfigType.REJECT_READ_WRITE_UNKNOWNS) ) {
 						raiseValidateError("Invalid dimension information in read statement", conditional, LanguageErrorCodes.INVALID_PARAMETERS);
 					}
@@ -923,7 +956,7 @@ public class DataExpression extends DataIdentifier
 					// set dim1 and dim2 values 
 					if (dim1 != null && dim2 != null){
 						getOutput().setDimensions(dim1, dim2);
-					} else if (!isCSV && ((dim1 != null) || (dim2 != null))) {
+					} else if (!isCSV && !isLIBSVM && ((dim1 != null) || (dim2 != null))) {
 						raiseValidateError("Partial dimension information in read statement", conditional, LanguageErrorCodes.INVALID_PARAMETERS);
 					}	
 				}
@@ -950,6 +983,11 @@ public class DataExpression extends DataIdentifier
 				{
 					getOutput().setFormatType(FormatType.MM);
 					format = 1;
+				} 
+				else if ( fmt.equalsIgnoreCase(FORMAT_TYPE_VALUE_LIBSVM) )
+				{
+					getOutput().setFormatType(FormatType.LIBSVM);
+					format = 1;
 				} else {
 					raiseValidateError("Invalid format '" + fmt+ "' in statement: " + this.toString(), conditional);
 				}
@@ -1073,6 +1111,8 @@ public class DataExpression extends DataIdentifier
 				getOutput().setBlockDimensions(ConfigurationManager.getBlocksize(), ConfigurationManager.getBlocksize());
 			else if (getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FORMAT_TYPE_VALUE_MATRIXMARKET) || (getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FORMAT_TYPE_VALUE_CSV)))
 				getOutput().setBlockDimensions(-1, -1);
+			else if (getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FORMAT_TYPE_VALUE_LIBSVM))
+				getOutput().setBlockDimensions(-1, -1);
 			
 			else{
 				raiseValidateError("Invalid format " + getVarParam(FORMAT_TYPE) +  " in statement: " + this.toString(), conditional);
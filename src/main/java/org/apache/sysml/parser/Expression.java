@@ -190,7 +190,7 @@ public abstract class Expression
 	 * Format types (text, binary, matrix market, csv, unknown).
 	 */
 	public enum FormatType {
-		TEXT, BINARY, MM, CSV
+		TEXT, BINARY, MM, CSV, LIBSVM
 	};
 	
 	protected static final Log LOG = LogFactory.getLog(Expression.class.getName());
@@ -331,10 +331,11 @@ public abstract class Expression
 	/**
 	 * Convert string format type to {@code Hop.FileFormatTypes}.
 	 * 
-	 * @param format String format type ("text", "binary", "mm", "csv")
+	 * @param format String format type ("text", "binary", "mm", "csv", "libsvm")
 	 * @return Format as {@code Hop.FileFormatTypes}. Can be
 	 * {@code FileFormatTypes.TEXT}, {@code FileFormatTypes.BINARY}, 
-	 * {@code FileFormatTypes.MM}, or {@code FileFormatTypes.CSV}. Unrecognized
+	 * {@code FileFormatTypes.MM}, {@code FileFormatTypes.CSV}, or 
+	 * {@code FileFormatTypes.LIBSVM}. Unrecognized
 	 * type is set to {@code FileFormatTypes.TEXT}.
 	 */
 	public static FileFormatTypes convertFormatType(String format) {
@@ -352,6 +353,9 @@ public abstract class Expression
 		if (format.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_CSV))  {
 			return FileFormatTypes.CSV;
 		}
+		if (format.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_LIBSVM))  {
+			return FileFormatTypes.LIBSVM;
+		}
 		// ToDo : throw parse exception for invalid / unsupported format type
 		return FileFormatTypes.TEXT;
 	}
@@ -1954,11 +1954,11 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	}
 
 	@Override
-	public MatrixBlock removeEmptyOperations(MatrixBlock ret, boolean rows, MatrixBlock select) 
+	public MatrixBlock removeEmptyOperations(MatrixBlock ret, boolean rows, MatrixBlock select, int k) 
 			throws DMLRuntimeException {
 		printDecompressWarning("removeEmptyOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
-		return tmp.removeEmptyOperations(ret, rows, select);
+		MatrixBlock tmp = isCompressed() ? decompress(k) : this;
+		return tmp.removeEmptyOperations(ret, rows, select, k);
 	}
 
 	@Override
@@ -1971,11 +1971,11 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 
 	@Override
 	public MatrixBlock rexpandOperations(MatrixBlock ret, double max,
-			boolean rows, boolean cast, boolean ignore)
+			boolean rows, boolean cast, boolean ignore, int k)
 			throws DMLRuntimeException {
 		printDecompressWarning("rexpandOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
-		return tmp.rexpandOperations(ret, max, rows, cast, ignore);
+		MatrixBlock tmp = isCompressed() ? decompress(k) : this;
+		return tmp.rexpandOperations(ret, max, rows, cast, ignore, k);
 	}
 
 	@Override
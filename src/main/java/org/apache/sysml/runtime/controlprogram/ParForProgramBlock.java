@@ -58,6 +58,7 @@ import org.apache.sysml.runtime.controlprogram.parfor.DataPartitionerLocal;
 import org.apache.sysml.runtime.controlprogram.parfor.DataPartitionerRemoteMR;
 import org.apache.sysml.runtime.controlprogram.parfor.DataPartitionerRemoteSpark;
 import org.apache.sysml.runtime.controlprogram.parfor.LocalParWorker;
+import org.apache.sysml.runtime.controlprogram.parfor.LocalParWorkerBudget;
 import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueue;
 import org.apache.sysml.runtime.controlprogram.parfor.ParForBody;
 import org.apache.sysml.runtime.controlprogram.parfor.ProgramConverter;
@@ -207,6 +208,7 @@ public class ParForProgramBlock extends ForProgramBlock
 	public static final boolean USE_PB_CACHE                = false; // reuse copied program blocks whenever possible, not there can be issues related to recompile
 	public static       boolean USE_RANGE_TASKS_IF_USEFUL   = true;   	// use range tasks whenever size>3, false, otherwise wrong split order in remote 
 	public static final boolean USE_STREAMING_TASK_CREATION = true;  	// start working while still creating tasks, prevents blocking due to too small task queue
+	public static final boolean USE_ADMISSION_CONTROL       = true;   // reserve worker memory estimates from a shared budget, throttle workers if exceeded
 	public static final boolean ALLOW_NESTED_PARALLELISM	= true;    // if not, transparently change parfor to for on program conversions (local,remote)
 	public static       boolean ALLOW_REUSE_MR_JVMS         = true;    // potential benefits: less setup costs per task, NOTE> cannot be used MR4490 in Hadoop 1.0.3, still not fixed in 1.1.1
 	public static       boolean ALLOW_REUSE_MR_PAR_WORKER   = ALLOW_REUSE_MR_JVMS; //potential benefits: less initialization, reuse in-memory objects and result consolidation!
@@ -262,6 +264,7 @@ public class ParForProgramBlock extends ForProgramBlock
 	//specifics used for recompilation 
 	protected double           _oldMemoryBudget = -1;
 	protected double           _recompileMemoryBudget = -1;
+	protected double           _workerMemEstimate = -1;
 	//specifics for caching
 	protected boolean          _enableCPCaching     = true;
 	protected boolean          _enableRuntimePiggybacking = false;
@@ -489,6 +492,11 @@ public class ParForProgramBlock extends ForProgramBlock
 		_recompileMemoryBudget = localMem;
 	}
 	
+	public void setWorkerMemoryEstimate( double mem )
+	{
+		_workerMemEstimate = mem;
+	}
+	
 	public void setSparkRepartitionVariables(Collection<String> vars) {
 		_variablesRP = vars;
 	}
@@ -702,6 +710,11 @@ public class ParForProgramBlock extends ForProgramBlock
 		int numExecutedTasks = 0;
 		int numExecutedIterations = 0;
 		
+		//create shared budget for admission control (before thread-local budget),
+		//only if a valid worker memory estimate is available
+		LocalParWorkerBudget budget = (USE_ADMISSION_CONTROL && _numThreads > 1 && _workerMemEstimate > 0) ?
+			new LocalParWorkerBudget((long)OptimizerUtils.getLocalMemBudget(), _numThreads) : null;
+		
 		//restrict recompilation to thread local memory
 		setMemoryBudget();
 		
@@ -720,6 +733,8 @@ public class ParForProgramBlock extends ForProgramBlock
 				//create parallel workers as (lazy) deep copies
 				//including preparation of update-in-place variables
 				workers[i] = createParallelWorker( _pwIDs[i], queue, ec ); 
+				if( budget != null )
+					workers[i].setMemoryBudget(budget, (long)_workerMemEstimate);
 				threads[i] = new Thread( workers[i] );
 				threads[i].setPriority(Thread.MAX_PRIORITY); 
 			}
@@ -765,7 +780,18 @@ public class ParForProgramBlock extends ForProgramBlock
 			
 			if( _monitor ) 
 				StatisticMonitor.putPFStat(_ID, Stat.PARFOR_WAIT_EXEC_T, time.stop());
-				
+			
+			//maintain admission control statistics
+			if( budget != null ) {
+				LOG.debug("PARFOR ID = "+_ID+" admission control: "+budget.toString());
+				boolean shrunkK = budget.getNumThrottled() > 0 && budget.getEffectiveParallelism() < _numThreads;
+				if( shrunkK ) //incl forced degree of parallelism (e.g., par=k w/ constrained optimizer)
+					LOG.warn("PARFOR ID = "+_ID+" admission control reduced the effective degree of parallelism "
+						+ "from "+_numThreads+" to "+budget.getEffectiveParallelism()+" due to the memory budget.");
+				if( DMLScript.STATISTICS )
+					Statistics.incrementParForAdmission(budget.getNumReservations(), 
+						budget.getNumThrottled(), budget.getWaitTime(), shrunkK);
+			}
 				
 			// Step 4) collecting results from each parallel worker
 			//obtain results
@@ -1924,6 +1950,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		_replicationExport     = -1;
 		_jvmReuse              = true;
 		_recompileMemoryBudget = -1;
+		_workerMemEstimate     = -1;
 		_enableRuntimePiggybacking = false;
 		_variablesRP           = null;
 		_variablesECache       = null;
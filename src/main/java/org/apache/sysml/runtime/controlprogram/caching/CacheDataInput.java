@@ -21,6 +21,7 @@ package org.apache.sysml.runtime.controlprogram.caching;
 
 import java.io.DataInput;
 import java.io.IOException;
+import java.nio.DoubleBuffer;
 
 import org.apache.sysml.runtime.matrix.data.MatrixBlockDataInput;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
@@ -144,20 +145,15 @@ public class CacheDataInput implements DataInput, MatrixBlockDataInput
 	public long readDoubleArray(int len, double[] varr) 
 		throws IOException 
 	{
+		//core deserialization (bulk conversion via big endian double view)
+		DoubleBuffer dbuff = java.nio.ByteBuffer.wrap(_buff, _count, len*8).asDoubleBuffer();
+		dbuff.get(varr, 0, len);
+		_count += len*8;
+		
 		//counter for non-zero elements
 		long nnz = 0;
-		
-		int off = _count;
-		for( int i=0; i<len; i++ ) 
-		{
-			//core deserialization
-			long tmp = baToLong(_buff, off+i*8);
-			varr[i] = Double.longBitsToDouble( tmp );
-			
-			//nnz maintenance
+		for( int i=0; i<len; i++ )
 			nnz += (varr[i]!=0) ? 1 : 0; 
-		}
-		_count = off + len*8;
 		
 		return nnz;
 	}
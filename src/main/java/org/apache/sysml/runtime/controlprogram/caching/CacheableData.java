@@ -115,6 +115,13 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	private static ThreadLocal<Long> sizePinned = new ThreadLocal<Long>() {
         @Override protected Long initialValue() { return 0L; }
     };
+	
+	/**
+	 * Peak state of pinned variables, required for parfor admission control.
+	 */
+	private static ThreadLocal<Long> sizePinnedPeak = new ThreadLocal<Long>() {
+        @Override protected Long initialValue() { return 0L; }
+    };
     
 	static {
 		_seq = new IDSequence();
@@ -1206,6 +1213,8 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			long size = sizePinned.get();
 			size += (add ? 1 : -1) * _data.getInMemorySize();
 			sizePinned.set( Math.max(size,0) );
+			if( add && size > sizePinnedPeak.get() )
+				sizePinnedPeak.set( size );
 		}
 	}
 
@@ -1213,6 +1222,24 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		return sizePinned.get();
 	}
 	
+	/**
+	 * Resets the peak size of pinned variables of the current thread
+	 * to the currently pinned size.
+	 */
+	public static void resetPinnedSizePeak() {
+		sizePinnedPeak.set( sizePinned.get() );
+	}
+	
+	/**
+	 * Returns the peak size of pinned variables of the current thread
+	 * since the last reset.
+	 * 
+	 * @return peak pinned size in bytes
+	 */
+	public static long getPinnedSizePeak() {
+		return sizePinnedPeak.get();
+	}
+	
 	// --------- STATIC CACHE INIT/CLEANUP OPERATIONS ----------
 
 	public synchronized static void cleanupCacheDir() {
@@ -34,6 +34,8 @@ import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PDataPartitionFormat;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.instructions.spark.data.RDDObject;
+import org.apache.sysml.runtime.io.MatrixReaderFactory;
+import org.apache.sysml.runtime.io.ReaderBinaryBlock;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.MatrixDimensionsMetaData;
 import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
@@ -351,6 +353,67 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		return mb;
 	}
 
+	/**
+	 * Indicates if an indexed read can be pushed into the read of the underlying
+	 * binary block file, i.e., if the matrix is neither in memory nor in the buffer 
+	 * pool and the file on HDFS is up-to-date.
+	 * 
+	 * @return true if readable via readMatrixRange
+	 */
+	public synchronized boolean isRangeReadable()
+	{
+		MetaData md = getMetaData();
+		return _data == null && isEmpty(false) && !isDirty() && !_partitioned
+			&& _hdfsFileName != null && _gpuHandle == null
+			&& (getRDDHandle() == null || getRDDHandle().allowsShortCircuitRead())
+			&& md instanceof MatrixFormatMetaData 
+			&& ((MatrixFormatMetaData)md).getInputInfo() == InputInfo.BinaryBlockInputInfo
+			&& ((MatrixFormatMetaData)md).getMatrixCharacteristics().dimsKnown();
+	}
+	
+	/**
+	 * Reads the given index range directly from the underlying binary block file,
+	 * without reading the entire matrix into memory or the buffer pool. Similar to
+	 * the read of matrix partitions, the returned block is not cached.
+	 * 
+	 * @param pred index range (0-based, inclusive)
+	 * @return matrix block of the index range
+	 * @throws CacheException if CacheException occurs
+	 */
+	public synchronized MatrixBlock readMatrixRange( IndexRange pred ) 
+		throws CacheException
+	{
+		if( LOG.isTraceEnabled() )
+			LOG.trace("Acquire range "+getVarName()+" "+pred);
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		
+		if( !isRangeReadable() )
+			throw new CacheException ("MatrixObject not available to range read.");
+		
+		MatrixBlock mb = null;
+		try 
+		{
+			MatrixCharacteristics mc = getMatrixCharacteristics();
+			long estnnz = (mc.getNonZeros() >= 0) ? mc.getNonZeros() : mc.getRows()*mc.getCols();
+			ReaderBinaryBlock reader = (ReaderBinaryBlock) 
+				MatrixReaderFactory.createMatrixReader(InputInfo.BinaryBlockInputInfo);
+			mb = reader.readMatrixFromHDFS(_hdfsFileName, mc.getRows(), mc.getCols(), 
+				mc.getRowsPerBlock(), mc.getColsPerBlock(), estnnz, pred);
+		}
+		catch(Exception ex) {
+			throw new CacheException("Reading of range "+pred.add(1)+" of " 
+				+ _hdfsFileName + " ("+getVarName()+") failed.", ex);
+		}
+		
+		if( DMLScript.STATISTICS ){
+			long t1 = System.nanoTime();
+			CacheStatistics.incrementHDFSHits();
+			CacheStatistics.incrementAcquireRTime(t1-t0);
+		}
+		
+		return mb;
+	}
+	
 	public String getPartitionFileName( IndexRange pred, int brlen, int bclen ) 
 		throws CacheException
 	{
@@ -46,6 +46,7 @@ import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.parfor.util.Cell;
 import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysml.runtime.controlprogram.parfor.util.StagingFileUtils;
+import org.apache.sysml.runtime.io.IOCompressionUtils;
 import org.apache.sysml.runtime.io.MatrixReader;
 import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
@@ -611,7 +612,7 @@ public class DataPartitionerLocal extends DataPartitioner
 		long key = getKeyFromFilePath(lpdir);
 		FileSystem fs = FileSystem.get(job);
 		Path path =  new Path(dir+"/"+key);
-		SequenceFile.Writer writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class); //beware ca 50ms
+		SequenceFile.Writer writer = IOCompressionUtils.createSequenceFileWriter(fs, job, path, MatrixIndexes.class, MatrixBlock.class, -1); //beware ca 50ms
 
 		try
 		{
@@ -649,7 +650,7 @@ public class DataPartitionerLocal extends DataPartitioner
 		long key = getKeyFromFilePath(lpdir);
 		FileSystem fs = FileSystem.get(job);
 		Path path =  new Path(dir+"/"+key);
-		SequenceFile.Writer writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixCell.class); //beware ca 50ms
+		SequenceFile.Writer writer = IOCompressionUtils.createSequenceFileWriter(fs, job, path, MatrixIndexes.class, MatrixCell.class, -1); //beware ca 50ms
 	
 		try
 		{
@@ -24,6 +24,8 @@ import java.util.Collection;
 import org.apache.sysml.conf.CompilerConfig;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.Stat;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.StatisticMonitor;
@@ -47,6 +49,11 @@ public class LocalParWorker extends ParWorker implements Runnable
 	protected boolean   _stopped     = false;
 	protected int 		_max_retry   = -1;
 	
+	//admission control (optional)
+	protected LocalParWorkerBudget _budget = null;
+	protected long      _memEstimate = -1; //compiled estimate
+	protected long      _memObserved = -1; //observed peak pinned size
+	
 	public LocalParWorker( long ID, LocalTaskQueue<Task> q, ParForBody body, CompilerConfig cconf, int max_retry, boolean monitor )	
 	{
 		super(ID, body, monitor);
@@ -66,6 +73,18 @@ public class LocalParWorker extends ParWorker implements Runnable
 		return _fnNames;
 	}
 	
+	/**
+	 * Enables runtime admission control, where each task reserves its estimated
+	 * working set from the given shared budget before execution.
+	 * 
+	 * @param budget shared memory budget of all local parworkers
+	 * @param memEstimate compiled memory estimate per worker in bytes (or -1 if unknown)
+	 */
+	public void setMemoryBudget(LocalParWorkerBudget budget, long memEstimate) {
+		_budget = budget;
+		_memEstimate = memEstimate;
+	}
+	
 	@Override
 	public void run() 
 	{
@@ -114,7 +133,10 @@ public class LocalParWorker extends ParWorker implements Runnable
 				{
 					///////
 					//core execution (see ParWorker)
-					executeTask( lTask );
+					if( _budget != null )
+						executeTaskWithBudget( lTask );
+					else
+						executeTask( lTask );
 					success = true;
 				} 
 				catch (Exception ex) 
@@ -147,6 +169,26 @@ public class LocalParWorker extends ParWorker implements Runnable
 			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_EXEC_T, time1.stop());
 		}
 	}
+	
+	private void executeTaskWithBudget( Task task ) 
+		throws DMLRuntimeException, InterruptedException
+	{
+		//estimate working set as max of compiled estimate and observed
+		//peak of pinned data (for robustness against data-dependent sizes)
+		long mem = Math.max(_memEstimate, _memObserved);
+		
+		//reserve memory (potentially throttled), execute, and release
+		_budget.reserve(mem);
+		try {
+			CacheableData.resetPinnedSizePeak();
+			executeTask( task );
+			_memObserved = Math.max(_memObserved, 
+				CacheableData.getPinnedSizePeak());
+		}
+		finally {
+			_budget.release(mem);
+		}
+	}
 }
 
 	
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.parfor;
+
+/**
+ * This class provides runtime admission control for local parallel workers.
+ * While the parfor optimizer determines the degree of parallelism upfront from
+ * memory estimates, data-dependent sizes can still lead to k workers that together
+ * exceed the memory budget (and hence cause excessive buffer pool evictions).
+ *
+ * Each worker reserves its estimated working set before executing a task, and
+ * releases it afterwards. If a reservation does not fit into the remaining budget,
+ * the worker is throttled (blocked) until other workers release their reservations,
+ * which effectively shrinks the degree of parallelism. In order to guarantee progress,
+ * a reservation is always admitted if there are no active reservations.
+ *
+ * Similar to the task queue, a thread monitor concept is used for blocking of
+ * throttled workers.
+ */
+public class LocalParWorkerBudget
+{
+	private final long _budget; //total memory budget in bytes
+	private final int _maxK;    //configured degree of parallelism
+
+	private long _reserved = 0; //currently reserved memory
+	private int _active = 0;    //currently admitted workers
+
+	//summary statistics
+	private int _peakActive = 0;
+	private long _numReserved = 0;
+	private long _numThrottled = 0;
+	private long _waitTime = 0; //in nano sec
+
+	public LocalParWorkerBudget(long budget, int k) {
+		_budget = budget;
+		_maxK = k;
+	}
+
+	/**
+	 * Synchronized reservation of the given memory estimate, which blocks
+	 * until the reservation fits into the remaining budget.
+	 *
+	 * @param size estimated working set of the next task in bytes
+	 * @throws InterruptedException if InterruptedException occurs
+	 */
+	public synchronized void reserve(long size)
+		throws InterruptedException
+	{
+		long size2 = Math.max(size, 0);
+
+		//throttle worker until reservation fits into budget
+		if( _active > 0 && _reserved + size2 > _budget ) {
+			long t0 = System.nanoTime();
+			while( _active > 0 && _reserved + size2 > _budget )
+				wait(); //wait for release
+			_waitTime += System.nanoTime() - t0;
+			_numThrottled++;
+		}
+
+		//admit worker
+		_reserved += size2;
+		_active++;
+		_peakActive = Math.max(_peakActive, _active);
+		_numReserved++;
+	}
+
+	/**
+	 * Synchronized release of a previously reserved memory estimate,
+	 * which notifies all throttled workers.
+	 *
+	 * @param size reserved working set in bytes
+	 */
+	public synchronized void release(long size) {
+		_reserved -= Math.max(size, 0);
+		_active--;
+		notifyAll(); //notify throttled workers
+	}
+
+	public long getBudget() {
+		return _budget;
+	}
+
+	public int getMaxParallelism() {
+		return _maxK;
+	}
+
+	/**
+	 * Returns the peak number of concurrently admitted workers and
+	 * hence should only be called after execution.
+	 *
+	 * @return effective degree of parallelism
+	 */
+	public synchronized int getEffectiveParallelism() {
+		return _peakActive;
+	}
+
+	public synchronized long getNumReservations() {
+		return _numReserved;
+	}
+
+	public synchronized long getNumThrottled() {
+		return _numThrottled;
+	}
+
+	public synchronized long getWaitTime() {
+		return _waitTime;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "budget="+_budget+", k="+_maxK+", effective k="+_peakActive
+			+", reservations="+_numReserved+", throttled="+_numThrottled;
+	}
+}
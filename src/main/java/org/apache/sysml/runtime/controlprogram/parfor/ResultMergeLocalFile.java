@@ -49,6 +49,7 @@ import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.parfor.util.Cell;
 import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysml.runtime.controlprogram.parfor.util.StagingFileUtils;
+import org.apache.sysml.runtime.io.IOCompressionUtils;
 import org.apache.sysml.runtime.io.MatrixReader;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
@@ -329,7 +330,7 @@ public class ResultMergeLocalFile extends ResultMerge
 			JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
 			FileSystem fs = FileSystem.get(job);
 			Path path = new Path( fnameNew );					
-			SequenceFile.Writer out = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixCell.class); //beware ca 50ms
+			SequenceFile.Writer out = IOCompressionUtils.createSequenceFileWriter(fs, job, path, MatrixIndexes.class, MatrixCell.class, -1); //beware ca 50ms
 			
 			MatrixIndexes key = new MatrixIndexes();
 			MatrixCell value = new MatrixCell();
@@ -671,7 +672,7 @@ public class ResultMergeLocalFile extends ResultMerge
 		int brlen = mc.getRowsPerBlock();
 		int bclen = mc.getColsPerBlock();
 		
-		SequenceFile.Writer writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class); //beware ca 50ms
+		SequenceFile.Writer writer = IOCompressionUtils.createSequenceFileWriter(fs, job, path, MatrixIndexes.class, MatrixBlock.class, -1); //beware ca 50ms
 		try
 		{
 			MatrixIndexes indexes = new MatrixIndexes();
@@ -912,7 +913,7 @@ public class ResultMergeLocalFile extends ResultMerge
 		MatrixIndexes indexes = new MatrixIndexes(1,1);
 		MatrixCell cell = new MatrixCell(0);	
 		
-		SequenceFile.Writer out = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixCell.class); //beware ca 50ms
+		SequenceFile.Writer out = IOCompressionUtils.createSequenceFileWriter(fs, job, path, MatrixIndexes.class, MatrixCell.class, -1); //beware ca 50ms
 		try
 		{
 			boolean written=false;
@@ -299,6 +299,9 @@ public class OptimizerConstrained extends OptimizerRuleBased
 			ParForProgramBlock pfpb = (ParForProgramBlock) OptTreeConverter
 					.getAbstractPlanMapping().getMappedProg(n.getID())[1];
 			pfpb.setDegreeOfParallelism(n.getK());
+			//note: runtime admission control still applies to a forced degree of parallelism,
+			//i.e., workers are throttled (w/ warning) if their estimates exceed the memory budget
+			pfpb.setWorkerMemoryEstimate(M);
 			LOG.debug(getOptMode()+" OPT: forced 'set degree of parallelism' - result=(see EXPLAIN)" );
 		}
 		else
@@ -1268,6 +1268,9 @@ public class OptimizerRuleBased extends Optimizer
 			pfpb.setDegreeOfParallelism(parforK);
 			n.setK(parforK);	
 			
+			//set worker memory estimate for runtime admission control
+			pfpb.setWorkerMemoryEstimate(M);
+			
 			//distribute remaining parallelism 
 			int remainParforK = (int)Math.ceil(((double)(kMax-parforK+1))/parforK);
 			int remainOpsK = Math.max(_lkmaxCP / parforK, 1);
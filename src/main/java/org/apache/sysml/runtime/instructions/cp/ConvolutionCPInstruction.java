@@ -20,7 +20,6 @@
 package org.apache.sysml.runtime.instructions.cp;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.functionobjects.SwapIndex;
@@ -215,18 +214,20 @@ public class ConvolutionCPInstruction extends UnaryCPInstruction
 				.getLongValue();
 	}
 	
-	@SuppressWarnings("unused")
 	public void processReluBackwardInstruction(ExecutionContext ec) throws DMLRuntimeException {
 		// (X > 0) * dout
 		MatrixBlock input = ec.getMatrixInput(input1.getName());
 		MatrixBlock dout = ec.getMatrixInput(_in2.getName());
-		MatrixBlock outputBlock =  new MatrixBlock(input.getNumRows(), input.getNumColumns(), 
-			LibMatrixDNN.SUPPORTS_SPARSE_OUTPUTS && (input.isInSparseFormat() || dout.isInSparseFormat()));
+		MatrixBlock outputBlock = null;
 		
 		if( !input.isEmptyBlock() && !dout.isEmptyBlock() ) {
-			outputBlock.allocateDenseOrSparseBlock();
+			outputBlock = getOutputBlock(input.getNumRows(), input.getNumColumns(), 
+				LibMatrixDNN.estimateNnzReluBackward(input, dout));
 			LibMatrixDNN.reluBackward(input, dout, outputBlock, _numThreads);
 		}
+		else {
+			outputBlock = new MatrixBlock(input.getNumRows(), input.getNumColumns(), true);
+		}
 		
 		// release inputs/outputs
 		ec.releaseMatrixInput(input1.getName());
@@ -250,9 +251,8 @@ public class ConvolutionCPInstruction extends UnaryCPInstruction
 			outputBlock = new MatrixBlock(input);
 		}
 		else {
-			// As we always fill the output first with bias
-			outputBlock = new MatrixBlock(input.getNumRows(), input.getNumColumns(), false);
-			outputBlock.allocateDenseBlock();
+			outputBlock = getOutputBlock(input.getNumRows(), input.getNumColumns(), 
+				LibMatrixDNN.estimateNnzBiasAdd(input, bias));
 			LibMatrixDNN.biasAdd(input, bias, outputBlock, _numThreads);
 		}
 		
@@ -301,9 +301,9 @@ public class ConvolutionCPInstruction extends UnaryCPInstruction
 				outputBlock = new MatrixBlock(N, C*P*Q, true);
 			}
 			else {
-				outputBlock = getDenseOutputBlock(N, C*P*Q);
-				if(instOpcode.equalsIgnoreCase("maxpooling"))
-					Arrays.fill(outputBlock.getDenseBlock(), -Double.MAX_VALUE);
+				outputBlock = getOutputBlock(N, C*P*Q, LibMatrixDNN.estimateNnzMaxPooling(matBlock, params));
+				if(instOpcode.equalsIgnoreCase("relu_maxpooling"))
+					params.minValForMaxPoolOperations = 0;
 				LibMatrixDNN.maxpooling(matBlock, outputBlock, params);
 			}
 		}
@@ -324,7 +324,7 @@ public class ConvolutionCPInstruction extends UnaryCPInstruction
 				outputBlock = new MatrixBlock(N, K*P*Q, true);
 			}
 			else {
-				outputBlock = getDenseOutputBlock(N, K*P*Q);
+				outputBlock = getOutputBlock(N, K*P*Q, LibMatrixDNN.estimateNnzConv2d(matBlock, null, params));
 				LibMatrixDNN.conv2d(matBlock, filter, outputBlock, params);
 			}
 			ec.releaseMatrixInput(_in2.getName());
@@ -336,7 +336,7 @@ public class ConvolutionCPInstruction extends UnaryCPInstruction
 				outputBlock = new MatrixBlock(N, K*P*Q, true);
 			}
 			else {
-				outputBlock = getDenseOutputBlock(N, K*P*Q);
+				outputBlock = getOutputBlock(N, K*P*Q, LibMatrixDNN.estimateNnzConv2d(matBlock, bias, params));
 				if(!bias.isEmptyBlock())
 					params.bias = bias;
 				LibMatrixDNN.conv2d(matBlock, filter, outputBlock, params);
@@ -380,4 +380,13 @@ public class ConvolutionCPInstruction extends UnaryCPInstruction
 		outputBlock.allocateDenseBlock();
 		return outputBlock;
 	}
+	
+	private MatrixBlock getOutputBlock(int numRows, int numCols, long estnnz) throws DMLRuntimeException {
+		//output format decided by the estimated number of non-zeros
+		boolean sparse = LibMatrixDNN.SUPPORTS_SPARSE_OUTPUTS 
+			&& MatrixBlock.evalSparseFormatInMemory(numRows, numCols, estnnz);
+		MatrixBlock outputBlock = new MatrixBlock(numRows, numCols, sparse, estnnz);
+		outputBlock.allocateDenseOrSparseBlock();
+		return outputBlock;
+	}
 }
@@ -79,7 +79,7 @@ public class DataGenCPInstruction extends UnaryCPInstruction
 
 	public DataGenCPInstruction (Operator op, DataGenMethod mthd, CPOperand in, CPOperand out, 
 			  					long rows, long cols, int rpb, int cpb, double maxValue,
-			  					boolean replace, long seed, String opcode, String istr) 
+			  					boolean replace, long seed, int k, String opcode, String istr) 
 	{
 		super(op, in, out, opcode, istr);
 		
@@ -91,11 +91,12 @@ public class DataGenCPInstruction extends UnaryCPInstruction
 		this.maxValue = maxValue;
 		this.replace = replace;
 		this.seed = seed;
+		this.numThreads = k;
 	}
 	
 	public DataGenCPInstruction(Operator op, DataGenMethod mthd, CPOperand in, CPOperand out,
 							long rows, long cols, int rpb, int cpb, double seqFrom,
-							double seqTo, double seqIncr, String opcode, String istr) 
+							double seqTo, double seqIncr, int k, String opcode, String istr) 
 	{
 		super(op, in, out, opcode, istr);
 		
@@ -107,6 +108,7 @@ public class DataGenCPInstruction extends UnaryCPInstruction
 		this.seq_from = seqFrom;
 		this.seq_to = seqTo;
 		this.seq_incr = seqIncr;
+		this.numThreads = k;
 	}
 
 	public long getRows() {
@@ -179,13 +181,13 @@ public class DataGenCPInstruction extends UnaryCPInstruction
 		}
 		else if ( opcode.equalsIgnoreCase(DataGen.SEQ_OPCODE) ) {
 			method = DataGenMethod.SEQ;
-			// 8 operands: rows, cols, rpb, cpb, from, to, incr, outvar
-			InstructionUtils.checkNumFields ( s, 8 ); 
+			// 9 operands: rows, cols, rpb, cpb, from, to, incr, k, outvar
+			InstructionUtils.checkNumFields ( s, 9 ); 
 		}
 		else if ( opcode.equalsIgnoreCase(DataGen.SAMPLE_OPCODE) ) {
 			method = DataGenMethod.SAMPLE;
-			// 7 operands: range, size, replace, seed, rpb, cpb, outvar
-			InstructionUtils.checkNumFields ( s, 7 ); 
+			// 8 operands: range, size, replace, seed, rpb, cpb, k, outvar
+			InstructionUtils.checkNumFields ( s, 8 ); 
 		}
 		
 		CPOperand out = new CPOperand(s[s.length-1]); // ouput is specified by the last operand
@@ -251,8 +253,9 @@ public class DataGenCPInstruction extends UnaryCPInstruction
 			if (!s[7].contains( Lop.VARIABLE_NAME_PLACEHOLDER)) {
 				incr = Double.valueOf(s[7]);
 	        }
+			int k = Integer.parseInt(s[8]);
 			
-			return new DataGenCPInstruction(op, method, null, out, rows, cols, rpb, cpb, from, to, incr, opcode, str);
+			return new DataGenCPInstruction(op, method, null, out, rows, cols, rpb, cpb, from, to, incr, k, opcode, str);
 		}
 		else if ( method == DataGenMethod.SAMPLE) 
 		{
@@ -273,8 +276,9 @@ public class DataGenCPInstruction extends UnaryCPInstruction
 			long seed = Long.parseLong(s[4]);
 			int rpb = Integer.parseInt(s[5]);
 			int cpb = Integer.parseInt(s[6]);
+			int k = Integer.parseInt(s[7]);
 			
-			return new DataGenCPInstruction(op, method, null, out, rows, cols, rpb, cpb, max, replace, seed, opcode, str);
+			return new DataGenCPInstruction(op, method, null, out, rows, cols, rpb, cpb, max, replace, seed, k, opcode, str);
 		}
 		else 
 			throw new DMLRuntimeException("Unrecognized data generation method: " + method);
@@ -311,7 +315,7 @@ public class DataGenCPInstruction extends UnaryCPInstruction
 			if( LOG.isTraceEnabled() )
 				LOG.trace("Process DataGenCPInstruction seq with seqFrom="+seq_from+", seqTo="+seq_to+", seqIncr"+seq_incr);
 			
-			soresBlock = MatrixBlock.seqOperations(seq_from, seq_to, seq_incr);
+			soresBlock = MatrixBlock.seqOperations(seq_from, seq_to, seq_incr, numThreads);
 		}
 		else if ( method == DataGenMethod.SAMPLE ) 
 		{
@@ -323,7 +327,7 @@ public class DataGenCPInstruction extends UnaryCPInstruction
 			if ( range < rows && !replace )
 				throw new DMLRuntimeException("Sample (size=" + rows + ") larger than population (size=" + range + ") can only be generated with replacement.");
 			
-			soresBlock = MatrixBlock.sampleOperations(range, (int)rows, replace, seed);
+			soresBlock = MatrixBlock.sampleOperations(range, (int)rows, replace, seed, numThreads);
 		}
 		
 		//release created output
@@ -62,8 +62,8 @@ public abstract class IndexingCPInstruction extends UnaryCPInstruction
 		String opcode = parts[0];
 		
 		if ( opcode.equalsIgnoreCase("rangeReIndex") ) {
-			if ( parts.length == 7 ) {
-				// Example: rangeReIndex:mVar1:Var2:Var3:Var4:Var5:mVar6
+			if ( parts.length == 7 || parts.length == 8 ) {
+				// Example: rangeReIndex:mVar1:Var2:Var3:Var4:Var5:mVar6[:pushdown]
 				CPOperand in, rl, ru, cl, cu, out;
 				in = new CPOperand();
 				rl = new CPOperand();
@@ -77,8 +77,9 @@ public abstract class IndexingCPInstruction extends UnaryCPInstruction
 				cl.split(parts[4]);
 				cu.split(parts[5]);
 				out.split(parts[6]);
+				boolean pushdown = (parts.length == 8) && Boolean.parseBoolean(parts[7]);
 				if( in.getDataType()==DataType.MATRIX )
-					return new MatrixIndexingCPInstruction(new SimpleOperator(null), in, rl, ru, cl, cu, out, opcode, str);
+					return new MatrixIndexingCPInstruction(new SimpleOperator(null), in, rl, ru, cl, cu, out, opcode, str, pushdown);
 				else if (in.getDataType() == DataType.FRAME)
 					return new FrameIndexingCPInstruction(new SimpleOperator(null), in, rl, ru, cl, cu, out, opcode, str);
 				else 
@@ -33,12 +33,22 @@ import org.apache.sysml.utils.Statistics;
 
 public final class MatrixIndexingCPInstruction extends IndexingCPInstruction
 {	
+	//indicates if right indexing may be pushed into the read of a persistent input
+	//(compiled only if the input is not consumed by other operations)
+	private final boolean _readPushdown;
+	
 	public MatrixIndexingCPInstruction(Operator op, CPOperand in, CPOperand rl, CPOperand ru, CPOperand cl, CPOperand cu, CPOperand out, String opcode, String istr){
+		this(op, in, rl, ru, cl, cu, out, opcode, istr, false);
+	}
+	
+	public MatrixIndexingCPInstruction(Operator op, CPOperand in, CPOperand rl, CPOperand ru, CPOperand cl, CPOperand cu, CPOperand out, String opcode, String istr, boolean pushdown){
 		super(op, in, rl, ru, cl, cu, out, opcode, istr);
+		_readPushdown = pushdown;
 	}
 	
 	public MatrixIndexingCPInstruction(Operator op, CPOperand lhsInput, CPOperand rhsInput, CPOperand rl, CPOperand ru, CPOperand cl, CPOperand cu, CPOperand out, String opcode, String istr){
 		super(op, lhsInput, rhsInput, rl, ru, cl, cu, out, opcode, istr);
+		_readPushdown = false;
 	}
 	
 	@Override
@@ -58,6 +68,8 @@ public final class MatrixIndexingCPInstruction extends IndexingCPInstruction
 			
 			if( mo.isPartitioned() ) //via data partitioning
 				resultBlock = mo.readMatrixPartition(ixrange.add(1));
+			else if( _readPushdown && mo.isRangeReadable() ) //via range read of binary blocks
+				resultBlock = mo.readMatrixRange(ixrange);
 			else //via slicing the in-memory matrix
 			{
 				//execute right indexing operation
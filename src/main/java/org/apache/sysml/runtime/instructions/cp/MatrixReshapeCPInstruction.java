@@ -33,8 +33,9 @@ public class MatrixReshapeCPInstruction extends UnaryCPInstruction
 	private CPOperand _opRows = null;
 	private CPOperand _opCols = null;
 	private CPOperand _opByRow = null;
+	private int _numThreads = 1;
 	
-	public MatrixReshapeCPInstruction(Operator op, CPOperand in1, CPOperand in2, CPOperand in3, CPOperand in4, CPOperand out, String opcode, String istr)
+	public MatrixReshapeCPInstruction(Operator op, CPOperand in1, CPOperand in2, CPOperand in3, CPOperand in4, CPOperand out, int k, String opcode, String istr)
 	{
 		super(op, in1, out, opcode, istr);
 		_cptype = CPINSTRUCTION_TYPE.MatrixReshape;
@@ -42,13 +43,14 @@ public class MatrixReshapeCPInstruction extends UnaryCPInstruction
 		_opRows = in2;
 		_opCols = in3;
 		_opByRow = in4;
+		_numThreads = k;
 	}
 
 	public static MatrixReshapeCPInstruction parseInstruction ( String str ) 
 		throws DMLRuntimeException 
 	{
 		String[] parts = InstructionUtils.getInstructionPartsWithValueType(str);
-		InstructionUtils.checkNumFields( parts, 5 );
+		InstructionUtils.checkNumFields( parts, 6 );
 		
 		String opcode = parts[0];
 		CPOperand in1 = new CPOperand(parts[1]);
@@ -56,11 +58,12 @@ public class MatrixReshapeCPInstruction extends UnaryCPInstruction
 		CPOperand in3 = new CPOperand(parts[3]);
 		CPOperand in4 = new CPOperand(parts[4]);
 		CPOperand out = new CPOperand(parts[5]);
+		int k = Integer.parseInt(parts[6]);
 			 
 		if(!opcode.equalsIgnoreCase("rshape"))
 			throw new DMLRuntimeException("Unknown opcode while parsing an MatrixReshapeInstruction: " + str);
 		else
-			return new MatrixReshapeCPInstruction(new Operator(true), in1, in2, in3, in4, out, opcode, str);
+			return new MatrixReshapeCPInstruction(new Operator(true), in1, in2, in3, in4, out, k, opcode, str);
 	}
 	
 	@Override
@@ -75,7 +78,7 @@ public class MatrixReshapeCPInstruction extends UnaryCPInstruction
 
 		//execute operations 
 		MatrixBlock out = new MatrixBlock();
-		out = LibMatrixReorg.reshape(in, out, rows, cols, byRow.getBooleanValue());
+		out = LibMatrixReorg.reshape(in, out, rows, cols, byRow.getBooleanValue(), _numThreads);
 		
 		//set output and release inputs
 		ec.setMatrixOutput(output.getName(), out);
@@ -36,6 +36,7 @@ import org.apache.sysml.runtime.transform.encode.EncoderFactory;
 public class MultiReturnParameterizedBuiltinCPInstruction extends ComputationCPInstruction 
 {
 	protected ArrayList<CPOperand> _outputs;
+	private int _numThreads = 1;
 	
 	public MultiReturnParameterizedBuiltinCPInstruction(Operator op, CPOperand input1, CPOperand input2, ArrayList<CPOperand> outputs, String opcode, String istr ) {
 		super(op, input1, input2, outputs.get(0), opcode, istr);
@@ -43,6 +44,11 @@ public class MultiReturnParameterizedBuiltinCPInstruction extends ComputationCPI
 		_outputs = outputs;
 	}
 	
+	public MultiReturnParameterizedBuiltinCPInstruction(Operator op, CPOperand input1, CPOperand input2, ArrayList<CPOperand> outputs, String opcode, String istr, int k ) {
+		this(op, input1, input2, outputs, opcode, istr);
+		_numThreads = k;
+	}
+	
 	public CPOperand getOutput(int i) {
 		return _outputs.get(i);
 	}
@@ -60,7 +66,8 @@ public class MultiReturnParameterizedBuiltinCPInstruction extends ComputationCPI
 			CPOperand in2 = new CPOperand(parts[2]);
 			outputs.add ( new CPOperand(parts[3], ValueType.DOUBLE, DataType.MATRIX) );
 			outputs.add ( new CPOperand(parts[4], ValueType.STRING, DataType.FRAME) );
-			return new MultiReturnParameterizedBuiltinCPInstruction(null, in1, in2, outputs, opcode, str);
+			int k = (parts.length > 5) ? Integer.parseInt(parts[5]) : 1;
+			return new MultiReturnParameterizedBuiltinCPInstruction(null, in1, in2, outputs, opcode, str, k);
 		}
 		else {
 			throw new DMLRuntimeException("Invalid opcode in MultiReturnBuiltin instruction: " + opcode);
@@ -77,9 +84,9 @@ public class MultiReturnParameterizedBuiltinCPInstruction extends ComputationCPI
 		String spec = ec.getScalarInput(input2.getName(), input2.getValueType(), input2.isLiteral()).getStringValue();
 		String[] colnames = fin.getColumnNames(); 
 		
-		//execute block transform encode
+		//execute block transform encode (column-parallel build, row-partitioned parallel apply)
 		Encoder encoder = EncoderFactory.createEncoder(spec, colnames, fin.getNumColumns(), null);
-		MatrixBlock data = encoder.encode(fin, new MatrixBlock(fin.getNumRows(), fin.getNumColumns(), false)); //build and apply
+		MatrixBlock data = encoder.encode(fin, new MatrixBlock(fin.getNumRows(), fin.getNumColumns(), false), _numThreads); //build and apply
 		FrameBlock meta = encoder.getMetaData(new FrameBlock(fin.getNumColumns(), ValueType.STRING));
 		meta.setColumnNames(colnames);
 		
@@ -212,11 +212,12 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 			
 			// compute the result
 			String margin = params.get("margin");
+			int k = Integer.parseInt(params.get("k")); //num threads
 			MatrixBlock soresBlock = null;
 			if( margin.equals("rows") )
-				soresBlock = target.removeEmptyOperations(new MatrixBlock(), true, select);
+				soresBlock = target.removeEmptyOperations(new MatrixBlock(), true, select, k);
 			else if( margin.equals("cols") ) 
-				soresBlock = target.removeEmptyOperations(new MatrixBlock(), false, select);
+				soresBlock = target.removeEmptyOperations(new MatrixBlock(), false, select, k);
 			else
 				throw new DMLRuntimeException("Unspupported margin identifier '"+margin+"'.");
 			
@@ -248,7 +249,8 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 			boolean dirVal = params.get("dir").equals("rows");
 			boolean cast = Boolean.parseBoolean(params.get("cast"));
 			boolean ignore = Boolean.parseBoolean(params.get("ignore"));
-			MatrixBlock ret = (MatrixBlock) target.rexpandOperations(new MatrixBlock(), maxVal, dirVal, cast, ignore);
+			int k = Integer.parseInt(params.get("k")); //num threads
+			MatrixBlock ret = (MatrixBlock) target.rexpandOperations(new MatrixBlock(), maxVal, dirVal, cast, ignore, k);
 			
 			//release locks
 			ec.setMatrixOutput(output.getName(), ret);
@@ -270,9 +272,10 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 			FrameBlock meta = ec.getFrameInput(params.get("meta"));		
 			String[] colNames = data.getColumnNames();
 			
-			//compute transformapply
+			//compute transformapply (row-partitioned parallel for k>1)
+			int k = params.containsKey("k") ? Integer.parseInt(params.get("k")) : 1;
 			Encoder encoder = EncoderFactory.createEncoder(params.get("spec"), colNames, data.getNumColumns(), meta);
-			MatrixBlock mbout = encoder.apply(data, new MatrixBlock(data.getNumRows(), data.getNumColumns(), false));
+			MatrixBlock mbout = encoder.apply(data, new MatrixBlock(data.getNumRows(), data.getNumColumns(), false), k);
 			
 			//release locks
 			ec.setMatrixOutput(output.getName(), mbout);
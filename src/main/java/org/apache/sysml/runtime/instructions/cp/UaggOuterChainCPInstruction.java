@@ -56,12 +56,15 @@ public class UaggOuterChainCPInstruction extends UnaryCPInstruction
 		String opcode = parts[0];
 
 		if ( opcode.equalsIgnoreCase(UAggOuterChain.OPCODE)) {
+			InstructionUtils.checkNumFields(parts, 6);
 			AggregateUnaryOperator uaggop = InstructionUtils.parseBasicAggregateUnaryOperator(parts[1]);
 			BinaryOperator bop = InstructionUtils.parseBinaryOperator(parts[2]);
 
 			CPOperand in1 = new CPOperand(parts[3]);
 			CPOperand in2 = new CPOperand(parts[4]);
 			CPOperand out = new CPOperand(parts[5]);
+			int k = Integer.parseInt(parts[6]);
+			uaggop = new AggregateUnaryOperator(uaggop.aggOp, uaggop.indexFn, k);
 					
 			//derive aggregation operator from unary operator
 			String aopcode = InstructionUtils.deriveAggregateOperatorOpcode(parts[1]);
@@ -55,8 +55,9 @@ public final class MatrixIndexingCPFileInstruction extends IndexingCPInstruction
 		String opcode = parts[0];
 		
 		if ( opcode.equalsIgnoreCase("rangeReIndex") ) {
-			if ( parts.length == 7 ) {
-				// Example: rangeReIndex:mVar1:Var2:Var3:Var4:Var5:mVar6
+			if ( parts.length == 7 || parts.length == 8 ) {
+				// Example: rangeReIndex:mVar1:Var2:Var3:Var4:Var5:mVar6[:pushdown]
+				//(optional read pushdown flag ignored for partitioned inputs)
 				CPOperand in, rl, ru, cl, cu, out;
 				in = new CPOperand();
 				rl = new CPOperand();
@@ -19,7 +19,6 @@
 package org.apache.sysml.runtime.instructions.spark;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Iterator;
 
 import org.apache.spark.api.java.JavaPairRDD;
@@ -358,8 +357,8 @@ public class ConvolutionSPInstruction extends UnarySPInstruction {
 				}
 				else {
 					outputBlock = getDenseOutputBlock(params.N, params.C*params.P*params.Q);
-					if(instOpcode.equalsIgnoreCase("maxpooling"))
-						Arrays.fill(outputBlock.getDenseBlock(), -Double.MAX_VALUE);
+					if(instOpcode.equalsIgnoreCase("relu_maxpooling"))
+						params.minValForMaxPoolOperations = 0;
 					LibMatrixDNN.maxpooling(matBlock, outputBlock, params);
 				}
 			}
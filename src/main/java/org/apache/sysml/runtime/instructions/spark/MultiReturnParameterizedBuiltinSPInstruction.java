@@ -30,6 +30,7 @@ import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.api.java.JavaSparkContext;
 import org.apache.spark.api.java.function.FlatMapFunction;
+import org.apache.spark.api.java.function.Function2;
 import org.apache.spark.api.java.function.PairFlatMapFunction;
 import org.apache.spark.broadcast.Broadcast;
 import org.apache.spark.util.AccumulatorV2;
@@ -56,12 +57,14 @@ import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.operators.Operator;
+import org.apache.sysml.runtime.transform.BinAgent;
 import org.apache.sysml.runtime.transform.MVImputeAgent;
 import org.apache.sysml.runtime.transform.MVImputeAgent.MVMethod;
 import org.apache.sysml.runtime.transform.RecodeAgent;
 import org.apache.sysml.runtime.transform.encode.Encoder;
 import org.apache.sysml.runtime.transform.encode.EncoderComposite;
 import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.apache.sysml.runtime.transform.meta.QuantileSketch;
 import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
 import org.apache.sysml.runtime.transform.meta.TfOffsetMap;
 
@@ -134,6 +137,13 @@ public class MultiReturnParameterizedBuiltinSPInstruction extends ComputationSPI
 						in.mapPartitionsToPair(new TransformEncodeBuild2Function(mva))
 						  .groupByKey().flatMap(new TransformEncodeGroup2Function(mva)) );
 			}
+			if( containsBinEncoder(encoderBuild) ) {
+				BinAgent ba = getBinEncoder(encoderBuild);
+				rcMaps = rcMaps.union(
+						in.mapPartitionsToPair(new TransformEncodeBuild3Function(ba))
+						  .reduceByKey(new TransformEncodeMerge3Function())
+						  .flatMap(new TransformEncodeGroup3Function(ba, accMax)) );
+			}
 			rcMaps.saveAsTextFile(fometa.getFileName()); //trigger eval
 			
 			//consolidate meta data frame (reuse multi-threaded reader, special handling missing values) 
@@ -189,6 +199,18 @@ public class MultiReturnParameterizedBuiltinSPInstruction extends ComputationSPI
 		return null;	
 	}
 	
+	private boolean containsBinEncoder(Encoder encoder) {
+		return getBinEncoder(encoder) != null;
+	}
+
+	private BinAgent getBinEncoder(Encoder encoder) {
+		if( encoder instanceof EncoderComposite )
+			for( Encoder cencoder : ((EncoderComposite)encoder).getEncoders() )
+				if( cencoder instanceof BinAgent && ((BinAgent)cencoder).getNumBins() != null )
+					return (BinAgent) cencoder;
+		return null;	
+	}
+	
 	private static MaxLongAccumulator registerMaxLongAccumulator(JavaSparkContext sc) {
 		MaxLongAccumulator acc = new MaxLongAccumulator(Long.MIN_VALUE);
 		sc.sc().register(acc, "max");
@@ -261,6 +283,8 @@ public class MultiReturnParameterizedBuiltinSPInstruction extends ComputationSPI
 			throws Exception 
 		{
 			//build meta data (e.g., recode maps)
+			if( _raEncoder == null ) //no recoded columns
+				return new ArrayList<Tuple2<Integer,Object>>().iterator();
 			while( iter.hasNext() ) {
 				_raEncoder.buildPartial(iter.next()._2());	
 			}
@@ -422,4 +446,85 @@ public class MultiReturnParameterizedBuiltinSPInstruction extends ComputationSPI
 			return ret.iterator();
 		}
 	}
+
+	/**
+	 * This function builds per-column quantile sketches (or min/max for equi-width 
+	 * binning) of binned columns per partition, which are merged into global sketches.
+	 */
+	public static class TransformEncodeBuild3Function implements PairFlatMapFunction<Iterator<Tuple2<Long, FrameBlock>>, Integer, QuantileSketch>
+	{
+		private static final long serialVersionUID = -6392514427323924613L;
+
+		private BinAgent _encoder = null;
+		
+		public TransformEncodeBuild3Function(BinAgent encoder) {
+			_encoder = encoder;
+		}
+		
+		@Override
+		public Iterator<Tuple2<Integer, QuantileSketch>> call(Iterator<Tuple2<Long, FrameBlock>> iter)
+			throws Exception 
+		{
+			//build meta data (e.g., quantile sketches)
+			while( iter.hasNext() ) {
+				FrameBlock block = iter.next()._2();
+				_encoder.buildPartial(block);
+			}
+			
+			//output partial sketches as columnID - sketch pairs
+			ArrayList<Tuple2<Integer,QuantileSketch>> ret = new ArrayList<Tuple2<Integer,QuantileSketch>>();
+			int[] collist = _encoder.getColList();
+			QuantileSketch[] sketches = _encoder.getSketchesPartial();
+			for( int j=0; j<collist.length && sketches!=null; j++ )
+				ret.add(new Tuple2<Integer,QuantileSketch>(collist[j], sketches[j]));
+			
+			return ret.iterator();
+		}
+	}
+	
+	public static class TransformEncodeMerge3Function implements Function2<QuantileSketch, QuantileSketch, QuantileSketch>
+	{
+		private static final long serialVersionUID = 2587413587498523124L;
+
+		@Override
+		public QuantileSketch call(QuantileSketch arg0, QuantileSketch arg1) 
+			throws Exception 
+		{
+			arg0.merge(arg1);
+			return arg0;
+		}
+	}
+
+	/**
+	 * This function computes the bin boundaries of binned columns from the merged
+	 * sketches and writes them in textcell (IJV) format to the output.
+	 */
+	public static class TransformEncodeGroup3Function implements FlatMapFunction<Tuple2<Integer, QuantileSketch>, String>
+	{
+		private static final long serialVersionUID = 5217362871352693815L;
+		
+		private BinAgent _encoder = null;
+		private MaxLongAccumulator _accMax = null;
+		
+		public TransformEncodeGroup3Function(BinAgent encoder, MaxLongAccumulator accMax) {
+			_encoder = encoder;
+			_accMax = accMax;
+		}
+
+		@Override
+		public Iterator<String> call(Tuple2<Integer, QuantileSketch> arg0)
+			throws Exception 
+		{
+			int colix = arg0._1();
+			double[][] bins = BinAgent.computeBins(arg0._2(), 
+				_encoder.getNumBins(colix), _encoder.isEquiHeight(colix));
+			
+			ArrayList<String> ret = new ArrayList<String>();
+			for( int i=0; i<bins[1].length; i++ )
+				ret.add((i+1) + " " + colix + " " + BinAgent.constructBinMapEntry(bins[0][i], bins[1][i]));
+			_accMax.add((long)bins[1].length);
+			
+			return ret.iterator();
+		}
+	}
 }
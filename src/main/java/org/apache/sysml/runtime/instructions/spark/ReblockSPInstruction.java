@@ -162,6 +162,23 @@ public class ReblockSPInstruction extends UnarySPInstruction
 			csvInstruction.processInstruction(sec);
 			return;
 		}
+		else if(iinfo == InputInfo.LIBSVMInputInfo) 
+		{
+			//check jdk version (prevent double.parseDouble contention on <jdk8)
+			sec.checkAndRaiseValidationWarningJDKVersion();
+			
+			//get the input libsvm rdd
+			JavaPairRDD<LongWritable, Text> lines = (JavaPairRDD<LongWritable, Text>) 
+					sec.getRDDHandleForVariable(input1.getName(), iinfo);
+			
+			//convert libsvm to binary block (incl size analysis if unknown)
+			JavaPairRDD<MatrixIndexes, MatrixBlock> out = 
+					RDDConverterUtils.libsvmToBinaryBlock(sec.getSparkContext(), lines, mcOut);
+			
+			//put output RDD handle into symbol table
+			sec.setRDDHandleForVariable(output.getName(), out);
+			sec.addLineageRDD(output.getName(), input1.getName());
+		}
 		else if(iinfo == InputInfo.BinaryCellInputInfo) 
 		{
 			JavaPairRDD<MatrixIndexes, MatrixCell> binaryCells = (JavaPairRDD<MatrixIndexes, MatrixCell>) sec.getRDDHandleForVariable(input1.getName(), iinfo);
@@ -459,13 +459,14 @@ public class TernarySPInstruction extends ComputationSPInstruction
 
 		private static final long serialVersionUID = -5933677686766674444L;
 		
-		@SuppressWarnings("deprecation")
 		@Override
 		public Iterator<Tuple2<MatrixIndexes, Double>> call(CTableMap ctableMap)
 				throws Exception {
 			ArrayList<Tuple2<MatrixIndexes, Double>> retVal = new ArrayList<Tuple2<MatrixIndexes, Double>>();
 			
-			for(LLDoubleEntry ijv : ctableMap.entrySet()) {
+			Iterator<LLDoubleEntry> iter = ctableMap.getIterator();
+			while( iter.hasNext() ) {
+				LLDoubleEntry ijv = iter.next();
 				long i = ijv.key1;
 				long j =  ijv.key2;
 				double v =  ijv.value;
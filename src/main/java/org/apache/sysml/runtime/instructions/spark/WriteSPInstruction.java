@@ -255,6 +255,21 @@ public class WriteSPInstruction extends SPInstruction
 			if( isInputMatrixBlock && !mc.nnzKnown() )
 				mc.setNonZeros((long)aNnz.value().longValue());
 		}
+		else if( oi == OutputInfo.LIBSVMOutputInfo ) 
+		{
+			//piggyback nnz computation on actual write
+			LongAccumulator aNnz = null;
+			if( isInputMatrixBlock && !mc.nnzKnown() ) {
+				aNnz = sec.getSparkContext().sc().longAccumulator("nnz");
+				in1 = in1.mapValues(new ComputeBinaryBlockNnzFunction(aNnz));
+			}
+			
+			JavaRDD<String> out = RDDConverterUtils.binaryBlockToLibsvm(in1, mc, true);
+			customSaveTextFile(out, fname, false);
+			
+			if( isInputMatrixBlock && !mc.nnzKnown() )
+				mc.setNonZeros(aNnz.value().longValue());
+		}
 		else if( oi == OutputInfo.BinaryBlockOutputInfo ) {
 			//piggyback nnz computation on actual write
 			LongAccumulator aNnz = null;
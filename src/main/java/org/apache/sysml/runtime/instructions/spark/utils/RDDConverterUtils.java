@@ -32,6 +32,7 @@ import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.api.java.JavaSparkContext;
 import org.apache.spark.api.java.function.FlatMapFunction;
 import org.apache.spark.api.java.function.Function;
+import org.apache.spark.api.java.function.Function2;
 import org.apache.spark.api.java.function.PairFlatMapFunction;
 import org.apache.spark.api.java.function.PairFunction;
 import org.apache.spark.ml.feature.LabeledPoint;
@@ -54,12 +55,14 @@ import org.apache.sysml.runtime.instructions.spark.data.SerLongWritable;
 import org.apache.sysml.runtime.instructions.spark.data.SerText;
 import org.apache.sysml.runtime.instructions.spark.functions.ConvertMatrixBlockToIJVLines;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.io.WriterTextLIBSVM;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixCell;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseRow;
 import org.apache.sysml.runtime.matrix.mapred.IndexedMatrixValue;
 import org.apache.sysml.runtime.matrix.mapred.ReblockBuffer;
 import org.apache.sysml.runtime.util.DataConverter;
@@ -226,6 +229,84 @@ public class RDDConverterUtils
 		return csvToBinaryBlock(sc, prepinput, mcOut, hasHeader, delim, fill, fillValue);
 	}
 
+	public static JavaPairRDD<MatrixIndexes, MatrixBlock> libsvmToBinaryBlock(JavaSparkContext sc,
+			JavaPairRDD<LongWritable, Text> input, MatrixCharacteristics mc) 
+		throws DMLRuntimeException 
+	{
+		//prepare libsvm lines w/o empty lines and comments
+		JavaRDD<Text> lines = input.values()
+				.filter(new LIBSVMNonEmptyLineFunction());
+		
+		//determine unknown dimensions and sparsity if required
+		//(number of rows, max feature index plus label column, nnz)
+		if( !mc.dimsKnown(true) ) {
+			long[] stats = lines
+					.mapPartitions(new LIBSVMAnalysisFunction())
+					.reduce(new LIBSVMAnalysisMergeFunction());
+			mc.set(stats[0], stats[1] + 1, mc.getRowsPerBlock(), mc.getColsPerBlock(), stats[2]);
+		}
+		
+		//prepare libsvm w/ row indexes (sorted by filenames)
+		JavaPairRDD<Text,Long> prepinput = lines
+				.zipWithIndex(); //zip row index
+		
+		//convert libsvm rdd to binary block rdd (w/ partial blocks)
+		JavaPairRDD<MatrixIndexes, MatrixBlock> out = 
+				prepinput.mapPartitionsToPair(new LIBSVMToBinaryBlockFunction(mc));
+		
+		//aggregate partial matrix blocks (w/ preferred number of output 
+		//partitions as the data is likely smaller in binary block format)
+		int parts = SparkUtils.getNumPreferredPartitions(mc, out);
+		return RDDAggregateUtils.mergeByKey(out, parts, false); 
+	}
+	
+	/**
+	 * Converts an rdd of strings in LIBSVM format into a binary block matrix,
+	 * where the labels are placed into the last column.
+	 * 
+	 * @param sc java spark context
+	 * @param input rdd of strings
+	 * @param mcOut matrix characteristics
+	 * @return matrix as {@code JavaPairRDD<MatrixIndexes, MatrixBlock>}
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static JavaPairRDD<MatrixIndexes, MatrixBlock> libsvmToBinaryBlock(JavaSparkContext sc,
+			JavaRDD<String> input, MatrixCharacteristics mcOut) 
+		throws DMLRuntimeException 
+	{
+		//convert string rdd to serializable longwritable/text
+		JavaPairRDD<LongWritable, Text> prepinput =
+				input.mapToPair(new StringToSerTextFunction());
+		
+		//convert to binary block
+		return libsvmToBinaryBlock(sc, prepinput, mcOut);
+	}
+	
+	public static JavaRDD<String> binaryBlockToLibsvm(JavaPairRDD<MatrixIndexes,MatrixBlock> in, MatrixCharacteristics mcIn, boolean strict)
+	{
+		JavaPairRDD<MatrixIndexes,MatrixBlock> input = in;
+		
+		//fast path without, general case with shuffle
+		if( mcIn.getCols()>mcIn.getColsPerBlock() ) {
+			//create row partitioned matrix
+			input = input
+					.flatMapToPair(new SliceBinaryBlockToRowsFunction(mcIn.getRowsPerBlock()))
+					.groupByKey()
+					.mapToPair(new ConcatenateBlocksFunction(mcIn.getCols(), mcIn.getColsPerBlock()));	
+		}
+		
+		//sort if required (on blocks/rows)
+		if( strict ) {
+			input = input.sortByKey(true);
+		}
+		
+		//convert binary block to libsvm (from blocks/rows)
+		JavaRDD<String> out = input
+				.flatMap(new BinaryBlockToLIBSVMFunction());
+	
+		return out;
+	}
+
 	public static JavaPairRDD<MatrixIndexes, MatrixBlock> dataFrameToBinaryBlock(JavaSparkContext sc,
 			Dataset<Row> df, MatrixCharacteristics mc, boolean containsID, boolean isVector) 
 	{
@@ -816,6 +897,176 @@ public class RDDConverterUtils
 		}		
 	}
 
+	/////////////////////////////////
+	// LIBSVM-SPECIFIC FUNCTIONS
+
+	private static class LIBSVMNonEmptyLineFunction implements Function<Text,Boolean> 
+	{
+		private static final long serialVersionUID = -5286358765231649432L;
+
+		@Override
+		public Boolean call(Text v1) throws Exception {
+			return !IOUtilFunctions.isLIBSVMEmptyLine(v1.getBytes(), v1.getLength());
+		}
+	}
+	
+	private static class LIBSVMAnalysisFunction implements FlatMapFunction<Iterator<Text>,long[]> 
+	{
+		private static final long serialVersionUID = 6815253711263702718L;
+
+		@Override
+		public Iterator<long[]> call(Iterator<Text> arg0) 
+			throws Exception 
+		{
+			//compute number of rows, max feature index and nnz of partition
+			SparseRow row = new SparseRow();
+			long[] ret = new long[3];
+			while( arg0.hasNext() ) {
+				Text line = arg0.next();
+				double label = IOUtilFunctions.parseLIBSVMRow(line.getBytes(), line.getLength(), row);
+				if( row.size() > 0 )
+					ret[1] = Math.max(ret[1], row.indexes()[row.size()-1] + 1);
+				ret[2] += row.size() + ((label != 0) ? 1 : 0);
+				ret[0]++;
+			}
+			
+			ArrayList<long[]> list = new ArrayList<long[]>();
+			list.add(ret);
+			return list.iterator();
+		}
+	}
+	
+	private static class LIBSVMAnalysisMergeFunction implements Function2<long[],long[],long[]> 
+	{
+		private static final long serialVersionUID = 3469254390120532951L;
+
+		@Override
+		public long[] call(long[] v1, long[] v2) throws Exception {
+			return new long[]{ v1[0] + v2[0], Math.max(v1[1], v2[1]), v1[2] + v2[2] };
+		}
+	}
+	
+	/**
+	 * This functions allows to map rdd partitions of libsvm rows into a set of partial binary 
+	 * blocks. Similar to the csv to binary block function, we keep state of all column blocks 
+	 * of the current row block and append the sorted features and label of each row.
+	 * 
+	 */
+	private static class LIBSVMToBinaryBlockFunction implements PairFlatMapFunction<Iterator<Tuple2<Text,Long>>,MatrixIndexes,MatrixBlock> 
+	{
+		private static final long serialVersionUID = -2167321839870654583L;
+		
+		private long _rlen = -1;
+		private long _clen = -1;
+		private int _brlen = -1;
+		private int _bclen = -1;
+		private double _sparsity = 1.0;
+		
+		public LIBSVMToBinaryBlockFunction(MatrixCharacteristics mc) {
+			_rlen = mc.getRows();
+			_clen = mc.getCols();
+			_brlen = mc.getRowsPerBlock();
+			_bclen = mc.getColsPerBlock();
+			_sparsity = OptimizerUtils.getSparsity(mc);
+		}
+
+		@Override
+		public Iterator<Tuple2<MatrixIndexes, MatrixBlock>> call(Iterator<Tuple2<Text,Long>> arg0) 
+			throws Exception 
+		{
+			ArrayList<Tuple2<MatrixIndexes,MatrixBlock>> ret = new ArrayList<Tuple2<MatrixIndexes,MatrixBlock>>();
+
+			int ncblks = (int)Math.ceil((double)_clen/_bclen);
+			MatrixIndexes[] ix = new MatrixIndexes[ncblks];
+			MatrixBlock[] mb = new MatrixBlock[ncblks];
+			SparseRow row = new SparseRow();
+			
+			while( arg0.hasNext() )
+			{
+				Tuple2<Text,Long> tmp = arg0.next();
+				Text line = tmp._1();
+				long rowix = tmp._2() + 1;
+				
+				long rix = UtilFunctions.computeBlockIndex(rowix, _brlen);
+				int pos = UtilFunctions.computeCellInBlock(rowix, _brlen);
+			
+				//create new blocks for entire row
+				if( ix[0] == null || ix[0].getRowIndex() != rix ) {
+					if( ix[0] !=null )
+						flushBlocksToList(ix, mb, ret);
+					long len = UtilFunctions.computeBlockSize(_rlen, rix, _brlen);
+					createBlocks(rowix, (int)len, ix, mb);
+				}
+				
+				//parse and append sorted features and label (last column)
+				double label = IOUtilFunctions.parseLIBSVMRow(line.getBytes(), line.getLength(), row);
+				int[] aix = row.indexes();
+				double[] avals = row.values();
+				int alen = row.size();
+				if( alen > 0 && aix[alen-1] >= _clen-1 )
+					IOUtilFunctions.checkAndRaiseErrorLIBSVMNumColumns(line.toString(), aix[alen-1], _clen);
+				for( int j=0; j<alen; j++ )
+					mb[aix[j]/_bclen].appendValue(pos, aix[j]%_bclen, avals[j]);
+				mb[(int)((_clen-1)/_bclen)].appendValue(pos, (int)((_clen-1)%_bclen), label);
+			}
+		
+			//flush last blocks
+			flushBlocksToList(ix, mb, ret);
+		
+			return ret.iterator();
+		}
+		
+		// Creates new state of empty column blocks for current global row index.
+		private void createBlocks(long rowix, int lrlen, MatrixIndexes[] ix, MatrixBlock[] mb)
+		{
+			//compute row block index and number of column blocks
+			long rix = UtilFunctions.computeBlockIndex(rowix, _brlen);
+			int ncblks = (int)Math.ceil((double)_clen/_bclen);
+			
+			//create all column blocks (assume sparse since libsvm is sparse text format)
+			for( int cix=1; cix<=ncblks; cix++ ) {
+				int lclen = UtilFunctions.computeBlockSize(_clen, cix, _bclen);
+				ix[cix-1] = new MatrixIndexes(rix, cix);
+				mb[cix-1] = new MatrixBlock(lrlen, lclen, true, (int)(lrlen*lclen*_sparsity));
+			}
+		}
+		
+		// Flushes current state of filled column blocks to output list.
+		private void flushBlocksToList( MatrixIndexes[] ix, MatrixBlock[] mb, ArrayList<Tuple2<MatrixIndexes,MatrixBlock>> ret ) 
+			throws DMLRuntimeException
+		{
+			int len = ix.length;			
+			for( int i=0; i<len; i++ )
+				if( mb[i] != null ) {
+					ret.add(new Tuple2<MatrixIndexes,MatrixBlock>(ix[i],mb[i]));
+					mb[i].examSparsity(); //ensure right representation
+				}	
+		}
+	}
+	
+	private static class BinaryBlockToLIBSVMFunction implements FlatMapFunction<Tuple2<MatrixIndexes,MatrixBlock>,String> 
+	{
+		private static final long serialVersionUID = -3429018653170384962L;
+
+		@Override
+		public Iterator<String> call(Tuple2<MatrixIndexes, MatrixBlock> arg0)
+			throws Exception 
+		{
+			MatrixBlock blk = arg0._2();
+			ArrayList<String> ret = new ArrayList<String>();
+			
+			//convert rows to libsvm lines (label as last column)
+			StringBuilder sb = new StringBuilder();
+			for( int i=0; i<blk.getNumRows(); i++ ) {
+				WriterTextLIBSVM.appendLIBSVMRow(sb, blk, i);
+				ret.add(sb.toString());
+				sb.setLength(0); //reset
+			}
+			
+			return ret.iterator();
+		}
+	}
+	
 	/////////////////////////////////
 	// DATAFRAME-SPECIFIC FUNCTIONS
 
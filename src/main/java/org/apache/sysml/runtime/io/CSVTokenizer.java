@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Byte-level tokenizer for delimited text lines, which works directly on
+ * the utf-8 encoded bytes of a line (e.g., the reused buffer of a hadoop
+ * text) and hence avoids the per-line and per-cell string allocations of
+ * IOUtilFunctions.split/splitCSV. Tokens are exposed as trimmed positions
+ * into the line buffer and can be parsed to numbers without intermediate
+ * strings.
+ *
+ * The tokenization semantics mirror IOUtilFunctions.split (no quotes) and
+ * IOUtilFunctions.splitCSV (quotes according to RFC4180, quotes retained
+ * in the tokens), respectively.
+ *
+ */
+public class CSVTokenizer
+{
+	private static final byte CSV_QUOTE_CHAR = '"';
+
+	private final byte[] _delim;
+	private final boolean _quotes;
+
+	//current line and position
+	private byte[] _buf = null;
+	private int _beg = 0;
+	private int _end = 0;
+	private int _pos = 0;
+
+	//current token (trimmed)
+	private int _tbeg = 0;
+	private int _tend = 0;
+
+	public CSVTokenizer(String delim, boolean quotes) {
+		_delim = delim.getBytes(StandardCharsets.UTF_8);
+		_quotes = quotes;
+	}
+
+	/**
+	 * Resets the tokenizer to the given line, where leading and
+	 * trailing whitespaces are ignored.
+	 *
+	 * @param buf line buffer (utf-8 encoded)
+	 * @param len number of valid bytes in buffer
+	 */
+	public void reset(byte[] buf, int len) {
+		_buf = buf;
+		_beg = trimLeft(buf, 0, len);
+		_end = trimRight(buf, _beg, len);
+		_pos = _beg;
+	}
+
+	/**
+	 * Indicates if there is another token, including empty tokens
+	 * between and after delimiters.
+	 *
+	 * @return true if there is another token
+	 */
+	public boolean hasNext() {
+		//empty lines have a single empty token only for splitCSV
+		return _pos < _end || (_pos == _end && (_quotes || _beg < _end));
+	}
+
+	/**
+	 * Advances to the next token.
+	 */
+	public void next() {
+		int from = _pos;
+		int to = -1;
+		int dlen = _delim.length;
+		if( _quotes && from < _end && _buf[from] == CSV_QUOTE_CHAR
+			&& indexOf(CSV_QUOTE_CHAR, from+1) > 0 ) {
+			to = indexOf(CSV_QUOTE_CHAR, from+1);
+			// handle escaped inner quotes, e.g. "aa""a"
+			while( to >= 0 && to+1 < _end && _buf[to+1]==CSV_QUOTE_CHAR )
+				to = indexOf(CSV_QUOTE_CHAR, to+2); // to + ""
+			to = (to >= 0) ? to + 1 : _end; // last "
+			// handle remaining non-quoted characters "aa"a
+			if( to < _end-1 && !regionMatches(to) )
+				to = indexOf(to+1);
+		}
+		else if( regionMatches(from) ) {
+			to = from; // empty string
+		}
+		else { // default: unquoted non-empty
+			to = indexOf(from+1);
+		}
+
+		//set trimmed token and advance position
+		to = (to >= 0) ? to : _end;
+		_tbeg = trimLeft(_buf, from, to);
+		_tend = trimRight(_buf, _tbeg, to);
+		_pos = to + dlen;
+	}
+
+	public boolean isEmpty() {
+		return _tbeg >= _tend;
+	}
+
+	public double getDouble() {
+		return IOUtilFunctions.parseDouble(_buf, _tbeg, _tend);
+	}
+
+	public long getLong() {
+		return IOUtilFunctions.parseLong(_buf, _tbeg, _tend);
+	}
+
+	public boolean getBoolean() {
+		//equivalent to Boolean.parseBoolean
+		int len = _tend - _tbeg;
+		return len == 4
+			&& (_buf[_tbeg]   | 0x20) == 't' && (_buf[_tbeg+1] | 0x20) == 'r'
+			&& (_buf[_tbeg+2] | 0x20) == 'u' && (_buf[_tbeg+3] | 0x20) == 'e';
+	}
+
+	public String getString() {
+		return new String(_buf, _tbeg, _tend-_tbeg, StandardCharsets.UTF_8);
+	}
+
+	public boolean equals(String str) {
+		byte[] tmp = str.getBytes(StandardCharsets.UTF_8);
+		if( tmp.length != _tend-_tbeg )
+			return false;
+		for( int i=0; i<tmp.length; i++ )
+			if( tmp[i] != _buf[_tbeg+i] )
+				return false;
+		return true;
+	}
+
+	/**
+	 * Returns the current (trimmed) line as string, which is meant
+	 * for error messages only.
+	 *
+	 * @return line as string
+	 */
+	public String getLine() {
+		return new String(_buf, _beg, _end-_beg, StandardCharsets.UTF_8);
+	}
+
+	private int indexOf(byte b, int from) {
+		for( int i=from; i<_end; i++ )
+			if( _buf[i] == b )
+				return i;
+		return -1;
+	}
+
+	private int indexOf(int from) {
+		if( _delim.length == 1 )
+			return indexOf(_delim[0], from);
+		for( int i=from; i<=_end-_delim.length; i++ )
+			if( regionMatches(i) )
+				return i;
+		return -1;
+	}
+
+	private boolean regionMatches(int from) {
+		int dlen = _delim.length;
+		if( from + dlen > _end )
+			return false;
+		for( int i=0; i<dlen; i++ )
+			if( _buf[from+i] != _delim[i] )
+				return false;
+		return true;
+	}
+
+	private static int trimLeft(byte[] buf, int beg, int end) {
+		//equivalent to String.trim (bytes of multi-byte chars are >0x7F)
+		while( beg < end && (buf[beg] & 0xFF) <= ' ' )
+			beg++;
+		return beg;
+	}
+
+	private static int trimRight(byte[] buf, int beg, int end) {
+		while( end > beg && (buf[end-1] & 0xFF) <= ' ' )
+			end--;
+		return end;
+	}
+}
@@ -20,9 +20,12 @@
 package org.apache.sysml.runtime.io;
 
 import java.io.IOException;
+import java.util.ArrayList;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.DataInputBuffer;
+import org.apache.hadoop.io.DataOutputBuffer;
 import org.apache.hadoop.io.LongWritable;
 import org.apache.hadoop.io.SequenceFile;
 import org.apache.hadoop.mapred.JobConf;
@@ -42,10 +45,45 @@ public class FrameReaderBinaryBlock extends FrameReader
 	@Override
 	public final FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, String[] names, long rlen, long clen) 
 		throws IOException, DMLRuntimeException 
+	{
+		return readFrameFromHDFS(fname, schema, names, rlen, clen, null);
+	}
+	
+	/**
+	 * Reads a column projection of the given binary block frame, i.e., 
+	 * only the columns selected by the column mask are materialized, while
+	 * all other columns are skipped during deserialization.
+	 * 
+	 * @param fname file name
+	 * @param schema schema of all columns
+	 * @param names names of all columns
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param colmask column mask of length clen (null for all columns)
+	 * @return frame block of selected columns
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public final FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, String[] names, long rlen, long clen, boolean[] colmask) 
+		throws IOException, DMLRuntimeException 
 	{
 		//allocate output frame block
 		ValueType[] lschema = createOutputSchema(schema, clen);
 		String[] lnames = createOutputNames(names, clen);
+		if( colmask != null ) {
+			if( colmask.length != lschema.length )
+				throw new DMLRuntimeException("Invalid column mask of length "
+					+ colmask.length + " for frame with " + lschema.length + " columns.");
+			ArrayList<ValueType> pschema = new ArrayList<ValueType>();
+			ArrayList<String> pnames = new ArrayList<String>();
+			for( int j=0; j<colmask.length; j++ )
+				if( colmask[j] ) {
+					pschema.add(lschema[j]);
+					pnames.add(lnames[j]);
+				}
+			lschema = pschema.toArray(new ValueType[0]);
+			lnames = pnames.toArray(new String[0]);
+		}
 		FrameBlock ret = createOutputFrameBlock(lschema, lnames, rlen);
 		
 		//prepare file access
@@ -57,21 +95,21 @@ public class FrameReaderBinaryBlock extends FrameReader
 		checkValidInputFile(fs, path); 
 	
 		//core read (sequential/parallel)
-		readBinaryBlockFrameFromHDFS(path, job, fs, ret, rlen, clen);
+		readBinaryBlockFrameFromHDFS(path, job, fs, ret, rlen, clen, colmask);
 		
 		return ret;
 	}
 
-	protected void readBinaryBlockFrameFromHDFS( Path path, JobConf job, FileSystem fs, FrameBlock dest, long rlen, long clen )
+	protected void readBinaryBlockFrameFromHDFS( Path path, JobConf job, FileSystem fs, FrameBlock dest, long rlen, long clen, boolean[] colmask )
 		throws IOException, DMLRuntimeException
 	{
 		//sequential read from sequence files
 		for( Path lpath : getSequenceFilePaths(fs, path) ) //1..N files 
-			readBinaryBlockFrameFromSequenceFile(lpath, job, fs, dest);
+			readBinaryBlockFrameFromSequenceFile(lpath, job, fs, dest, colmask);
 	}
 
 	@SuppressWarnings({ "deprecation" })
-	protected final void readBinaryBlockFrameFromSequenceFile( Path path, JobConf job, FileSystem fs, FrameBlock dest )
+	protected final void readBinaryBlockFrameFromSequenceFile( Path path, JobConf job, FileSystem fs, FrameBlock dest, boolean[] colmask )
 		throws IOException, DMLRuntimeException
 	{
 		int rlen = dest.getNumRows();
@@ -82,9 +120,17 @@ public class FrameReaderBinaryBlock extends FrameReader
 		LongWritable key = new LongWritable(-1L);
 		FrameBlock value = new FrameBlock();
 		
+		//raw buffers for column projection on deserialization
+		DataOutputBuffer rawKey = (colmask != null) ? new DataOutputBuffer() : null;
+		SequenceFile.ValueBytes rawValue = (colmask != null) ? reader.createValueBytes() : null;
+		DataOutputBuffer buff = (colmask != null) ? new DataOutputBuffer() : null;
+		DataInputBuffer in = (colmask != null) ? new DataInputBuffer() : null;
+		
 		try
 		{
-			while( reader.next(key, value) ) {	
+			while( (colmask == null) ? reader.next(key, value) :
+				nextProjected(reader, rawKey, rawValue, buff, in, key, value, colmask) ) 
+			{
 				int row_offset = (int)(key.get()-1);
 				int rows = value.getNumRows();
 				int cols = value.getNumColumns();
@@ -107,7 +153,26 @@ public class FrameReaderBinaryBlock extends FrameReader
 		finally {
 			IOUtilFunctions.closeSilently(reader);
 		}
-	}	
+	}
+	
+	private static boolean nextProjected(SequenceFile.Reader reader, DataOutputBuffer rawKey, SequenceFile.ValueBytes rawValue, 
+			DataOutputBuffer buff, DataInputBuffer in, LongWritable key, FrameBlock value, boolean[] colmask) 
+		throws IOException
+	{
+		//read next raw key/value pair
+		rawKey.reset();
+		if( reader.nextRaw(rawKey, rawValue) < 0 )
+			return false;
+		
+		//deserialize key and selected columns of value
+		in.reset(rawKey.getData(), rawKey.getLength());
+		key.readFields(in);
+		buff.reset();
+		rawValue.writeUncompressedBytes(buff);
+		in.reset(buff.getData(), buff.getLength());
+		value.readFields(in, colmask);
+		return true;
+	}
 	
 	/**
 	 * Specific functionality of FrameReaderBinaryBlock, mostly used for testing.
@@ -42,7 +42,8 @@ import org.apache.sysml.runtime.matrix.data.FrameBlock;
 public class FrameReaderBinaryBlockParallel extends FrameReaderBinaryBlock
 {
 
-	protected void readBinaryBlockFrameFromHDFS( Path path, JobConf job, FileSystem fs, FrameBlock dest, long rlen, long clen )
+	@Override
+	protected void readBinaryBlockFrameFromHDFS( Path path, JobConf job, FileSystem fs, FrameBlock dest, long rlen, long clen, boolean[] colmask )
 		throws IOException, DMLRuntimeException
 	{
 		int numThreads = OptimizerUtils.getParallelBinaryReadParallelism();
@@ -53,7 +54,7 @@ public class FrameReaderBinaryBlockParallel extends FrameReaderBinaryBlock
 			ExecutorService pool = Executors.newFixedThreadPool(numThreads);
 			ArrayList<ReadFileTask> tasks = new ArrayList<ReadFileTask>();
 			for( Path lpath : getSequenceFilePaths(fs, path) )
-				tasks.add(new ReadFileTask(lpath, job, fs, dest));
+				tasks.add(new ReadFileTask(lpath, job, fs, dest, colmask));
 
 			//wait until all tasks have been executed
 			List<Future<Object>> rt = pool.invokeAll(tasks);	
@@ -74,17 +75,19 @@ public class FrameReaderBinaryBlockParallel extends FrameReaderBinaryBlock
 		private JobConf _job = null;
 		private FileSystem _fs = null;
 		private FrameBlock _dest = null;
+		private boolean[] _colmask = null;
 		
-		public ReadFileTask(Path path, JobConf job, FileSystem fs, FrameBlock dest) {
+		public ReadFileTask(Path path, JobConf job, FileSystem fs, FrameBlock dest, boolean[] colmask) {
 			_path = path;
 			_fs = fs;
 			_job = job;
 			_dest = dest;
+			_colmask = colmask;
 		}
 
 		@Override
 		public Object call() throws Exception {
-			readBinaryBlockFrameFromSequenceFile(_path, _job, _fs, _dest);
+			readBinaryBlockFrameFromSequenceFile(_path, _job, _fs, _dest, _colmask);
 			return null;
 		}
 	}
@@ -38,17 +38,27 @@ import org.apache.hadoop.mapred.Reporter;
 import org.apache.hadoop.mapred.TextInputFormat;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.FrameBlock.ColumnMetadata;
 import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.Pair;
 import org.apache.sysml.runtime.transform.TfUtils;
+import org.apache.sysml.runtime.util.UtilFunctions;
 
 /**
- * Multi-threaded frame text csv reader.
+ * Multi-threaded frame text csv reader. Similar to the parallel matrix csv reader,
+ * we read the input in a single pass, where each task parses its split at byte level
+ * (see CSVTokenizer) into a partial frame block of unknown number of rows, and 
+ * subsequently concatenate the partial frame blocks according to the row offsets 
+ * obtained via a prefix sum over the partial row counts. If the size is unknown, 
+ * the partial blocks are created during size computation and reused for the read.
  * 
  */
 public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 {
+	//partial blocks of size computation (reused for single-pass read)
+	private List<FrameBlock> _partials = null;
+	
 	public FrameReaderTextCSVParallel(CSVFileFormatProperties props) {
 		super(props);
 	}
@@ -60,43 +70,47 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 	{
 		int numThreads = OptimizerUtils.getParallelTextReadParallelism();
 		
-		TextInputFormat informat = new TextInputFormat();
-		informat.configure(job);
-		InputSplit[] splits = informat.getSplits(job, numThreads); 
-		splits = IOUtilFunctions.sortInputSplits(splits);
-
+		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
 		try 
 		{
-			ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+			//read partial blocks per split (if not done during size computation)
+			List<FrameBlock> partials = _partials;
+			if( partials == null )
+				partials = readCSVPartialFrames(job, pool, numThreads, dest.getSchema(), (int)clen);
+			_partials = null;
 			
-			//compute num rows per split
-			ArrayList<CountRowsTask> tasks = new ArrayList<CountRowsTask>();
-			for( int i=0; i<splits.length; i++ )
-				tasks.add(new CountRowsTask(splits[i], informat, job, _props.hasHeader(), i==0));
-			List<Future<Long>> cret = pool.invokeAll(tasks);
-
 			//compute row offset per split via cumsum on row counts
-			long offset = 0;
-			List<Long> offsets = new ArrayList<Long>();
-			for( Future<Long> count : cret ) {
-				offsets.add(offset);
-				offset += count.get();
+			//and concatenate partial blocks into the output frame
+			ArrayList<ConcatRowsTask> tasks = new ArrayList<ConcatRowsTask>();
+			int offset = 0;
+			for( FrameBlock partial : partials ) {
+				tasks.add(new ConcatRowsTask(partial, dest, offset));
+				offset += partial.getNumRows();
 			}
-			
-			//read individual splits
-			ArrayList<ReadRowsTask> tasks2 = new ArrayList<ReadRowsTask>();
-			for( int i=0; i<splits.length; i++ )
-				tasks2.add( new ReadRowsTask(splits[i], informat, job, dest, offsets.get(i).intValue(), i==0));
-			List<Future<Object>> rret = pool.invokeAll(tasks2);
-			pool.shutdown();
+			if( offset != rlen )
+				throw new IOException("Read frame inconsistent with given meta data: "
+					+ "expected nrow="+ rlen + ", real nrow=" + offset);
+			List<Future<Object>> rret = pool.invokeAll(tasks);
 			
 			//error handling
 			for( Future<Object> read : rret )
 				read.get();
+			
+			//propagate header and frame meta data (missing values / num distinct)
+			for( FrameBlock partial : partials ) {
+				if( !partial.isColNamesDefault() )
+					dest.setColumnNames(partial.getColumnNames());
+				for( int j=0; j<dest.getNumColumns(); j++ )
+					if( !partial.isColumnMetadataDefault(j) )
+						dest.setColumnMetadata(j, partial.getColumnMetadata(j));
+			}
 		} 
 		catch (Exception e) {
 			throw new IOException("Failed parallel read of text csv input.", e);
 		}
+		finally {
+			pool.shutdown();
+		}
 	}
 
 	@Override
@@ -112,94 +126,176 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 		//compute number of columns
 		int ncol = IOUtilFunctions.countNumColumnsCSV(splits, informat, job, _props.getDelim());
 		
-		//compute number of rows
+		//compute number of rows via string partial blocks (single pass, 
+		//with schema transformation on concatenation if necessary)
 		int nrow = 0;
 		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
 		try {
-			ArrayList<CountRowsTask> tasks = new ArrayList<CountRowsTask>();
-			for( int i=0; i<splits.length; i++ )
-				tasks.add(new CountRowsTask(splits[i], informat, job, _props.hasHeader(), i==0));
-			List<Future<Long>> cret = pool.invokeAll(tasks);
-			for( Future<Long> count : cret ) 
-				nrow += count.get().intValue();
+			ValueType[] schema = UtilFunctions.nCopies(ncol, ValueType.STRING);
+			_partials = readCSVPartialFrames(job, pool, numThreads, schema, ncol);
+			for( FrameBlock partial : _partials ) 
+				nrow += partial.getNumRows();
 		}
 		catch (Exception e) {
 			throw new IOException("Failed parallel read of text csv input.", e);
 		}
+		finally {
+			pool.shutdown();
+		}
 		
 		return new Pair<Integer,Integer>(nrow, ncol);
 	}
+	
+	private List<FrameBlock> readCSVPartialFrames(JobConf job, ExecutorService pool, int numThreads, 
+			ValueType[] schema, int clen) 
+		throws Exception
+	{
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+		InputSplit[] splits = informat.getSplits(job, numThreads); 
+		splits = IOUtilFunctions.sortInputSplits(splits);
+		
+		//read partial blocks per split
+		ArrayList<ReadRowsTask> tasks = new ArrayList<ReadRowsTask>();
+		for( int i=0; i<splits.length; i++ )
+			tasks.add(new ReadRowsTask(splits[i], informat, job, schema, clen, i==0));
+		List<Future<FrameBlock>> rret = pool.invokeAll(tasks);
+		
+		//error handling and collect partial blocks
+		List<FrameBlock> ret = new ArrayList<FrameBlock>();
+		for( Future<FrameBlock> read : rret )
+			ret.add(read.get());
+		return ret;
+	}
 
-	private static class CountRowsTask implements Callable<Long> 
+	private class ReadRowsTask implements Callable<FrameBlock> 
 	{
 		private InputSplit _split = null;
 		private TextInputFormat _informat = null;
 		private JobConf _job = null;
-		private boolean _hasHeader = false;
-		private boolean _firstSplit = false;
-
-		public CountRowsTask(InputSplit split, TextInputFormat informat, JobConf job, boolean hasHeader, boolean first) {
+		private ValueType[] _schema = null;
+		private int _clen = -1;
+		private boolean _isFirstSplit = false;
+		
+		public ReadRowsTask(InputSplit split, TextInputFormat informat, JobConf job, 
+				ValueType[] schema, int clen, boolean first) 
+		{
 			_split = split;
 			_informat = informat;
 			_job = job;
-			_hasHeader = hasHeader;
-			_firstSplit = first;
+			_schema = schema;
+			_clen = clen;
+			_isFirstSplit = first;
 		}
 
 		@Override
-		public Long call() 
+		public FrameBlock call() 
 			throws Exception 
 		{
+			boolean hasHeader = _props.hasHeader();
+			boolean isFill = _props.isFill();
+			double dfillValue = _props.getFillValue();
+			String sfillValue = String.valueOf(_props.getFillValue());
+			String delim = _props.getDelim();
+			
+			//create partial block, tokenizer, and record reader
+			FrameBlock ret = new FrameBlock(_schema);
+			ret.ensureAllocatedColumns(0);
+			CSVTokenizer tok = new CSVTokenizer(delim, true);
+			Object[] row = new Object[_clen];
 			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
 			LongWritable key = new LongWritable();
 			Text value = new Text();
-			long nrows = 0;
 			
-			// count rows from the first non-header row
-			try {
-				if ( _firstSplit && _hasHeader )
-					reader.next(key, value);
-				while ( reader.next(key, value) ) {
-					String val = value.toString();
-					nrows += ( val.startsWith(TfUtils.TXMTD_MVPREFIX)
-						|| val.startsWith(TfUtils.TXMTD_NDPREFIX)) ? 0 : 1; 
+			//handle header if existing
+			if( _isFirstSplit && hasHeader ) {
+				reader.next(key, value); //read header
+				ret.setColumnNames(value.toString().split(delim));
+			}
+			
+			// Read the data
+			boolean emptyValuesFound = false;
+			try
+			{
+				while( reader.next(key, value) ) //foreach line
+				{
+					tok.reset(value.getBytes(), value.getLength());
+					emptyValuesFound = false;
+					int col = 0;
+					
+					//parse frame meta data (missing values / num distinct)
+					tok.next();
+					if( tok.equals(TfUtils.TXMTD_MVPREFIX) || tok.equals(TfUtils.TXMTD_NDPREFIX) ) {
+						boolean mv = tok.equals(TfUtils.TXMTD_MVPREFIX);
+						for( int j=0; j<_clen && tok.hasNext(); j++ ) {
+							tok.next();
+							ColumnMetadata meta = ret.getColumnMetadata(j);
+							if( mv )
+								meta.setMvValue(tok.getString());
+							else
+								meta.setNumDistinct(tok.getLong());
+						}
+						continue;
+					}
+					
+					while( true ) { //foreach cell (first already tokenized)
+						if( col < _clen ) {
+							if( tok.isEmpty() ) {
+								row[col] = (isFill && dfillValue!=0) ? 
+									UtilFunctions.stringToObject(_schema[col], sfillValue) : null;
+								emptyValuesFound = true;
+							}
+							else {
+								switch( _schema[col] ) {
+									case STRING:  row[col] = tok.getString(); break;
+									case BOOLEAN: row[col] = tok.getBoolean(); break;
+									case INT:     row[col] = tok.getLong(); break;
+									case DOUBLE:  row[col] = tok.getDouble(); break;
+									default: throw new RuntimeException("Unsupported value type: "+_schema[col]);
+								}
+							}
+						}
+						col++;
+						if( !tok.hasNext() ) 
+							break;
+						tok.next();
+					}
+					
+					//sanity checks for empty values and number of columns
+					if( emptyValuesFound )
+						IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(tok.getLine(), isFill, emptyValuesFound);
+					if( col != _clen )
+						IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", tok.getLine(), col, _clen);
+					ret.appendRow(row);
 				}
-			} 
+			}
 			finally {
 				IOUtilFunctions.closeSilently(reader);
 			}
-
-			return nrows;
+			
+			return ret;
 		}
 	}
-
-	private class ReadRowsTask implements Callable<Object> 
+	
+	private static class ConcatRowsTask implements Callable<Object> 
 	{
-		private InputSplit _split = null;
-		private TextInputFormat _informat = null;
-		private JobConf _job = null;
+		private FrameBlock _src = null;
 		private FrameBlock _dest = null;
 		private int _offset = -1;
-		private boolean _isFirstSplit = false;
-		
 		
-		public ReadRowsTask(InputSplit split, TextInputFormat informat, JobConf job, 
-				FrameBlock dest, int offset, boolean first) 
-		{
-			_split = split;
-			_informat = informat;
-			_job = job;
+		public ConcatRowsTask(FrameBlock src, FrameBlock dest, int offset) {
+			_src = src;
 			_dest = dest;
 			_offset = offset;
-			_isFirstSplit = first;
 		}
 
 		@Override
 		public Object call() 
 			throws Exception 
 		{
-			readCSVFrameFromInputSplit(_split, _informat, _job, _dest, _dest.getSchema(), 
-					_dest.getColumnNames(), _dest.getNumRows(), _dest.getNumColumns(), _offset, _isFirstSplit);
+			if( _src.getNumRows() > 0 )
+				_dest.copy(_offset, _offset+_src.getNumRows()-1, 
+					0, _dest.getNumColumns()-1, _src);
 			return null;
 		}
 	}
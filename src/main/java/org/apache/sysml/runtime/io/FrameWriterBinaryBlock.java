@@ -88,9 +88,9 @@ public class FrameWriterBinaryBlock extends FrameWriter
 	protected final void writeBinaryBlockFrameToSequenceFile( Path path, JobConf job, FileSystem fs, FrameBlock src, int blen, int rl, int ru ) 
 		throws DMLRuntimeException, IOException
 	{
-		//1) create sequence file writer 
-		SequenceFile.Writer writer = null;
-		writer = new SequenceFile.Writer(fs, job, path, LongWritable.class, FrameBlock.class);
+		//1) create sequence file writer (optionally with block compression)
+		SequenceFile.Writer writer = IOCompressionUtils.createSequenceFileWriter(
+				fs, job, path, LongWritable.class, FrameBlock.class, -1);
 		
 		try
 		{
@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.SequenceFile.CompressionType;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.DefaultCodec;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.util.ReflectionUtils;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.matrix.mapred.MRConfigurationNames;
+
+/**
+ * Utilities for the opt-in block compression (see DMLConfig.IO_COMPRESSION) of
+ * binary block sequence files, local buffer pool evictions, and parfor staging
+ * files. Readers detect compressed inputs automatically: sequence files store
+ * the codec in their header, while compressed local files start with a magic
+ * number (negative, and hence distinct from the leading non-negative number of
+ * rows or blocks of uncompressed files), followed by the codec id.
+ *
+ */
+public class IOCompressionUtils
+{
+	public enum BlockCodec {
+		NONE,
+		LZ4,
+		DEFLATE,
+	}
+
+	private static final int LOCAL_MAGIC = 0xC0DEB10C;
+
+	public static BlockCodec getBlockCodec() {
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		return (conf != null) ? parseBlockCodec(
+			conf.getTextValue(DMLConfig.IO_COMPRESSION)) : BlockCodec.NONE;
+	}
+
+	public static BlockCodec parseBlockCodec(String codec) {
+		if( codec == null || codec.trim().isEmpty() )
+			return BlockCodec.NONE;
+		try {
+			return BlockCodec.valueOf(codec.trim().toUpperCase());
+		}
+		catch(IllegalArgumentException ex) {
+			throw new RuntimeException("Unsupported block compression codec: "+codec);
+		}
+	}
+
+	/**
+	 * Creates a sequence file writer according to the configured block codec,
+	 * where compressed files use block compression of multiple records.
+	 *
+	 * @param fs file system
+	 * @param job job configuration
+	 * @param path file path
+	 * @param keyClass key class
+	 * @param valClass value class
+	 * @param replication replication factor (default replication if &lt;= 0)
+	 * @return sequence file writer
+	 * @throws IOException if IOException occurs
+	 */
+	@SuppressWarnings("deprecation")
+	public static SequenceFile.Writer createSequenceFileWriter(FileSystem fs, JobConf job, Path path,
+			Class<?> keyClass, Class<?> valClass, int replication)
+		throws IOException
+	{
+		BlockCodec codec = getBlockCodec();
+
+		//uncompressed sequence file writers (w/ or w/o custom replication)
+		if( codec == BlockCodec.NONE ) {
+			return (replication > 0) ?
+				new SequenceFile.Writer(fs, job, path, keyClass, valClass,
+					job.getInt(MRConfigurationNames.IO_FILE_BUFFER_SIZE, 4096), (short)replication,
+					fs.getDefaultBlockSize(), null, new SequenceFile.Metadata()) :
+				new SequenceFile.Writer(fs, job, path, keyClass, valClass);
+		}
+
+		//compressed sequence file writers
+		return SequenceFile.createWriter(fs, job, path, keyClass, valClass,
+			job.getInt(MRConfigurationNames.IO_FILE_BUFFER_SIZE, 4096),
+			(replication > 0) ? (short)replication : fs.getDefaultReplication(),
+			fs.getDefaultBlockSize(), CompressionType.BLOCK,
+			createCompressionCodec(codec, job), null, new SequenceFile.Metadata());
+	}
+
+	/**
+	 * Wraps the given local file output stream into a compression stream
+	 * according to the configured block codec (including the file header).
+	 *
+	 * @param fos file output stream
+	 * @return output stream
+	 * @throws IOException if IOException occurs
+	 */
+	public static OutputStream createLocalOutputStream(FileOutputStream fos)
+		throws IOException
+	{
+		BlockCodec codec = getBlockCodec();
+		if( codec == BlockCodec.NONE )
+			return fos;
+
+		//write header of magic number and codec
+		byte[] header = new byte[] {(byte)(LOCAL_MAGIC>>>24), (byte)(LOCAL_MAGIC>>>16),
+			(byte)(LOCAL_MAGIC>>>8), (byte)LOCAL_MAGIC, (byte)codec.ordinal()};
+		fos.write(header);
+
+		switch( codec ) {
+			case LZ4:
+				return new LZ4BlockCodec().createOutputStream(fos);
+			case DEFLATE:
+				return new DeflaterOutputStream(fos, new Deflater(Deflater.BEST_SPEED), LZ4BlockCodec.CHUNK_SIZE) {
+					@Override
+					public void close() throws IOException {
+						try { super.close(); }
+						finally { def.end(); }
+					}
+				};
+			default:
+				throw new IOException("Unsupported block compression codec: "+codec);
+		}
+	}
+
+	/**
+	 * Wraps the given local file input stream into a decompression stream
+	 * if the file starts with a compression header.
+	 *
+	 * @param fis file input stream
+	 * @return input stream
+	 * @throws IOException if IOException occurs
+	 */
+	public static InputStream createLocalInputStream(FileInputStream fis)
+		throws IOException
+	{
+		//probe header of magic number and codec, otherwise reset
+		byte[] header = new byte[5];
+		int len = 0, n = 0;
+		while( len < header.length && (n = fis.read(header, len, header.length-len)) > 0 )
+			len += n;
+		int magic = (len >= 4) ? ((header[0]&0xFF)<<24 | (header[1]&0xFF)<<16
+			| (header[2]&0xFF)<<8 | (header[3]&0xFF)) : 0;
+		if( len < header.length || magic != LOCAL_MAGIC ) {
+			fis.getChannel().position(0);
+			return fis;
+		}
+
+		if( header[4] < 0 || header[4] >= BlockCodec.values().length )
+			throw new IOException("Unsupported block compression codec id: "+header[4]);
+		BlockCodec codec = BlockCodec.values()[header[4]];
+		switch( codec ) {
+			case LZ4:
+				return new LZ4BlockCodec().createInputStream(fis);
+			case DEFLATE:
+				return new InflaterInputStream(fis, new Inflater(), LZ4BlockCodec.CHUNK_SIZE) {
+					@Override
+					public void close() throws IOException {
+						try { super.close(); }
+						finally { inf.end(); }
+					}
+				};
+			default:
+				throw new IOException("Unsupported block compression codec: "+codec);
+		}
+	}
+
+	private static CompressionCodec createCompressionCodec(BlockCodec codec, JobConf job)
+		throws IOException
+	{
+		switch( codec ) {
+			case LZ4:     return new LZ4BlockCodec();
+			case DEFLATE: return ReflectionUtils.newInstance(DefaultCodec.class, job);
+			default:
+				throw new IOException("Unsupported block compression codec: "+codec);
+		}
+	}
+}
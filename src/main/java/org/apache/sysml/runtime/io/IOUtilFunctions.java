@@ -22,8 +22,10 @@ package org.apache.sysml.runtime.io;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
+import java.io.DataInput;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -42,6 +44,7 @@ import org.apache.hadoop.mapred.InputSplit;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.mapred.RecordReader;
 import org.apache.hadoop.mapred.Reporter;
+import org.apache.sysml.runtime.matrix.data.SparseRow;
 import org.apache.sysml.runtime.transform.TfUtils;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 import org.apache.sysml.runtime.util.UtilFunctions;
@@ -78,6 +81,119 @@ public class IOUtilFunctions
 		//return FloatingDecimal.parseDouble(str);
 		return Double.parseDouble(str);
 	}
+	
+	/**
+	 * Parses a double from the given utf-8 encoded byte range without
+	 * intermediate string. Decimals with up to 18 significant digits and
+	 * small exponents are computed exactly via a single multiplication or
+	 * division by an exact power of ten (which is correctly rounded); all
+	 * other inputs (e.g., NaN, Infinity, hex, long mantissas) fall back to
+	 * Double.parseDouble for consistent results and error handling.
+	 * 
+	 * @param buf byte buffer
+	 * @param beg begin position (inclusive)
+	 * @param end end position (exclusive)
+	 * @return parsed double value
+	 */
+	public static double parseDouble( byte[] buf, int beg, int end ) 
+	{
+		int i = beg;
+		boolean neg = false;
+		if( i < end && (buf[i]=='-' || buf[i]=='+') )
+			neg = (buf[i++]=='-');
+		
+		//parse mantissa (integer and fractional part)
+		long mant = 0;
+		int sig = 0, exp = 0;
+		boolean digits = false;
+		for( ; i < end; i++ ) {
+			int d = buf[i] - '0';
+			if( d < 0 || d > 9 ) break;
+			digits = true;
+			if( mant == 0 && d == 0 ) continue;
+			if( ++sig > 18 ) return parseDoubleFallback(buf, beg, end);
+			mant = mant * 10 + d;
+		}
+		if( i < end && buf[i]=='.' ) {
+			for( i++; i < end; i++ ) {
+				int d = buf[i] - '0';
+				if( d < 0 || d > 9 ) break;
+				digits = true;
+				exp--;
+				if( mant == 0 && d == 0 ) continue;
+				if( ++sig > 18 ) return parseDoubleFallback(buf, beg, end);
+				mant = mant * 10 + d;
+			}
+		}
+		if( !digits )
+			return parseDoubleFallback(buf, beg, end);
+		
+		//parse exponent
+		if( i < end && (buf[i]=='e' || buf[i]=='E') ) {
+			i++;
+			boolean eneg = false;
+			if( i < end && (buf[i]=='-' || buf[i]=='+') )
+				eneg = (buf[i++]=='-');
+			int e = 0;
+			boolean edigits = false;
+			for( ; i < end; i++ ) {
+				int d = buf[i] - '0';
+				if( d < 0 || d > 9 ) break;
+				edigits = true;
+				e = Math.min(e * 10 + d, 10000);
+			}
+			if( !edigits )
+				return parseDoubleFallback(buf, beg, end);
+			exp += eneg ? -e : e;
+		}
+		
+		//fallback for trailing characters or non-exact cases
+		if( i != end )
+			return parseDoubleFallback(buf, beg, end);
+		double ret = 0;
+		if( mant != 0 ) {
+			if( mant >= (1L<<53) || exp < -22 || exp > 22 )
+				return parseDoubleFallback(buf, beg, end);
+			ret = (exp < 0) ? mant / POW10[-exp] : mant * POW10[exp];
+		}
+		return neg ? -ret : ret;
+	}
+	
+	/**
+	 * Parses a long from the given utf-8 encoded byte range without
+	 * intermediate string, with fallback to Long.parseLong for consistent
+	 * error handling.
+	 * 
+	 * @param buf byte buffer
+	 * @param beg begin position (inclusive)
+	 * @param end end position (exclusive)
+	 * @return parsed long value
+	 */
+	public static long parseLong( byte[] buf, int beg, int end ) 
+	{
+		int i = beg;
+		boolean neg = false;
+		if( i < end && (buf[i]=='-' || buf[i]=='+') )
+			neg = (buf[i++]=='-');
+		if( i == end || end - i > 18 ) //potential overflow
+			return Long.parseLong(new String(buf, beg, end-beg, StandardCharsets.UTF_8));
+		long ret = 0;
+		for( ; i < end; i++ ) {
+			int d = buf[i] - '0';
+			if( d < 0 || d > 9 )
+				return Long.parseLong(new String(buf, beg, end-beg, StandardCharsets.UTF_8));
+			ret = ret * 10 + d;
+		}
+		return neg ? -ret : ret;
+	}
+	
+	private static double parseDoubleFallback( byte[] buf, int beg, int end ) {
+		return Double.parseDouble(new String(buf, beg, end-beg, StandardCharsets.UTF_8));
+	}
+	
+	private static final double[] POW10 = new double[] {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
 
 	public static void checkAndRaiseErrorCSVEmptyField(String row, boolean fill, boolean emptyFound) 
 		throws IOException
@@ -91,14 +207,107 @@ public class IOUtilFunctions
 	public static void checkAndRaiseErrorCSVNumColumns(String fname, String line, String[] parts, long ncol) 
 		throws IOException
 	{
-		int realncol = parts.length;
-		
+		checkAndRaiseErrorCSVNumColumns(fname, line, parts.length, ncol);
+	}
+	
+	public static void checkAndRaiseErrorCSVNumColumns(String fname, String line, int realncol, long ncol) 
+		throws IOException
+	{
 		if( realncol != ncol ) {
 			throw new IOException("Invalid number of columns (" + realncol + ", expected=" + ncol + ") "
 					+ "found in delimited file (" + fname + ") for line: " + line);
 		}
 	}
 	
+	public static void checkAndRaiseErrorLIBSVMNumColumns(String fname, int maxix, long ncol) 
+		throws IOException
+	{
+		if( maxix >= ncol-1 ) {
+			throw new IOException("Invalid feature index (" + (maxix+1) + ", expected<=" + (ncol-1) + ") "
+					+ "found in libsvm file (" + fname + ").");
+		}
+	}
+	
+	/**
+	 * Indicates if the given LIBSVM line is empty, i.e., consists of blanks 
+	 * only or a full-line comment, and hence does not represent a row.
+	 * 
+	 * @param buf byte buffer of utf-8 encoded line
+	 * @param len length of line
+	 * @return true if empty line or comment
+	 */
+	public static boolean isLIBSVMEmptyLine(byte[] buf, int len) {
+		int pos = skipLIBSVMBlanks(buf, 0, len);
+		return pos == len || buf[pos]=='#';
+	}
+	
+	/**
+	 * Parses a single LIBSVM line ("label index:value index:value ...", with 1-based 
+	 * feature indexes) at byte level into the given sparse row of features (with 0-based 
+	 * column indexes, w/o zero values, and sorted if necessary), and returns the label.
+	 * Tokens are separated by blanks or tabs and trailing comments are ignored.
+	 * 
+	 * @param buf byte buffer of utf-8 encoded line
+	 * @param len length of line
+	 * @param row sparse row for features (reset before parsing)
+	 * @return label
+	 * @throws IOException if IOException occurs
+	 */
+	public static double parseLIBSVMRow(byte[] buf, int len, SparseRow row) 
+		throws IOException
+	{
+		row.setSize(0);
+		
+		//parse label (first token)
+		int i = skipLIBSVMBlanks(buf, 0, len);
+		int beg = i;
+		while( i < len && !isLIBSVMBlank(buf[i]) )
+			i++;
+		if( beg == i || buf[beg]=='#' )
+			throw new IOException("Missing label in libsvm line: " 
+				+ new String(buf, 0, len, StandardCharsets.UTF_8));
+		double label = parseDouble(buf, beg, i);
+		
+		//parse features (index:value pairs)
+		boolean sorted = true;
+		int lastIx = -1;
+		while( (i = skipLIBSVMBlanks(buf, i, len)) < len && buf[i] != '#' ) {
+			beg = i;
+			int pos = -1;
+			for( ; i < len && !isLIBSVMBlank(buf[i]); i++ )
+				if( buf[i]==':' && pos < 0 )
+					pos = i;
+			if( pos < 0 )
+				throw new IOException("Invalid libsvm feature '" 
+					+ new String(buf, beg, i-beg, StandardCharsets.UTF_8) + "' (expected index:value).");
+			long ix = parseLong(buf, beg, pos);
+			if( ix < 1 || ix > Integer.MAX_VALUE )
+				throw new IOException("Invalid libsvm feature index: " + ix);
+			double val = parseDouble(buf, pos+1, i);
+			if( val != 0 ) {
+				row.append((int)ix-1, val);
+				sorted &= (ix-1 > lastIx);
+				lastIx = (int)ix-1;
+			}
+		}
+		
+		//sort features if necessary (e.g., unordered indexes)
+		if( !sorted )
+			row.sort();
+		
+		return label;
+	}
+	
+	private static int skipLIBSVMBlanks(byte[] buf, int pos, int len) {
+		while( pos < len && isLIBSVMBlank(buf[pos]) )
+			pos++;
+		return pos;
+	}
+	
+	private static boolean isLIBSVMBlank(byte b) {
+		return b==' ' || b=='\t' || b=='\r';
+	}
+	
 	/**
 	 * Splits a string by a specified delimiter into all tokens, including empty.
 	 * NOTE: This method is meant as a faster drop-in replacement of the regular 
@@ -307,6 +516,25 @@ public class IOUtilFunctions
 		return lnnz;
 	}
 	
+	/**
+	 * Skips exactly the given number of bytes of the data input,
+	 * because DataInput.skipBytes might skip fewer bytes.
+	 * 
+	 * @param in data input
+	 * @param len number of bytes
+	 * @throws IOException if end of input is reached
+	 */
+	public static void skipBytes(DataInput in, long len) throws IOException {
+		while( len > 0 ) {
+			int skipped = in.skipBytes((int)Math.min(len, Integer.MAX_VALUE));
+			if( skipped <= 0 ) {
+				in.readByte(); //throws EOFException at end of input
+				skipped = 1;
+			}
+			len -= skipped;
+		}
+	}
+	
 	/**
 	 * Returns the serialized size in bytes of the given string value,
 	 * following the modified UTF-8 specification as used by Java's
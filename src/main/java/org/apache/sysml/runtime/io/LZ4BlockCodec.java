@@ -0,0 +1,521 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.CompressionInputStream;
+import org.apache.hadoop.io.compress.CompressionOutputStream;
+import org.apache.hadoop.io.compress.Compressor;
+import org.apache.hadoop.io.compress.CompressorStream;
+import org.apache.hadoop.io.compress.Decompressor;
+import org.apache.hadoop.io.compress.DecompressorStream;
+
+/**
+ * Pure java block compression codec, which compresses data in chunks of
+ * up to 64KB into the LZ4 block format (greedy hash-based match finding,
+ * no entropy coding). This codec trades compression ratio for very fast
+ * compression and decompression, and is used for binary block sequence
+ * files as well as local buffer pool evictions and parfor staging files.
+ *
+ * The stream format is a sequence of chunks, each consisting of the
+ * uncompressed and compressed length (4 bytes each), followed by the
+ * compressed bytes. Incompressible chunks are stored as is, indicated
+ * by equal uncompressed and compressed lengths. The compressor and
+ * decompressor objects hold the chunk buffers and are pooled by hadoop's
+ * CodecPool; since they do not rely on native libraries, the codec can be
+ * instantiated via reflection from sequence file headers.
+ *
+ */
+public class LZ4BlockCodec implements CompressionCodec
+{
+	public static final int CHUNK_SIZE = 64 * 1024;
+
+	private static final int MIN_MATCH = 4;
+	private static final int LAST_LITERALS = 5;
+	private static final int MF_LIMIT = 12;
+	private static final int MAX_OFFSET = 65535;
+	private static final int HASH_LOG = 12;
+	private static final int SKIP_TRIGGER = 6;
+
+	@Override
+	public CompressionOutputStream createOutputStream(OutputStream out) throws IOException {
+		return createOutputStream(out, createCompressor());
+	}
+
+	@Override
+	public CompressionOutputStream createOutputStream(OutputStream out, Compressor compressor) throws IOException {
+		return new CompressorStream(out, compressor, 8 + maxCompressedLength(CHUNK_SIZE));
+	}
+
+	@Override
+	public Class<? extends Compressor> getCompressorType() {
+		return LZ4Compressor.class;
+	}
+
+	@Override
+	public Compressor createCompressor() {
+		return new LZ4Compressor();
+	}
+
+	@Override
+	public CompressionInputStream createInputStream(InputStream in) throws IOException {
+		return createInputStream(in, createDecompressor());
+	}
+
+	@Override
+	public CompressionInputStream createInputStream(InputStream in, Decompressor decompressor) throws IOException {
+		return new DecompressorStream(in, decompressor, CHUNK_SIZE);
+	}
+
+	@Override
+	public Class<? extends Decompressor> getDecompressorType() {
+		return LZ4Decompressor.class;
+	}
+
+	@Override
+	public Decompressor createDecompressor() {
+		return new LZ4Decompressor();
+	}
+
+	@Override
+	public String getDefaultExtension() {
+		return ".lz4b";
+	}
+
+	/**
+	 * Returns the maximum compressed length of an input of the given length,
+	 * which is required for allocating the output buffer.
+	 *
+	 * @param len uncompressed length
+	 * @return maximum compressed length
+	 */
+	public static int maxCompressedLength(int len) {
+		return len + len / 255 + 16;
+	}
+
+	/**
+	 * Compresses the given input range into the LZ4 block format.
+	 *
+	 * @param src input buffer
+	 * @param srcOff input offset
+	 * @param srcLen input length
+	 * @param dst output buffer of size {@code >= maxCompressedLength(srcLen)}
+	 * @param dstOff output offset
+	 * @param htable hash table for reuse, of size 2^HASH_LOG
+	 * @return compressed length
+	 */
+	public static int compress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int[] htable) {
+		int srcEnd = srcOff + srcLen;
+		int mfLimit = srcEnd - MF_LIMIT;
+		int matchLimit = srcEnd - LAST_LITERALS;
+		int anchor = srcOff;
+		int ip = srcOff;
+		int op = dstOff;
+
+		if( srcLen > MF_LIMIT ) {
+			Arrays.fill(htable, -1);
+			while( ip < mfLimit ) {
+				//find match via hash of next 4 bytes (w/ skipping of incompressible data)
+				int searchCount = 1 << SKIP_TRIGGER;
+				int ref = -1;
+				while( true ) {
+					int h = hash(readInt(src, ip));
+					ref = htable[h];
+					htable[h] = ip;
+					if( ref >= 0 && ip - ref <= MAX_OFFSET && readInt(src, ref) == readInt(src, ip) )
+						break;
+					ip += searchCount++ >>> SKIP_TRIGGER;
+					if( ip >= mfLimit ) {
+						ref = -1;
+						break;
+					}
+				}
+				if( ref < 0 )
+					break;
+
+				//extend match backwards and forwards
+				while( ip > anchor && ref > srcOff && src[ip-1] == src[ref-1] ) {
+					ip--; ref--;
+				}
+				int mlen = MIN_MATCH;
+				while( ip + mlen < matchLimit && src[ip+mlen] == src[ref+mlen] )
+					mlen++;
+
+				//encode sequence of literals and match
+				op = writeSequence(src, anchor, ip - anchor, ip - ref, mlen, dst, op);
+				ip += mlen;
+				anchor = ip;
+				if( ip < mfLimit ) //update hash for position before next search
+					htable[hash(readInt(src, ip-2))] = ip-2;
+			}
+		}
+
+		//encode last literals
+		return writeSequence(src, anchor, srcEnd - anchor, 0, 0, dst, op) - dstOff;
+	}
+
+	/**
+	 * Decompresses the given LZ4 block into the output buffer.
+	 *
+	 * @param src input buffer
+	 * @param srcOff input offset
+	 * @param srcLen compressed length
+	 * @param dst output buffer
+	 * @param dstOff output offset
+	 * @return decompressed length
+	 * @throws IOException if the input is malformed
+	 */
+	public static int decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff)
+		throws IOException
+	{
+		int srcEnd = srcOff + srcLen;
+		int ip = srcOff;
+		int op = dstOff;
+
+		try {
+			while( ip < srcEnd ) {
+				int token = src[ip++] & 0xFF;
+
+				//copy literals
+				int llen = token >>> 4;
+				if( llen == 15 ) {
+					int b = 255;
+					while( b == 255 ) {
+						b = src[ip++] & 0xFF;
+						llen += b;
+					}
+				}
+				System.arraycopy(src, ip, dst, op, llen);
+				ip += llen;
+				op += llen;
+				if( ip >= srcEnd ) //last literals
+					break;
+
+				//copy match (potentially overlapping)
+				int offset = (src[ip] & 0xFF) | ((src[ip+1] & 0xFF) << 8);
+				ip += 2;
+				int mlen = token & 0x0F;
+				if( mlen == 15 ) {
+					int b = 255;
+					while( b == 255 ) {
+						b = src[ip++] & 0xFF;
+						mlen += b;
+					}
+				}
+				mlen += MIN_MATCH;
+				int ref = op - offset;
+				if( offset == 0 || ref < dstOff )
+					throw new IOException("Malformed lz4 block: invalid offset "+offset+".");
+				if( offset >= mlen )
+					System.arraycopy(dst, ref, dst, op, mlen);
+				else
+					for( int i=0; i<mlen; i++ )
+						dst[op+i] = dst[ref+i];
+				op += mlen;
+			}
+		}
+		catch(ArrayIndexOutOfBoundsException ex) {
+			throw new IOException("Malformed lz4 block.", ex);
+		}
+
+		return op - dstOff;
+	}
+
+	private static int writeSequence(byte[] src, int lpos, int llen, int offset, int mlen, byte[] dst, int op) {
+		int tokenPos = op++;
+		int ml = (mlen > 0) ? mlen - MIN_MATCH : 0;
+		dst[tokenPos] = (byte)((Math.min(llen, 15) << 4) | Math.min(ml, 15));
+
+		//literal length and literals
+		if( llen >= 15 )
+			op = writeLength(llen - 15, dst, op);
+		System.arraycopy(src, lpos, dst, op, llen);
+		op += llen;
+
+		//offset and match length (if not last literals)
+		if( mlen > 0 ) {
+			dst[op++] = (byte) offset;
+			dst[op++] = (byte) (offset >>> 8);
+			if( ml >= 15 )
+				op = writeLength(ml - 15, dst, op);
+		}
+		return op;
+	}
+
+	private static int writeLength(int len, byte[] dst, int op) {
+		while( len >= 255 ) {
+			dst[op++] = (byte) 255;
+			len -= 255;
+		}
+		dst[op++] = (byte) len;
+		return op;
+	}
+
+	private static int readInt(byte[] buf, int pos) {
+		return (buf[pos] & 0xFF) | ((buf[pos+1] & 0xFF) << 8)
+			| ((buf[pos+2] & 0xFF) << 16) | ((buf[pos+3] & 0xFF) << 24);
+	}
+
+	private static int hash(int v) {
+		return (v * -1640531535) >>> (32 - HASH_LOG);
+	}
+
+	private static void writeInt(byte[] buff, int pos, int v) {
+		buff[pos]   = (byte)(v >>> 24);
+		buff[pos+1] = (byte)(v >>> 16);
+		buff[pos+2] = (byte)(v >>> 8);
+		buff[pos+3] = (byte) v;
+	}
+
+	/**
+	 * Compressor that buffers up to CHUNK_SIZE bytes of input and emits
+	 * a compressed chunk (header and compressed or stored bytes) whenever
+	 * the buffer is full or on finish. Compressor objects hold the chunk
+	 * buffers and hash table, and are reused via the hadoop CodecPool.
+	 */
+	public static class LZ4Compressor implements Compressor
+	{
+		private final byte[] _buff = new byte[CHUNK_SIZE];
+		private final byte[] _cbuff = new byte[8 + maxCompressedLength(CHUNK_SIZE)];
+		private final int[] _htable = new int[1 << HASH_LOG];
+		private int _count = 0; //buffered input
+		private int _cpos = 0;  //pending output
+		private int _clen = 0;
+		private boolean _finish = false;
+		private long _bytesRead = 0;
+		private long _bytesWritten = 0;
+
+		//user input (consumed on demand)
+		private byte[] _ubuff = null;
+		private int _uoff = 0;
+		private int _ulen = 0;
+
+		@Override
+		public void setInput(byte[] b, int off, int len) {
+			_ubuff = b;
+			_uoff = off;
+			_ulen = len;
+		}
+
+		@Override
+		public boolean needsInput() {
+			fillBuffer();
+			return _cpos >= _clen && _count < CHUNK_SIZE;
+		}
+
+		@Override
+		public void setDictionary(byte[] b, int off, int len) {
+			//do nothing (no dictionary support)
+		}
+
+		@Override
+		public long getBytesRead() {
+			return _bytesRead;
+		}
+
+		@Override
+		public long getBytesWritten() {
+			return _bytesWritten;
+		}
+
+		@Override
+		public void finish() {
+			_finish = true;
+		}
+
+		@Override
+		public boolean finished() {
+			return _finish && _count == 0 && _ulen == 0 && _cpos >= _clen;
+		}
+
+		@Override
+		public int compress(byte[] b, int off, int len) throws IOException {
+			//compress next chunk if full or finished
+			fillBuffer();
+			if( _cpos >= _clen && (_count == CHUNK_SIZE || (_finish && _count > 0)) ) {
+				int clen = LZ4BlockCodec.compress(_buff, 0, _count, _cbuff, 8, _htable);
+				boolean stored = (clen >= _count); //incompressible chunk
+				if( stored )
+					System.arraycopy(_buff, 0, _cbuff, 8, _count);
+				writeInt(_cbuff, 0, _count);
+				writeInt(_cbuff, 4, stored ? _count : clen);
+				_cpos = 0;
+				_clen = 8 + (stored ? _count : clen);
+				_count = 0;
+			}
+
+			//copy pending output
+			int llen = Math.min(len, _clen - _cpos);
+			System.arraycopy(_cbuff, _cpos, b, off, llen);
+			_cpos += llen;
+			_bytesWritten += llen;
+			return llen;
+		}
+
+		@Override
+		public void reset() {
+			_count = _cpos = _clen = _ulen = 0;
+			_ubuff = null;
+			_finish = false;
+			_bytesRead = _bytesWritten = 0;
+		}
+
+		@Override
+		public void end() {
+			//do nothing (no native resources)
+		}
+
+		@Override
+		public void reinit(Configuration conf) {
+			reset();
+		}
+
+		private void fillBuffer() {
+			int llen = Math.min(_ulen, CHUNK_SIZE - _count);
+			if( llen > 0 ) {
+				System.arraycopy(_ubuff, _uoff, _buff, _count, llen);
+				_count += llen;
+				_uoff += llen;
+				_ulen -= llen;
+				_bytesRead += llen;
+			}
+		}
+	}
+
+	/**
+	 * Decompressor that assembles chunks from arbitrary input ranges and
+	 * decompresses one chunk at a time. The decompressor reports finished 
+	 * at chunk boundaries once all input is consumed, which lets the hadoop
+	 * DecompressorStream proceed with the next chunk or end of stream.
+	 */
+	public static class LZ4Decompressor implements Decompressor
+	{
+		private final byte[] _buff = new byte[CHUNK_SIZE];
+		private final byte[] _cbuff = new byte[8 + CHUNK_SIZE];
+		private int _ccount = 0; //assembled chunk bytes
+		private int _pos = 0;    //pending output
+		private int _len = 0;
+
+		//user input (consumed on demand)
+		private byte[] _ubuff = null;
+		private int _uoff = 0;
+		private int _ulen = 0;
+
+		@Override
+		public void setInput(byte[] b, int off, int len) {
+			_ubuff = b;
+			_uoff = off;
+			_ulen = len;
+		}
+
+		@Override
+		public boolean needsInput() {
+			return _pos >= _len && _ulen == 0;
+		}
+
+		@Override
+		public void setDictionary(byte[] b, int off, int len) {
+			//do nothing (no dictionary support)
+		}
+
+		@Override
+		public boolean needsDictionary() {
+			return false;
+		}
+
+		@Override
+		public boolean finished() {
+			return _pos >= _len && _ccount == 0 && _ulen == 0;
+		}
+
+		@Override
+		public int decompress(byte[] b, int off, int len) throws IOException {
+			//assemble and decompress next chunk if necessary
+			if( _pos >= _len && fillChunk() ) {
+				int rlen = readIntBE(_cbuff, 0);
+				int clen = readIntBE(_cbuff, 4);
+				if( clen == rlen ) //stored chunk
+					System.arraycopy(_cbuff, 8, _buff, 0, rlen);
+				else if( LZ4BlockCodec.decompress(_cbuff, 8, clen, _buff, 0) != rlen )
+					throw new IOException("Malformed lz4 chunk: unexpected decompressed length.");
+				_pos = 0;
+				_len = rlen;
+				_ccount = 0;
+			}
+
+			//copy pending output
+			int llen = Math.min(len, _len - _pos);
+			System.arraycopy(_buff, _pos, b, off, llen);
+			_pos += llen;
+			return llen;
+		}
+
+		@Override
+		public int getRemaining() {
+			return _ulen;
+		}
+
+		@Override
+		public void reset() {
+			_ccount = _pos = _len = _ulen = 0;
+			_ubuff = null;
+		}
+
+		@Override
+		public void end() {
+			//do nothing (no native resources)
+		}
+
+		private boolean fillChunk() throws IOException {
+			//read chunk header, then compressed bytes
+			if( _ccount < 8 )
+				consume(8 - _ccount);
+			if( _ccount < 8 )
+				return false;
+			int rlen = readIntBE(_cbuff, 0);
+			int clen = readIntBE(_cbuff, 4);
+			if( rlen <= 0 || rlen > CHUNK_SIZE || clen <= 0 || clen > rlen )
+				throw new IOException("Malformed lz4 chunk header: "+rlen+", "+clen+".");
+			consume(8 + clen - _ccount);
+			return _ccount == 8 + clen;
+		}
+
+		private void consume(int len) {
+			int llen = Math.min(len, _ulen);
+			if( llen > 0 ) {
+				System.arraycopy(_ubuff, _uoff, _cbuff, _ccount, llen);
+				_ccount += llen;
+				_uoff += llen;
+				_ulen -= llen;
+			}
+		}
+
+		private static int readIntBE(byte[] buff, int pos) {
+			return ((buff[pos] & 0xFF) << 24) | ((buff[pos+1] & 0xFF) << 16)
+				| ((buff[pos+2] & 0xFF) << 8) | (buff[pos+3] & 0xFF);
+		}
+	}
+}
@@ -22,11 +22,13 @@ package org.apache.sysml.runtime.io;
 import java.io.EOFException;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.hadoop.fs.FileStatus;
@@ -36,6 +38,9 @@ import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCOO;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.matrix.data.SparseBlockFactory;
 import org.apache.sysml.runtime.matrix.data.SparseBlockMCSR;
 import org.apache.sysml.runtime.util.MapReduceTool;
 
@@ -93,6 +98,31 @@ public abstract class MatrixReader
 	 */
 	protected static MatrixBlock createOutputMatrixBlock( long rlen, long clen, int bclen, int brlen, long estnnz, boolean mallocDense, boolean mallocSparse ) 
 		throws IOException, DMLRuntimeException
+	{
+		return createOutputMatrixBlock(rlen, clen, bclen, brlen, estnnz, 
+			mallocDense, mallocSparse, MatrixBlock.DEFAULT_SPARSEBLOCK);
+	}
+	
+	/**
+	 * NOTE: Allocated sparse outputs (mallocSparse) use the given sparse block type,
+	 * independent of the default sparse block type. This is used by parallel readers, 
+	 * which require thread-safe inserts into MCSR rows and convert the output to the
+	 * requested type via convertToSparseBlockParallel.
+	 * 
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param bclen number of columns in a block
+	 * @param brlen number of rows in a block
+	 * @param estnnz estimated number of non-zeros
+	 * @param mallocDense if true and not sparse, allocate dense block unsafe
+	 * @param mallocSparse if true and sparse, allocate sparse rows block
+	 * @param stype sparse block type
+	 * @return matrix block
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected static MatrixBlock createOutputMatrixBlock( long rlen, long clen, int bclen, int brlen, long estnnz, boolean mallocDense, boolean mallocSparse, SparseBlock.Type stype ) 
+		throws IOException, DMLRuntimeException
 	{
 		//check input dimension
 		if( !OptimizerUtils.isValidCPDimensions(rlen, clen) )
@@ -103,10 +133,13 @@ public abstract class MatrixReader
 		
 		//prepare result matrix block
 		MatrixBlock ret = new MatrixBlock((int)rlen, (int)clen, sparse, estnnz);
+		
 		if( !sparse && mallocDense )
 			ret.allocateDenseBlockUnsafe((int)rlen, (int)clen);
 		else if( sparse && mallocSparse  ) {
-			ret.allocateSparseRowsBlock();
+			ret = new MatrixBlock((int)rlen, (int)clen, estnnz, 
+				SparseBlockFactory.createSparseBlock(stype, (int)rlen));
+			ret.setNonZeros(0);
 			SparseBlock sblock = ret.getSparseBlock();
 			//create synchronization points for MCSR (start row per block row)
 			if( sblock instanceof SparseBlockMCSR && clen > bclen      //multiple col blocks 
@@ -147,6 +180,110 @@ public abstract class MatrixReader
 			task.get(); //error handling
 	}
 	
+	/**
+	 * Converts the sparse block of the given matrix block into the given sparse block 
+	 * type in parallel. The row pointers are obtained via a prefix sum over the row nnz,
+	 * and subsequently, disjoint row ranges are copied into the target arrays, where the
+	 * rows of MCSR inputs are released immediately to reduce the peak memory consumption.
+	 * 
+	 * @param src matrix block
+	 * @param stype target sparse block type
+	 * @param k degree of parallelism
+	 * @return matrix block with target sparse block type (potentially the input block)
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected static MatrixBlock convertToSparseBlockParallel(MatrixBlock src, SparseBlock.Type stype, int k) 
+		throws IOException, DMLRuntimeException
+	{
+		//check for dense or existing target type (MCSR always as conversion to MCSR not required)
+		if( !src.isInSparseFormat() || src.getSparseBlock() == null || stype == SparseBlock.Type.MCSR 
+			|| (stype == SparseBlock.Type.CSR && src.getSparseBlock() instanceof SparseBlockCSR)
+			|| (stype == SparseBlock.Type.COO && src.getSparseBlock() instanceof SparseBlockCOO) )
+			return src;
+		
+		//compute row pointers via prefix sum over row nnz
+		SparseBlock sblock = src.getSparseBlock();
+		int rlen = src.getNumRows();
+		int[] ptr = new int[rlen+1];
+		long nnz = 0;
+		for( int i=0; i<rlen; i++ ) {
+			nnz += sblock.size(i);
+			if( nnz > Integer.MAX_VALUE )
+				throw new DMLRuntimeException("Sparse block type "+stype+" supports nnz<=Integer.MAX_VALUE but got "+nnz);
+			ptr[i+1] = (int)nnz;
+		}
+		
+		//allocate and fill target arrays in parallel 
+		int[] rix = (stype == SparseBlock.Type.COO) ? new int[(int)nnz] : null;
+		int[] cix = new int[(int)nnz];
+		double[] vals = new double[(int)nnz];
+		ExecutorService pool = Executors.newFixedThreadPool(k);
+		try {
+			ArrayList<ConvertRowsTask> tasks = new ArrayList<ConvertRowsTask>();
+			int blklen = (int)(Math.ceil((double)rlen/k));
+			for( int i=0; i<k & i*blklen<rlen; i++ )
+				tasks.add(new ConvertRowsTask(sblock, ptr, rix, cix, vals, i*blklen, Math.min((i+1)*blklen, rlen)));
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get(); //error handling
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed parallel conversion to sparse block type "+stype+".", ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+		
+		//create output block of target type
+		SparseBlock sblock2 = (stype == SparseBlock.Type.COO) ?
+			new SparseBlockCOO(rlen, rix, cix, vals, (int)nnz) :
+			new SparseBlockCSR(ptr, cix, vals, (int)nnz);
+		return new MatrixBlock(rlen, src.getNumColumns(), nnz, sblock2);
+	}
+	
+	/**
+	 * Utility task for converting a row range of a sparse block into
+	 * preallocated CSR or COO arrays.
+	 */
+	private static class ConvertRowsTask implements Callable<Object> 
+	{
+		private final SparseBlock _src;
+		private final int[] _ptr;
+		private final int[] _rix;
+		private final int[] _cix;
+		private final double[] _vals;
+		private final int _rl;
+		private final int _ru;
+		
+		public ConvertRowsTask(SparseBlock src, int[] ptr, int[] rix, int[] cix, double[] vals, int rl, int ru) {
+			_src = src;
+			_ptr = ptr;
+			_rix = rix;
+			_cix = cix;
+			_vals = vals;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		@Override
+		public Object call() throws Exception {
+			boolean mcsr = (_src instanceof SparseBlockMCSR);
+			for( int i=_rl; i<_ru; i++ ) {
+				if( _src.isEmpty(i) )
+					continue;
+				int apos = _src.pos(i);
+				int alen = _src.size(i);
+				System.arraycopy(_src.indexes(i), apos, _cix, _ptr[i], alen);
+				System.arraycopy(_src.values(i), apos, _vals, _ptr[i], alen);
+				if( _rix != null )
+					Arrays.fill(_rix, _ptr[i], _ptr[i+1], i);
+				if( mcsr ) //release row
+					_src.set(i, null, false);
+			}
+			return null;
+		}
+	}
+	
 	/**
 	 * Utility task for sorting sparse rows as potentially required
 	 * by different parallel readers.
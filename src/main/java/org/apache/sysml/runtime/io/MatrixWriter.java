@@ -19,10 +19,20 @@
 
 package org.apache.sysml.runtime.io;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.LinkedList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.FastBufferedTextOutputStream;
 
 /**
  * Base class for all format-specific matrix writers. Every writer is required to implement the basic 
@@ -33,6 +43,9 @@ import org.apache.sysml.runtime.matrix.data.MatrixBlock;
  */
 public abstract class MatrixWriter 
 {
+	//number of formatted cells per row block of pipelined text writes 
+	//(bounded memory of in-flight blocks, typically ~200KB per block)
+	public static final int TEXT_ROWBLOCK_CELLS = 16*1024;
 
 	public abstract void writeMatrixToHDFS( MatrixBlock src, String fname, long rlen, long clen, int brlen, int bclen, long nnz )
 		throws IOException, DMLRuntimeException;
@@ -51,6 +64,108 @@ public abstract class MatrixWriter
 	public abstract void writeEmptyMatrixToHDFS( String fname, long rlen, long clen, int brlen, int bclen )
 		throws IOException, DMLRuntimeException;
 
+	/**
+	 * Creates a buffered text output stream for writing rows rl to ru (exclusive) of 
+	 * the given matrix block. Sequential writes of the entire matrix into a single file 
+	 * use asynchronous write-behind, while the row ranges of parallel writers are 
+	 * written synchronously because formatting and IO already overlap across tasks.
+	 * 
+	 * @param fs file system
+	 * @param path output file path
+	 * @param src matrix block
+	 * @param rl row lower bound (inclusive)
+	 * @param ru row upper bound (exclusive)
+	 * @return text output stream
+	 * @throws IOException if IOException occurs
+	 */
+	protected static FastBufferedTextOutputStream createTextOutputStream( FileSystem fs, Path path, MatrixBlock src, int rl, int ru ) 
+		throws IOException
+	{
+		boolean async = OptimizerUtils.ALLOW_ASYNC_TEXT_WRITE
+			&& rl == 0 && ru == src.getNumRows()
+			&& (long)(ru-rl) * src.getNumColumns() > FastBufferedTextOutputStream.BUFFER_SIZE;
+		return new FastBufferedTextOutputStream(fs.create(path, true), async);
+	}
+	
+	/**
+	 * Writes rows rl to ru (exclusive) with the given text row writer into the given
+	 * output stream. For k>1, row blocks are formatted in parallel and their outputs are 
+	 * appended in order, where the number of in-flight row blocks is bounded to 2k. 
+	 * Together with the write-behind of the output stream, this pipelines the formatting 
+	 * of subsequent row blocks with the write of already formatted row blocks into a 
+	 * single output file.
+	 * 
+	 * @param out text output stream
+	 * @param rw text row writer
+	 * @param rl row lower bound (inclusive)
+	 * @param ru row upper bound (exclusive)
+	 * @param cellsPerRow estimated number of formatted cells per row
+	 * @param k degree of parallelism
+	 * @throws IOException if IOException occurs
+	 */
+	protected static void writeTextRows( FastBufferedTextOutputStream out, TextRowWriter rw, int rl, int ru, long cellsPerRow, int k ) 
+		throws IOException
+	{
+		int blen = (int)Math.max(1, TEXT_ROWBLOCK_CELLS / Math.max(cellsPerRow, 1));
+		
+		//sequential formatting of all rows
+		if( k <= 1 || ru-rl <= blen ) {
+			rw.writeRows(out, rl, ru);
+			return;
+		}
+		
+		//pipelined parallel formatting of row blocks (in-order output)
+		ExecutorService pool = Executors.newFixedThreadPool(k);
+		try {
+			LinkedList<Future<byte[]>> blocks = new LinkedList<Future<byte[]>>();
+			for( int bi=rl; bi<ru; bi+=blen ) {
+				blocks.add(pool.submit(new FormatTextRowsTask(rw, bi, Math.min(bi+blen, ru))));
+				if( blocks.size() >= 2*k )
+					out.write(blocks.removeFirst().get());
+			}
+			while( !blocks.isEmpty() )
+				out.write(blocks.removeFirst().get());
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed parallel formatting of text output.", ex);
+		}
+		finally {
+			pool.shutdownNow();
+		}
+	}
+	
+	/**
+	 * Format-specific writer of a range of rows into a text output stream,
+	 * which needs to be thread-safe for pipelined parallel formatting.
+	 */
+	protected static abstract class TextRowWriter 
+	{
+		public abstract void writeRows(FastBufferedTextOutputStream out, int rl, int ru)
+			throws IOException;
+	}
+	
+	private static class FormatTextRowsTask implements Callable<byte[]> 
+	{
+		private final TextRowWriter _rw;
+		private final int _rl;
+		private final int _ru;
+		
+		public FormatTextRowsTask(TextRowWriter rw, int rl, int ru) {
+			_rw = rw;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public byte[] call() throws Exception {
+			ByteArrayOutputStream bos = new ByteArrayOutputStream(TEXT_ROWBLOCK_CELLS*8);
+			FastBufferedTextOutputStream out = new FastBufferedTextOutputStream(bos);
+			_rw.writeRows(out, _rl, _ru);
+			out.close();
+			return bos.toByteArray();
+		}
+	}
+	
 	public static MatrixBlock[] createMatrixBlocksForReuse( long rlen, long clen, int brlen, int bclen, boolean sparse, long nonZeros ) 
 		throws DMLRuntimeException
 	{
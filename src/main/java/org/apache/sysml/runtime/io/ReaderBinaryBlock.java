@@ -34,6 +34,7 @@ import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.mapred.IndexedMatrixValue;
 import org.apache.sysml.runtime.matrix.mapred.MRJobConfiguration;
+import org.apache.sysml.runtime.util.IndexRange;
 
 public class ReaderBinaryBlock extends MatrixReader
 {
@@ -51,9 +52,33 @@ public class ReaderBinaryBlock extends MatrixReader
 	@Override
 	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
 		throws IOException, DMLRuntimeException 
+	{
+		return readMatrixFromHDFS(fname, rlen, clen, brlen, bclen, estnnz, null);
+	}
+	
+	/**
+	 * Reads the given index range of a binary block matrix. Blocks outside the
+	 * index range are skipped via their keys without deserialization, and only 
+	 * the overlapping slices of the remaining blocks are materialized.
+	 * 
+	 * @param fname file name
+	 * @param rlen number of rows of the entire matrix
+	 * @param clen number of columns of the entire matrix
+	 * @param brlen number of rows in block
+	 * @param bclen number of columns in block
+	 * @param estnnz estimated number of non-zeros of the entire matrix
+	 * @param ixrange index range (0-based, inclusive), or null for entire matrix
+	 * @return matrix block of the index range
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz, IndexRange ixrange) 
+		throws IOException, DMLRuntimeException 
 	{
 		//allocate output matrix block
-		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, brlen, bclen, estnnz, false, false);
+		checkValidIndexRange(rlen, clen, ixrange);
+		MatrixBlock ret = createOutputMatrixBlock(getNumRows(rlen, ixrange), getNumColumns(clen, ixrange), 
+			brlen, bclen, getEstimatedNonZeros(rlen, clen, estnnz, ixrange), false, false);
 		
 		//prepare file access
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
@@ -64,7 +89,7 @@ public class ReaderBinaryBlock extends MatrixReader
 		checkValidInputFile(fs, path); 
 	
 		//core read 
-		readBinaryBlockMatrixFromHDFS(path, job, fs, ret, rlen, clen, brlen, bclen);
+		readBinaryBlockMatrixFromHDFS(path, job, fs, ret, rlen, clen, brlen, bclen, ixrange);
 		
 		//finally check if change of sparse/dense block representation required
 		if( !AGGREGATE_BLOCK_NNZ )
@@ -114,16 +139,18 @@ public class ReaderBinaryBlock extends MatrixReader
 	 * @param clen number of columns
 	 * @param brlen number of rows in block
 	 * @param bclen number of columns in block
+	 * @param ixrange index range (0-based, inclusive), or null for entire matrix
 	 * @throws IOException if IOException occurs
 	 * @throws DMLRuntimeException if DMLRuntimeException occurs
 	 */
 	@SuppressWarnings("deprecation")
-	private static void readBinaryBlockMatrixFromHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock dest, long rlen, long clen, int brlen, int bclen )
+	private static void readBinaryBlockMatrixFromHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock dest, long rlen, long clen, int brlen, int bclen, IndexRange ixrange )
 		throws IOException, DMLRuntimeException
 	{
 		boolean sparse = dest.isInSparseFormat();
 		MatrixIndexes key = new MatrixIndexes(); 
 		MatrixBlock value = new MatrixBlock();
+		MatrixBlock tmp = (ixrange != null) ? new MatrixBlock() : null;
 		long lnnz = 0; //aggregate block nnz
 		
 		//set up preferred custom serialization framework for binary block format
@@ -138,8 +165,14 @@ public class ReaderBinaryBlock extends MatrixReader
 			try
 			{
 				//note: next(key, value) does not yet exploit the given serialization classes, record reader does but is generally slower.
-				while( reader.next(key, value) )
+				//note: next(key) and getCurrentValue(value) equals next(key, value) but allows to skip values
+				while( reader.next(key) )
 				{	
+					//index range filter (skip entire block w/o deserialization)
+					if( ixrange != null && !isBlockInRange(key, brlen, bclen, ixrange) )
+						continue;
+					reader.getCurrentValue(value);
+					
 					//empty block filter (skip entire block)
 					if( value.isEmptyBlock(false) )
 						continue;
@@ -156,22 +189,32 @@ public class ReaderBinaryBlock extends MatrixReader
 						throw new IOException("Matrix block ["+(row_offset+1)+":"+(row_offset+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
 								              "out of overall matrix range [1:"+rlen+",1:"+clen+"].");
 					}
+					
+					//slice block to index range and shift offsets
+					MatrixBlock block = value;
+					if( ixrange != null ) {
+						block = sliceBlockToRange(value, row_offset, col_offset, ixrange, tmp);
+						row_offset = (int)(Math.max(row_offset, ixrange.rowStart) - ixrange.rowStart);
+						col_offset = (int)(Math.max(col_offset, ixrange.colStart) - ixrange.colStart);
+						rows = block.getNumRows();
+						cols = block.getNumColumns();
+					}
 			
 					//copy block to result
 					if( sparse )
 					{
 						//note: append requires final sort (but prevents repeated shifting)
-						dest.appendToSparse(value, row_offset, col_offset);
+						dest.appendToSparse(block, row_offset, col_offset);
 					} 
 					else
 					{
 						dest.copy( row_offset, row_offset+rows-1, 
 								   col_offset, col_offset+cols-1,
-								   value, false );
+								   block, false );
 					}
 					
 					//maintain nnz as aggregate of block nnz
-					lnnz += value.getNonZeros();
+					lnnz += block.getNonZeros();
 				}
 			}
 			finally
@@ -182,7 +225,7 @@ public class ReaderBinaryBlock extends MatrixReader
 		
 		//post-processing
 		dest.setNonZeros( lnnz );
-		if( sparse && clen>bclen ){
+		if( sparse && getNumColumnBlocks(clen, bclen, ixrange)>1 ){
 			//no need to sort if 1 column block since always sorted
 			dest.sortSparseRows();
 		}
@@ -230,4 +273,77 @@ public class ReaderBinaryBlock extends MatrixReader
 			}
 		}
 	}
+
+	protected static void checkValidIndexRange(long rlen, long clen, IndexRange ixrange) 
+		throws DMLRuntimeException
+	{
+		if( ixrange != null && (ixrange.rowStart < 0 || ixrange.rowEnd < ixrange.rowStart 
+			|| ixrange.rowEnd >= rlen || ixrange.colStart < 0 || ixrange.colEnd < ixrange.colStart 
+			|| ixrange.colEnd >= clen) ) {
+			throw new DMLRuntimeException("Invalid values for matrix indexing: "+ixrange.add(1).toString()
+				+ " must be within matrix dimensions ["+rlen+","+clen+"]");
+		}
+	}
+	
+	protected static long getNumRows(long rlen, IndexRange ixrange) {
+		return (ixrange != null) ? ixrange.rowEnd-ixrange.rowStart+1 : rlen;
+	}
+	
+	protected static long getNumColumns(long clen, IndexRange ixrange) {
+		return (ixrange != null) ? ixrange.colEnd-ixrange.colStart+1 : clen;
+	}
+	
+	protected static long getEstimatedNonZeros(long rlen, long clen, long estnnz, IndexRange ixrange) {
+		//assume uniform distribution of non-zeros (consistent w/ slicing)
+		if( ixrange == null || estnnz < 0 )
+			return estnnz;
+		return (long)Math.ceil((double)estnnz/rlen/clen 
+			* getNumRows(rlen, ixrange) * getNumColumns(clen, ixrange));
+	}
+	
+	protected static long getNumColumnBlocks(long clen, int bclen, IndexRange ixrange) {
+		return (ixrange != null) ? ixrange.colEnd/bclen - ixrange.colStart/bclen + 1 
+			: (long)Math.ceil((double)clen/bclen);
+	}
+	
+	/**
+	 * Indicates if the block of the given key overlaps with the given 
+	 * index range (0-based, inclusive).
+	 * 
+	 * @param key block indexes
+	 * @param brlen number of rows in block
+	 * @param bclen number of columns in block
+	 * @param ixrange index range
+	 * @return true if overlapping with index range
+	 */
+	protected static boolean isBlockInRange(MatrixIndexes key, int brlen, int bclen, IndexRange ixrange) {
+		long rl = (key.getRowIndex()-1) * brlen;
+		long cl = (key.getColumnIndex()-1) * bclen;
+		return rl <= ixrange.rowEnd && rl+brlen-1 >= ixrange.rowStart
+			&& cl <= ixrange.colEnd && cl+bclen-1 >= ixrange.colStart;
+	}
+	
+	/**
+	 * Slices the overlap of the given block with the index range, or returns 
+	 * the block itself if it is entirely contained in the index range.
+	 * 
+	 * @param value matrix block
+	 * @param row_offset row offset of the block in the entire matrix
+	 * @param col_offset column offset of the block in the entire matrix
+	 * @param ixrange index range (0-based, inclusive)
+	 * @param tmp reused output block
+	 * @return sliced matrix block
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected static MatrixBlock sliceBlockToRange(MatrixBlock value, int row_offset, int col_offset, IndexRange ixrange, MatrixBlock tmp) 
+		throws DMLRuntimeException
+	{
+		int rl = (int)Math.max(ixrange.rowStart-row_offset, 0);
+		int ru = (int)Math.min(ixrange.rowEnd-row_offset, value.getNumRows()-1);
+		int cl = (int)Math.max(ixrange.colStart-col_offset, 0);
+		int cu = (int)Math.min(ixrange.colEnd-col_offset, value.getNumColumns()-1);
+		if( rl==0 && ru==value.getNumRows()-1 && cl==0 && cu==value.getNumColumns()-1 )
+			return value;
+		return value.sliceOperations(rl, ru, cl, cu, tmp);
+	}
 }
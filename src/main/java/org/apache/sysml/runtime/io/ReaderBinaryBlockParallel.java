@@ -39,24 +39,35 @@ import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlockMCSR;
 import org.apache.sysml.runtime.matrix.mapred.MRJobConfiguration;
+import org.apache.sysml.runtime.util.IndexRange;
 
 
 public class ReaderBinaryBlockParallel extends ReaderBinaryBlock 
 {	
 	private static int _numThreads = 1;
+	private SparseBlock.Type _stype = null;
 	
-	public ReaderBinaryBlockParallel( boolean localFS )
+	public ReaderBinaryBlockParallel( boolean localFS ) {
+		this(localFS, MatrixBlock.DEFAULT_SPARSEBLOCK);
+	}
+	
+	public ReaderBinaryBlockParallel( boolean localFS, SparseBlock.Type stype )
 	{
 		super(localFS);
+		_stype = stype;
 		_numThreads = OptimizerUtils.getParallelBinaryReadParallelism();
 	}
 	
 	@Override
-	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz, IndexRange ixrange) 
 		throws IOException, DMLRuntimeException 
 	{	
 		//allocate output matrix block (incl block allocation for parallel)
-		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, brlen, bclen, estnnz, true, true);
+		checkValidIndexRange(rlen, clen, ixrange);
+		MatrixBlock ret = createOutputMatrixBlock(getNumRows(rlen, ixrange), getNumColumns(clen, ixrange), 
+			brlen, bclen, getEstimatedNonZeros(rlen, clen, estnnz, ixrange), true, true, SparseBlock.Type.MCSR);
+		if( ixrange != null )
+			allocateRangeSyncPoints(ret, brlen, bclen, ixrange);
 		
 		//prepare file access
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
@@ -67,17 +78,34 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		checkValidInputFile(fs, path); 
 	
 		//core read 
-		readBinaryBlockMatrixFromHDFS(path, job, fs, ret, rlen, clen, brlen, bclen);
+		readBinaryBlockMatrixFromHDFS(path, job, fs, ret, rlen, clen, brlen, bclen, ixrange);
 		
 		//finally check if change of sparse/dense block representation required
 		if( !AGGREGATE_BLOCK_NNZ )
 			ret.recomputeNonZeros();
 		ret.examSparsity();
 		
+		//convert to requested sparse block type if necessary 
+		//(parallel read into MCSR for fine-grained locking)
+		ret = convertToSparseBlockParallel(ret, _stype, _numThreads);
+		
 		return ret;
 	}
 
-	private static void readBinaryBlockMatrixFromHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock dest, long rlen, long clen, int brlen, int bclen )
+	private static void allocateRangeSyncPoints( MatrixBlock dest, int brlen, int bclen, IndexRange ixrange ) {
+		//create synchronization points for MCSR at the first output row of each 
+		//block row in the index range (consistent with the offsets of sliced blocks)
+		SparseBlock sblock = dest.getSparseBlock();
+		int clen = dest.getNumColumns();
+		if( dest.isInSparseFormat() && sblock instanceof SparseBlockMCSR 
+			&& getNumColumnBlocks(clen, bclen, ixrange) > 1 ) {
+			for( long i=ixrange.rowStart; i<=ixrange.rowEnd; i=(i/brlen+1)*brlen )
+				if( sblock.get((int)(i-ixrange.rowStart)) == null )
+					sblock.allocate((int)(i-ixrange.rowStart), 1, clen);
+		}
+	}
+	
+	private static void readBinaryBlockMatrixFromHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock dest, long rlen, long clen, int brlen, int bclen, IndexRange ixrange )
 		throws IOException, DMLRuntimeException
 	{			
 		//set up preferred custom serialization framework for binary block format
@@ -90,7 +118,7 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 			ExecutorService pool = Executors.newFixedThreadPool(_numThreads);
 			ArrayList<ReadFileTask> tasks = new ArrayList<ReadFileTask>();
 			for( Path lpath : getSequenceFilePaths(fs, path) ){
-				ReadFileTask t = new ReadFileTask(lpath, job, fs, dest, rlen, clen, brlen, bclen);
+				ReadFileTask t = new ReadFileTask(lpath, job, fs, dest, rlen, clen, brlen, bclen, ixrange);
 				tasks.add(t);
 			}
 
@@ -104,8 +132,8 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 			
 			//post-processing
 			dest.setNonZeros( lnnz );
-			if( dest.isInSparseFormat() && clen>bclen ) 
-				sortSparseRowsParallel(dest, rlen, _numThreads, pool);
+			if( dest.isInSparseFormat() && getNumColumnBlocks(clen, bclen, ixrange)>1 ) 
+				sortSparseRowsParallel(dest, dest.getNumRows(), _numThreads, pool);
 			
 			pool.shutdown();
 		} 
@@ -124,8 +152,9 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		private long _clen = -1;
 		private int _brlen = -1;
 		private int _bclen = -1;
+		private IndexRange _ixrange = null;
 		
-		public ReadFileTask(Path path, JobConf job, FileSystem fs, MatrixBlock dest, long rlen, long clen, int brlen, int bclen)
+		public ReadFileTask(Path path, JobConf job, FileSystem fs, MatrixBlock dest, long rlen, long clen, int brlen, int bclen, IndexRange ixrange)
 		{
 			_path = path;
 			_fs = fs;
@@ -135,6 +164,7 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 			_clen = clen;
 			_brlen = brlen;
 			_bclen = bclen;
+			_ixrange = ixrange;
 		}
 
 		@Override
@@ -144,6 +174,7 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 			boolean sparse = _dest.isInSparseFormat();
 			MatrixIndexes key = new MatrixIndexes(); 
 			MatrixBlock value = new MatrixBlock();
+			MatrixBlock tmp = (_ixrange != null) ? new MatrixBlock() : null;
 			long lnnz = 0; //aggregate block nnz
 			
 			//directly read from sequence files (individual partfiles)
@@ -152,8 +183,13 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 			try
 			{
 				//note: next(key, value) does not yet exploit the given serialization classes, record reader does but is generally slower.
-				while( reader.next(key, value) )
+				while( reader.next(key) )
 				{	
+					//index range filter (skip entire block w/o deserialization)
+					if( _ixrange != null && !isBlockInRange(key, _brlen, _bclen, _ixrange) )
+						continue;
+					reader.getCurrentValue(value);
+					
 					//empty block filter (skip entire block)
 					if( value.isEmptyBlock(false) )
 						continue;
@@ -170,39 +206,49 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 						throw new IOException("Matrix block ["+(row_offset+1)+":"+(row_offset+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
 								              "out of overall matrix range [1:"+_rlen+",1:"+_clen+"].");
 					}
+					
+					//slice block to index range and shift offsets
+					MatrixBlock block = value;
+					if( _ixrange != null ) {
+						block = sliceBlockToRange(value, row_offset, col_offset, _ixrange, tmp);
+						row_offset = (int)(Math.max(row_offset, _ixrange.rowStart) - _ixrange.rowStart);
+						col_offset = (int)(Math.max(col_offset, _ixrange.colStart) - _ixrange.colStart);
+						rows = block.getNumRows();
+						cols = block.getNumColumns();
+					}
 			
 					//copy block to result
 					if( sparse )
 					{
 						//note: append requires final sort
-						if (cols < _clen ) {
+						if (cols < _dest.getNumColumns() ) {
 							//sparse requires lock, when matrix is wider than one block
 							//(fine-grained locking of block rows instead of the entire matrix)
 							//NOTE: fine-grained locking depends on MCSR SparseRow objects 
 							SparseBlock sblock = _dest.getSparseBlock();
 							if( sblock instanceof SparseBlockMCSR && sblock.get(row_offset) != null ) {
 								synchronized( sblock.get(row_offset) ){ 
-									_dest.appendToSparse(value, row_offset, col_offset);
+									_dest.appendToSparse(block, row_offset, col_offset);
 								}
 							}
 							else {
 								synchronized( _dest ){ 
-									_dest.appendToSparse(value, row_offset, col_offset);
+									_dest.appendToSparse(block, row_offset, col_offset);
 								}
 							}
 						}
 						else { //quickpath (no synchronization)
-							_dest.appendToSparse(value, row_offset, col_offset);
+							_dest.appendToSparse(block, row_offset, col_offset);
 						}
 					} 
 					else
 					{
 						_dest.copy( row_offset, row_offset+rows-1, 
-								   col_offset, col_offset+cols-1, value, false );
+								   col_offset, col_offset+cols-1, block, false );
 					}
 					
 					//aggregate nnz
-					lnnz += value.getNonZeros();
+					lnnz += block.getNonZeros();
 				}
 			}
 			finally
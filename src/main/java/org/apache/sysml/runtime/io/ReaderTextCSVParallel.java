@@ -21,9 +21,12 @@ package org.apache.sysml.runtime.io;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.fs.FileSystem;
@@ -42,28 +45,40 @@ import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCOO;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.matrix.data.SparseRow;
 
 /**
- * Parallel version of ReaderTextCSV.java. To summarize, we do two passes in
- * order to compute row offsets and the actual read. We accordingly create count
- * and read tasks and use fixed-size thread pools to execute these tasks. If the
- * target matrix is dense, the inserts are done lock-free. In contrast to
- * textcell parallel read, we also do lock-free inserts. If the matrix is
- * sparse, because splits contain row partitioned lines and hence there is no
- * danger of lost updates. Note, there is also no sorting of sparse rows
- * required because data comes in sorted order per row.
+ * Parallel version of ReaderTextCSV.java. To summarize, we read the input in a
+ * single pass, where each read task parses its split into a partial block of
+ * unknown number of rows. The row offsets are then resolved via a prefix sum
+ * over the partial row counts, and the partial blocks are concatenated into
+ * the target matrix (lock-free, because splits contain row partitioned lines).
+ * Lines are tokenized and parsed at byte level (see CSVTokenizer) directly on
+ * the reused line buffers, i.e., without per-line or per-cell strings. Partial
+ * blocks start dense and switch to a compressed sparse representation if the
+ * observed sparsity is low. CSR and COO outputs are built directly from the
+ * partial blocks with row pointers obtained via a prefix sum over row nnz.
+ * Note, there is also no sorting of sparse rows required because data comes
+ * in sorted order per row.
  * 
  */
 public class ReaderTextCSVParallel extends MatrixReader 
 {
 	private CSVFileFormatProperties _props = null;
+	private SparseBlock.Type _stype = null;
 	private int _numThreads = 1;
 
-	private SplitOffsetInfos _offsets = null;
-
 	public ReaderTextCSVParallel(CSVFileFormatProperties props) {
+		this(props, MatrixBlock.DEFAULT_SPARSEBLOCK);
+	}
+	
+	public ReaderTextCSVParallel(CSVFileFormatProperties props, SparseBlock.Type stype) {
 		_numThreads = OptimizerUtils.getParallelTextReadParallelism();
 		_props = props;
+		_stype = stype;
 	}
 
 	@Override
@@ -86,17 +101,11 @@ public class ReaderTextCSVParallel extends MatrixReader
 		// check existence and non-empty file
 		checkValidInputFile(fs, path);
 
-		// allocate output matrix block
-		// First Read Pass (count rows/cols, determine offsets, allocate matrix block)
-		MatrixBlock ret = computeCSVSizeAndCreateOutputMatrixBlock(splits,
-				path, job, _props.hasHeader(), _props.getDelim(), estnnz);
-		rlen = ret.getNumRows();
-		clen = ret.getNumColumns();
-
-		// Second Read Pass (read, parse strings, append to matrix block)
-		readCSVMatrixFromHDFS(splits, path, job, ret, rlen, clen, brlen, bclen,
-				_props.hasHeader(), _props.getDelim(), _props.isFill(),
-				_props.getFillValue());
+		// Single Read Pass (read, parse bytes, create partial blocks,
+		// compute row offsets, allocate and concatenate into output block)
+		int ncol = computeCSVNumColumns(splits, job, informat, _props.getDelim());
+		MatrixBlock ret = readCSVMatrixFromHDFS(splits, job, informat, ncol, 
+				_props.hasHeader(), _props.getDelim(), _props.isFill(), _props.getFillValue());
 		
 		//post-processing (representation-specific, change of sparse/dense block representation)
 		// - no sorting required for CSV because it is read in sorted order per row
@@ -111,56 +120,95 @@ public class ReaderTextCSVParallel extends MatrixReader
 		return ret;
 	}
 
-	private void readCSVMatrixFromHDFS(InputSplit[] splits, Path path, JobConf job, 
-			MatrixBlock dest, long rlen, long clen, int brlen, int bclen, 
-			boolean hasHeader, String delim, boolean fill, double fillValue) 
-		throws IOException 
+	private MatrixBlock readCSVMatrixFromHDFS(InputSplit[] splits, JobConf job, TextInputFormat informat, 
+			int ncol, boolean hasHeader, String delim, boolean fill, double fillValue) 
+		throws IOException, DMLRuntimeException 
 	{
-		FileInputFormat.addInputPath(job, path);
-		TextInputFormat informat = new TextInputFormat();
-		informat.configure(job);
-
 		ExecutorService pool = Executors.newFixedThreadPool(_numThreads);
-
+		MatrixBlock ret = null;
+		
 		try 
 		{
-			// create read tasks for all splits
+			// create and execute read tasks for all splits
 			ArrayList<CSVReadTask> tasks = new ArrayList<CSVReadTask>();
-			int splitCount = 0;
-			for (InputSplit split : splits) {
-				tasks.add( new CSVReadTask(split, _offsets, informat, job, dest, 
-					rlen, clen, hasHeader, delim, fill, fillValue, splitCount++) );
+			for( int i=0; i<splits.length; i++ )
+				tasks.add(new CSVReadTask(splits[i], informat, job, ncol, 
+					hasHeader && i==0, delim, fill, fillValue));
+			List<Future<CSVPartialBlock>> rret = pool.invokeAll(tasks);
+			
+			// collect partial blocks and compute row offsets via cumsum on row counts
+			// (early error notify in case not all tasks successful)
+			CSVPartialBlock[] blocks = new CSVPartialBlock[rret.size()];
+			int[] offsets = new int[rret.size()];
+			long nrow = 0, nnz = 0;
+			for( int i=0; i<blocks.length; i++ ) {
+				blocks[i] = rret.get(i).get();
+				offsets[i] = (int) nrow;
+				nrow += blocks[i].getNumRows();
+				nnz += blocks[i].getNonZeros();
 			}
-			pool.invokeAll(tasks);
-			pool.shutdown();
-
-			// check return codes and aggregate nnz
-			long lnnz = 0;
-			for (CSVReadTask rt : tasks) {
-				lnnz += rt.getPartialNnz();
-				if (!rt.getReturnCode()) {
-					Exception err = rt.getException();
-					throw new IOException("Read task for csv input failed: "+ err.toString(), err);
-				}
+			
+			// build CSR/COO output directly from partial blocks (row pointers via prefix
+			// sum over row nnz), all other outputs via lock-free inserts into dense or MCSR
+			boolean sparse = MatrixBlock.evalSparseFormatInMemory(nrow, ncol, nnz);
+			if( sparse && _stype != SparseBlock.Type.MCSR 
+				&& nnz <= Integer.MAX_VALUE && OptimizerUtils.isValidCPDimensions(nrow, ncol) ) 
+			{
+				// compute row pointers via prefix sum over row nnz
+				int[] ptr = new int[(int)nrow+1];
+				ArrayList<CSVConcatTask> tasks2 = new ArrayList<CSVConcatTask>();
+				for( int i=0; i<blocks.length; i++ )
+					tasks2.add(new CSVConcatTask(blocks[i], ptr, offsets[i]));
+				for( Future<Object> task : pool.invokeAll(tasks2) )
+					task.get();
+				for( int i=0; i<nrow; i++ )
+					ptr[i+1] += ptr[i];
+				
+				// allocate target arrays and concatenate partial blocks
+				boolean coo = (_stype == SparseBlock.Type.COO);
+				int[] rix = coo ? new int[(int)nnz] : null;
+				int[] cix = new int[(int)nnz];
+				double[] vals = new double[(int)nnz];
+				ArrayList<CSVConcatTask> tasks3 = new ArrayList<CSVConcatTask>();
+				for( int i=0; i<blocks.length; i++ )
+					tasks3.add(new CSVConcatTask(blocks[i], ptr, rix, cix, vals, offsets[i]));
+				for( Future<Object> task : pool.invokeAll(tasks3) )
+					task.get();
+				SparseBlock sblock = coo ? 
+					new SparseBlockCOO((int)nrow, rix, cix, vals, (int)nnz) :
+					new SparseBlockCSR(ptr, cix, vals, (int)nnz);
+				ret = new MatrixBlock((int)nrow, ncol, nnz, sblock);
+			}
+			else 
+			{
+				// allocate target matrix block based on exact size and nnz; 
+				// need to allocate sparse as well since lock-free insert into target
+				ret = createOutputMatrixBlock(nrow, ncol, (int)nrow, ncol, nnz, true, true, SparseBlock.Type.MCSR);
+				
+				// concatenate partial blocks in parallel
+				ArrayList<CSVConcatTask> tasks2 = new ArrayList<CSVConcatTask>();
+				for( int i=0; i<blocks.length; i++ )
+					tasks2.add(new CSVConcatTask(blocks[i], ret, offsets[i]));
+				for( Future<Object> task : pool.invokeAll(tasks2) )
+					task.get();
 			}
-			dest.setNonZeros(lnnz);
+			ret.setNonZeros(nnz);
 		} 
 		catch (Exception e) {
-			throw new IOException("Threadpool issue, while parallel read.", e);
+			throw new IOException("Failed parallel read of text csv input.", e);
 		}
+		finally {
+			pool.shutdown();
+		}
+		
+		return ret;
 	}
 
-	private MatrixBlock computeCSVSizeAndCreateOutputMatrixBlock(
-			InputSplit[] splits, Path path, JobConf job, boolean hasHeader,
-			String delim, long estnnz) throws IOException, DMLRuntimeException 
+	private static int computeCSVNumColumns(InputSplit[] splits, JobConf job, TextInputFormat informat, String delim) 
+		throws IOException
 	{
-		int nrow = 0;
 		int ncol = 0;
 		
-		FileInputFormat.addInputPath(job, path);
-		TextInputFormat informat = new TextInputFormat();
-		informat.configure(job);
-
 		// count no of entities in the first non-header row
 		LongWritable key = new LongWritable();
 		Text oneLine = new Text();
@@ -175,305 +223,304 @@ public class ReaderTextCSVParallel extends MatrixReader
 		finally {
 			IOUtilFunctions.closeSilently(reader);
 		}
-
-		// count rows in parallel per split
-		try 
-		{
-			ExecutorService pool = Executors.newFixedThreadPool(_numThreads);
-			ArrayList<CountRowsTask> tasks = new ArrayList<CountRowsTask>();
-			for (InputSplit split : splits) {
-				tasks.add(new CountRowsTask(split, informat, job, hasHeader));
-				hasHeader = false;
-			}
-			pool.invokeAll(tasks);
-			pool.shutdown();
-
-			// collect row counts for offset computation
-			// early error notify in case not all tasks successful
-			_offsets = new SplitOffsetInfos(tasks.size());
-			for (CountRowsTask rt : tasks) {
-				if (!rt.getReturnCode())
-					throw new IOException("Count task for csv input failed: "+ rt.getErrMsg());
-				_offsets.setOffsetPerSplit(tasks.indexOf(rt), nrow);
-				_offsets.setLenghtPerSplit(tasks.indexOf(rt), rt.getRowCount());
-				nrow = nrow + rt.getRowCount();
-			}
-		} 
-		catch (Exception e) {
-			throw new IOException("Threadpool Error " + e.getMessage(), e);
-		}
-
-		// allocate target matrix block based on given size; 
-		// need to allocate sparse as well since lock-free insert into target
-		return createOutputMatrixBlock(nrow, ncol, nrow, ncol, estnnz, true, true);
+		
+		return ncol;
 	}
-
-	private static class SplitOffsetInfos {
-		// offset & length info per split
-		private int[] offsetPerSplit = null;
-		private int[] lenghtPerSplit = null;
-
-		public SplitOffsetInfos(int numSplits) {
-			lenghtPerSplit = new int[numSplits];
-			offsetPerSplit = new int[numSplits];
-		}
-
-		public int getLenghtPerSplit(int split) {
-			return lenghtPerSplit[split];
+	
+	/**
+	 * Partial block of a single split with unknown number of rows, which
+	 * starts with a dense row-major representation and switches to a 
+	 * compressed sparse row representation if the sparsity observed over
+	 * the first rows is below the sparsity turn point.
+	 */
+	private static class CSVPartialBlock
+	{
+		private static final int SPARSITY_CHECK_ROWS = 1024;
+		
+		private final int _ncol;
+		private int _nrow = 0;
+		private long _nnz = 0;
+		
+		//dense row-major representation
+		private double[] _dvals = null;
+		
+		//compressed sparse row representation
+		private int[] _rptr = null;
+		private int[] _cix = null;
+		private double[] _svals = null;
+		
+		public CSVPartialBlock(int ncol) {
+			_ncol = ncol;
+			_dvals = new double[Math.max(ncol, 1) * 16];
 		}
-
-		public void setLenghtPerSplit(int split, int r) {
-			lenghtPerSplit[split] = r;
+		
+		public int getNumRows() {
+			return _nrow;
 		}
-
-		public int getOffsetPerSplit(int split) {
-			return offsetPerSplit[split];
+		
+		public long getNonZeros() {
+			return _nnz;
 		}
-
-		public void setOffsetPerSplit(int split, int o) {
-			offsetPerSplit[split] = o;
+		
+		public boolean isSparse() {
+			return _rptr != null;
 		}
-	}
-
-	private static class CountRowsTask implements Callable<Object> 
-	{
-		private InputSplit _split = null;
-		private TextInputFormat _informat = null;
-		private JobConf _job = null;
-		private boolean _rc = true;
-		private String _errMsg = null;
-		private int _nrows = -1;
-		private boolean _hasHeader = false;
-
-		public CountRowsTask(InputSplit split, TextInputFormat informat,
-				JobConf job, boolean hasHeader) {
-			_split = split;
-			_informat = informat;
-			_job = job;
-			_nrows = 0;
-			_hasHeader = hasHeader;
+		
+		public void allocateRow() {
+			if( isSparse() ) {
+				if( _rptr.length < _nrow + 2 )
+					_rptr = Arrays.copyOf(_rptr, _rptr.length * 2);
+				_rptr[_nrow+1] = _rptr[_nrow];
+			}
+			else {
+				long len = (long)(_nrow + 1) * _ncol;
+				if( _dvals.length < len )
+					_dvals = Arrays.copyOf(_dvals, (int) 
+						Math.min(Math.max(2L * _dvals.length, len), Integer.MAX_VALUE));
+			}
 		}
-
-		public boolean getReturnCode() {
-			return _rc;
+		
+		public void append(int c, double v) {
+			if( isSparse() ) {
+				int pos = _rptr[_nrow+1];
+				if( _cix.length <= pos ) {
+					int newCap = (int) Math.min(2L * _cix.length + 1, Integer.MAX_VALUE);
+					_cix = Arrays.copyOf(_cix, newCap);
+					_svals = Arrays.copyOf(_svals, newCap);
+				}
+				_cix[pos] = c;
+				_svals[pos] = v;
+				_rptr[_nrow+1] = pos + 1;
+			}
+			else {
+				_dvals[_nrow * _ncol + c] = v;
+			}
+			_nnz++;
 		}
-
-		public int getRowCount() {
-			return _nrows;
+		
+		public void finishRow() {
+			_nrow++;
+			if( !isSparse() && _nrow == SPARSITY_CHECK_ROWS 
+				&& _nnz < MatrixBlock.SPARSITY_TURN_POINT * _nrow * _ncol )
+				toSparse();
 		}
 		
-		public String getErrMsg() {
-			return _errMsg;
+		private void toSparse() {
+			_rptr = new int[2 * _nrow + 2];
+			_cix = new int[(int)_nnz * 2 + 1];
+			_svals = new double[(int)_nnz * 2 + 1];
+			for( int i=0, pos=0, ix=0; i<_nrow; i++ ) {
+				for( int j=0; j<_ncol; j++, ix++ )
+					if( _dvals[ix] != 0 ) {
+						_cix[pos] = j;
+						_svals[pos++] = _dvals[ix];
+					}
+				_rptr[i+1] = pos;
+			}
+			_dvals = null;
 		}
-
-		@Override
-		public Object call() 
-			throws Exception 
-		{
-			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
-			LongWritable key = new LongWritable();
-			Text oneLine = new Text();
-
-			try {
-				// count rows from the first non-header row
-				if (_hasHeader) {
-					reader.next(key, oneLine);
-				}
-				while (reader.next(key, oneLine)) {
-					_nrows++;
+		
+		public void copyInto(MatrixBlock dest, int rl) {
+			if( dest.isInSparseFormat() ) { //MCSR
+				SparseBlock sblock = dest.getSparseBlock();
+				for( int i=0; i<_nrow; i++ ) {
+					int apos = isSparse() ? _rptr[i] : i * _ncol;
+					int alen = isSparse() ? _rptr[i+1] - apos : _ncol;
+					int lnnz = isSparse() ? alen : countNonZeros(_dvals, apos, alen);
+					if( lnnz == 0 )
+						continue;
+					//create exact-size rows w/o copy on set
+					SparseRow row = new SparseRow(lnnz);
+					if( isSparse() ) {
+						System.arraycopy(_cix, apos, row.indexes(), 0, alen);
+						System.arraycopy(_svals, apos, row.values(), 0, alen);
+					}
+					else {
+						int[] cix = row.indexes();
+						double[] vals = row.values();
+						for( int j=0, pos=0; j<alen; j++ )
+							if( _dvals[apos+j] != 0 ) {
+								cix[pos] = j;
+								vals[pos++] = _dvals[apos+j];
+							}
+					}
+					row.setSize(lnnz);
+					sblock.set(rl+i, row, false);
 				}
-			} 
-			catch (Exception e) {
-				_rc = false;
-				_errMsg = "RecordReader error CSV format. split: "+ _split.toString() + e.getMessage();
-				throw new IOException(_errMsg);
-			} 
-			finally {
-				IOUtilFunctions.closeSilently(reader);
 			}
-
-			return null;
+			else {
+				double[] c = dest.getDenseBlock();
+				int clen = dest.getNumColumns();
+				if( !isSparse() )
+					System.arraycopy(_dvals, 0, c, rl * clen, _nrow * _ncol);
+				else
+					for( int i=0, cix=rl*clen; i<_nrow; i++, cix+=clen )
+						for( int k=_rptr[i]; k<_rptr[i+1]; k++ )
+							c[cix + _cix[k]] = _svals[k];
+			}
+		}
+		
+		public void countRowNonZeros(int[] ptr, int rl) {
+			for( int i=0; i<_nrow; i++ )
+				ptr[rl+i+1] = isSparse() ? _rptr[i+1] - _rptr[i] : 
+					countNonZeros(_dvals, i * _ncol, _ncol);
+		}
+		
+		public void copyInto(int[] ptr, int[] rix, int[] cix, double[] vals, int rl) {
+			if( isSparse() ) {
+				int pos = ptr[rl];
+				System.arraycopy(_cix, 0, cix, pos, _rptr[_nrow]);
+				System.arraycopy(_svals, 0, vals, pos, _rptr[_nrow]);
+			}
+			else {
+				for( int i=0, ix=0, pos=ptr[rl]; i<_nrow; i++ )
+					for( int j=0; j<_ncol; j++, ix++ )
+						if( _dvals[ix] != 0 ) {
+							cix[pos] = j;
+							vals[pos++] = _dvals[ix];
+						}
+			}
+			if( rix != null )
+				for( int i=0; i<_nrow; i++ )
+					Arrays.fill(rix, ptr[rl+i], ptr[rl+i+1], rl+i);
+		}
+		
+		private static int countNonZeros(double[] a, int ai, int len) {
+			int lnnz = 0;
+			for( int i=ai; i<ai+len; i++ )
+				lnnz += (a[i] != 0) ? 1 : 0;
+			return lnnz;
 		}
 	}
 
-	private static class CSVReadTask implements Callable<Object> 
+	private static class CSVReadTask implements Callable<CSVPartialBlock> 
 	{
 		private InputSplit _split = null;
-		private SplitOffsetInfos _splitoffsets = null;
-		private boolean _sparse = false;
 		private TextInputFormat _informat = null;
 		private JobConf _job = null;
-		private MatrixBlock _dest = null;
-		private long _rlen = -1;
-		private long _clen = -1;
-		private boolean _isFirstSplit = false;
+		private int _clen = -1;
 		private boolean _hasHeader = false;
 		private boolean _fill = false;
 		private double _fillValue = 0;
 		private String _delim = null;
-		private int _splitCount = 0;
 		
-		private boolean _rc = true;
-		private Exception _exception = null;
-		private long _nnz;
-		
-		public CSVReadTask(InputSplit split, SplitOffsetInfos offsets,
-				TextInputFormat informat, JobConf job, MatrixBlock dest,
-				long rlen, long clen, boolean hasHeader, String delim,
-				boolean fill, double fillValue, int splitCount) 
+		public CSVReadTask(InputSplit split, TextInputFormat informat, JobConf job, 
+				int clen, boolean hasHeader, String delim, boolean fill, double fillValue) 
 		{
 			_split = split;
-			_splitoffsets = offsets; // new SplitOffsetInfos(offsets);
-			_sparse = dest.isInSparseFormat();
 			_informat = informat;
 			_job = job;
-			_dest = dest;
-			_rlen = rlen;
 			_clen = clen;
-			_isFirstSplit = (splitCount == 0);
 			_hasHeader = hasHeader;
 			_fill = fill;
 			_fillValue = fillValue;
 			_delim = delim;
-			_rc = true;
-			_splitCount = splitCount;
-		}
-
-		public boolean getReturnCode() {
-			return _rc;
-		}
-
-		public Exception getException() {
-			return _exception;
-		}
-		
-		public long getPartialNnz() {
-			return _nnz;
 		}
 
 		@Override
-		public Object call() 
+		public CSVPartialBlock call() 
 			throws Exception 
 		{
-			int row = 0;
+			CSVPartialBlock block = new CSVPartialBlock(_clen);
+			CSVTokenizer tok = new CSVTokenizer(_delim, false);
 			int col = 0;
-			double cellValue = 0;
-			long lnnz = 0;
+			
+			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
+			LongWritable key = new LongWritable();
+			Text value = new Text();
 			
 			try 
 			{
-				RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
-				LongWritable key = new LongWritable();
-				Text value = new Text();
-				
 				// skip the header line
-				if (_isFirstSplit && _hasHeader) {
+				if (_hasHeader) {
 					reader.next(key, value);
 				}
 
 				boolean noFillEmpty = false;
-				row = _splitoffsets.getOffsetPerSplit(_splitCount);
-
-				try {
-					if (_sparse) // SPARSE<-value
+				while (reader.next(key, value)) // foreach line
+				{
+					tok.reset(value.getBytes(), value.getLength());
+					block.allocateRow();
+					col = 0;
+					
+					while( tok.hasNext() ) // foreach cell
 					{
-						while (reader.next(key, value)) // foreach line
-						{
-							String cellStr = value.toString().trim();
-							String[] parts = IOUtilFunctions.split(cellStr, _delim);
-							col = 0;
-
-							for (String part : parts) // foreach cell
-							{
-								part = part.trim();
-								if (part.isEmpty()) {
-									noFillEmpty |= !_fill;
-									cellValue = _fillValue;
-								} 
-								else {
-									cellValue = IOUtilFunctions.parseDoubleParallel(part);
-								}
-
-								if( cellValue != 0 ) {
-									_dest.appendValue(row, col, cellValue);
-									lnnz++;
-								}
-								col++;
-							}
-
-							// sanity checks (number of columns, fill values)
-							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _fill, noFillEmpty);
-							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _clen);
-							
-							row++;
+						tok.next();
+						double cellValue = 0;
+						if( tok.isEmpty() ) {
+							noFillEmpty |= !_fill;
+							cellValue = _fillValue;
 						}
-					} 
-					else // DENSE<-value
-					{
-						while (reader.next(key, value)) // foreach line
-						{
-							String cellStr = value.toString().trim();
-							String[] parts = IOUtilFunctions.split(cellStr, _delim);
-							col = 0;
-
-							for (String part : parts) // foreach cell
-							{
-								part = part.trim();
-								if (part.isEmpty()) {
-									noFillEmpty |= !_fill;
-									cellValue = _fillValue;
-								} 
-								else {
-									cellValue = IOUtilFunctions.parseDoubleParallel(part);
-								}
-								if( cellValue != 0 ) {
-									_dest.setValueDenseUnsafe(row, col, cellValue);
-									lnnz++;
-								}
-								col++;
-							}
-
-							// sanity checks (number of columns, fill values)
-							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _fill, noFillEmpty);
-							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _clen);
-							
-							row++;
+						else {
+							cellValue = tok.getDouble();
 						}
+						if( cellValue != 0 && col < _clen )
+							block.append(col, cellValue);
+						col++;
 					}
-
-					// sanity checks (number of rows)
-					if (row != (_splitoffsets.getOffsetPerSplit(_splitCount) + _splitoffsets.getLenghtPerSplit(_splitCount)) ) 
-					{
-						throw new IOException("Incorrect number of rows ("+ row+ ") found in delimited file ("
-										+ (_splitoffsets.getOffsetPerSplit(_splitCount) 
-										+ _splitoffsets.getLenghtPerSplit(_splitCount))+ "): " + value);
-					}
-				} 
-				finally {
-					if (reader != null)
-						reader.close();
+					
+					// sanity checks (number of columns, fill values)
+					if( noFillEmpty )
+						IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(tok.getLine(), _fill, noFillEmpty);
+					if( col != _clen )
+						IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), tok.getLine(), col, _clen);
+					
+					block.finishRow();
 				}
-			} 
+			}
 			catch (Exception ex) {
-				// central error handling (return code, message)
-				_rc = false;
-				_exception = ex;
-
 				// post-mortem error handling and bounds checking
-				if (row < 0 || row + 1 > _rlen || col < 0 || col + 1 > _clen) {
-					String errMsg = "CSV cell [" + (row + 1) + "," + (col + 1)+ "] " + 
-							"out of overall matrix range [1:" + _rlen+ ",1:" + _clen + "]. " + ex.getMessage();
-					throw new IOException(errMsg, _exception);
-				} 
-				else {
-					String errMsg = "Unable to read matrix in text CSV format. "+ ex.getMessage();
-					throw new IOException(errMsg, _exception);
-				}
+				throw new IOException("Unable to read matrix in text CSV format "
+					+ "(split row " + (block.getNumRows()+1) + ", col " + col + "). " + ex.getMessage(), ex);
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
 			}
-
-			//post processing
-			_nnz = lnnz;
 			
+			return block;
+		}
+	}
+	
+	private static class CSVConcatTask implements Callable<Object> 
+	{
+		private final CSVPartialBlock _block;
+		private final MatrixBlock _dest;
+		private final int[] _ptr;
+		private final int[] _rix;
+		private final int[] _cix;
+		private final double[] _vals;
+		private final int _rl;
+		
+		public CSVConcatTask(CSVPartialBlock block, MatrixBlock dest, int rl) {
+			this(block, dest, null, null, null, null, rl);
+		}
+		
+		public CSVConcatTask(CSVPartialBlock block, int[] ptr, int rl) {
+			this(block, null, ptr, null, null, null, rl);
+		}
+		
+		public CSVConcatTask(CSVPartialBlock block, int[] ptr, int[] rix, int[] cix, double[] vals, int rl) {
+			this(block, null, ptr, rix, cix, vals, rl);
+		}
+		
+		private CSVConcatTask(CSVPartialBlock block, MatrixBlock dest, int[] ptr, int[] rix, int[] cix, double[] vals, int rl) {
+			_block = block;
+			_dest = dest;
+			_ptr = ptr;
+			_rix = rix;
+			_cix = cix;
+			_vals = vals;
+			_rl = rl;
+		}
+		
+		@Override
+		public Object call() throws Exception {
+			if( _dest != null ) //dense or MCSR
+				_block.copyInto(_dest, _rl);
+			else if( _cix == null ) //row nnz for CSR/COO 
+				_block.countRowNonZeros(_ptr, _rl);
+			else //CSR/COO
+				_block.copyInto(_ptr, _rix, _cix, _vals, _rl);
 			return null;
 		}
 	}
@@ -42,6 +42,7 @@ import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.util.FastStringTokenizer;
 import org.apache.sysml.runtime.util.MapReduceTool;
 
@@ -68,11 +69,17 @@ public class ReaderTextCellParallel extends MatrixReader
 	private static final long MIN_FILESIZE_MM = 8L * 1024; //8KB
 	
 	private boolean _isMMFile = false;
+	private SparseBlock.Type _stype = null;
 	private int _numThreads = 1;
 	
-	public ReaderTextCellParallel(InputInfo info)
+	public ReaderTextCellParallel(InputInfo info) {
+		this(info, MatrixBlock.DEFAULT_SPARSEBLOCK);
+	}
+	
+	public ReaderTextCellParallel(InputInfo info, SparseBlock.Type stype)
 	{
 		_isMMFile = (info == InputInfo.MatrixMarketInputInfo);
+		_stype = stype;
 		_numThreads = OptimizerUtils.getParallelTextReadParallelism();
 	}
 	
@@ -99,6 +106,10 @@ public class ReaderTextCellParallel extends MatrixReader
 			ret.recomputeNonZeros();			
 		ret.examSparsity();
 		
+		//convert to requested sparse block type if necessary 
+		//(parallel read into MCSR for efficient appends)
+		ret = convertToSparseBlockParallel(ret, _stype, _numThreads);
+		
 		return ret;
 	}
 
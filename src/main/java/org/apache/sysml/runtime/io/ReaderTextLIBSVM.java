@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.util.LineReader;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.CSVReblockMR;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseRow;
+
+/**
+ * Reader for text files in LIBSVM format ("label index:value index:value ...",
+ * with 1-based feature indexes). The features and labels are read into a single
+ * matrix, where the features populate the first clen-1 columns and the labels
+ * the last column. Lines are parsed at byte level into a reused sparse row and
+ * directly appended to the output block, i.e., without intermediate cells.
+ * If the dimensions are unknown, they are determined in a separate pass
+ * (number of lines, and maximum feature index plus label column).
+ *
+ */
+public class ReaderTextLIBSVM extends MatrixReader
+{
+	public ReaderTextLIBSVM() {
+		//do nothing
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		FileSystem fs = FileSystem.get(job);
+		Path path = new Path( fname );
+
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		//collect (sorted) input files
+		List<Path> files = getLIBSVMFiles(fs, path);
+
+		//allocate output matrix block (determine size if unknown)
+		if( rlen <= 0 || clen <= 0 ) {
+			long[] size = computeLIBSVMSize(files, fs);
+			rlen = size[0];
+			clen = size[1];
+			estnnz = size[2];
+		}
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, (int)rlen, (int)clen, estnnz, true, false);
+
+		//core read
+		readLIBSVMMatrixFromHDFS(files, fs, ret, rlen, clen);
+
+		//finally check if change of sparse/dense block representation required
+		//(nnz explicitly maintained during read)
+		ret.examSparsity();
+
+		return ret;
+	}
+
+	private static void readLIBSVMMatrixFromHDFS( List<Path> files, FileSystem fs, MatrixBlock dest, long rlen, long clen )
+		throws IOException
+	{
+		SparseRow row = new SparseRow();
+		Text value = new Text();
+		int nrow = 0;
+		long lnnz = 0;
+
+		for( Path file : files )
+		{
+			LineReader reader = new LineReader(fs.open(file));
+			try
+			{
+				while( reader.readLine(value) > 0 ) //foreach line
+				{
+					if( IOUtilFunctions.isLIBSVMEmptyLine(value.getBytes(), value.getLength()) )
+						continue; //skip empty lines and comments
+					if( nrow >= rlen )
+						throw new IOException("Invalid number of rows (>" + rlen + ") found "
+							+ "in libsvm file (" + file.toString() + ").");
+
+					//parse label and features
+					double label = IOUtilFunctions.parseLIBSVMRow(value.getBytes(), value.getLength(), row);
+					int[] ix = row.indexes();
+					double[] vals = row.values();
+					int len = row.size();
+					if( len > 0 && ix[len-1] >= clen-1 )
+						IOUtilFunctions.checkAndRaiseErrorLIBSVMNumColumns(file.toString(), ix[len-1], clen);
+
+					//append features and label (as last column)
+					for( int j=0; j<len; j++ )
+						dest.appendValue(nrow, ix[j], vals[j]);
+					dest.appendValue(nrow, (int)clen-1, label);
+					lnnz += len + ((label != 0) ? 1 : 0);
+					nrow++;
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+		}
+
+		//sanity check for number of rows
+		if( nrow != rlen )
+			throw new IOException("Read matrix inconsistent with given meta data: "
+				+ "expected nrow="+ rlen + ", real nrow=" + nrow);
+
+		//post processing
+		dest.setNonZeros( lnnz );
+	}
+
+	private static long[] computeLIBSVMSize( List<Path> files, FileSystem fs )
+		throws IOException
+	{
+		SparseRow row = new SparseRow();
+		Text value = new Text();
+		long nrow = 0, ncol = 0, nnz = 0;
+
+		for( Path file : files )
+		{
+			LineReader reader = new LineReader(fs.open(file));
+			try
+			{
+				while( reader.readLine(value) > 0 ) {
+					if( IOUtilFunctions.isLIBSVMEmptyLine(value.getBytes(), value.getLength()) )
+						continue; //skip empty lines and comments
+					double label = IOUtilFunctions.parseLIBSVMRow(value.getBytes(), value.getLength(), row);
+					if( row.size() > 0 )
+						ncol = Math.max(ncol, row.indexes()[row.size()-1] + 1);
+					nnz += row.size() + ((label != 0) ? 1 : 0);
+					nrow++;
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+		}
+
+		//number of features plus label column
+		return new long[]{ nrow, ncol + 1, nnz };
+	}
+
+	@SuppressWarnings("unchecked")
+	protected static List<Path> getLIBSVMFiles( FileSystem fs, Path path )
+		throws IOException
+	{
+		ArrayList<Path> files = new ArrayList<Path>();
+		if( fs.isDirectory(path) ) {
+			for( FileStatus stat : fs.listStatus(path, CSVReblockMR.hiddenFileFilter) )
+				files.add(stat.getPath());
+			Collections.sort(files);
+		}
+		else
+			files.add(path);
+		return files;
+	}
+}
@@ -0,0 +1,321 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.FileInputFormat;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.mapred.Reporter;
+import org.apache.hadoop.mapred.TextInputFormat;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseRow;
+
+/**
+ * Parallel version of ReaderTextLIBSVM.java. Similar to ReaderTextCSVParallel,
+ * we read the input in a single pass, where each read task parses its split 
+ * into a partial block in compressed sparse row representation (features) plus
+ * a dense array of labels. The number of rows, the number of columns (if unknown) 
+ * and the row offsets are then resolved over all partial blocks, and the partial 
+ * blocks are concatenated into the target matrix, where the labels are placed in 
+ * the last column. Since the concatenation requires thread-safe inserts into rows,
+ * the output is first created in MCSR and then converted to the requested sparse
+ * block type (if necessary).
+ * 
+ */
+public class ReaderTextLIBSVMParallel extends MatrixReader 
+{
+	private SparseBlock.Type _stype = null;
+	private int _numThreads = 1;
+
+	public ReaderTextLIBSVMParallel() {
+		this(MatrixBlock.DEFAULT_SPARSEBLOCK);
+	}
+	
+	public ReaderTextLIBSVMParallel(SparseBlock.Type stype) {
+		_stype = stype;
+		_numThreads = OptimizerUtils.getParallelTextReadParallelism();
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen,
+			int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		// prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		FileSystem fs = FileSystem.get(job);
+		Path path = new Path(fname);
+
+		FileInputFormat.addInputPath(job, path);
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+
+		InputSplit[] splits = informat.getSplits(job, _numThreads);
+		splits = IOUtilFunctions.sortInputSplits(splits);
+
+		// check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		// Single Read Pass (read, parse bytes, create partial blocks,
+		// compute row offsets, allocate and concatenate into output block)
+		MatrixBlock ret = readLIBSVMMatrixFromHDFS(splits, job, informat, clen);
+		
+		//post-processing (change of sparse/dense block representation)
+		// - sparse rows are sorted during parsing and labels appended last
+		// - nnz explicitly maintained in parallel for the individual splits
+		ret.examSparsity();
+
+		// sanity check for parallel row count (since determined internally)
+		if (rlen > 0 && rlen != ret.getNumRows())
+			throw new DMLRuntimeException("Read matrix inconsistent with given meta data: "
+					+ "expected nrow="+ rlen + ", real nrow=" + ret.getNumRows());
+
+		//convert to requested sparse block type if necessary 
+		//(parallel read into MCSR for efficient appends)
+		ret = convertToSparseBlockParallel(ret, _stype, _numThreads);
+		
+		return ret;
+	}
+
+	private MatrixBlock readLIBSVMMatrixFromHDFS(InputSplit[] splits, JobConf job, TextInputFormat informat, long clen) 
+		throws IOException, DMLRuntimeException 
+	{
+		ExecutorService pool = Executors.newFixedThreadPool(_numThreads);
+		MatrixBlock ret = null;
+		
+		try 
+		{
+			// create and execute read tasks for all splits
+			ArrayList<LIBSVMReadTask> tasks = new ArrayList<LIBSVMReadTask>();
+			for( InputSplit split : splits )
+				tasks.add(new LIBSVMReadTask(split, informat, job));
+			List<Future<LIBSVMPartialBlock>> rret = pool.invokeAll(tasks);
+			
+			// collect partial blocks and compute row offsets via cumsum on row counts
+			// (early error notify in case not all tasks successful)
+			LIBSVMPartialBlock[] blocks = new LIBSVMPartialBlock[rret.size()];
+			int[] offsets = new int[rret.size()];
+			long nrow = 0, nnz = 0;
+			int maxcol = -1;
+			for( int i=0; i<blocks.length; i++ ) {
+				blocks[i] = rret.get(i).get();
+				offsets[i] = (int) nrow;
+				nrow += blocks[i].getNumRows();
+				nnz += blocks[i].getNonZeros();
+				maxcol = Math.max(maxcol, blocks[i].getMaxColumn());
+			}
+			
+			// determine number of columns (features plus label) and check bounds
+			int ncol = (int) ((clen > 0) ? clen : maxcol + 2);
+			if( maxcol >= ncol - 1 )
+				IOUtilFunctions.checkAndRaiseErrorLIBSVMNumColumns(splits[0].toString(), maxcol, ncol);
+			
+			// allocate target matrix block based on exact size and nnz; 
+			// need to allocate sparse as well since lock-free insert into target
+			ret = createOutputMatrixBlock(nrow, ncol, (int)nrow, ncol, nnz, true, true, SparseBlock.Type.MCSR);
+			
+			// concatenate partial blocks in parallel (dense or MCSR)
+			ArrayList<LIBSVMConcatTask> tasks2 = new ArrayList<LIBSVMConcatTask>();
+			for( int i=0; i<blocks.length; i++ )
+				tasks2.add(new LIBSVMConcatTask(blocks[i], ret, offsets[i]));
+			for( Future<Object> task : pool.invokeAll(tasks2) )
+				task.get();
+			ret.setNonZeros(nnz);
+		} 
+		catch (Exception e) {
+			throw new IOException("Failed parallel read of text libsvm input.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+		
+		return ret;
+	}
+	
+	/**
+	 * Partial block of a single split with unknown number of rows and columns,
+	 * which keeps the features in a compressed sparse row representation and 
+	 * the labels in a separate dense array (appended as last column on copy).
+	 */
+	private static class LIBSVMPartialBlock
+	{
+		private int _nrow = 0;
+		private long _nnz = 0;
+		private int _maxcol = -1;
+		
+		private int[] _rptr = new int[64];
+		private int[] _cix = new int[256];
+		private double[] _vals = new double[256];
+		private double[] _labels = new double[64];
+		
+		public int getNumRows() {
+			return _nrow;
+		}
+		
+		public long getNonZeros() {
+			return _nnz;
+		}
+		
+		public int getMaxColumn() {
+			return _maxcol;
+		}
+		
+		public void appendRow(double label, SparseRow row) {
+			//ensure capacity
+			if( _rptr.length < _nrow + 2 ) {
+				_rptr = Arrays.copyOf(_rptr, _rptr.length * 2);
+				_labels = Arrays.copyOf(_labels, _labels.length * 2);
+			}
+			int pos = _rptr[_nrow];
+			int len = row.size();
+			if( _cix.length < pos + len ) {
+				int newCap = (int) Math.min(Math.max(2L * _cix.length, pos + len), Integer.MAX_VALUE);
+				_cix = Arrays.copyOf(_cix, newCap);
+				_vals = Arrays.copyOf(_vals, newCap);
+			}
+			
+			//append features and label
+			System.arraycopy(row.indexes(), 0, _cix, pos, len);
+			System.arraycopy(row.values(), 0, _vals, pos, len);
+			_rptr[_nrow+1] = pos + len;
+			_labels[_nrow] = label;
+			if( len > 0 )
+				_maxcol = Math.max(_maxcol, _cix[pos+len-1]);
+			_nnz += len + ((label != 0) ? 1 : 0);
+			_nrow++;
+		}
+		
+		public void copyInto(MatrixBlock dest, int rl) {
+			int clen = dest.getNumColumns();
+			if( dest.isInSparseFormat() ) { //MCSR
+				SparseBlock sblock = dest.getSparseBlock();
+				for( int i=0; i<_nrow; i++ ) {
+					int apos = _rptr[i];
+					int alen = _rptr[i+1] - apos;
+					int lnnz = alen + ((_labels[i] != 0) ? 1 : 0);
+					if( lnnz == 0 )
+						continue;
+					//create exact-size rows w/o copy on set
+					SparseRow row = new SparseRow(lnnz);
+					System.arraycopy(_cix, apos, row.indexes(), 0, alen);
+					System.arraycopy(_vals, apos, row.values(), 0, alen);
+					if( _labels[i] != 0 ) {
+						row.indexes()[alen] = clen - 1;
+						row.values()[alen] = _labels[i];
+					}
+					row.setSize(lnnz);
+					sblock.set(rl+i, row, false);
+				}
+			}
+			else {
+				double[] c = dest.getDenseBlock();
+				for( int i=0, cix=rl*clen; i<_nrow; i++, cix+=clen ) {
+					for( int k=_rptr[i]; k<_rptr[i+1]; k++ )
+						c[cix + _cix[k]] = _vals[k];
+					c[cix + clen - 1] = _labels[i];
+				}
+			}
+		}
+	}
+
+	private static class LIBSVMReadTask implements Callable<LIBSVMPartialBlock> 
+	{
+		private InputSplit _split = null;
+		private TextInputFormat _informat = null;
+		private JobConf _job = null;
+		
+		public LIBSVMReadTask(InputSplit split, TextInputFormat informat, JobConf job) {
+			_split = split;
+			_informat = informat;
+			_job = job;
+		}
+
+		@Override
+		public LIBSVMPartialBlock call() 
+			throws Exception 
+		{
+			LIBSVMPartialBlock block = new LIBSVMPartialBlock();
+			SparseRow row = new SparseRow();
+			
+			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
+			LongWritable key = new LongWritable();
+			Text value = new Text();
+			
+			try 
+			{
+				while (reader.next(key, value)) // foreach line
+				{
+					if( IOUtilFunctions.isLIBSVMEmptyLine(value.getBytes(), value.getLength()) )
+						continue; //skip empty lines and comments
+					double label = IOUtilFunctions.parseLIBSVMRow(value.getBytes(), value.getLength(), row);
+					block.appendRow(label, row);
+				}
+			}
+			catch (Exception ex) {
+				// post-mortem error handling and bounds checking
+				throw new IOException("Unable to read matrix in text libsvm format "
+					+ "(split row " + (block.getNumRows()+1) + "). " + ex.getMessage(), ex);
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			
+			return block;
+		}
+	}
+	
+	private static class LIBSVMConcatTask implements Callable<Object> 
+	{
+		private final LIBSVMPartialBlock _block;
+		private final MatrixBlock _dest;
+		private final int _rl;
+		
+		public LIBSVMConcatTask(LIBSVMPartialBlock block, MatrixBlock dest, int rl) {
+			_block = block;
+			_dest = dest;
+			_rl = rl;
+		}
+		
+		@Override
+		public Object call() throws Exception {
+			_block.copyInto(_dest, _rl);
+			return null;
+		}
+	}
+}
@@ -32,7 +32,6 @@ import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PDataPartition
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.mapred.DistributedCacheInput;
-import org.apache.sysml.runtime.matrix.mapred.MRConfigurationNames;
 import org.apache.sysml.runtime.matrix.mapred.MRJobConfiguration;
 import org.apache.sysml.runtime.util.MapReduceTool;
 
@@ -78,8 +77,8 @@ public class WriterBinaryBlock extends MatrixWriter
 		Path path = new Path( fname );
 		FileSystem fs = FileSystem.get(job);
 
-		SequenceFile.Writer writer = new SequenceFile.Writer(fs, job, path,
-				                        MatrixIndexes.class, MatrixBlock.class);
+		SequenceFile.Writer writer = IOCompressionUtils.createSequenceFileWriter(
+				fs, job, path, MatrixIndexes.class, MatrixBlock.class, -1);
 		
 		MatrixIndexes index = new MatrixIndexes(1, 1);
 		MatrixBlock block = new MatrixBlock((int)Math.min(rlen, brlen),
@@ -107,17 +106,9 @@ public class WriterBinaryBlock extends MatrixWriter
 		
 		// 1) create sequence file writer, with right replication factor 
 		// (config via MRConfigurationNames.DFS_REPLICATION not possible since sequence file internally calls fs.getDefaultReplication())
-		SequenceFile.Writer writer = null;
-		if( _replication > 0 ) //if replication specified (otherwise default)
-		{
-			//copy of SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class), except for replication
-			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class, job.getInt(MRConfigurationNames.IO_FILE_BUFFER_SIZE, 4096),
-					                         (short)_replication, fs.getDefaultBlockSize(), null, new SequenceFile.Metadata());	
-		}
-		else	
-		{
-			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class);
-		}
+		// (optionally with block compression according to the configured codec)
+		SequenceFile.Writer writer = IOCompressionUtils.createSequenceFileWriter(
+				fs, job, path, MatrixIndexes.class, MatrixBlock.class, _replication);
 		
 		try
 		{
@@ -181,17 +172,9 @@ public class WriterBinaryBlock extends MatrixWriter
 		
 		// 1) create sequence file writer, with right replication factor 
 		// (config via MRConfigurationNames.DFS_REPLICATION not possible since sequence file internally calls fs.getDefaultReplication())
-		SequenceFile.Writer writer = null;
-		if( _replication > 0 ) //if replication specified (otherwise default)
-		{
-			//copy of SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class), except for replication
-			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class, job.getInt(MRConfigurationNames.IO_FILE_BUFFER_SIZE, 4096),
-					                         (short)_replication, fs.getDefaultBlockSize(), null, new SequenceFile.Metadata());	
-		}
-		else	
-		{
-			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class);
-		}
+		// (optionally with block compression according to the configured codec)
+		SequenceFile.Writer writer = IOCompressionUtils.createSequenceFileWriter(
+				fs, job, path, MatrixIndexes.class, MatrixBlock.class, _replication);
 		
 		try
 		{
@@ -285,7 +268,8 @@ public class WriterBinaryBlock extends MatrixWriter
 					// 1) create sequence file writer, with right replication factor 
 					// (config via MRConfigurationNames.DFS_REPLICATION not possible since sequence file internally calls fs.getDefaultReplication())
 					Path path2 = new Path(path.toString()+File.separator+(++count));
-					SequenceFile.Writer writer = new SequenceFile.Writer(fs, job, path2, MatrixIndexes.class, MatrixBlock.class);
+					SequenceFile.Writer writer = IOCompressionUtils.createSequenceFileWriter(
+						fs, job, path2, MatrixIndexes.class, MatrixBlock.class, -1);
 					
 					//3) reblock and write
 					try
@@ -335,7 +319,8 @@ public class WriterBinaryBlock extends MatrixWriter
 					// 1) create sequence file writer, with right replication factor 
 					// (config via MRConfigurationNames.DFS_REPLICATION not possible since sequence file internally calls fs.getDefaultReplication())
 					Path path2 = new Path(path.toString()+File.separator+(++count));
-					SequenceFile.Writer writer = new SequenceFile.Writer(fs, job, path2, MatrixIndexes.class, MatrixBlock.class);
+					SequenceFile.Writer writer = IOCompressionUtils.createSequenceFileWriter(
+						fs, job, path2, MatrixIndexes.class, MatrixBlock.class, -1);
 					
 					//3) reblock and write
 					try
@@ -19,12 +19,9 @@
 
 package org.apache.sysml.runtime.io;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.util.Iterator;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataOutputStream;
@@ -35,8 +32,8 @@ import org.apache.hadoop.io.IOUtils;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.DMLRuntimeException;
-import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.FastBufferedTextOutputStream;
 import org.apache.sysml.runtime.util.MapReduceTool;
 
 public class WriterMatrixMarket extends MatrixWriter
@@ -88,76 +85,47 @@ public class WriterMatrixMarket extends MatrixWriter
 	protected final void writeMatrixMarketMatrixToFile( Path path, JobConf job, FileSystem fs, MatrixBlock src, int rl, int ru )
 		throws IOException
 	{
-		boolean sparse = src.isInSparseFormat();
+		//sequential formatting of rows
+		writeMatrixMarketMatrixToFile(path, job, fs, src, rl, ru, 1);
+	}
+	
+	protected final void writeMatrixMarketMatrixToFile( Path path, JobConf job, FileSystem fs, final MatrixBlock src, int rl, int ru, int k )
+		throws IOException
+	{
 		int rlen = src.getNumRows();
 		int clen = src.getNumColumns();
 		long nnz = src.getNonZeros();
 		
-		BufferedWriter br=new BufferedWriter(new OutputStreamWriter(fs.create(path,true)));		
+		FastBufferedTextOutputStream out = createTextOutputStream(fs, path, src, rl, ru);
 
 		try
 		{
-			//for obj reuse and preventing repeated buffer re-allocations
-			StringBuilder sb = new StringBuilder();
-			
 			if( rl == 0 ) {
 				// First output MM header
-				sb.append ("%%MatrixMarket matrix coordinate real general\n");
+				out.append("%%MatrixMarket matrix coordinate real general\n");
 			
 				// output number of rows, number of columns and number of nnz
-				sb.append (rlen + " " + clen + " " + nnz + "\n");
-				br.write( sb.toString());
-				sb.setLength(0);
+				out.append((long)rlen).append(' ').append((long)clen).append(' ').append(nnz).append('\n');
 			}
 			 
-            // output matrix cell
-			if( sparse ) //SPARSE
-			{			   
-				Iterator<IJV> iter = src.getSparseBlockIterator(rl, ru);
-				while( iter.hasNext() )
-				{
-					IJV cell = iter.next();
-
-					sb.append(cell.getI()+1);
-					sb.append(' ');
-					sb.append(cell.getJ()+1);
-					sb.append(' ');
-					sb.append(cell.getV());
-					sb.append('\n');
-					br.write( sb.toString() ); //same as append
-					sb.setLength(0); 
-				}
-			}
-			else //DENSE
-			{
-				for( int i=rl; i<ru; i++ )
-				{
-					String rowIndex = Integer.toString(i+1);					
-					for( int j=0; j<clen; j++ )
-					{
-						double lvalue = src.getValueDenseUnsafe(i, j);
-						if( lvalue != 0 ) //for nnz
-						{
-							sb.append(rowIndex);
-							sb.append(' ');
-							sb.append(j+1);
-							sb.append(' ');
-							sb.append(lvalue);
-							sb.append('\n');
-							br.write( sb.toString() ); //same as append
-							sb.setLength(0); 
-						}
-					}
+			//output matrix cells (sequential or pipelined parallel formatting)
+			writeTextRows(out, new TextRowWriter() {
+				@Override
+				public void writeRows(FastBufferedTextOutputStream bout, int brl, int bru) throws IOException {
+					WriterTextCell.writeTextCellRows(bout, src, brl, bru);
 				}
-			}
+			}, rl, ru, Math.max(src.getNonZeros() / Math.max(src.getNumRows(), 1), 1), k);
 	
 			//handle empty result
 			if ( src.isEmptyBlock(false) && rl==0 ) {
-				br.write("1 1 0\n");
+				out.append("1 1 0\n");
 			}
+			
+			//flush and close (incl pending asynchronous writes)
+			out.close();
 		}
 		finally {
-			IOUtilFunctions.closeSilently(br);
+			IOUtilFunctions.closeSilently(out);
 		}
 	}
 
@@ -52,12 +52,13 @@ public class WriterMatrixMarketParallel extends WriterMatrixMarket
 		numPartFiles = Math.max(numPartFiles, 1);
 		
 		//determine degree of parallelism
-		int numThreads = OptimizerUtils.getParallelTextWriteParallelism();
-		numThreads = Math.min(numThreads, numPartFiles);
+		int par = OptimizerUtils.getParallelTextWriteParallelism();
+		int numThreads = Math.min(par, numPartFiles);
 		
-		//fall back to sequential write if dop is 1 (e.g., <128MB) in order to create single file
+		//fall back to single file write if dop is 1 (e.g., <128MB), but with 
+		//pipelined parallel formatting of row blocks into this single file
 		if( numThreads <= 1 ) {
-			super.writeMatrixMarketMatrixToHDFS(path, job, fs, src);
+			writeMatrixMarketMatrixToFile(path, job, fs, src, 0, rlen, par);
 			return;
 		}
 		
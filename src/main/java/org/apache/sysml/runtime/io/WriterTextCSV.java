@@ -19,11 +19,9 @@
 
 package org.apache.sysml.runtime.io;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.util.ArrayList;
 import java.util.Collections;
 
@@ -39,14 +37,11 @@ import org.apache.sysml.runtime.matrix.CSVReblockMR;
 import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.FastBufferedTextOutputStream;
 import org.apache.sysml.runtime.util.MapReduceTool;
 
 public class WriterTextCSV extends MatrixWriter
 {
-	//blocksize for string concatenation in order to prevent write OOM 
-	//(can be set to very large value to disable blocking)
-	public static final int BLOCKSIZE_J = 32; //32 cells (typically ~512B, should be less than write buffer of 1KB)
-	
 	protected CSVFileFormatProperties _props = null;
 	
 	public WriterTextCSV( CSVFileFormatProperties props ) {
@@ -100,141 +95,122 @@ public class WriterTextCSV extends MatrixWriter
 	protected final void writeCSVMatrixToFile( Path path, JobConf job, FileSystem fs, MatrixBlock src, int rl, int ru, CSVFileFormatProperties props )
 		throws IOException
 	{
-		boolean sparse = src.isInSparseFormat();
+		//sequential formatting of rows
+		writeCSVMatrixToFile(path, job, fs, src, rl, ru, props, 1);
+	}
+	
+	protected final void writeCSVMatrixToFile( Path path, JobConf job, FileSystem fs, final MatrixBlock src, int rl, int ru, CSVFileFormatProperties props, int k )
+		throws IOException
+	{
 		int clen = src.getNumColumns();
 		
-		//create buffered writer
-		BufferedWriter br = new BufferedWriter(new OutputStreamWriter(fs.create(path,true)));		
+		//create buffered text output stream (bounded memory, values formatted 
+		//directly into reused buffers, i.e., no string concatenation per row)
+		FastBufferedTextOutputStream out = createTextOutputStream(fs, path, src, rl, ru);
 		
 		try
 		{
-			//for obj reuse and preventing repeated buffer re-allocations
-			StringBuilder sb = new StringBuilder();
-			
-			props = (props==null)? new CSVFileFormatProperties() : props;
-			String delim = props.getDelim();
-			boolean csvsparse = props.isSparse();
+			final CSVFileFormatProperties fprops = (props==null)? new CSVFileFormatProperties() : props;
 			
 			// Write header line, if needed
-			if( props.hasHeader() && rl==0 ) 
+			if( fprops.hasHeader() && rl==0 ) 
 			{
-				//write row chunk-wise to prevent OOM on large number of columns
-				for( int bj=0; bj<clen; bj+=BLOCKSIZE_J )
-				{
-					for( int j=bj; j < Math.min(clen,bj+BLOCKSIZE_J); j++) 
-					{
-						sb.append("C"+ (j+1));
-						if ( j < clen-1 )
-							sb.append(delim);
-					}
-					br.write( sb.toString() );
-		            sb.setLength(0);	
+				String delim = fprops.getDelim();
+				for( int j=0; j<clen; j++ ) {
+					out.append('C').append((long)j+1);
+					if ( j < clen-1 )
+						out.append(delim);
 				}
-				sb.append('\n');
-				br.write( sb.toString() );
-	            sb.setLength(0);
+				out.append('\n');
 			}
 			
-			// Write data lines
-			if( sparse ) //SPARSE
-			{	
-				SparseBlock sblock = src.getSparseBlock();
-				for(int i=rl; i < ru; i++) 
-	            {
-					//write row chunk-wise to prevent OOM on large number of columns
-					int prev_jix = -1;
-					if(    sblock!=null && i<sblock.numRows() 
-						&& !sblock.isEmpty(i) )
-					{
-						int pos = sblock.pos(i);
-						int alen = sblock.size(i);
-						int[] aix = sblock.indexes(i);
-						double[] avals = sblock.values(i);
-						
-						for(int j=pos; j<pos+alen; j++) 
-						{
-							int jix = aix[j];
-							
-							// output empty fields, if needed
-							for( int j2=prev_jix; j2<jix-1; j2++ ) {
-								if( !csvsparse )
-									sb.append('0');
-								sb.append(delim);
-							
-								//flush buffered string
-					            if( j2%BLOCKSIZE_J==0 ){
-									br.write( sb.toString() );
-						            sb.setLength(0);
-					            }
-							}
-							
-							// output the value (non-zero)
-							sb.append( avals[j] );
-							if( jix < clen-1)
-								sb.append(delim);
-							br.write( sb.toString() );
-				            sb.setLength(0);
-				            
-				            //flush buffered string
-				            if( jix%BLOCKSIZE_J==0 ){
-								br.write( sb.toString() );
-					            sb.setLength(0);
-				            }
-				            
-							prev_jix = jix;
-						}
-					}
+			// Write data lines (sequential or pipelined parallel formatting)
+			writeTextRows(out, new TextRowWriter() {
+				@Override
+				public void writeRows(FastBufferedTextOutputStream bout, int brl, int bru) throws IOException {
+					writeCSVRows(bout, src, brl, bru, fprops);
+				}
+			}, rl, ru, clen, k);
+			
+			//flush and close (incl pending asynchronous writes)
+			out.close();
+		}
+		finally {
+			IOUtilFunctions.closeSilently(out);
+		}
+	}
+	
+	private static void writeCSVRows( FastBufferedTextOutputStream out, MatrixBlock src, int rl, int ru, CSVFileFormatProperties props )
+		throws IOException
+	{
+		boolean sparse = src.isInSparseFormat();
+		int clen = src.getNumColumns();
+		String delim = props.getDelim();
+		boolean csvsparse = props.isSparse();
+		
+		if( sparse ) //SPARSE
+		{	
+			SparseBlock sblock = src.getSparseBlock();
+			for(int i=rl; i < ru; i++) 
+			{
+				int prev_jix = -1;
+				if(    sblock!=null && i<sblock.numRows() 
+					&& !sblock.isEmpty(i) )
+				{
+					int pos = sblock.pos(i);
+					int alen = sblock.size(i);
+					int[] aix = sblock.indexes(i);
+					double[] avals = sblock.values(i);
 					
-					// Output empty fields at the end of the row.
-					// In case of an empty row, output (clen-1) empty fields
-					for( int bj=prev_jix+1; bj<clen; bj+=BLOCKSIZE_J )
+					for(int j=pos; j<pos+alen; j++) 
 					{
-						for( int j = bj; j < Math.min(clen,bj+BLOCKSIZE_J); j++) {
+						int jix = aix[j];
+						
+						// output empty fields, if needed
+						for( int j2=prev_jix; j2<jix-1; j2++ ) {
 							if( !csvsparse )
-								sb.append('0');
-							if( j < clen-1 )
-								sb.append(delim);
+								out.append('0');
+							out.append(delim);
 						}
-						br.write( sb.toString() );
-			            sb.setLength(0);	
+						
+						// output the value (non-zero)
+						out.append( avals[j] );
+						if( jix < clen-1)
+							out.append(delim);
+						prev_jix = jix;
 					}
-
-					sb.append('\n');
-					br.write( sb.toString() ); 
-					sb.setLength(0); 
 				}
+				
+				// Output empty fields at the end of the row.
+				// In case of an empty row, output (clen-1) empty fields
+				for( int j=prev_jix+1; j<clen; j++ ) {
+					if( !csvsparse )
+						out.append('0');
+					if( j < clen-1 )
+						out.append(delim);
+				}
+				out.append('\n');
 			}
-			else //DENSE
+		}
+		else //DENSE
+		{
+			double[] a = src.getDenseBlock();
+			for( int i=rl, aix=rl*clen; i<ru; i++ ) 
 			{
-				for( int i=rl; i<ru; i++ ) 
+				for( int j=0; j<clen; j++, aix++ )
 				{
-					//write row chunk-wise to prevent OOM on large number of columns
-					for( int bj=0; bj<clen; bj+=BLOCKSIZE_J )
-					{
-						for( int j=bj; j<Math.min(clen,bj+BLOCKSIZE_J); j++ )
-						{
-							double lvalue = src.getValueDenseUnsafe(i, j);
-							if( lvalue != 0 ) //for nnz
-								sb.append(lvalue);
-							else if( !csvsparse ) 
-								sb.append('0');
-							
-							if( j != clen-1 )
-								sb.append(delim);
-						}
-						br.write( sb.toString() );
-			            sb.setLength(0);
-					}
+					double lvalue = (a!=null) ? a[aix] : 0;
+					if( lvalue != 0 ) //for nnz
+						out.append(lvalue);
+					else if( !csvsparse ) 
+						out.append('0');
 					
-					sb.append('\n');
-					br.write( sb.toString() ); //same as append
-					sb.setLength(0); 
+					if( j != clen-1 )
+						out.append(delim);
 				}
+				out.append('\n');
 			}
 		}
-		finally {
-			IOUtilFunctions.closeSilently(br);
-		}
 	}
 
 	@SuppressWarnings("unchecked")
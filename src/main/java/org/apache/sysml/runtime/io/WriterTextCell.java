@@ -19,9 +19,7 @@
 
 package org.apache.sysml.runtime.io;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
 import java.util.Iterator;
 
 import org.apache.hadoop.fs.FSDataOutputStream;
@@ -32,6 +30,7 @@ import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.FastBufferedTextOutputStream;
 import org.apache.sysml.runtime.util.MapReduceTool;
 
 public class WriterTextCell extends MatrixWriter
@@ -83,64 +82,74 @@ public class WriterTextCell extends MatrixWriter
 	protected final void writeTextCellMatrixToFile( Path path, JobConf job, FileSystem fs, MatrixBlock src, int rl, int ru )
 		throws IOException
 	{
-		boolean sparse = src.isInSparseFormat();
-		int clen = src.getNumColumns();
-		
-		BufferedWriter br = new BufferedWriter(new OutputStreamWriter(fs.create(path,true)));		
+		//sequential formatting of rows
+		writeTextCellMatrixToFile(path, job, fs, src, rl, ru, 1);
+	}
+	
+	protected final void writeTextCellMatrixToFile( Path path, JobConf job, FileSystem fs, final MatrixBlock src, int rl, int ru, int k )
+		throws IOException
+	{
+		FastBufferedTextOutputStream out = createTextOutputStream(fs, path, src, rl, ru);
 
 		try
 		{
-			//for obj reuse and preventing repeated buffer re-allocations
-			StringBuilder sb = new StringBuilder();
-			
-			if( sparse ) //SPARSE
-			{			   
-				Iterator<IJV> iter = src.getSparseBlockIterator(rl, ru);
-				while( iter.hasNext() )
-				{
-					IJV cell = iter.next();
-
-					sb.append(cell.getI()+1);
-					sb.append(' ');
-					sb.append(cell.getJ()+1);
-					sb.append(' ');
-					sb.append(cell.getV());
-					sb.append('\n');
-					br.write( sb.toString() ); //same as append
-					sb.setLength(0); 
-				}
-			}
-			else //DENSE
-			{
-				for( int i=rl; i<ru; i++ )
-				{
-					String rowIndex = Integer.toString(i+1);					
-					for( int j=0; j<clen; j++ )
-					{
-						double lvalue = src.getValueDenseUnsafe(i, j);
-						if( lvalue != 0 ) //for nnz
-						{
-							sb.append(rowIndex);
-							sb.append(' ');
-							sb.append( j+1 );
-							sb.append(' ');
-							sb.append( lvalue );
-							sb.append('\n');
-							br.write( sb.toString() ); //same as append
-							sb.setLength(0); 
-						}
-						
-					}
+			//output matrix cells (sequential or pipelined parallel formatting)
+			writeTextRows(out, new TextRowWriter() {
+				@Override
+				public void writeRows(FastBufferedTextOutputStream bout, int brl, int bru) throws IOException {
+					writeTextCellRows(bout, src, brl, bru);
 				}
-			}
+			}, rl, ru, Math.max(src.getNonZeros() / Math.max(src.getNumRows(), 1), 1), k);
 	
 			//handle empty result
 			if ( src.isEmptyBlock(false) && rl==0 ) {
-				br.write("1 1 0\n");
+				out.append("1 1 0\n");
 			}
+			
+			//flush and close (incl pending asynchronous writes)
+			out.close();
 		}
 		finally {
-			IOUtilFunctions.closeSilently(br);
+			IOUtilFunctions.closeSilently(out);
+		}
+	}
+
+	/**
+	 * Writes the non-zero cells of rows rl to ru (exclusive) as 1-based 
+	 * "i j v" lines, which is shared by the text cell and matrix market writers.
+	 * 
+	 * @param out text output stream
+	 * @param src matrix block
+	 * @param rl row lower bound (inclusive)
+	 * @param ru row upper bound (exclusive)
+	 * @throws IOException if IOException occurs
+	 */
+	protected static void writeTextCellRows( FastBufferedTextOutputStream out, MatrixBlock src, int rl, int ru )
+		throws IOException
+	{
+		int clen = src.getNumColumns();
+		
+		if( src.isInSparseFormat() ) //SPARSE
+		{			   
+			Iterator<IJV> iter = src.getSparseBlockIterator(rl, ru);
+			while( iter.hasNext() )
+			{
+				IJV cell = iter.next();
+				out.append((long)cell.getI()+1).append(' ');
+				out.append((long)cell.getJ()+1).append(' ');
+				out.append(cell.getV()).append('\n');
+			}
+		}
+		else if( src.getDenseBlock() != null ) //DENSE
+		{
+			double[] a = src.getDenseBlock();
+			for( int i=rl, aix=rl*clen; i<ru; i++ )
+				for( int j=0; j<clen; j++, aix++ )
+					if( a[aix] != 0 ) { //for nnz
+						out.append((long)i+1).append(' ');
+						out.append((long)j+1).append(' ');
+						out.append(a[aix]).append('\n');
+					}
 		}
 	}
 }
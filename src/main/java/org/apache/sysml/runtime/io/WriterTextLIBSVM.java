@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.FastBufferedTextOutputStream;
+import org.apache.sysml.runtime.util.MapReduceTool;
+
+/**
+ * Writer for text files in LIBSVM format, where the last column of the 
+ * given matrix is written as label and all other non-zero columns as 
+ * 1-based "index:value" features (see ReaderTextLIBSVM).
+ * 
+ */
+public class WriterTextLIBSVM extends MatrixWriter
+{
+	public WriterTextLIBSVM() {
+		//do nothing
+	}
+	
+	@Override
+	public final void writeMatrixToHDFS(MatrixBlock src, String fname, long rlen, long clen, int brlen, int bclen, long nnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//validity check matrix dimensions
+		if( src.getNumRows() != rlen || src.getNumColumns() != clen ) {
+			throw new IOException("Matrix dimensions mismatch with metadata: "+src.getNumRows()+"x"+src.getNumColumns()+" vs "+rlen+"x"+clen+".");
+		}
+		
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		FileSystem fs = FileSystem.get(job);
+		Path path = new Path( fname );
+
+		//if the file already exists on HDFS, remove it.
+		MapReduceTool.deleteFileIfExistOnHDFS( fname );
+			
+		//core write (sequential/parallel)
+		writeLIBSVMMatrixToHDFS(path, job, fs, src);
+
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	@Override
+	public final void writeEmptyMatrixToHDFS(String fname, long rlen, long clen, int brlen, int bclen) 
+		throws IOException, DMLRuntimeException 
+	{
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		FileSystem fs = FileSystem.get(job);
+		Path path = new Path( fname );
+
+		MatrixBlock src = new MatrixBlock((int)rlen, (int)Math.max(clen, 1), true);
+		writeLIBSVMMatrixToHDFS(path, job, fs, src);
+
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	protected void writeLIBSVMMatrixToHDFS(Path path, JobConf job, FileSystem fs, MatrixBlock src) 
+		throws IOException 
+	{
+		//sequential write libsvm file
+		writeLIBSVMMatrixToFile(path, job, fs, src, 0, src.getNumRows());
+	}
+
+	protected final void writeLIBSVMMatrixToFile( Path path, JobConf job, FileSystem fs, MatrixBlock src, int rl, int ru )
+		throws IOException
+	{
+		//create buffered text output stream
+		FastBufferedTextOutputStream out = createTextOutputStream(fs, path, src, rl, ru);
+		
+		try
+		{
+			//for obj reuse and preventing repeated buffer re-allocations
+			StringBuilder sb = new StringBuilder();
+			
+			for( int i=rl; i<ru; i++ ) {
+				appendLIBSVMRow(sb, src, i);
+				sb.append('\n');
+				out.append( sb ); //w/o string copy
+				sb.setLength(0);
+			}
+			
+			//flush and close (incl pending asynchronous writes)
+			out.close();
+		}
+		finally {
+			IOUtilFunctions.closeSilently(out);
+		}
+	}
+	
+	/**
+	 * Appends row i of the given matrix block in LIBSVM format (without
+	 * line break), i.e., the label (last column) followed by all non-zero 
+	 * features with 1-based column indexes.
+	 * 
+	 * @param sb string builder
+	 * @param src matrix block
+	 * @param i row index
+	 */
+	public static void appendLIBSVMRow( StringBuilder sb, MatrixBlock src, int i ) 
+	{
+		int clen = src.getNumColumns();
+		
+		//write label (last column)
+		sb.append( src.quickGetValue(i, clen-1) );
+		
+		//write non-zero features
+		if( src.isInSparseFormat() ) //SPARSE
+		{
+			SparseBlock sblock = src.getSparseBlock();
+			if( sblock!=null && !sblock.isEmpty(i) ) {
+				int apos = sblock.pos(i);
+				int alen = sblock.size(i);
+				int[] aix = sblock.indexes(i);
+				double[] avals = sblock.values(i);
+				for( int j=apos; j<apos+alen && aix[j]<clen-1; j++ ) {
+					sb.append(' ');
+					sb.append(aix[j]+1);
+					sb.append(':');
+					sb.append(avals[j]);
+				}
+			}
+		}
+		else if( src.getDenseBlock() != null ) //DENSE
+		{
+			double[] a = src.getDenseBlock();
+			for( int j=0, aix=i*clen; j<clen-1; j++, aix++ )
+				if( a[aix] != 0 ) {
+					sb.append(' ');
+					sb.append(j+1);
+					sb.append(':');
+					sb.append(a[aix]);
+				}
+		}
+	}
+}
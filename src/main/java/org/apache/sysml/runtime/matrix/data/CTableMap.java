@@ -19,7 +19,7 @@
 
 package org.apache.sysml.runtime.matrix.data;
 
-import java.util.ArrayList;
+import java.util.Iterator;
 
 import org.apache.sysml.runtime.util.LongLongDoubleHashMap;
 import org.apache.sysml.runtime.util.LongLongDoubleHashMap.LLDoubleEntry;
@@ -48,10 +48,15 @@ public class CTableMap
 		return _map.size();
 	}
 
-	@Deprecated
-	public ArrayList<LLDoubleEntry> entrySet()
+	/**
+	 * Obtain an iterator over all cells of the ctable map (in hash order),
+	 * where the iterator reuses its output entry.
+	 * 
+	 * @return iterator over reused entries
+	 */
+	public Iterator<LLDoubleEntry> getIterator()
 	{
-		return _map.extractValues();
+		return _map.getIterator();
 	}
 
 	public long getMaxRow() {
@@ -71,6 +76,20 @@ public class CTableMap
 		_maxRow = Math.max(_maxRow, row);
 		_maxCol = Math.max(_maxCol, col);
 	}
+	
+	public void aggregate(CTableMap that) 
+	{
+		//merge partial ctable map (e.g., thread-local maps)
+		Iterator<LLDoubleEntry> iter = that._map.getIterator();
+		while( iter.hasNext() ) {
+			LLDoubleEntry e = iter.next();
+			_map.addValue(e.key1, e.key2, e.value);
+		}
+		
+		//maintain internal summaries 
+		_maxRow = Math.max(_maxRow, that._maxRow);
+		_maxCol = Math.max(_maxCol, that._maxCol);
+	}
 
 	public MatrixBlock toMatrixBlock(int rlen, int clen)
 	{
@@ -78,18 +97,33 @@ public class CTableMap
 		int nnz = _map.size();
 		boolean sparse = MatrixBlock.evalSparseFormatInMemory(rlen, clen, nnz); 		
 		MatrixBlock mb = new MatrixBlock(rlen, clen, sparse, nnz);
+		long lnnz = 0;
 		
 		// copy map values into new matrix block
 		if( sparse ) //SPARSE <- cells
 		{
-			//append cells to sparse target (prevent shifting)
-			for( LLDoubleEntry e : _map.extractValues() ) 
-			{
-				double value = e.value;
-				int rix = (int)e.key1;
-				int cix = (int)e.key2;
-				if( value != 0 && rix<=rlen && cix<=clen )
-					mb.appendValue( rix-1, cix-1, value );
+			//count non-zeros per row (for exact allocation)
+			int[] cnt = new int[rlen];
+			Iterator<LLDoubleEntry> iter = _map.getIterator();
+			while( iter.hasNext() ) {
+				LLDoubleEntry e = iter.next();
+				if( e.value != 0 && e.key1<=rlen && e.key2<=clen )
+					cnt[(int)e.key1-1]++;
+			}
+			
+			//allocate sparse rows and append cells (prevent shifting)
+			mb.allocateSparseRowsBlock();
+			SparseBlock c = mb.getSparseBlock();
+			for( int i=0; i<rlen; i++ )
+				if( cnt[i] > 0 )
+					c.allocate(i, cnt[i]);
+			iter = _map.getIterator();
+			while( iter.hasNext() ) {
+				LLDoubleEntry e = iter.next();
+				if( e.value != 0 && e.key1<=rlen && e.key2<=clen ) {
+					c.append((int)e.key1-1, (int)e.key2-1, e.value);
+					lnnz++;
+				}
 			}
 			
 			//sort sparse target representation
@@ -98,15 +132,18 @@ public class CTableMap
 		else  //DENSE <- cells
 		{
 			//directly insert cells into dense target 
-			for( LLDoubleEntry e : _map.extractValues() ) 
-			{
-				double value = e.value;
-				int rix = (int)e.key1;
-				int cix = (int)e.key2;
-				if( value != 0 && rix<=rlen && cix<=clen )
-					mb.quickSetValue( rix-1, cix-1, value );
+			mb.allocateDenseBlock();
+			double[] c = mb.getDenseBlock();
+			Iterator<LLDoubleEntry> iter = _map.getIterator();
+			while( iter.hasNext() ) {
+				LLDoubleEntry e = iter.next();
+				if( e.value != 0 && e.key1<=rlen && e.key2<=clen ) {
+					c[(int)(e.key1-1)*clen+(int)e.key2-1] = e.value;
+					lnnz++;
+				}
 			}
 		}
+		mb.setNonZeros(lnnz);
 		
 		return mb;
 	}
@@ -40,6 +40,9 @@ public class ConvolutionParameters implements Serializable {
 	public MatrixBlock bias;
 	public int [] start_indexes_h, end_indexes_h, start_indexes_w, end_indexes_w; 
 	
+	//initial value of max pooling outputs (0 for fused relu_maxpooling)
+	public double minValForMaxPoolOperations = -Double.MAX_VALUE;
+	
 	private int convertToInt(long val) throws DMLRuntimeException {
 		if( val > Integer.MAX_VALUE ) {
 			throw new DMLRuntimeException("The value for ConvolutionParameters is too large:" + val);
@@ -40,6 +40,7 @@ import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.transform.meta.RecodeMap;
 import org.apache.sysml.runtime.util.IndexRange;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
@@ -53,6 +54,14 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 	//internal configuration
 	private static final boolean REUSE_RECODE_MAPS = true;
 	
+	//serialization header flags (default meta data, columnar format w/
+	//column payload sizes and dictionary-encoded string columns)
+	private static final int SER_DEFAULT_META = 0x01;
+	private static final int SER_COLUMNAR = 0x02;
+	
+	//max ratio of distinct values per string column for dictionary encoding
+	private static final double DICT_MAX_DISTINCT_RATIO = 0.5;
+	
 	/** The number of rows of the FrameBlock */
 	private int _numRows = -1;
 	
@@ -68,12 +77,12 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 	private Array[] _coldata = null;
 	
 	/** Cache for recode maps from frame meta data, indexed by column 0-based */
-	private Map<Integer, SoftReference<HashMap<String,Long>>> _rcdMapCache = null;
+	private Map<Integer, SoftReference<RecodeMap>> _rcdMapCache = null;
 	
 	public FrameBlock() {
 		_numRows = 0;
 		if( REUSE_RECODE_MAPS )
-			_rcdMapCache = new HashMap<Integer, SoftReference<HashMap<String,Long>>>();
+			_rcdMapCache = new HashMap<Integer, SoftReference<RecodeMap>>();
 	}
 	
 	/**
@@ -121,7 +130,7 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		for( int i=0; i<data.length; i++ )
 			appendRow(data[i]);
 		if( REUSE_RECODE_MAPS )
-			_rcdMapCache = new HashMap<Integer, SoftReference<HashMap<String,Long>>>();
+			_rcdMapCache = new HashMap<Integer, SoftReference<RecodeMap>>();
 	}
 	
 	/**
@@ -302,8 +311,8 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 	}
 
 	public boolean isColNamesDefault() {
-		boolean ret = (_colnames != null);
-		for( int j=0; j<getNumColumns() && ret; j++ )
+		boolean ret = true; //null colnames are default
+		for( int j=0; j<getNumColumns() && ret && _colnames!=null; j++ )
 			ret &= isColNameDefault(j);
 		return ret;	
 	}
@@ -545,11 +554,11 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 	public void write(DataOutput out) throws IOException {
 		boolean isDefaultMeta = isColNamesDefault()
 				&& isColumnMetadataDefault();
-		//write header (rows, cols, default)
+		//write header (rows, cols, flags)
 		out.writeInt(getNumRows());
 		out.writeInt(getNumColumns());
-		out.writeBoolean(isDefaultMeta);
-		//write columns (value type, data)
+		out.writeByte((isDefaultMeta ? SER_DEFAULT_META : 0) | SER_COLUMNAR);
+		//write columns (value type, meta, size, data)
 		for( int j=0; j<getNumColumns(); j++ ) {
 			out.writeByte(_schema[j].ordinal());
 			if( !isDefaultMeta ) {
@@ -558,31 +567,62 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 				out.writeUTF( (_colmeta[j].getMvValue()!=null) ? 
 						_colmeta[j].getMvValue() : "" );
 			}
-			_coldata[j].write(out);
+			//write column payload w/ size to allow skipping columns on read
+			_coldata[j].writeWithSize(out);
 		}
 	}
 
 	@Override
 	public void readFields(DataInput in) throws IOException {
-		//read head (rows, cols)
+		readFields(in, null);
+	}
+	
+	/**
+	 * Deserializes a frame block, where only the columns selected by the
+	 * given column mask are materialized. In the columnar serialization
+	 * format, all other columns are skipped without decoding.
+	 * 
+	 * @param in data input
+	 * @param colmask column mask (null for all columns)
+	 * @throws IOException if IOException occurs
+	 */
+	public void readFields(DataInput in, boolean[] colmask) throws IOException {
+		//read head (rows, cols, flags)
 		_numRows = in.readInt();
 		int numCols = in.readInt();
-		boolean isDefaultMeta = in.readBoolean();
+		byte flags = in.readByte();
+		boolean isDefaultMeta = (flags & SER_DEFAULT_META) != 0;
+		boolean isColumnar = (flags & SER_COLUMNAR) != 0;
+		int numCols2 = numCols;
+		if( colmask != null ) {
+			if( colmask.length != numCols )
+				throw new IOException("Invalid column mask of length "
+					+ colmask.length + " for frame with " + numCols + " columns.");
+			numCols2 = 0;
+			for( boolean sel : colmask )
+				numCols2 += sel ? 1 : 0;
+		}
 		//allocate schema/meta data arrays
-		_schema = (_schema!=null && _schema.length==numCols) ? 
-				_schema : new ValueType[numCols];
-		_colnames = (_colnames != null && _colnames.length==numCols) ? 
-				_colnames : new String[numCols];
-		_colmeta = (_colmeta != null && _colmeta.length==numCols) ? 
-				_colmeta : new ColumnMetadata[numCols];
-		_coldata = (_coldata!=null && _coldata.length==numCols) ? 
-				_coldata : new Array[numCols];
+		_schema = (_schema!=null && _schema.length==numCols2) ? 
+				_schema : new ValueType[numCols2];
+		_colnames = (_colnames != null && _colnames.length==numCols2) ? 
+				_colnames : new String[numCols2];
+		_colmeta = (_colmeta != null && _colmeta.length==numCols2) ? 
+				_colmeta : new ColumnMetadata[numCols2];
+		_coldata = (_coldata!=null && _coldata.length==numCols2) ? 
+				_coldata : new Array[numCols2];
 		//read columns (value type, meta, data)
-		for( int j=0; j<numCols; j++ ) {
+		for( int j=0, pos=0; j<numCols; j++ ) {
 			ValueType vt = ValueType.values()[in.readByte()];
 			String name = isDefaultMeta ? createColName(j) : in.readUTF();
 			long ndistinct = isDefaultMeta ? 0 : in.readLong();
 			String mvvalue = isDefaultMeta ? null : in.readUTF();
+			long len = isColumnar ? in.readLong() : -1;
+			boolean skip = (colmask != null && !colmask[j]);
+			if( skip && isColumnar ) {
+				IOUtilFunctions.skipBytes(in, len);
+				continue;
+			}
 			Array arr = null;
 			switch( vt ) {
 				case STRING:  arr = new StringArray(new String[_numRows]); break;
@@ -591,12 +631,17 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 				case DOUBLE:  arr = new DoubleArray(new double[_numRows]); break;
 				default: throw new IOException("Unsupported value type: "+vt);
 			}
-			arr.readFields(in);
-			_schema[j] = vt;
-			_colnames[j] = name;
-			_colmeta[j] = new ColumnMetadata(ndistinct, 
+			if( vt == ValueType.STRING && !isColumnar )
+				((StringArray)arr).readFieldsPlain(in); //legacy format
+			else
+				arr.readFields(in);
+			if( skip )
+				continue;
+			_schema[pos] = vt;
+			_colnames[pos] = name;
+			_colmeta[pos] = new ColumnMetadata(ndistinct, 
 					(mvvalue==null || mvvalue.isEmpty()) ? null : mvvalue);
-			_coldata[j] = arr;
+			_coldata[pos++] = arr;
 		}
 	}
 
@@ -657,7 +702,7 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 	
 	@Override
 	public long getExactSerializedSize() {
-		//header: 2xint, boolean
+		//header: 2xint, byte
 		long size = 9;
 		
 		//column sizes
@@ -670,17 +715,8 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 				size += 8;
 				size += IOUtilFunctions.getUTFSize(_colmeta[j].getMvValue());
 			}
-			switch( _schema[j] ) {
-				case BOOLEAN: size += _numRows; break;
-				case INT:
-				case DOUBLE: size += 8*_numRows; break;
-				case STRING: 
-					StringArray arr = (StringArray)_coldata[j];
-					for( int i=0; i<_numRows; i++ )
-						size += IOUtilFunctions.getUTFSize(arr.get(i));
-					break;
-				default: //not applicable	
-			}
+			size += 8; //column payload size
+			size += _coldata[j].getExactSerializedSize();
 		}
 		
 		return size;
@@ -972,35 +1008,33 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 	 * @param col	is the column # from frame data which contains Recode map generated earlier.
 	 * @return map of token and code for every element in the input column of a frame containing Recode map
 	 */
-	public HashMap<String,Long> getRecodeMap(int col) {
+	public RecodeMap getRecodeMap(int col) {
 		//probe cache for existing map
 		if( REUSE_RECODE_MAPS ) {
-			SoftReference<HashMap<String,Long>> tmp = _rcdMapCache.get(col);
-			HashMap<String,Long> map = (tmp!=null) ? tmp.get() : null;
+			SoftReference<RecodeMap> tmp = _rcdMapCache.get(col);
+			RecodeMap map = (tmp!=null) ? tmp.get() : null;
 			if( map != null ) return map;
 		}
 		
-		//construct recode map
-		HashMap<String,Long> map = new HashMap<String,Long>();
+		//construct recode map (sized by number of non-empty entries)
 		Array ldata = _coldata[col]; 
+		int len = 0;
+		for( int i=0; i<getNumRows(); i++ )
+			len += (ldata.get(i) != null) ? 1 : 0;
+		RecodeMap map = new RecodeMap(len);
 		for( int i=0; i<getNumRows(); i++ ) {
 			Object val = ldata.get(i);
 			if( val != null ) {
-//				String[] tmp = IOUtilFunctions.splitCSV(
-//						val.toString(), Lop.DATATYPE_PREFIX);
-
 				// Instead of using splitCSV which is forcing string with RFC-4180 format, using Lop.DATATYPE_PREFIX separator to split token and code 
-				String[] tmp = 	new String[2];
-				int pos = val.toString().lastIndexOf(Lop.DATATYPE_PREFIX);
-				tmp[0] = val.toString().substring(0, pos);
-				tmp[1] = val.toString().substring(pos+1);
-				map.put(tmp[0], Long.parseLong(tmp[1]));
+				String entry = val.toString();
+				int pos = entry.lastIndexOf(Lop.DATATYPE_PREFIX);
+				map.put(entry.substring(0, pos), Integer.parseInt(entry.substring(pos+1)));
 			}
 		}
 		
 		//put created map into cache
 		if( REUSE_RECODE_MAPS ) {
-			_rcdMapCache.put(col, new SoftReference<HashMap<String,Long>>(map));
+			_rcdMapCache.put(col, new SoftReference<RecodeMap>(map));
 		}
 		
 		return map;
@@ -1196,9 +1230,17 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		public abstract void append(T value);
 		public abstract Array clone();
 		public abstract Array slice(int rl, int ru);
+		public abstract long getExactSerializedSize();
+		public void writeWithSize(DataOutput out) throws IOException {
+			out.writeLong(getExactSerializedSize());
+			write(out);
+		}
 	}
 
 	private static class StringArray extends Array<String> {
+		private static final byte ENC_PLAIN = 0;
+		private static final byte ENC_DICT = 1;
+		
 		private String[] _data = null;
 		
 		public StringArray(String[] data) {
@@ -1228,17 +1270,99 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 				_data = Arrays.copyOf(_data, newSize());
 			_data[_size++] = value;
 		}
+		private StringDictionary createDictionary() {
+			//dictionary of distinct non-empty values (code 0 reserved for null/empty),
+			//aborted if the number of distinct values renders encoding useless
+			int maxDistinct = (int)(DICT_MAX_DISTINCT_RATIO * _size);
+			HashMap<String,Integer> map = new HashMap<String,Integer>();
+			ArrayList<String> dict = new ArrayList<String>();
+			for( int i=0; i<_size; i++ ) {
+				String tmp = _data[i];
+				if( tmp == null || tmp.isEmpty() || map.containsKey(tmp) )
+					continue;
+				if( dict.size() >= maxDistinct )
+					return null;
+				map.put(tmp, dict.size()+1);
+				dict.add(tmp);
+			}
+			return new StringDictionary(map, dict);
+		}
+		@Override
+		public void writeWithSize(DataOutput out) throws IOException {
+			//dictionary created once per call, and shared by size and write
+			StringDictionary dict = createDictionary();
+			out.writeLong(getExactSerializedSize(dict));
+			write(out, dict);
+		}
 		public void write(DataOutput out) throws IOException {
-			for( int i=0; i<_size; i++ )
-				out.writeUTF((_data[i]!=null)?_data[i]:"");
+			write(out, createDictionary());
+		}
+		private void write(DataOutput out, StringDictionary dict) throws IOException {
+			if( dict == null ) { //plain
+				out.writeByte(ENC_PLAIN);
+				for( int i=0; i<_size; i++ )
+					out.writeUTF((_data[i]!=null)?_data[i]:"");
+			}
+			else { //dictionary-encoded
+				out.writeByte(ENC_DICT);
+				out.writeInt(dict.size());
+				for( String val : dict._values )
+					out.writeUTF(val);
+				int width = dict.getCodeWidth();
+				for( int i=0; i<_size; i++ ) {
+					int code = dict.getCode(_data[i]);
+					if( width == 1 )
+						out.writeByte(code);
+					else if( width == 2 )
+						out.writeShort(code);
+					else
+						out.writeInt(code);
+				}
+			}
 		}
 		public void readFields(DataInput in) throws IOException {
+			byte enc = in.readByte();
+			if( enc == ENC_PLAIN ) {
+				readFieldsPlain(in);
+			}
+			else if( enc == ENC_DICT ) {
+				//decode into shared string objects
+				_size = _data.length;
+				String[] dict = new String[in.readInt()+1];
+				for( int i=1; i<dict.length; i++ )
+					dict[i] = in.readUTF();
+				int width = StringDictionary.getCodeWidth(dict.length-1);
+				for( int i=0; i<_size; i++ )
+					_data[i] = dict[ (width == 1) ? in.readUnsignedByte() :
+						(width == 2) ? in.readUnsignedShort() : in.readInt() ];
+			}
+			else
+				throw new IOException("Unsupported string column encoding: "+enc);
+		}
+		public void readFieldsPlain(DataInput in) throws IOException {
 			_size = _data.length;
 			for( int i=0; i<_size; i++ ) {
 				String tmp = in.readUTF();
 				_data[i] = (!tmp.isEmpty()) ? tmp : null;
 			}
 		}
+		public long getExactSerializedSize() {
+			return getExactSerializedSize(createDictionary());
+		}
+		private long getExactSerializedSize(StringDictionary dict) {
+			long size = 1; //encoding
+			if( dict == null ) {
+				for( int i=0; i<_size; i++ )
+					size += IOUtilFunctions.getUTFSize(_data[i]);
+			}
+			else {
+				size += 4;
+				for( String val : dict._values )
+					size += IOUtilFunctions.getUTFSize(val);
+				size += (long)dict.getCodeWidth() * _size;
+			}
+			return size;
+		}
 		public Array clone() {
 			return new StringArray(Arrays.copyOf(_data, _size));
 		}
@@ -1295,6 +1419,9 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		public Array slice(int rl, int ru) {
 			return new BooleanArray(Arrays.copyOfRange(_data,rl,ru+1));
 		}
+		public long getExactSerializedSize() {
+			return _size;
+		}
 	}
 
 	private static class LongArray extends Array<Long> {
@@ -1345,6 +1472,9 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		public Array slice(int rl, int ru) {
 			return new LongArray(Arrays.copyOfRange(_data,rl,ru+1));
 		}
+		public long getExactSerializedSize() {
+			return 8L * _size;
+		}
 	}
 
 	private static class DoubleArray extends Array<Double> {
@@ -1395,6 +1525,36 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		public Array slice(int rl, int ru) {
 			return new DoubleArray(Arrays.copyOfRange(_data,rl,ru+1));
 		}
+		public long getExactSerializedSize() {
+			return 8L * _size;
+		}
+	}
+
+	/**
+	 * Dictionary of distinct string values, where values are encoded
+	 * as codes 1..n, and null or empty strings as code 0. The code width
+	 * in bytes depends on the number of distinct values.
+	 */
+	private static class StringDictionary {
+		private final HashMap<String,Integer> _map;
+		private final ArrayList<String> _values;
+		
+		public StringDictionary(HashMap<String,Integer> map, ArrayList<String> values) {
+			_map = map;
+			_values = values;
+		}
+		public int size() {
+			return _values.size();
+		}
+		public int getCode(String value) {
+			return (value==null || value.isEmpty()) ? 0 : _map.get(value);
+		}
+		public int getCodeWidth() {
+			return getCodeWidth(size());
+		}
+		public static int getCodeWidth(int size) {
+			return (size < 256) ? 1 : (size < 65536) ? 2 : 4;
+		}
 	}
 
 	public static class ColumnMetadata implements Serializable {
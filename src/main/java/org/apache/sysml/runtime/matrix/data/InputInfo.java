@@ -83,6 +83,9 @@ public class InputInfo implements Serializable
 	public static final InputInfo CSVInputInfo=new InputInfo(TextInputFormat.class, 
 			 LongWritable.class, Text.class);
 	
+	public static final InputInfo LIBSVMInputInfo=new InputInfo(TextInputFormat.class, 
+			 LongWritable.class, Text.class);
+	
 	public static OutputInfo getMatchingOutputInfo(InputInfo ii) throws DMLRuntimeException {
 		if ( ii == InputInfo.BinaryBlockInputInfo )
 			return OutputInfo.BinaryBlockOutputInfo;
@@ -100,6 +103,8 @@ public class InputInfo implements Serializable
 			return OutputInfo.WeightedPairOutputInfo;
 		else if ( ii == InputInfo.CSVInputInfo)
 			return OutputInfo.CSVOutputInfo;
+		else if ( ii == InputInfo.LIBSVMInputInfo)
+			return OutputInfo.LIBSVMOutputInfo;
 		else 
 			throw new DMLRuntimeException("Unrecognized output info: " + ii);
 	}
@@ -125,6 +130,8 @@ public class InputInfo implements Serializable
 			return WeightedPairInputInfo;
 		else if ( str.equalsIgnoreCase("csv"))
 			return CSVInputInfo;
+		else if ( str.equalsIgnoreCase("libsvm"))
+			return LIBSVMInputInfo;
 		return null;
 	}
 
@@ -135,6 +142,8 @@ public class InputInfo implements Serializable
 			return InputInfo.MatrixMarketInputInfo;
 		else if( DataExpression.FORMAT_TYPE_VALUE_CSV.equals(str) )
 			return InputInfo.CSVInputInfo; 
+		else if( DataExpression.FORMAT_TYPE_VALUE_LIBSVM.equals(str) )
+			return InputInfo.LIBSVMInputInfo; 
 		else if( DataExpression.FORMAT_TYPE_VALUE_BINARY.equals(str) )
 			return InputInfo.BinaryBlockInputInfo; 		
 		return null;
@@ -159,6 +168,8 @@ public class InputInfo implements Serializable
 			return "matrixmarket";
 		else if ( ii == CSVInputInfo )
 			return "csv";
+		else if ( ii == LIBSVMInputInfo )
+			return "libsvm";
 		else
 			throw new DMLRuntimeException("Unrecognized inputInfo: " + ii);
 	}
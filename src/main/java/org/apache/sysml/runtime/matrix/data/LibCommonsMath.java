@@ -20,22 +20,22 @@
 package org.apache.sysml.runtime.matrix.data;
 
 import org.apache.commons.math3.linear.Array2DRowRealMatrix;
-import org.apache.commons.math3.linear.CholeskyDecomposition;
 import org.apache.commons.math3.linear.DecompositionSolver;
 import org.apache.commons.math3.linear.EigenDecomposition;
-import org.apache.commons.math3.linear.LUDecomposition;
 import org.apache.commons.math3.linear.QRDecomposition;
 import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.util.Precision;
+import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.util.DataConverter;
 
 /**
- * Library for matrix operations that need invocation of 
- * Apache Commons Math library. 
- * 
- * This library currently supports following operations:
- * matrix inverse, matrix decompositions (QR, LU, Eigen), solve 
+ * Library for matrix inverse, matrix decompositions (Cholesky, QR, LU, Eigen),
+ * and solve. These operations are computed by the multi-threaded, blocked dense
+ * factorizations of {@link LibMatrixDecomp}, except for the eigen decomposition
+ * of non-symmetric matrices and underdetermined systems of equations, which are 
+ * still computed via the Apache Commons Math library. 
  */
 public class LibCommonsMath 
 {	
@@ -58,31 +58,57 @@ public class LibCommonsMath
 	public static MatrixBlock unaryOperations(MatrixObject inj, String opcode) 
 		throws DMLRuntimeException 
 	{
-		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(inj);
-		if(opcode.equals("inverse"))
-			return computeMatrixInverse(matrixInput);
-		else if (opcode.equals("cholesky"))
-			return computeCholesky(matrixInput);		
+		int k = OptimizerUtils.getConstrainedNumThreads(-1);
+		MatrixBlock in = inj.acquireRead();
+		try {
+			if(opcode.equals("inverse"))
+				return LibMatrixDecomp.inverse(in, k);
+			else if (opcode.equals("cholesky"))
+				return LibMatrixDecomp.cholesky(in, k);
+		}
+		finally {
+			inj.release();
+		}
 		return null;
 	}
 	
 	public static MatrixBlock[] multiReturnOperations(MatrixObject in, String opcode) 
 		throws DMLRuntimeException 
 	{
-		if(opcode.equals("qr"))
-			return computeQR(in);
-		else if (opcode.equals("lu"))
-			return computeLU(in);
-		else if (opcode.equals("eigen"))
-			return computeEigen(in);
+		int k = OptimizerUtils.getConstrainedNumThreads(-1);
+		MatrixBlock mb = in.acquireRead();
+		try {
+			if(opcode.equals("qr"))
+				return LibMatrixDecomp.qr(mb, k);
+			else if (opcode.equals("lu"))
+				return LibMatrixDecomp.lu(mb, k);
+			else if (opcode.equals("eigen"))
+				return computeEigen(mb, k);
+		}
+		finally {
+			in.release();
+		}
 		return null;
 	}
 	
 	public static MatrixBlock matrixMatrixOperations(MatrixObject in1, MatrixObject in2, String opcode) 
 		throws DMLRuntimeException 
 	{
-		if(opcode.equals("solve"))
-			return computeSolve(in1, in2);
+		if(opcode.equals("solve")) {
+			//underdetermined systems via commons-math QR
+			if( in1.getNumRows() < in1.getNumColumns() )
+				return computeSolve(in1, in2);
+			int k = OptimizerUtils.getConstrainedNumThreads(-1);
+			MatrixBlock mb1 = in1.acquireRead();
+			MatrixBlock mb2 = in2.acquireRead();
+			try {
+				return LibMatrixDecomp.solve(mb1, mb2, k);
+			}
+			finally {
+				in1.release();
+				in2.release();
+			}
+		}
 		return null;
 	}
 	
@@ -113,76 +139,28 @@ public class LibCommonsMath
 		return DataConverter.convertToMatrixBlock(solutionMatrix.getData());
 	}
 	
-	/**
-	 * Function to perform QR decomposition on a given matrix.
-	 * 
-	 * @param in matrix object
-	 * @return array of matrix blocks
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static MatrixBlock[] computeQR(MatrixObject in) 
-		throws DMLRuntimeException 
-	{
-		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(in);
-		
-		// Perform QR decomposition
-		QRDecomposition qrdecompose = new QRDecomposition(matrixInput);
-		RealMatrix H = qrdecompose.getH();
-		RealMatrix R = qrdecompose.getR();
-		
-		// Read the results into native format
-		MatrixBlock mbH = DataConverter.convertToMatrixBlock(H.getData());
-		MatrixBlock mbR = DataConverter.convertToMatrixBlock(R.getData());
-
-		return new MatrixBlock[] { mbH, mbR };
-	}
-	
-	/**
-	 * Function to perform LU decomposition on a given matrix.
-	 * 
-	 * @param in matrix object
-	 * @return array of matrix blocks
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static MatrixBlock[] computeLU(MatrixObject in) 
-		throws DMLRuntimeException 
-	{
-		if ( in.getNumRows() != in.getNumColumns() ) {
-			throw new DMLRuntimeException("LU Decomposition can only be done on a square matrix. Input matrix is rectangular (rows=" + in.getNumRows() + ", cols="+ in.getNumColumns() +")");
-		}
-		
-		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(in);
-		
-		// Perform LUP decomposition
-		LUDecomposition ludecompose = new LUDecomposition(matrixInput);
-		RealMatrix P = ludecompose.getP();
-		RealMatrix L = ludecompose.getL();
-		RealMatrix U = ludecompose.getU();
-		
-		// Read the results into native format
-		MatrixBlock mbP = DataConverter.convertToMatrixBlock(P.getData());
-		MatrixBlock mbL = DataConverter.convertToMatrixBlock(L.getData());
-		MatrixBlock mbU = DataConverter.convertToMatrixBlock(U.getData());
-
-		return new MatrixBlock[] { mbP, mbL, mbU };
-	}
-	
 	/**
 	 * Function to perform Eigen decomposition on a given matrix.
 	 * Input must be a symmetric matrix.
 	 * 
-	 * @param in matrix object
+	 * @param in matrix block
+	 * @param numThreads maximum parallelism
 	 * @return array of matrix blocks
 	 * @throws DMLRuntimeException if DMLRuntimeException occurs
 	 */
-	private static MatrixBlock[] computeEigen(MatrixObject in)
+	private static MatrixBlock[] computeEigen(MatrixBlock in, int numThreads)
 		throws DMLRuntimeException 
 	{
 		if ( in.getNumRows() != in.getNumColumns() ) {
 			throw new DMLRuntimeException("Eigen Decomposition can only be done on a square matrix. Input matrix is rectangular (rows=" + in.getNumRows() + ", cols="+ in.getNumColumns() +")");
 		}
 		
-		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(in);
+		//symmetric matrices (w/ commons-math tolerance) via native eigen decomposition
+		double eps = 10d * in.getNumRows() * in.getNumColumns() * Precision.EPSILON;
+		if( LibMatrixDecomp.isSymmetric(in, eps) )
+			return LibMatrixDecomp.eigen(in, numThreads);
+		
+		Array2DRowRealMatrix matrixInput = new Array2DRowRealMatrix(DataConverter.convertToDoubleMatrix(in), false);
 		
 		EigenDecomposition eigendecompose = new EigenDecomposition(matrixInput);
 		RealMatrix eVectorsMatrix = eigendecompose.getV();
@@ -216,44 +194,4 @@ public class LibCommonsMath
 
 		return new MatrixBlock[] { mbValues, mbVectors };
 	}
-	
-	/**
-	 * Function to compute matrix inverse via matrix decomposition.
-	 * 
-	 * @param in commons-math3 Array2DRowRealMatrix
-	 * @return matrix block
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static MatrixBlock computeMatrixInverse(Array2DRowRealMatrix in) 
-		throws DMLRuntimeException 
-	{	
-		if ( !in.isSquare() )
-			throw new DMLRuntimeException("Input to inv() must be square matrix -- given: a " + in.getRowDimension() + "x" + in.getColumnDimension() + " matrix.");
-		
-		QRDecomposition qrdecompose = new QRDecomposition(in);
-		DecompositionSolver solver = qrdecompose.getSolver();
-		RealMatrix inverseMatrix = solver.getInverse();
-
-		return DataConverter.convertToMatrixBlock(inverseMatrix.getData());
-	}
-
-	/**
-	 * Function to compute Cholesky decomposition of the given input matrix. 
-	 * The input must be a real symmetric positive-definite matrix.
-	 * 
-	 * @param in commons-math3 Array2DRowRealMatrix
-	 * @return matrix block
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static MatrixBlock computeCholesky(Array2DRowRealMatrix in) 
-		throws DMLRuntimeException 
-	{	
-		if ( !in.isSquare() )
-			throw new DMLRuntimeException("Input to cholesky() must be square matrix -- given: a " + in.getRowDimension() + "x" + in.getColumnDimension() + " matrix.");
-
-		CholeskyDecomposition cholesky = new CholeskyDecomposition(in);
-		RealMatrix rmL = cholesky.getL();
-		
-		return DataConverter.convertToMatrixBlock(rmL.getData());
-	}
 }
@@ -49,10 +49,12 @@ public class LibMatrixDNN {
 	protected static final Log LOG =  LogFactory.getLog(LibMatrixDNN.class.getName());
 	
 	//library configurations and external contracts
-	public static final boolean SUPPORTS_SPARSE_OUTPUTS = false; //operations able to handle sparse outputs 
+	public static final boolean SUPPORTS_SPARSE_OUTPUTS = true; //operations able to handle sparse outputs 
 	private static final boolean DISPLAY_STATISTICS = false; //conv2d summaries in stats output
 	private static final boolean ALLOW_MULTI_THREADED_OPS = true; //enable multi-threading in cp
 	private static final int NUM_TASK_FACTOR = 2; //number of tasks is vcores scaled by this factor
+	private static final int BATCH_MIN_COLS = 1024; //min number of columns of batched im2col/matmult
+	private static final int BATCH_MAX_CELLS = 1024*1024; //max size of thread-local batch buffers (8MB)
 	
 	private enum TaskType {
 		MaxPooling_Forward, MaxPooling_Backward, 
@@ -269,17 +271,20 @@ public class LibMatrixDNN {
 	}
 	
 	@SuppressWarnings("unused")
-	private static void doLoopedIm2ColConv2dBwdData(int n, MatrixBlock dout_reshaped, ConvolutionParameters params) throws DMLRuntimeException {
+	private static void doLoopedIm2ColConv2dBwdData(int n, int bn, MatrixBlock dout_reshaped, ConvolutionParameters params) throws DMLRuntimeException {
 		MatrixBlock filter = params.input1;
 		MatrixBlock dout = params.input2;
-		doRotate180(n, 0, dout, dout_reshaped.denseBlock, params, true);
+		int PQ = params.P*params.Q;
+		resizeBatchBlock(dout_reshaped, bn*PQ, params.K);
+		for(int i = 0; i < bn; i++)
+			doRotate180(n+i, i, dout, dout_reshaped.denseBlock, params, true);
 		dout_reshaped.recomputeNonZeros();
 		
-		MatrixBlock temp = new MatrixBlock(params.P*params.Q, params.C*params.R*params.S, false);
+		MatrixBlock temp = new MatrixBlock(bn*PQ, params.C*params.R*params.S, false);
 		long t1 = DMLScript.STATISTICS && DISPLAY_STATISTICS ? System.nanoTime() : 0;
 		LibMatrixMult.matrixMult(dout_reshaped, filter, temp, false);
 		long t2 = DMLScript.STATISTICS && DISPLAY_STATISTICS ? System.nanoTime() : 0 ;
-		doCol2imOverSingleImage(n, temp, params);
+		doCol2imOverImages(n, bn, temp, params);
 		long t3 = DMLScript.STATISTICS && DISPLAY_STATISTICS ? System.nanoTime() : 0 ;
 		if(DMLScript.STATISTICS && DISPLAY_STATISTICS) {
 			loopedConvBwdDataMatMultTime.addAndGet(t2-t1);
@@ -288,14 +293,18 @@ public class LibMatrixDNN {
 	}
 	
 	@SuppressWarnings("unused")
-	private static MatrixBlock doLoopedIm2ColConv2dBwdFilter(int n, 
+	private static MatrixBlock doLoopedIm2ColConv2dBwdFilter(int n, int bn,
 			MatrixBlock im2ColOutBlock, MatrixBlock dout_reshaped, MatrixBlock partialRetBlock, ConvolutionParameters params) throws DMLRuntimeException {
 		long t1 = DMLScript.STATISTICS && DISPLAY_STATISTICS ? System.nanoTime() : 0;
-		doIm2col(n, im2ColOutBlock, params);
+		doIm2col(n, bn, im2ColOutBlock, params);
 		im2ColOutBlock.recomputeNonZeros();
 		long t2 = DMLScript.STATISTICS && DISPLAY_STATISTICS ? System.nanoTime() : 0 ;
 		
-		doRotate180(n, 0, params.input2, dout_reshaped.denseBlock, params, true);
+		//stack the rotated dout of all images in the batch (bPQ x K), 
+		//which aggregates the per-image products in a single matmult
+		resizeBatchBlock(dout_reshaped, bn*params.P*params.Q, params.K);
+		for(int i = 0; i < bn; i++)
+			doRotate180(n+i, i, params.input2, dout_reshaped.denseBlock, params, true);
 		dout_reshaped.recomputeNonZeros();
 		
 		MatrixBlock temp = new MatrixBlock(params.C*params.R*params.S, params.K, false);
@@ -346,18 +355,34 @@ public class LibMatrixDNN {
 		
 		runConvTask(TaskType.LoopedIm2ColConv2d, params);
 		
-		//post-processing: maintain nnz
-		outputBlock.recomputeNonZeros();
+		//note: no post-processing as nnz maintained per task
 	}
 	
+	/**
+	 * Computes the convolution of a batch of bn images (starting at image n) via a
+	 * single im2col of all images into the thread-local CRS x bnPQ buffer, and a single
+	 * matrix multiplication with the filter. The K x bnPQ result is written into the 
+	 * output rows of the individual images, where the bias add is fused into this write.
+	 * For sparse outputs, the rows are written into a thread-local dense buffer and the
+	 * non-zeros are appended to the sparse output rows.
+	 * 
+	 * @param n first image of the batch
+	 * @param bn number of images in the batch
+	 * @param im2ColOutBlock thread-local im2col buffer
+	 * @param bias dense bias array of length K, or null if no or empty bias
+	 * @param outBuff thread-local output buffer of length bnKPQ for sparse outputs, otherwise null
+	 * @param params convolution parameters
+	 * @return number of non-zeros of the output rows
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
 	@SuppressWarnings("unused")
-	private static void doLoopedIm2ColConv2d(int n, MatrixBlock im2ColOutBlock, ConvolutionParameters params) throws DMLRuntimeException {
+	private static long doLoopedIm2ColConv2d(int n, int bn, MatrixBlock im2ColOutBlock, double[] bias, double[] outBuff, ConvolutionParameters params) throws DMLRuntimeException {
 		long t1 = DMLScript.STATISTICS && DISPLAY_STATISTICS ? System.nanoTime() : 0;
-		doIm2col(n, im2ColOutBlock, params);
+		doIm2col(n, bn, im2ColOutBlock, params);
 		im2ColOutBlock.recomputeNonZeros();
 		long t2 = DMLScript.STATISTICS && DISPLAY_STATISTICS ? System.nanoTime() : 0;
 		
-		MatrixBlock matMultOutBlock = new MatrixBlock(params.K, params.P*params.Q, false);
+		MatrixBlock matMultOutBlock = new MatrixBlock(params.K, bn*params.P*params.Q, false);
 		LibMatrixMult.matrixMult(params.input2, im2ColOutBlock, matMultOutBlock, false);
 		long t3 = DMLScript.STATISTICS && DISPLAY_STATISTICS ? System.nanoTime() : 0;
 		
@@ -367,31 +392,158 @@ public class LibMatrixDNN {
 		}
 		
 		// -----------------------------------------------------------------------------
-		// Copying is required as LibMatrixMult.matrixMult (and/or Java) is not pointer aware.
-		// This is not required in Native implementation
-		int destPos = n*params.K*params.P*params.Q;
-		int length = params.K*params.P*params.Q;
-		if(!matMultOutBlock.isEmptyBlock()) {
-			if(matMultOutBlock.isInSparseFormat()) {
-				// NOTE: Potential bottlenc to copy sparse matmult back to dense output
-				Iterator<IJV> iter = matMultOutBlock.sparseBlock.getIterator();
-				final int outOffset = n*params.K*params.P*params.Q;
-				while(iter.hasNext()) {
-					IJV ijv = iter.next();
-					int k = ijv.getI();
-					int p = ijv.getJ() / params.Q;
-					int q = ijv.getJ() % params.Q;
-					params.output.denseBlock[outOffset + k*params.P*params.Q + p*params.Q + q] = ijv.getV();
+		// Copying is required as the matmult output is K x bnPQ but the output layout is bn x KPQ.
+		// The bias add and nnz maintenance are fused into this copy.
+		final int PQ = params.P*params.Q;
+		final int K = params.K;
+		final int bnPQ = bn*PQ;
+		final boolean sparseOut = (outBuff != null);
+		final int outBase = sparseOut ? 0 : n*K*PQ;
+		double[] outputArray = sparseOut ? outBuff : params.output.getDenseBlock();
+		double[] tmpArray = matMultOutBlock.getDenseBlock();
+		long lnnz = 0;
+		if( !matMultOutBlock.isInSparseFormat() && tmpArray != null ) {
+			for(int i = 0; i < bn; i++) {
+				for(int k = 0, outIx = outBase + i*K*PQ; k < K; k++, outIx+=PQ) {
+					final int tmpIx = k*bnPQ + i*PQ;
+					final double biasVal = (bias != null) ? bias[k] : 0;
+					for(int pq = 0; pq < PQ; pq++) {
+						double val = tmpArray[tmpIx + pq] + biasVal;
+						outputArray[outIx + pq] = val;
+						lnnz += (val != 0) ? 1 : 0;
+					}
 				}
 			}
-			else
-				System.arraycopy(matMultOutBlock.denseBlock, 0, params.output.denseBlock, destPos, length);
+		}
+		else {
+			// NOTE: sparse (or empty) matmult output, initialize with bias and scatter non-zeros
+			for(int i = 0; i < bn; i++)
+				for(int k = 0, outIx = outBase + i*K*PQ; k < K; k++, outIx+=PQ)
+					Arrays.fill(outputArray, outIx, outIx+PQ, (bias != null) ? bias[k] : 0);
+			if( !matMultOutBlock.isEmptyBlock(false) ) {
+				SparseBlock sblock = matMultOutBlock.getSparseBlock();
+				for(int k = 0; k < K; k++) {
+					if( sblock.isEmpty(k) ) continue;
+					int apos = sblock.pos(k);
+					int alen = sblock.size(k);
+					int[] aix = sblock.indexes(k);
+					double[] avals = sblock.values(k);
+					for(int j = apos; j < apos+alen; j++)
+						outputArray[outBase + (aix[j]/PQ)*K*PQ + k*PQ + aix[j]%PQ] += avals[j];
+				}
+			}
+			for(int i = outBase; i < outBase+bn*K*PQ; i++)
+				lnnz += (outputArray[i] != 0) ? 1 : 0;
+		}
+		if( sparseOut ) {
+			SparseBlock sblock = params.output.getSparseBlock();
+			for(int i = 0; i < bn; i++)
+				appendToSparseOutput(outBuff, i*K*PQ, K*PQ, sblock, n+i);
 		}
 		// -----------------------------------------------------------------------------
 		
-		// Recomputing nnz is not required for each individual im2col as it is invoked by outer public methods (i.e. conv2d.
-		//post-processing: maintain nnz
-		// params.output.recomputeNonZeros(); 
+		return lnnz;
+	}
+	
+	/**
+	 * Obtains the bias as dense array of length K in order to fuse the
+	 * bias add into the output write of all images.
+	 * 
+	 * @param bias bias matrix (K x 1)
+	 * @param K number of filters
+	 * @return dense bias array, or null if no or empty bias
+	 */
+	private static double[] getBiasArray(MatrixBlock bias, int K) {
+		if( bias == null || bias.isEmptyBlock(false) )
+			return null;
+		if( !bias.isInSparseFormat() )
+			return bias.getDenseBlock();
+		double[] ret = new double[K];
+		Iterator<IJV> iter = bias.getSparseBlockIterator();
+		while(iter.hasNext()) {
+			IJV ijv = iter.next();
+			ret[ijv.getI()] = ijv.getV();
+		}
+		return ret;
+	}
+	
+	/**
+	 * Determines the number of images that are processed as a batch, i.e., 
+	 * with a single im2col/matmult, such that the matmult has at least 
+	 * BATCH_MIN_COLS columns and the thread-local buffers do not exceed 
+	 * BATCH_MAX_CELLS cells. 
+	 * 
+	 * @param params convolution parameters
+	 * @param len maximum number of images per task
+	 * @return batch size in number of images
+	 */
+	private static int getBatchSize(ConvolutionParameters params, int len) {
+		long PQ = Math.max((long)params.P*params.Q, 1);
+		long maxDim = Math.max((long)params.C*params.R*params.S, params.K);
+		long bn = Math.min((BATCH_MIN_COLS + PQ - 1) / PQ, BATCH_MAX_CELLS / (maxDim*PQ));
+		return (int) Math.max(1, Math.min(len, bn));
+	}
+	
+	/**
+	 * Resizes a thread-local dense batch buffer to the given dimensions 
+	 * (e.g., for the last partial batch), reusing the allocated array.
+	 * 
+	 * @param mb thread-local buffer
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 */
+	private static void resizeBatchBlock(MatrixBlock mb, int rlen, int clen) {
+		if( mb.getNumRows() != rlen || mb.getNumColumns() != clen ) {
+			mb.reset(rlen, clen, false);
+			mb.allocateDenseBlock();
+		}
+	}
+	
+	/**
+	 * Appends the non-zeros of a dense row (e.g., a thread-local buffer of 
+	 * a single image) to the given row of a sparse output.
+	 * 
+	 * @param buff dense buffer
+	 * @param off offset of the row in the buffer
+	 * @param len number of columns
+	 * @param sblock sparse output block
+	 * @param r output row
+	 * @return number of non-zeros of the row
+	 */
+	private static long appendToSparseOutput(double[] buff, int off, int len, SparseBlock sblock, int r) {
+		int lnnz = 0;
+		for(int j = off; j < off+len; j++)
+			lnnz += (buff[j] != 0) ? 1 : 0;
+		if( lnnz > 0 ) {
+			sblock.allocate(r, lnnz);
+			for(int j = 0; j < len; j++)
+				if( buff[off+j] != 0 )
+					sblock.append(r, j, buff[off+j]);
+		}
+		return lnnz;
+	}
+	
+	/**
+	 * Densifies a row (e.g., a single image) of a sparse input into the 
+	 * given thread-local buffer, by scattering its non-zeros.
+	 * 
+	 * @param in sparse input
+	 * @param r input row
+	 * @param buff dense buffer of length ncol(in)
+	 * @return dense buffer
+	 */
+	private static double[] getDenseRow(MatrixBlock in, int r, double[] buff) {
+		Arrays.fill(buff, 0);
+		SparseBlock sblock = in.getSparseBlock();
+		if( sblock != null && !sblock.isEmpty(r) ) {
+			int apos = sblock.pos(r);
+			int alen = sblock.size(r);
+			int[] aix = sblock.indexes(r);
+			double[] avals = sblock.values(r);
+			for(int j = apos; j < apos+alen; j++)
+				buff[aix[j]] = avals[j];
+		}
+		return buff;
 	}
 	
 	/**
@@ -456,7 +608,7 @@ public class LibMatrixDNN {
 		}
 	}
 	
-	private static void doPoolingBackward(int n, ConvolutionParameters params) throws DMLRuntimeException {
+	private static void doPoolingBackward(int n, ConvolutionParameters params, double[] inBuff) throws DMLRuntimeException {
 		double [] inputArray = null;
 		if (!params.input1.isInSparseFormat())
 			inputArray = params.input1.getDenseBlock();
@@ -476,38 +628,36 @@ public class LibMatrixDNN {
 				doPoolingBackwardDenseSparse(n, inputArray, params.input2, outputArray, params);
 		}
 		else {
+			// sparse input densified once per image (instead of a scan over all 
+			// non-zeros of the image per output cell)
+			getDenseRow(params.input1, n, inBuff);
 			if(doutArray != null)
-				doPoolingBackwardSparseDense(n, doutArray, outputArray, params);
+				doPoolingBackwardSparseDense(n, inBuff, doutArray, outputArray, params);
 			else
-				doPoolingBackwardSparseSparse(n, outputArray, params);
+				doPoolingBackwardSparseSparse(n, inBuff, outputArray, params);
 		}
 	}
 	
-	private static void doPoolingBackwardSparseDense(int n, double [] doutArray,  double [] outputArray, ConvolutionParameters params) throws DMLRuntimeException {
-		if (!params.input1.isInSparseFormat())
-			throw new DMLRuntimeException("Incorrect usage: Call optimized versions");
-		
+	private static void doPoolingBackwardSparseDense(int n, double [] inBuff, double [] doutArray,  double [] outputArray, ConvolutionParameters params) throws DMLRuntimeException {
+		final int outputOffset = n*params.C*params.H*params.W;
 		for (int c = 0; c < params.C; c++) {
 			for (int p = 0; p < params.P; p++) {
 				for (int q = 0; q < params.Q; q++) {
 					double inVal = doutArray[n*params.C*params.P*params.Q + c*params.P*params.Q +  p * params.Q + q];
 					if(inVal != 0) {
-						final int inputOffset = n*params.C*params.H*params.W + c*params.H*params.W;
-						int maxIndex = getMaxIndexSparse(p, q, inputOffset, n, c, params.input1, params);
-						outputArray[maxIndex] += inVal;
+						int maxIndex = getMaxIndex(p, q, c*params.H*params.W, inBuff, params);
+						outputArray[outputOffset + maxIndex] += inVal;
 					}
 				}
 			}
 		}
 	}
 	
-	private static void doPoolingBackwardSparseSparse(int n, double [] outputArray, ConvolutionParameters params) throws DMLRuntimeException {
-		if (!params.input1.isInSparseFormat())
-			throw new DMLRuntimeException("Incorrect usage: Call optimized versions");
-		
+	private static void doPoolingBackwardSparseSparse(int n, double [] inBuff, double [] outputArray, ConvolutionParameters params) throws DMLRuntimeException {
 		// params.input2.isEmptyBlock() check is done by the caller
 		Iterator<IJV> iter = params.input2.sparseBlock.getIterator(n, n+1);
 		int [] tensorIndexes = new int[3];
+		final int outputOffset = n*params.C*params.H*params.W;
 		
 		while(iter.hasNext()) {
 			IJV ijv = iter.next();
@@ -516,11 +666,9 @@ public class LibMatrixDNN {
 			int p = tensorIndexes[1];
 			int q = tensorIndexes[2];
 			
-			final int inputOffset = n*params.C*params.H*params.W + c*params.H*params.W;
-			int maxIndex = getMaxIndexSparse(p, q, inputOffset, n, c, params.input1, params);
-			outputArray[maxIndex] += ijv.getV();
+			int maxIndex = getMaxIndex(p, q, c*params.H*params.W, inBuff, params);
+			outputArray[outputOffset + maxIndex] += ijv.getV();
 		}
-		
 	}
 	
 	private static void doPoolingBackwardDenseSparse(int n, double [] inputArray, 
@@ -557,42 +705,6 @@ public class LibMatrixDNN {
 		}
 	}
 	
-	private static int getMaxIndexSparse(int p, int q, int inputOffset, int n, int c, MatrixBlock input, ConvolutionParameters params) throws DMLRuntimeException {
-		if(!input.isInSparseFormat())
-			throw new DMLRuntimeException("Incorrect usage: Only sparse format supported");
-		
-		// input.isEmptyBlock() check is done by the caller
-		Iterator<IJV> iter = input.sparseBlock.getIterator(n, n+1);
-		int [] tensorIndexes = new int[3];
-		
-		int start_index_h = params.start_indexes_h[p];
-		int end_index_h = params.end_indexes_h[p];
-		int start_index_w = params.start_indexes_w[q];
-		int end_index_w = params.end_indexes_w[q];
-		
-		int maxIndex = inputOffset +  start_index_h*params.W + start_index_w; 
-		double maxVal = -Double.MAX_VALUE;
-
-		// Find maxIndex
-		double currDoutVal = -1;
-		while(iter.hasNext()) {
-			IJV ijv = iter.next();
-			computeTensorIndexes(ijv.getJ(), tensorIndexes, params.H, params.W);
-			if(c != tensorIndexes[0])
-				continue;
-			int h = tensorIndexes[1];
-			int w = tensorIndexes[2];
-			if(h >= start_index_h && h < end_index_h && w >= start_index_w && w < end_index_w) {
-				currDoutVal = ijv.getV();
-				if(maxVal < currDoutVal) {
-					maxIndex = inputOffset +  h*params.W + w;
-					maxVal = currDoutVal;
-				}
-			}	
-		}
-		return maxIndex;
-	}
-	
 	private static int getMaxIndex(int p, int q, int inputOffset, double [] inputArray, ConvolutionParameters params) {
 		int start_index_h = params.start_indexes_h[p];
 		int end_index_h = params.end_indexes_h[p];
@@ -642,6 +754,9 @@ public class LibMatrixDNN {
 	}
 	
 	private static long doReluBackward(ConvolutionParameters params, int rl, int ru) throws DMLRuntimeException {
+		if( params.output.isInSparseFormat() )
+			return doReluBackwardSparseOutput(params, rl, ru);
+		
 		// (X > 0) * dout
 		double [] outputArray = params.output.getDenseBlock();
 		int numOutCols = params.input1.getNumColumns();
@@ -653,8 +768,23 @@ public class LibMatrixDNN {
 				outputArray[i] = inputArr[i] > 0 ? doutArr[i] : 0;
 			}
 		}
+		else if(params.input2.isInSparseFormat()) {
+			// Perform (X > 0) * dout over the non-zeros of dout only
+			Arrays.fill(outputArray, rl*numOutCols, ru*numOutCols, 0);
+			double [] inputArr = params.input1.isInSparseFormat() ? null : params.input1.getDenseBlock();
+			Iterator<IJV> iter = params.input2.sparseBlock.getIterator(rl, ru);
+			while(iter.hasNext()) {
+				IJV ijv = iter.next();
+				int i = ijv.getI();
+				int j = ijv.getJ();
+				double inVal = (inputArr != null) ? inputArr[i*numOutCols + j] :
+					params.input1.quickGetValue(i, j);
+				outputArray[i*numOutCols + j] = inVal > 0 ? ijv.getV() : 0;
+			}
+		}
 		else {
 			// Perform (X > 0)
+			Arrays.fill(outputArray, rl*numOutCols, ru*numOutCols, 0);
 			if(params.input1.isInSparseFormat()) {
 				Iterator<IJV> iter = params.input1.sparseBlock.getIterator(rl, ru);
 				while(iter.hasNext()) {
@@ -671,20 +801,9 @@ public class LibMatrixDNN {
 				}
 			}
 			// Then perform (X > 0) * dout
-			if(params.input2.isInSparseFormat()) {
-				Iterator<IJV> iter = params.input2.sparseBlock.getIterator(rl, ru);
-				while(iter.hasNext()) {
-					IJV ijv = iter.next();
-					int i = ijv.getI();
-					int j = ijv.getJ();
-					outputArray[i*numOutCols + j] *= ijv.getV();
-				}
-			}
-			else {
-				double [] doutArr = params.input2.getDenseBlock();
-				for(int i = rl*numOutCols; i < ru*numOutCols; i++) {
-					outputArray[i] *= doutArr[i];
-				}
+			double [] doutArr = params.input2.getDenseBlock();
+			for(int i = rl*numOutCols; i < ru*numOutCols; i++) {
+				outputArray[i] *= doutArr[i];
 			}
 		}
 		
@@ -692,6 +811,69 @@ public class LibMatrixDNN {
 		return params.output.recomputeNonZeros(rl, ru-1, 0, numOutCols-1);
 	}
 	
+	private static long doReluBackwardSparseOutput(ConvolutionParameters params, int rl, int ru) {
+		// (X > 0) * dout, iterating over the non-zeros of the sparse input(s)
+		final int n = params.input1.getNumColumns();
+		SparseBlock a = params.input1.isInSparseFormat() ? params.input1.getSparseBlock() : null;
+		SparseBlock b = params.input2.isInSparseFormat() ? params.input2.getSparseBlock() : null;
+		double[] aArr = params.input1.isInSparseFormat() ? null : params.input1.getDenseBlock();
+		double[] bArr = params.input2.isInSparseFormat() ? null : params.input2.getDenseBlock();
+		SparseBlock c = params.output.getSparseBlock();
+		long lnnz = 0;
+		
+		for(int i = rl; i < ru; i++) {
+			if( a != null ) { //sparse X
+				if( a.isEmpty(i) || (b != null && b.isEmpty(i)) )
+					continue;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				int bpos = (b != null) ? b.pos(i) : 0;
+				int blen = (b != null) ? bpos + b.size(i) : 0;
+				int[] bix = (b != null) ? b.indexes(i) : null;
+				double[] bvals = (b != null) ? b.values(i) : null;
+				for(int j = apos; j < apos+alen; j++) {
+					if( avals[j] <= 0 )
+						continue;
+					double val = 0;
+					if( b != null ) { //merge with sparse dout
+						while( bpos < blen && bix[bpos] < aix[j] )
+							bpos++;
+						val = (bpos < blen && bix[bpos] == aix[j]) ? bvals[bpos] : 0;
+					}
+					else if( bArr != null )
+						val = bArr[i*n + aix[j]];
+					if( val != 0 ) {
+						c.append(i, aix[j], val);
+						lnnz++;
+					}
+				}
+			}
+			else if( b != null ) { //dense X, sparse dout
+				if( aArr == null || b.isEmpty(i) )
+					continue;
+				int bpos = b.pos(i);
+				int blen = b.size(i);
+				int[] bix = b.indexes(i);
+				double[] bvals = b.values(i);
+				for(int j = bpos; j < bpos+blen; j++)
+					if( aArr[i*n + bix[j]] > 0 ) {
+						c.append(i, bix[j], bvals[j]);
+						lnnz++;
+					}
+			}
+			else if( aArr != null && bArr != null ) { //dense X, dense dout
+				for(int j = 0; j < n; j++)
+					if( aArr[i*n + j] > 0 && bArr[i*n + j] != 0 ) {
+						c.append(i, j, bArr[i*n + j]);
+						lnnz++;
+					}
+			}
+		}
+		return lnnz;
+	}
+	
 	
 	/**
 	 * Performs the operation corresponding to the DML script:
@@ -726,7 +908,7 @@ public class LibMatrixDNN {
 			throw new DMLRuntimeException("Incorrect inputs for bias_add: input[" + N + " X " + input.getNumColumns()  + "] and bias[" + K + " X " + bias.getNumColumns() + "]");
 		}
 		
-		if(input.isEmptyBlock()) {
+		if(input.isEmptyBlock() && !outputBlock.isInSparseFormat()) {
 			double [] outputArray = outputBlock.getDenseBlock();
 			for(int n = 0;  n < N; n++) 
 				fillBias(bias, outputArray, n, n+1, N, K, PQ);
@@ -740,6 +922,11 @@ public class LibMatrixDNN {
 	}
 	
 	private static void doBiasAdd(ConvolutionParameters params, int rl, int ru) throws DMLRuntimeException {
+		if( params.output.isInSparseFormat() ) {
+			doBiasAddSparseOutput(params, rl, ru);
+			return;
+		}
+		
 		double [] outputArray = params.output.getDenseBlock();
 		int PQ = params.C;
 		int numOutCols = params.input1.getNumColumns();
@@ -778,6 +965,48 @@ public class LibMatrixDNN {
 		
 	}
 	
+	private static void doBiasAddSparseOutput(ConvolutionParameters params, int rl, int ru) {
+		// input + bias, where the channels with zero bias copy the non-zeros of the input
+		final int K = params.K;
+		final int PQ = params.C;
+		final int n = K*PQ;
+		double[] bias = getBiasArray(params.input2, K);
+		SparseBlock a = params.input1.isInSparseFormat() ? params.input1.getSparseBlock() : null;
+		double[] aArr = params.input1.isInSparseFormat() ? null : params.input1.getDenseBlock();
+		SparseBlock c = params.output.getSparseBlock();
+		
+		for(int i = rl; i < ru; i++) {
+			if( aArr != null ) { //dense input
+				for(int j = 0; j < n; j++) {
+					double val = aArr[i*n + j] + ((bias != null) ? bias[j/PQ] : 0);
+					if( val != 0 )
+						c.append(i, j, val);
+				}
+				continue;
+			}
+			boolean empty = (a == null || a.isEmpty(i));
+			int apos = empty ? 0 : a.pos(i);
+			int alen = empty ? 0 : apos + a.size(i);
+			int[] aix = empty ? null : a.indexes(i);
+			double[] avals = empty ? null : a.values(i);
+			for(int k = 0; k < K; k++) {
+				if( bias == null || bias[k] == 0 ) { //copy non-zeros of channel
+					for( ; apos < alen && aix[apos] < (k+1)*PQ; apos++ )
+						c.append(i, aix[apos], avals[apos]);
+				}
+				else { //dense channel
+					for(int j = k*PQ; j < (k+1)*PQ; j++) {
+						double val = bias[k];
+						if( apos < alen && aix[apos] == j )
+							val += avals[apos++];
+						if( val != 0 )
+							c.append(i, j, val);
+					}
+				}
+			}
+		}
+	}
+	
 	private static void fillBias(MatrixBlock bias, double [] outputArray, int n1, int n2, int N, int K, int PQ) {
 		if(bias.isInSparseFormat()) {
 			Iterator<IJV> iter = bias.sparseBlock.getIterator();
@@ -818,50 +1047,43 @@ public class LibMatrixDNN {
 		outputBlock.recomputeNonZeros();
 	}
 
-	private static void doPooling(int n, ConvolutionParameters params) throws DMLRuntimeException {
+	private static void doPooling(int n, ConvolutionParameters params, double[] inBuff, double[] outBuff) throws DMLRuntimeException {
+		final int CPQ = params.C*params.P*params.Q;
+		final int HW = params.H*params.W;
+		
+		// dense input, or sparse input densified once per image (scatter of non-zeros)
 		double [] inputArray = null;
-		if (!params.input1.isInSparseFormat())
+		int inOffset = 0;
+		if (!params.input1.isInSparseFormat() && params.input1.getDenseBlock() != null) {
 			inputArray = params.input1.getDenseBlock();
-		double [] outputArray = null;
-		if (!params.output.isInSparseFormat())
-			outputArray = params.output.getDenseBlock();
+			inOffset = n*params.C*HW;
+		}
 		else
-			throw new DMLRuntimeException("Expected the output to be allocated in dense format");
+			inputArray = (params.input1.isInSparseFormat()) ? 
+				getDenseRow(params.input1, n, inBuff) : new double[params.C*HW];
 		
-		final int inOffset = n*params.C*params.H*params.W;
-		int out_index = n*params.C*params.P*params.Q;
-		final int HW = params.H*params.W;
+		// dense output, or thread-local buffer for sparse outputs
+		final boolean sparseOut = params.output.isInSparseFormat();
+		double [] outputArray = sparseOut ? outBuff : params.output.getDenseBlock();
+		final int outOffset = sparseOut ? 0 : n*CPQ;
+		Arrays.fill(outputArray, outOffset, outOffset+CPQ, params.minValForMaxPoolOperations);
 		
-		if(inputArray != null) {
-			for (int c = 0; c < params.C; c++) {
-				final int inOffset1 = inOffset + c*HW;
-				for (int p = 0; p < params.P; p++) {
-					for (int q = 0; q < params.Q; q++, out_index++) {
-						for (int h = params.start_indexes_h[p]; h < params.end_indexes_h[p]; h++) {
-							for (int w = params.start_indexes_w[q]; w < params.end_indexes_w[q]; w++) {
-								outputArray[out_index] = Math.max(outputArray[out_index], inputArray[inOffset1 +  h*params.W + w]);
-							}
-						}
-					}
-				}
-			}
-		}
-		else {
-			// TODO: Optimize sparse maxpooling
-			// Low priority after adding fused relu_maxpooling operator as output of conv2d expected to be dense
-			for (int c = 0; c < params.C; c++) {
-				for (int p = 0; p < params.P; p++) {
-					for (int q = 0; q < params.Q; q++, out_index++) {
-						for (int h = params.start_indexes_h[p]; h < params.end_indexes_h[p]; h++) {
-							for (int w = params.start_indexes_w[q]; w < params.end_indexes_w[q]; w++) {
-								double inVal = params.input1.quickGetValue(n, c*HW +  h*params.W + w);
-								outputArray[out_index] = Math.max(outputArray[out_index], inVal);
-							}
+		int out_index = outOffset;
+		for (int c = 0; c < params.C; c++) {
+			final int inOffset1 = inOffset + c*HW;
+			for (int p = 0; p < params.P; p++) {
+				for (int q = 0; q < params.Q; q++, out_index++) {
+					for (int h = params.start_indexes_h[p]; h < params.end_indexes_h[p]; h++) {
+						for (int w = params.start_indexes_w[q]; w < params.end_indexes_w[q]; w++) {
+							outputArray[out_index] = Math.max(outputArray[out_index], inputArray[inOffset1 +  h*params.W + w]);
 						}
 					}
 				}
 			}
 		}
+		
+		if( sparseOut )
+			appendToSparseOutput(outBuff, 0, CPQ, params.output.getSparseBlock(), n);
 	}
 	
 	private static void doRotate180(int inputN, int outputN, MatrixBlock input, 
@@ -884,7 +1106,7 @@ public class LibMatrixDNN {
 		}
 		else {
 			if(zeroOutSparseOutput)
-				Arrays.fill(outputArray, 0);
+				Arrays.fill(outputArray, outputOffset, outputOffset+params.K*params.P*params.Q, 0);
 			
 			if(!input.isEmptyBlock()) {
 				Iterator<IJV> iter = input.sparseBlock.getIterator(inputN, inputN+1);
@@ -902,12 +1124,12 @@ public class LibMatrixDNN {
 	}
 	
 	// ----------------------------------------------------------------------------------------------------------------
-	private static void addMatrixBlocks(int poolSize, TaskType type, ConvolutionParameters params, 
+	private static void addMatrixBlocks(int poolSize, int batchSize, TaskType type, ConvolutionParameters params, 
 			ConcurrentLinkedQueue<MatrixBlock> im2ColOutBlocks, ConcurrentLinkedQueue<MatrixBlock> doutReshapedBlocks,
 			ConcurrentLinkedQueue<MatrixBlock> partialRetBlocks) {
 		for(int i = 0; i < poolSize; i++) {
 			if(type == TaskType.LoopedIm2ColConv2d || type == TaskType.LoopedIm2ColConv2dBwdFilter) {
-				MatrixBlock im2ColOutBlock = new MatrixBlock(params.C*params.R*params.S, params.P*params.Q, false);
+				MatrixBlock im2ColOutBlock = new MatrixBlock(params.C*params.R*params.S, batchSize*params.P*params.Q, false);
 				im2ColOutBlock.allocateDenseBlock();
 				im2ColOutBlocks.add(im2ColOutBlock);
 			}
@@ -919,7 +1141,7 @@ public class LibMatrixDNN {
 			}
 			
 			if(type == TaskType.LoopedIm2ColConv2dBwdData || type == TaskType.LoopedIm2ColConv2dBwdFilter) {
-				MatrixBlock doutReshapedBlock = new MatrixBlock(params.P*params.Q, params.K, false);
+				MatrixBlock doutReshapedBlock = new MatrixBlock(batchSize*params.P*params.Q, params.K, false);
 				doutReshapedBlock.allocateDenseBlock();
 				doutReshapedBlocks.add(doutReshapedBlock);
 			}
@@ -934,12 +1156,13 @@ public class LibMatrixDNN {
 		
 		if (ALLOW_MULTI_THREADED_OPS && params.isOutputThreadSafe() && k > 1) {
 			int poolSize = Math.min(k, params.N);
-			addMatrixBlocks(poolSize, type, params, im2ColOutBlocks, doutReshapedBlocks, partialRetBlocks);
+			int blklen = (int)(Math.ceil((double)params.N/poolSize/NUM_TASK_FACTOR));
+			int batchSize = getBatchSize(params, blklen);
+			addMatrixBlocks(poolSize, batchSize, type, params, im2ColOutBlocks, doutReshapedBlocks, partialRetBlocks);
 			
 			ArrayList<ConvTask> tasks = new ArrayList<ConvTask>();
-			int blklen = (int)(Math.ceil((double)params.N/poolSize/NUM_TASK_FACTOR));
 			for( int i=0; i<poolSize*NUM_TASK_FACTOR && i*blklen<params.N; i++ )
-				tasks.add(new ConvTask(i*blklen, Math.min((i+1)*blklen, params.N), 
+				tasks.add(new ConvTask(i*blklen, Math.min((i+1)*blklen, params.N), batchSize,
 						type, params, im2ColOutBlocks, doutReshapedBlocks, partialRetBlocks));
 			
 			try {
@@ -957,10 +1180,11 @@ public class LibMatrixDNN {
 			}
 		}
 		else {
-			addMatrixBlocks(1, type, params, im2ColOutBlocks, doutReshapedBlocks, partialRetBlocks);
+			int batchSize = getBatchSize(params, params.N);
+			addMatrixBlocks(1, batchSize, type, params, im2ColOutBlocks, doutReshapedBlocks, partialRetBlocks);
 			try {
 				//execute single task and maintain nnz if supported
-				params.output.setNonZeros(new ConvTask(0, params.N, type, params, im2ColOutBlocks, 
+				params.output.setNonZeros(new ConvTask(0, params.N, batchSize, type, params, im2ColOutBlocks, 
 						doutReshapedBlocks, partialRetBlocks).call());
 				
 				if(type == TaskType.LoopedIm2ColConv2dBwdFilter) {
@@ -982,18 +1206,20 @@ public class LibMatrixDNN {
 	{
 		public int _rl; 
 		public int _ru; 
+		private final int _bn; //batch size
 		private final ConvolutionParameters _params;
 		private final TaskType _type;
 		private final ConcurrentLinkedQueue<MatrixBlock> _im2ColOutBlocks;
 		private final ConcurrentLinkedQueue<MatrixBlock> _partialRetBlocks;
 		private final ConcurrentLinkedQueue<MatrixBlock> _doutReshapedBlocks;
 		
-		public ConvTask(int rl, int ru, TaskType type, ConvolutionParameters params, 
+		public ConvTask(int rl, int ru, int bn, TaskType type, ConvolutionParameters params, 
 				ConcurrentLinkedQueue<MatrixBlock> im2ColOutBlocks,
 				ConcurrentLinkedQueue<MatrixBlock> doutReshapedBlocks,
 				ConcurrentLinkedQueue<MatrixBlock> partialRetBlocks) {
 			_rl = rl;
 			_ru = ru;
+			_bn = bn;
 			_type = type;
 			_params = params;
 			_im2ColOutBlocks = im2ColOutBlocks;
@@ -1007,13 +1233,24 @@ public class LibMatrixDNN {
 			
 			switch(_type) {
 				case MaxPooling_Forward:
+				{
+					//thread-local buffers for sparse inputs and outputs
+					double[] inBuff = _params.input1.isInSparseFormat() ? 
+						new double[_params.C*_params.H*_params.W] : null;
+					double[] outBuff = _params.output.isInSparseFormat() ? 
+						new double[_params.C*_params.P*_params.Q] : null;
 					for(int n = _rl; n < _ru; n++)
-						doPooling(n, _params);
+						doPooling(n, _params, inBuff, outBuff);
 					break;
+				}
 				case MaxPooling_Backward:
+				{
+					double[] inBuff = _params.input1.isInSparseFormat() ? 
+						new double[_params.C*_params.H*_params.W] : null;
 					for(int n = _rl; n < _ru; n++) 
-						doPoolingBackward(n, _params);
+						doPoolingBackward(n, _params, inBuff);
 					break;
+				}
 				case BiasAdd:
 					doBiasAdd(_params, _rl, _ru);
 					break;
@@ -1023,11 +1260,12 @@ public class LibMatrixDNN {
 				case LoopedIm2ColConv2d:
 				{	
 					MatrixBlock im2ColOutBlock = _im2ColOutBlocks.remove();
-					for(int n = _rl; n < _ru; n++) 
-						doLoopedIm2ColConv2d(n, im2ColOutBlock, _params);
+					double[] bias = getBiasArray(_params.bias, _params.K);
+					double[] outBuff = _params.output.isInSparseFormat() ?
+						new double[_bn*_params.K*_params.P*_params.Q] : null;
+					for(int n = _rl; n < _ru; n+=_bn) 
+						lnnz += doLoopedIm2ColConv2d(n, Math.min(_bn, _ru-n), im2ColOutBlock, bias, outBuff, _params);
 					_im2ColOutBlocks.add(im2ColOutBlock);
-					if(_params.bias != null)
-						addBias(_params, _rl, _ru);
 					break;
 				}
 				case LoopedIm2ColConv2dBwdFilter:
@@ -1035,8 +1273,9 @@ public class LibMatrixDNN {
 					MatrixBlock im2ColOutBlock = _im2ColOutBlocks.remove();
 					MatrixBlock partialRetBlock = _partialRetBlocks.remove();
 					MatrixBlock doutReshapedBlock = _doutReshapedBlocks.remove();
-					for(int n = _rl; n < _ru; n++) 
-						partialRetBlock = doLoopedIm2ColConv2dBwdFilter(n, im2ColOutBlock, doutReshapedBlock, partialRetBlock, _params);
+					for(int n = _rl; n < _ru; n+=_bn) 
+						partialRetBlock = doLoopedIm2ColConv2dBwdFilter(n, Math.min(_bn, _ru-n), 
+							im2ColOutBlock, doutReshapedBlock, partialRetBlock, _params);
 					_im2ColOutBlocks.add(im2ColOutBlock);
 					_partialRetBlocks.add(partialRetBlock);
 					_doutReshapedBlocks.add(doutReshapedBlock);
@@ -1045,8 +1284,8 @@ public class LibMatrixDNN {
 				case LoopedIm2ColConv2dBwdData:
 				{
 					MatrixBlock doutReshapedBlock = _doutReshapedBlocks.remove();
-					for(int n = _rl; n < _ru; n++) 
-						doLoopedIm2ColConv2dBwdData(n, doutReshapedBlock, _params);
+					for(int n = _rl; n < _ru; n+=_bn) 
+						doLoopedIm2ColConv2dBwdData(n, Math.min(_bn, _ru-n), doutReshapedBlock, _params);
 					_doutReshapedBlocks.add(doutReshapedBlock);
 					break;
 				}
@@ -1058,40 +1297,10 @@ public class LibMatrixDNN {
 		}
 	}
 	
-	private static void addBias(ConvolutionParameters params, int rl, int ru) {
-		int PQ = params.P*params.Q;
-		int K = params.K;
-		double [] outputArr = params.output.getDenseBlock();
-		if(!params.bias.isInSparseFormat()) {
-			double [] biasArr = params.bias.getDenseBlock();
-			int index = rl*K*PQ;
-			for(int n = rl; n < ru; n++) {
-				for(int k = 0; k < K; k++) {
-					for(int pq = 0; pq < PQ; pq++, index++) {
-						outputArr[index] += biasArr[k];
-					}
-				}
-			}
-		}
-		else {
-			Iterator<IJV> iter = params.bias.getSparseBlockIterator();
-			while(iter.hasNext()) {
-				IJV ijv = iter.next();
-				int k = ijv.getI();
-				double val = ijv.getV();
-				for(int n = rl; n < ru; n++) {
-					int index = n*K*PQ + k*PQ;
-					for(int pq = 0; pq < PQ; pq++, index++) {
-						outputArr[index] += val;
-					}
-				}
-			}
-		}
-	}
-		
-	// Converts input: PQ X CRS matrix and writes to 1 X CHW
-	private static void doCol2imOverSingleImage(int outputN, MatrixBlock input, ConvolutionParameters params) throws DMLRuntimeException {
-		if(input.rlen != params.P*params.Q || input.clen != params.C*params.R*params.S) {
+	// Converts input: bnPQ X CRS matrix and writes to bn X CHW (starting at image n)
+	private static void doCol2imOverImages(int n, int bn, MatrixBlock input, ConvolutionParameters params) throws DMLRuntimeException {
+		final int PQ = params.P*params.Q;
+		if(input.rlen != bn*PQ || input.clen != params.C*params.R*params.S) {
 			throw new DMLRuntimeException("Incorrect input dimensions");
 		}
 		
@@ -1104,11 +1313,14 @@ public class LibMatrixDNN {
 		
 		if(!input.isInSparseFormat()) {
 			double [] inputArray = input.getDenseBlock();
-			doCol2IMDenseInput(0, outputN, inputArray, outputArray, params);
+			if(inputArray != null)
+				for(int i = 0; i < bn; i++)
+					doCol2IMDenseInput(i, n+i, inputArray, outputArray, params);
 		}
 		else {
 			if(!input.isEmptyBlock())
-				doCol2IMSparseInput(0, outputN, input.getSparseBlockIterator(), outputArray, params);
+				for(int i = 0; i < bn; i++)
+					doCol2IMSparseInput(i, n+i, input.getSparseBlock().getIterator(i*PQ, (i+1)*PQ), outputArray, params);
 		}
 	}
 	
@@ -1170,7 +1382,8 @@ public class LibMatrixDNN {
 		}
 	}
 	
-	private static void doIm2colDense(int n, double [] inputArray, double [] outputArray, ConvolutionParameters params) {
+	// Converts input: 1 X CHW of image n into the columns [colOffset, colOffset+PQ) of a CRS X outputClen matrix
+	private static void doIm2colDense(int n, double [] inputArray, double [] outputArray, int colOffset, int outputClen, ConvolutionParameters params) {
 		int CRS = params.C * params.R * params.S;
 		final int nOffset = n * params.C*params.H*params.W;
 		if (params.stride_h == 1 && params.stride_w == 1 && params.pad_h == 0 && params.pad_w == 0) {
@@ -1180,7 +1393,7 @@ public class LibMatrixDNN {
 				int cInput = c / params.R / params.S;
 				for (int h = 0; h < params.P; ++h) {
 					int hPadded = h + hOffset;
-					int outOffset = (c * params.P + h) * params.Q;
+					int outOffset = c * outputClen + colOffset + h * params.Q;
 					int inputOffset = nOffset + (cInput * params.H + hPadded) * params.W;
 					System.arraycopy(inputArray, inputOffset + wOffset, outputArray, outOffset, params.Q);
 					int w = params.Q - 1;
@@ -1197,56 +1410,76 @@ public class LibMatrixDNN {
 				int hOffset = (c / params.S) % params.R;
 				int cInput = c / params.R / params.S;
 				for (int h = 0; h < params.P; ++h) {
-					int outOffset = (c * params.P + h) * params.Q;
+					int outOffset = c * outputClen + colOffset + h * params.Q;
 					int hPadded = h * params.stride_h - params.pad_h + hOffset;
 					int inputOffset = nOffset + (cInput * params.H + hPadded) * params.W;
 					if (hPadded < 0 || hPadded >= params.H) {
 						Arrays.fill(outputArray, outOffset, outOffset+params.Q, 0);
 					} else {
-						for (int w = 0; w < params.Q; ++w) {
-							int wPadded = w * params.stride_w - params.pad_w + wOffset;
-							if (wPadded >= 0 && wPadded < params.W)
-								outputArray[outOffset + w] = inputArray[inputOffset + wPadded];
-							else
-								outputArray[outOffset + w] = 0;
+						// valid range [wStart, wEnd) of 0 <= w*stride_w - pad_w + wOffset < W,
+						// which avoids the bounds checks per cell and allows for a copy if stride_w = 1
+						int wStart = Math.min(params.Q, ceilDiv(params.pad_w - wOffset, params.stride_w));
+						int wEnd = Math.max(wStart, Math.min(params.Q, ceilDiv(params.W + params.pad_w - wOffset, params.stride_w)));
+						Arrays.fill(outputArray, outOffset, outOffset+wStart, 0);
+						if (params.stride_w == 1) {
+							System.arraycopy(inputArray, inputOffset + wStart - params.pad_w + wOffset,
+								outputArray, outOffset + wStart, wEnd - wStart);
+						} else {
+							for (int w = wStart; w < wEnd; ++w)
+								outputArray[outOffset + w] = inputArray[inputOffset + w * params.stride_w - params.pad_w + wOffset];
 						}
+						Arrays.fill(outputArray, outOffset+wEnd, outOffset+params.Q, 0);
 					}
 				}
 			}
 		}
 	}
 	
-	// Keeping this as a separate sparse method to allow for further dense optimizations
-	private static void doIm2colSparse(int n, MatrixBlock input, double [] outputArray, ConvolutionParameters params) {
-		int CRS = params.C * params.R * params.S;
-		// final int nOffset = n * params.C*params.H*params.W;
-		for (int c = 0; c < CRS; ++c) {
-			int wOffset = c % params.S;
-			int hOffset = (c / params.S) % params.R;
-			int cInput = c / params.R / params.S;
-			for (int h = 0; h < params.P; ++h) {
-				int outOffset = (c * params.P + h) * params.Q;
-				int hPadded = h * params.stride_h - params.pad_h + hOffset;
-				int tempOffset = (cInput * params.H + hPadded) * params.W;
-				// int inputOffset = nOffset + tempOffset;
-				if (hPadded < 0 || hPadded >= params.H) {
-					Arrays.fill(outputArray, outOffset, outOffset+params.Q, 0);
-				} else {
-					for (int w = 0; w < params.Q; ++w) {
-						int wPadded = w * params.stride_w - params.pad_w + wOffset;
-						if (wPadded >= 0 && wPadded < params.W) {
-							// NOTE: Potential performance bottleneck as we have to do binary search to getValue
-							outputArray[outOffset + w] = input.getValue(n, tempOffset + wPadded);
-						}
-						else
-							outputArray[outOffset + w] = 0;
-					}
+	// ceil(a/b) for b > 0, and 0 for a <= 0
+	private static int ceilDiv(int a, int b) {
+		return (a <= 0) ? 0 : (a + b - 1) / b;
+	}
+
+	// Scatters the non-zeros of image n into the columns [colOffset, colOffset+PQ) of a CRS X outputClen 
+	// matrix, i.e., iterates over the non-zeros only instead of lookups per output cell
+	private static void doIm2colSparse(int n, MatrixBlock input, double [] outputArray, int colOffset, int outputClen, ConvolutionParameters params) {
+		final int CRS = params.C * params.R * params.S;
+		final int PQ = params.P * params.Q;
+		final int HW = params.H * params.W;
+		for (int c = 0; c < CRS; ++c)
+			Arrays.fill(outputArray, c*outputClen + colOffset, c*outputClen + colOffset + PQ, 0);
+		
+		SparseBlock sblock = input.getSparseBlock();
+		if (sblock == null || sblock.isEmpty(n))
+			return;
+		int apos = sblock.pos(n);
+		int alen = sblock.size(n);
+		int[] aix = sblock.indexes(n);
+		double[] avals = sblock.values(n);
+		for (int j = apos; j < apos+alen; j++) {
+			final int cInput = aix[j] / HW;
+			final int h = (aix[j] % HW) / params.W;
+			final int w = aix[j] % params.W;
+			// all (r, s, p, q) with h = p*stride_h - pad_h + r and w = q*stride_w - pad_w + s
+			for (int r = 0; r < params.R; r++) {
+				int hp = h + params.pad_h - r;
+				if (hp < 0 || hp % params.stride_h != 0 || hp / params.stride_h >= params.P)
+					continue;
+				final int outOffset = (cInput*params.R + r) * params.S * outputClen + colOffset + (hp / params.stride_h) * params.Q;
+				for (int s = 0; s < params.S; s++) {
+					int wq = w + params.pad_w - s;
+					if (wq < 0 || wq % params.stride_w != 0 || wq / params.stride_w >= params.Q)
+						continue;
+					outputArray[outOffset + s*outputClen + wq / params.stride_w] = avals[j];
 				}
 			}
 		}
 	}
 	
-	private static void doIm2col(int n, MatrixBlock output, ConvolutionParameters params) throws DMLRuntimeException {
+	// Converts input: bn X CHW (starting at image n) and writes to CRS X bnPQ
+	private static void doIm2col(int n, int bn, MatrixBlock output, ConvolutionParameters params) throws DMLRuntimeException {
+		final int PQ = params.P*params.Q;
+		resizeBatchBlock(output, params.C*params.R*params.S, bn*PQ);
 		double [] inputArray = null;
 		if (!params.input1.isInSparseFormat())
 			inputArray = params.input1.getDenseBlock();
@@ -1256,10 +1489,81 @@ public class LibMatrixDNN {
 		else 
 			throw new DMLRuntimeException("Sparse output is not supported for im2col");
 		
-		if(inputArray != null)
-			doIm2colDense(n, inputArray, outputArray, params);
-		else
-			doIm2colSparse(n, params.input1, outputArray, params);
+		for(int i = 0; i < bn; i++) {
+			if(inputArray != null)
+				doIm2colDense(n+i, inputArray, outputArray, i*PQ, bn*PQ, params);
+			else
+				doIm2colSparse(n+i, params.input1, outputArray, i*PQ, bn*PQ, params);
+		}
+	}
+	
+	// ------------------------------------------------------------------------------------------------
+	// Upper bounds of the output nnz, to decide the output format before execution
+	
+	/**
+	 * Estimates the number of non-zeros of the conv2d output, where an output cell 
+	 * can only be non-zero if its receptive field contains an input non-zero, or 
+	 * if the bias is non-zero.
+	 * 
+	 * @param input input matrix
+	 * @param bias bias matrix, or null if no bias
+	 * @param params convolution parameters
+	 * @return estimated number of non-zeros
+	 */
+	public static long estimateNnzConv2d(MatrixBlock input, MatrixBlock bias, ConvolutionParameters params) {
+		long len = (long)params.N * params.K * params.P * params.Q;
+		if( bias != null && !bias.isEmptyBlock(false) )
+			return len;
+		return Math.min(len, getNonZeros(input) * params.K * getNumWindowsPerCell(params));
+	}
+	
+	/**
+	 * Estimates the number of non-zeros of the maxpooling output, where an output 
+	 * cell can only be non-zero if its window contains an input non-zero.
+	 * 
+	 * @param input input matrix
+	 * @param params convolution parameters
+	 * @return estimated number of non-zeros
+	 */
+	public static long estimateNnzMaxPooling(MatrixBlock input, ConvolutionParameters params) {
+		long len = (long)params.N * params.C * params.P * params.Q;
+		return Math.min(len, getNonZeros(input) * getNumWindowsPerCell(params));
+	}
+	
+	/**
+	 * Estimates the number of non-zeros of the relu_backward output (X > 0) * dout.
+	 * 
+	 * @param input input matrix
+	 * @param dout errors from next layer
+	 * @return estimated number of non-zeros
+	 */
+	public static long estimateNnzReluBackward(MatrixBlock input, MatrixBlock dout) {
+		return Math.min(getNonZeros(input), getNonZeros(dout));
+	}
+	
+	/**
+	 * Estimates the number of non-zeros of the bias_add output, where 
+	 * a non-zero bias affects all PQ cells of its channel.
+	 * 
+	 * @param input input matrix
+	 * @param bias bias matrix
+	 * @return estimated number of non-zeros
+	 */
+	public static long estimateNnzBiasAdd(MatrixBlock input, MatrixBlock bias) {
+		long len = (long)input.getNumRows() * input.getNumColumns();
+		long PQ = input.getNumColumns() / Math.max(bias.getNumRows(), 1);
+		return Math.min(len, getNonZeros(input) + input.getNumRows() * PQ * getNonZeros(bias));
+	}
+	
+	private static long getNonZeros(MatrixBlock mb) {
+		//unknown nnz treated as dense
+		return (mb.getNonZeros() >= 0) ? mb.getNonZeros() : 
+			(long)mb.getNumRows() * mb.getNumColumns();
+	}
+	
+	// max number of windows (with different p, q) that cover an input cell
+	private static long getNumWindowsPerCell(ConvolutionParameters params) {
+		return (long)ceilDiv(params.R, params.stride_h) * ceilDiv(params.S, params.stride_w);
 	}
 	
 	// ------------------------------------------------------------------------------------------------
@@ -44,6 +44,7 @@ public class LibMatrixDatagen
 {
 	private static final Log LOG = LogFactory.getLog(LibMatrixDatagen.class.getName());
 	private static final long PAR_NUMCELL_THRESHOLD = 512*1024; //Min 500k elements
+	private static final int SAMPLE_BLOCKSIZE = 64*1024; //independent of parallelism
 	public static final String RAND_PDF_UNIFORM = "uniform";
 	public static final String RAND_PDF_NORMAL = "normal";
 	public static final String RAND_PDF_POISSON = "poisson";
@@ -424,6 +425,24 @@ public class LibMatrixDatagen
 	 */
 	public static void generateSequence(MatrixBlock out, double from, double to, double incr) 
 		throws DMLRuntimeException 
+	{
+		generateSequence(out, from, to, incr, 1);
+	}
+	
+	/**
+	 * Multi-threaded version of generating a sequence. Each cell is computed
+	 * independently as from+i*incr, which makes the result independent of the
+	 * number of threads and avoids the accumulation of rounding errors.
+	 * 
+	 * @param out output matrix block
+	 * @param from lower end point
+	 * @param to upper end point
+	 * @param incr increment value
+	 * @param k maximum parallelism
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static void generateSequence(MatrixBlock out, double from, double to, double incr, int k) 
+		throws DMLRuntimeException 
 	{
 		//check valid increment value
 		if( (from > to && incr > 0) || incr == 0 )
@@ -434,20 +453,34 @@ public class LibMatrixDatagen
 		int cols = 1; // sequence vector always dense
 		out.reset(rows, cols, false);
 		out.allocateDenseBlock();
-	
-		//compute sequence data
-		double[] c = out.denseBlock; 		
-		double cur = from;
-		for(int i=0; i < rows; i++) {
-			c[i] = cur;
-			cur += incr;
+		
+		//fallback to sequential if too few cells
+		if( k <= 1 || rows < PAR_NUMCELL_THRESHOLD ) {
+			out.nonZeros = computeSequence(out.denseBlock, from, incr, 0, rows);
+			return;
 		}
 		
-		out.recomputeNonZeros();
+		//compute sequence data in parallel over row ranges
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ArrayList<SeqTask> tasks = new ArrayList<SeqTask>();
+			int blklen = (int)(Math.ceil((double)rows/k));
+			for( int i=0; i<k & i*blklen<rows; i++ )
+				tasks.add(new SeqTask(out.denseBlock, from, incr, i*blklen, Math.min((i+1)*blklen, rows)));
+			List<Future<Long>> ret = pool.invokeAll(tasks);
+			pool.shutdown();
+			
+			//aggregate nnz and error handling
+			long nnz = 0;
+			for( Future<Long> rc : ret )
+				nnz += rc.get();
+			out.nonZeros = nnz;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
 	}
-
 	
-		
 	/**
      * Generates a sample of size <code>size</code> from a range of values [1,range].
      * <code>replace</code> defines if sampling is done with or without replacement.
@@ -462,49 +495,124 @@ public class LibMatrixDatagen
 	public static void generateSample(MatrixBlock out, long range, int size, boolean replace, long seed)
 		throws DMLRuntimeException 
 	{
+		generateSample(out, range, size, replace, seed, 1);
+	}
+	
+	/**
+	 * Multi-threaded version of generating a sample. Sampling with replacement 
+	 * draws from independent streams per block of SAMPLE_BLOCKSIZE cells, seeded 
+	 * via Well1024a, so the result is independent of the number of threads. 
+	 * Sampling without replacement is done sequentially with memory in O(size)
+	 * (Floyd's algorithm, or a partial Fisher-Yates shuffle for dense samples).
+	 * 
+	 * @param out output matrix block
+	 * @param range range upper bound
+	 * @param size sample size
+	 * @param replace if true, sample with replacement
+	 * @param seed seed for random generator
+	 * @param k maximum parallelism
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static void generateSample(MatrixBlock out, long range, int size, boolean replace, long seed, int k)
+		throws DMLRuntimeException 
+	{
+		if( !replace && range < size )
+			throw new DMLRuntimeException("Sample (size=" + size + ") larger than population (size=" + range + ") can only be generated with replacement.");
+		boolean shuffle = (range <= 2L*size && range < Integer.MAX_VALUE);
+		if( !replace && !shuffle && size > LongHashSet.MAX_CAPACITY )
+			throw new DMLRuntimeException("Sample (size=" + size + ") without replacement exceeds the maximum size (" + LongHashSet.MAX_CAPACITY + ") for sparse sampling over a population (size=" + range + ").");
+		
 		//set meta data and allocate dense block
 		out.reset(size, 1, false);
 		out.allocateDenseBlock();
 		seed = (seed == -1 ? System.nanoTime() : seed);
+		double[] c = out.denseBlock;
 		
 		if ( !replace ) 
 		{
-			// reservoir sampling
-			
-			for(int i=1; i <= size; i++) 
-				out.setValueDenseUnsafe(i-1, 0, i );
-			
 			Random rand = new Random(seed);
-			for(int i=size+1; i <= range; i++) 
-			{
-				if(rand.nextInt(i) < size)
-					out.setValueDenseUnsafe( rand.nextInt(size), 0, i );
+			if( shuffle ) {
+				//partial fisher-yates shuffle over the entire range
+				int[] tmp = new int[(int)range];
+				for( int i=0; i<range; i++ )
+					tmp[i] = i+1;
+				for( int i=0; i<size; i++ ) {
+					int idx = i + rand.nextInt((int)range-i);
+					c[i] = tmp[idx];
+					tmp[idx] = tmp[i];
+				}
 			}
-			
-			// randomize the sample (Algorithm P from Knuth's ACP)
-			// -- needed especially when the differnce between range and size is small)
-			double tmp;
-			int idx;
-			for(int i=size-1; i >= 1; i--) 
-			{
-				idx = rand.nextInt(i);
-				// swap i^th and idx^th entries
-				tmp = out.getValueDenseUnsafe(idx, 0);
-				out.setValueDenseUnsafe(idx, 0, out.getValueDenseUnsafe(i, 0));
-				out.setValueDenseUnsafe(i, 0, tmp);
+			else {
+				//floyd's algorithm w/ membership checks over a hash set of size O(size),
+				//followed by a fisher-yates shuffle of the (partially ordered) sample
+				LongHashSet set = new LongHashSet(size);
+				int pos = 0;
+				for( long j=range-size+1; j<=range; j++ ) {
+					long t = 1 + nextLong(rand, j);
+					if( !set.add(t) ) {
+						set.add(j);
+						t = j;
+					}
+					c[pos++] = t;
+				}
+				for( int i=size-1; i >= 1; i-- ) {
+					int idx = rand.nextInt(i+1);
+					double tmp = c[idx];
+					c[idx] = c[i];
+					c[i] = tmp;
+				}
 			}
-	
 		}
 		else 
 		{
-			Random r = new Random(seed);
-			for(int i=0; i < size; i++) 
-				out.setValueDenseUnsafe(i, 0, 1+nextLong(r, range) );
+			//generate seeds independent of parallelization
+			int nb = (int)Math.ceil((double)size/SAMPLE_BLOCKSIZE);
+			long[] seeds = generateSeedsForCP(setupSeedsForRand(seed), nb, 1);
+			
+			if( k <= 1 || size < PAR_NUMCELL_THRESHOLD ) {
+				computeSampleWithReplacement(c, range, seeds, 0, nb);
+			}
+			else {
+				try {
+					ExecutorService pool = Executors.newFixedThreadPool(k);
+					ArrayList<SampleTask> tasks = new ArrayList<SampleTask>();
+					int blklen = (int)(Math.ceil((double)nb/k));
+					for( int i=0; i<k & i*blklen<nb; i++ )
+						tasks.add(new SampleTask(c, range, seeds, i*blklen, Math.min((i+1)*blklen, nb)));
+					List<Future<Object>> ret = pool.invokeAll(tasks);
+					pool.shutdown();
+					for( Future<Object> rc : ret )
+						rc.get();
+				}
+				catch(Exception ex) {
+					throw new DMLRuntimeException(ex);
+				}
+			}
 		}
 		
-		out.recomputeNonZeros();
+		//all sampled values are in [1,range]
+		out.nonZeros = size;
 		out.examSparsity();
 	}
+	
+	private static long computeSequence(double[] c, double from, double incr, int rl, int ru) {
+		long nnz = 0;
+		for( int i=rl; i<ru; i++ ) {
+			c[i] = from + i * incr;
+			nnz += (c[i] != 0) ? 1 : 0;
+		}
+		return nnz;
+	}
+	
+	private static void computeSampleWithReplacement(double[] c, long range, long[] seeds, int bl, int bu) {
+		for( int bi=bl; bi<bu; bi++ ) {
+			Random r = new Random(seeds[bi]);
+			int rl = bi * SAMPLE_BLOCKSIZE;
+			int ru = Math.min(rl + SAMPLE_BLOCKSIZE, c.length);
+			for( int i=rl; i<ru; i++ )
+				c[i] = 1 + nextLong(r, range);
+		}
+	}
 
 	private static long[] generateSeedsForCP(Well1024a bigrand, int nrb, int ncb)
 	{
@@ -706,4 +814,86 @@ public class LibMatrixDatagen
 			return null;
 		}
 	}
+	
+	private static class SeqTask implements Callable<Long> 
+	{
+		private final double[] _c;
+		private final double _from;
+		private final double _incr;
+		private final int _rl;
+		private final int _ru;
+		
+		protected SeqTask(double[] c, double from, double incr, int rl, int ru) {
+			_c = c;
+			_from = from;
+			_incr = incr;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() {
+			return computeSequence(_c, _from, _incr, _rl, _ru);
+		}
+	}
+	
+	private static class SampleTask implements Callable<Object> 
+	{
+		private final double[] _c;
+		private final long _range;
+		private final long[] _seeds;
+		private final int _bl;
+		private final int _bu;
+		
+		protected SampleTask(double[] c, long range, long[] seeds, int bl, int bu) {
+			_c = c;
+			_range = range;
+			_seeds = seeds;
+			_bl = bl;
+			_bu = bu;
+		}
+		
+		@Override
+		public Object call() {
+			computeSampleWithReplacement(_c, _range, _seeds, _bl, _bu);
+			return null;
+		}
+	}
+	
+	/**
+	 * Minimal open-addressing hash set of positive longs (linear probing, 
+	 * 0 as empty marker) for membership checks in sampling without replacement.
+	 */
+	private static class LongHashSet
+	{
+		//maximum capacity (and thus number of keys) as largest power of two array size
+		protected static final int MAX_CAPACITY = 1<<30;
+		
+		private final long[] _keys;
+		private final int _mask;
+		
+		protected LongHashSet(int size) {
+			//capacity as power of two w/ load factor <= 0.5 (except for max capacity,
+			//where callers guarantee size <= MAX_CAPACITY to avoid endless probing)
+			int cap = (int)Math.min(Long.highestOneBit(Math.max(2L*size, 16)-1) << 1, MAX_CAPACITY);
+			_keys = new long[cap];
+			_mask = cap - 1;
+		}
+		
+		protected boolean add(long key) {
+			int ix = hash(key) & _mask;
+			while( _keys[ix] != 0 ) {
+				if( _keys[ix] == key )
+					return false;
+				ix = (ix + 1) & _mask;
+			}
+			_keys[ix] = key;
+			return true;
+		}
+		
+		private static int hash(long key) {
+			long h = key * 0x9E3779B97F4A7C15L;
+			return (int)(h ^ (h >>> 32));
+		}
+	}
 }
@@ -0,0 +1,1026 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.util.DataConverter;
+
+/**
+ * Library for dense matrix factorizations (Cholesky, LU with partial pivoting,
+ * Householder QR, symmetric eigen decomposition) and related solvers, which
+ * directly operate on row-major dense arrays. All factorizations are blocked
+ * into panels of BLOCKSIZE columns (rows for Cholesky), where the expensive
+ * trailing updates are computed multi-threaded over disjoint row or column
+ * ranges, and cache-blocked along the shared dimension. Since the partitioning
+ * does not change the order of operations per output cell, the results are
+ * independent of the degree of parallelism.
+ *
+ * Note that all factorizations work in-place on the given arrays, which are
+ * copies of the inputs obtained via {@link #toDenseArray(MatrixBlock)}.
+ */
+public class LibMatrixDecomp
+{
+	//panel width of blocked factorizations
+	private static final int BLOCKSIZE = 64;
+	//block size of the shared dimension for cache-blocking
+	private static final int BLOCKSIZE_K = 256;
+	//minimum number of flops per parallel step
+	private static final long PAR_MINFLOP_THRESHOLD = 2L*1024*1024;
+
+	//thresholds consistent with the previously used commons-math defaults
+	private static final double CHOL_SYMMETRY_THRESHOLD = 1e-15;
+	private static final double CHOL_POSITIVITY_THRESHOLD = 1e-10;
+	private static final int EIGEN_MAX_ITER = 30;
+
+	private LibMatrixDecomp() {
+		//prevent instantiation via private constructor
+	}
+
+	////////////////////////////////
+	// Public API (MatrixBlock level)
+
+	/**
+	 * Computes the Cholesky factorization A = L %*% t(L) of a symmetric
+	 * positive definite matrix and returns the lower triangular L.
+	 *
+	 * @param in input matrix
+	 * @param k maximum parallelism
+	 * @return lower triangular matrix L
+	 * @throws DMLRuntimeException if not square, symmetric, or positive definite
+	 */
+	public static MatrixBlock cholesky(MatrixBlock in, int k)
+		throws DMLRuntimeException
+	{
+		int n = checkSquare(in, "cholesky");
+		double[] a = toDenseArray(in);
+		if( !isSymmetric(a, n, CHOL_SYMMETRY_THRESHOLD) )
+			throw new DMLRuntimeException("Input to cholesky() must be a symmetric matrix.");
+
+		ExecutorService pool = createPool(k, n);
+		try {
+			if( !choleskyInPlace(a, n, pool, k) )
+				throw new DMLRuntimeException("Input to cholesky() must be a positive definite matrix.");
+		}
+		finally {
+			shutdownPool(pool);
+		}
+		return toMatrixBlock(a, n, n);
+	}
+
+	/**
+	 * Computes the LU factorization with partial pivoting P %*% A = L %*% U of
+	 * a square matrix, and returns the permutation matrix P, the unit lower
+	 * triangular L, and the upper triangular U.
+	 *
+	 * @param in input matrix
+	 * @param k maximum parallelism
+	 * @return array of matrix blocks [P, L, U]
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock[] lu(MatrixBlock in, int k)
+		throws DMLRuntimeException
+	{
+		int n = checkSquare(in, "lu");
+		double[] a = toDenseArray(in);
+		int[] perm = new int[n];
+
+		ExecutorService pool = createPool(k, n);
+		try {
+			luInPlace(a, n, perm, pool, k);
+		}
+		finally {
+			shutdownPool(pool);
+		}
+
+		//split factors into P, L, and U
+		double[] p = new double[n*n];
+		double[] l = new double[n*n];
+		for( int i=0, ix=0; i<n; i++, ix+=n ) {
+			p[ix+perm[i]] = 1;
+			System.arraycopy(a, ix, l, ix, i);
+			l[ix+i] = 1;
+			for( int j=0; j<i; j++ )
+				a[ix+j] = 0;
+		}
+		return new MatrixBlock[] { toMatrixBlock(p, n, n),
+			toMatrixBlock(l, n, n), toMatrixBlock(a, n, n) };
+	}
+
+	/**
+	 * Computes the Householder QR factorization A = Q %*% R, and returns the
+	 * matrix H of Householder vectors and the upper triangular R, where the
+	 * Householder vectors are scaled as in commons-math (column j of H is the
+	 * reflection vector divided by -R[j,j]).
+	 *
+	 * @param in input matrix
+	 * @param k maximum parallelism
+	 * @return array of matrix blocks [H, R]
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock[] qr(MatrixBlock in, int k)
+		throws DMLRuntimeException
+	{
+		int m = in.getNumRows();
+		int n = in.getNumColumns();
+		int mn = Math.min(m, n);
+		double[] a = toDenseArray(in);
+		double[] rdiag = new double[mn];
+
+		ExecutorService pool = createPool(k, Math.max(m, n));
+		try {
+			qrInPlace(a, m, n, n, rdiag, pool, k);
+		}
+		finally {
+			shutdownPool(pool);
+		}
+
+		//split factors into H and R
+		double[] h = new double[m*n];
+		double[] r = new double[m*n];
+		for( int i=0, ix=0; i<m; i++, ix+=n ) {
+			for( int j=0; j<Math.min(i+1, n); j++ )
+				h[ix+j] = a[ix+j] / -rdiag[j];
+			if( i < mn ) {
+				r[ix+i] = rdiag[i];
+				System.arraycopy(a, ix+i+1, r, ix+i+1, n-i-1);
+			}
+		}
+		return new MatrixBlock[] { toMatrixBlock(h, m, n), toMatrixBlock(r, m, n) };
+	}
+
+	/**
+	 * Computes the eigen decomposition of a symmetric matrix via Householder
+	 * tridiagonalization and the implicit QL algorithm, and returns the
+	 * eigenvalues (in increasing order) and the corresponding eigenvectors.
+	 *
+	 * @param in symmetric input matrix
+	 * @param k maximum parallelism
+	 * @return array of matrix blocks [eigenvalues, eigenvectors]
+	 * @throws DMLRuntimeException if not square or the QL iterations do not converge
+	 */
+	public static MatrixBlock[] eigen(MatrixBlock in, int k)
+		throws DMLRuntimeException
+	{
+		int n = checkSquare(in, "eigen");
+		double[] a = toDenseArray(in);
+		double[] d = new double[n];
+		double[] e = new double[n];
+		double[] z = new double[n*n];
+
+		ExecutorService pool = createPool(k, n);
+		try {
+			tridiagonalizeInPlace(a, n, d, e, z, pool, k);
+			tql2(d, e, z, n, pool, k);
+		}
+		finally {
+			shutdownPool(pool);
+		}
+
+		return new MatrixBlock[] { toMatrixBlock(d, n, 1), toMatrixBlock(z, n, n) };
+	}
+
+	/**
+	 * Computes the inverse of a square matrix via LU factorization with
+	 * partial pivoting and forward/backward substitution.
+	 *
+	 * @param in input matrix
+	 * @param k maximum parallelism
+	 * @return inverse matrix
+	 * @throws DMLRuntimeException if not square or singular
+	 */
+	public static MatrixBlock inverse(MatrixBlock in, int k)
+		throws DMLRuntimeException
+	{
+		int n = checkSquare(in, "inv");
+		double[] a = toDenseArray(in);
+		int[] perm = new int[n];
+		double[] x = new double[n*n];
+
+		ExecutorService pool = createPool(k, n);
+		try {
+			if( !luInPlace(a, n, perm, pool, k) )
+				throw new DMLRuntimeException("Input to inv() is a singular matrix.");
+			for( int i=0; i<n; i++ ) //permuted identity
+				x[i*n+perm[i]] = 1;
+			solveLU(a, n, x, n, pool, k);
+		}
+		finally {
+			shutdownPool(pool);
+		}
+		return toMatrixBlock(x, n, n);
+	}
+
+	/**
+	 * Solves the system of equations A %*% X = B. Square systems are solved via
+	 * Cholesky factorization if A is symmetric positive definite, and via LU
+	 * factorization with partial pivoting otherwise. Overdetermined systems
+	 * (more rows than columns) are solved in the least squares sense via
+	 * Householder QR factorization.
+	 *
+	 * @param in1 matrix A (m x n, with m &gt;= n)
+	 * @param in2 matrix B (m x r)
+	 * @param k maximum parallelism
+	 * @return matrix X (n x r)
+	 * @throws DMLRuntimeException if invalid dimensions or singular
+	 */
+	public static MatrixBlock solve(MatrixBlock in1, MatrixBlock in2, int k)
+		throws DMLRuntimeException
+	{
+		int m = in1.getNumRows();
+		int n = in1.getNumColumns();
+		int r = in2.getNumColumns();
+		if( m < n || in2.getNumRows() != m )
+			throw new DMLRuntimeException("Invalid dimensions for solve(): A ("+m+"x"+n+") and b ("
+				+ in2.getNumRows()+"x"+r+"), expected nrow(A)>=ncol(A) and nrow(A)==nrow(b).");
+
+		ExecutorService pool = createPool(k, Math.max(m, r));
+		try {
+			if( m == n ) {
+				double[] a = toDenseArray(in1);
+				double[] x = toDenseArray(in2);
+
+				//try cholesky for symmetric matrices (e.g., normal equations),
+				//on failure (not positive definite) fall back to LU
+				if( isSymmetric(a, n, CHOL_SYMMETRY_THRESHOLD) ) {
+					double[] l = a.clone();
+					if( choleskyInPlace(l, n, pool, k) ) {
+						solveCholesky(l, n, x, r, pool, k);
+						return toMatrixBlock(x, n, r);
+					}
+				}
+				int[] perm = new int[n];
+				if( !luInPlace(a, n, perm, pool, k) )
+					throw new DMLRuntimeException("Input to solve() is a singular matrix.");
+				double[] px = new double[n*r];
+				for( int i=0; i<n; i++ )
+					System.arraycopy(x, perm[i]*r, px, i*r, r);
+				solveLU(a, n, px, r, pool, k);
+				return toMatrixBlock(px, n, r);
+			}
+			else {
+				//QR factorization of the augmented matrix [A, B],
+				//which applies t(Q) to B as part of the trailing updates
+				double[] ab = new double[m*(n+r)];
+				toDenseArray(in1, ab, n+r, 0);
+				toDenseArray(in2, ab, n+r, n);
+				double[] rdiag = new double[n];
+				qrInPlace(ab, m, n+r, n, rdiag, pool, k);
+				for( int j=0; j<n; j++ )
+					if( rdiag[j] == 0 )
+						throw new DMLRuntimeException("Input to solve() is a singular matrix.");
+
+				//back substitution R %*% X = (t(Q) %*% B)[1:n,]
+				double[] x = new double[n*r];
+				for( int i=n-1; i>=0; i-- ) {
+					int ix = i*(n+r);
+					for( int c=0; c<r; c++ ) {
+						double s = ab[ix+n+c];
+						for( int j=i+1; j<n; j++ )
+							s -= ab[ix+j] * x[j*r+c];
+						x[i*r+c] = s / rdiag[i];
+					}
+				}
+				return toMatrixBlock(x, n, r);
+			}
+		}
+		finally {
+			shutdownPool(pool);
+		}
+	}
+
+	/**
+	 * Indicates if the given square matrix is symmetric according
+	 * to the given relative threshold.
+	 *
+	 * @param in input matrix
+	 * @param eps relative threshold
+	 * @return true if symmetric
+	 */
+	public static boolean isSymmetric(MatrixBlock in, double eps) {
+		if( in.getNumRows() != in.getNumColumns() )
+			return false;
+		return isSymmetric(toDenseArray(in), in.getNumRows(), eps);
+	}
+
+	////////////////////////////////
+	// Cholesky factorization
+
+	/**
+	 * Blocked, row-oriented Cholesky factorization (lower triangular), where
+	 * each entry is computed via a dot product of two contiguous rows of L.
+	 * For each diagonal block of rows, we factorize the diagonal block and
+	 * subsequently compute the corresponding column block of all remaining
+	 * rows in parallel. The upper triangle is set to zero.
+	 *
+	 * @return false if not positive definite
+	 */
+	private static boolean choleskyInPlace(final double[] a, final int n, ExecutorService pool, int k)
+		throws DMLRuntimeException
+	{
+		for( int bk=0; bk<n; bk+=BLOCKSIZE ) {
+			final int bk2 = bk;
+			final int bkmin = Math.min(n, bk+BLOCKSIZE);
+
+			//factorize diagonal block
+			for( int i=bk; i<bkmin; i++ ) {
+				int ix = i*n;
+				for( int j=bk; j<=i; j++ ) {
+					int jx = j*n;
+					double s = a[ix+j] - dotProduct(a, a, ix, jx, j);
+					if( j < i )
+						a[ix+j] = s / a[jx+j];
+					else if( s > CHOL_POSITIVITY_THRESHOLD )
+						a[ix+j] = Math.sqrt(s);
+					else
+						return false;
+				}
+			}
+
+			//compute column block of all remaining rows
+			executeParallel(pool, k, bkmin, n, 2L*bkmin*(bkmin-bk), new RangeOp() {
+				@Override
+				public void execute(int rl, int ru) {
+					choleskyColumnBlock(a, n, bk2, bkmin, rl, ru);
+				}
+			});
+		}
+
+		//set upper triangle to zero
+		for( int i=0, ix=0; i<n; i++, ix+=n )
+			for( int j=i+1; j<n; j++ )
+				a[ix+j] = 0;
+		return true;
+	}
+
+	private static void choleskyColumnBlock(double[] a, int n, int bk, int bkmin, int rl, int ru) {
+		final int bi = 8; //rows per group
+		int bn = bkmin - bk;
+		double[] acc = new double[bi*bn];
+		for( int i0=rl; i0<ru; i0+=bi ) {
+			int i0min = Math.min(ru, i0+bi);
+			Arrays.fill(acc, 0);
+			//cache-blocked dot products over previous column blocks
+			for( int c=0; c<bk; c+=BLOCKSIZE_K ) {
+				int len = Math.min(bk, c+BLOCKSIZE_K) - c;
+				for( int i=i0; i<i0min; i++ )
+					for( int j=bk, aix=(i-i0)*bn; j<bkmin; j++ )
+						acc[aix+j-bk] += dotProduct(a, a, i*n+c, j*n+c, len);
+			}
+			//finalize column block (dependencies within block)
+			for( int i=i0; i<i0min; i++ ) {
+				int ix = i*n;
+				for( int j=bk, aix=(i-i0)*bn; j<bkmin; j++ ) {
+					int jx = j*n;
+					double s = a[ix+j] - acc[aix+j-bk]
+						- dotProduct(a, a, ix+bk, jx+bk, j-bk);
+					a[ix+j] = s / a[jx+j];
+				}
+			}
+		}
+	}
+
+	/**
+	 * Solves L %*% t(L) %*% X = B in-place for the r columns of B, where both
+	 * substitutions access the contiguous rows of L.
+	 */
+	private static void solveCholesky(final double[] l, final int n, final double[] x, final int r, ExecutorService pool, int k)
+		throws DMLRuntimeException
+	{
+		executeParallel(pool, k, 0, r, 2L*n*n, new RangeOp() {
+			@Override
+			public void execute(int cl, int cu) {
+				//forward substitution L %*% Y = B
+				for( int i=0; i<n; i++ ) {
+					int ix = i*n;
+					for( int p=0; p<i; p++ ) {
+						double v = l[ix+p];
+						if( v != 0 )
+							for( int c=cl; c<cu; c++ )
+								x[i*r+c] -= v * x[p*r+c];
+					}
+					for( int c=cl; c<cu; c++ )
+						x[i*r+c] /= l[ix+i];
+				}
+				//backward substitution t(L) %*% X = Y
+				for( int i=n-1; i>=0; i-- ) {
+					int ix = i*n;
+					for( int c=cl; c<cu; c++ )
+						x[i*r+c] /= l[ix+i];
+					for( int p=0; p<i; p++ ) {
+						double v = l[ix+p];
+						if( v != 0 )
+							for( int c=cl; c<cu; c++ )
+								x[p*r+c] -= v * x[i*r+c];
+					}
+				}
+			}
+		});
+	}
+
+	////////////////////////////////
+	// LU factorization
+
+	/**
+	 * Blocked right-looking LU factorization with partial pivoting. For each
+	 * panel of columns, we factorize the panel (with row interchanges of the
+	 * entire rows), compute the block row of U via forward substitution, and
+	 * update the trailing matrix in parallel over disjoint row ranges.
+	 *
+	 * @return false if singular (zero pivot)
+	 */
+	private static boolean luInPlace(final double[] a, final int n, int[] perm, ExecutorService pool, int k)
+		throws DMLRuntimeException
+	{
+		boolean nonsingular = true;
+		for( int i=0; i<n; i++ )
+			perm[i] = i;
+
+		for( int bk=0; bk<n; bk+=BLOCKSIZE ) {
+			final int bk2 = bk;
+			final int bkmin = Math.min(n, bk+BLOCKSIZE);
+
+			//panel factorization with partial pivoting
+			for( int j=bk; j<bkmin; j++ ) {
+				int p = j;
+				double max = Math.abs(a[j*n+j]);
+				for( int i=j+1; i<n; i++ )
+					if( Math.abs(a[i*n+j]) > max ) {
+						max = Math.abs(a[i*n+j]);
+						p = i;
+					}
+				if( p != j ) {
+					swapRows(a, n, j, p);
+					int tmp = perm[j]; perm[j] = perm[p]; perm[p] = tmp;
+				}
+				double piv = a[j*n+j];
+				if( piv == 0 ) {
+					nonsingular = false;
+					continue;
+				}
+				int jx = j*n;
+				for( int i=j+1; i<n; i++ ) {
+					int ix = i*n;
+					double lij = (a[ix+j] /= piv);
+					if( lij != 0 )
+						for( int c=j+1; c<bkmin; c++ )
+							a[ix+c] -= lij * a[jx+c];
+				}
+			}
+			if( bkmin == n )
+				break;
+
+			//block row of U via forward substitution (parallel over columns)
+			executeParallel(pool, k, bkmin, n, (long)BLOCKSIZE*BLOCKSIZE, new RangeOp() {
+				@Override
+				public void execute(int cl, int cu) {
+					for( int i=bk2+1; i<bkmin; i++ )
+						for( int p=bk2; p<i; p++ ) {
+							double v = a[i*n+p];
+							if( v != 0 )
+								vectMultiplyAdd(-v, a, a, p*n+cl, i*n+cl, cu-cl);
+						}
+				}
+			});
+
+			//trailing update A22 -= L21 %*% U12 (parallel over rows)
+			executeParallel(pool, k, bkmin, n, 2L*(n-bkmin)*(bkmin-bk), new RangeOp() {
+				@Override
+				public void execute(int rl, int ru) {
+					for( int c=bkmin; c<n; c+=BLOCKSIZE_K ) {
+						int len = Math.min(n, c+BLOCKSIZE_K) - c;
+						for( int i=rl; i<ru; i++ ) {
+							int ix = i*n;
+							for( int p=bk2; p<bkmin; p++ ) {
+								double v = a[ix+p];
+								if( v != 0 )
+									vectMultiplyAdd(-v, a, a, p*n+c, ix+c, len);
+							}
+						}
+					}
+				}
+			});
+		}
+		return nonsingular;
+	}
+
+	/**
+	 * Solves L %*% U %*% X = B in-place for the r columns of the
+	 * already permuted B, in parallel over disjoint column ranges.
+	 */
+	private static void solveLU(final double[] a, final int n, final double[] x, final int r, ExecutorService pool, int k)
+		throws DMLRuntimeException
+	{
+		executeParallel(pool, k, 0, r, 2L*n*n, new RangeOp() {
+			@Override
+			public void execute(int cl, int cu) {
+				int len = cu - cl;
+				//forward substitution (unit lower triangular)
+				for( int i=1; i<n; i++ ) {
+					int ix = i*n;
+					for( int p=0; p<i; p++ ) {
+						double v = a[ix+p];
+						if( v != 0 )
+							vectMultiplyAdd(-v, x, x, p*r+cl, i*r+cl, len);
+					}
+				}
+				//backward substitution (upper triangular)
+				for( int i=n-1; i>=0; i-- ) {
+					int ix = i*n;
+					for( int p=i+1; p<n; p++ ) {
+						double v = a[ix+p];
+						if( v != 0 )
+							vectMultiplyAdd(-v, x, x, p*r+cl, i*r+cl, len);
+					}
+					double piv = a[ix+i];
+					for( int c=cl; c<cu; c++ )
+						x[i*r+c] /= piv;
+				}
+			}
+		});
+	}
+
+	////////////////////////////////
+	// QR factorization
+
+	/**
+	 * Blocked Householder QR factorization of the first nf columns of the given
+	 * m x n matrix (compact WY representation). For each panel of columns, we
+	 * factorize the panel column by column, build the triangular factor T of
+	 * the block reflector I - V %*% T %*% t(V), and apply its transpose to all
+	 * trailing columns in parallel over disjoint column ranges. The Householder
+	 * vectors are stored on and below the diagonal (as in commons-math, without
+	 * normalization), R above the diagonal, and the diagonal of R in rdiag.
+	 */
+	private static void qrInPlace(final double[] a, final int m, final int n, int nf, double[] rdiag, ExecutorService pool, int k)
+		throws DMLRuntimeException
+	{
+		int mn = Math.min(m, nf);
+		double[] tau = new double[mn];
+
+		for( int bk=0; bk<mn; bk+=BLOCKSIZE ) {
+			final int bk2 = bk;
+			final int bkmin = Math.min(mn, bk+BLOCKSIZE);
+			final int bn = bkmin - bk;
+			double[] w = new double[bn];
+
+			//panel factorization
+			for( int j=bk; j<bkmin; j++ ) {
+				double norm = 0;
+				for( int i=j; i<m; i++ )
+					norm += a[i*n+j] * a[i*n+j];
+				norm = Math.sqrt(norm);
+				double alpha = (a[j*n+j] > 0) ? -norm : norm;
+				rdiag[j] = alpha;
+				if( alpha == 0 )
+					continue;
+				a[j*n+j] -= alpha;
+				tau[j] = -1 / (alpha * a[j*n+j]);
+
+				//apply reflector to remaining panel columns
+				if( j+1 < bkmin ) {
+					int len = bkmin - j - 1;
+					Arrays.fill(w, 0);
+					for( int i=j; i<m; i++ )
+						vectMultiplyAdd(a[i*n+j], a, w, i*n+j+1, 0, len);
+					for( int i=j; i<m; i++ )
+						vectMultiplyAdd(-tau[j] * a[i*n+j], w, a, 0, i*n+j+1, len);
+				}
+			}
+			if( bkmin == n )
+				break;
+
+			//build triangular factor T (forward, columnwise) via G = t(V) %*% V
+			final double[] t = new double[bn*bn];
+			double[] g = new double[bn*bn];
+			for( int i=bk; i<m; i++ ) {
+				int ix = i*n;
+				for( int p=bk; p<Math.min(bkmin, i+1); p++ ) {
+					double v = a[ix+p];
+					for( int q=p; q<Math.min(bkmin, i+1); q++ )
+						g[(p-bk)*bn+q-bk] += v * a[ix+q];
+				}
+			}
+			for( int j=0; j<bn; j++ ) {
+				double tj = tau[bk+j];
+				for( int p=0; p<j; p++ ) {
+					double s = 0;
+					for( int q=p; q<j; q++ )
+						s += t[p*bn+q] * g[q*bn+j];
+					t[p*bn+j] = -tj * s;
+				}
+				t[j*bn+j] = tj;
+			}
+
+			//apply block reflector: A2 -= V %*% t(T) %*% (t(V) %*% A2)
+			executeParallel(pool, k, bkmin, n, 4L*(m-bk)*bn, new RangeOp() {
+				@Override
+				public void execute(int cl, int cu) {
+					int len = cu - cl;
+					double[] wv = new double[bn*len];
+					//W = t(V) %*% A2
+					for( int i=bk2; i<m; i++ ) {
+						int ix = i*n;
+						for( int p=bk2; p<Math.min(bkmin, i+1); p++ ) {
+							double v = a[ix+p];
+							if( v != 0 )
+								vectMultiplyAdd(v, a, wv, ix+cl, (p-bk2)*len, len);
+						}
+					}
+					//W = t(T) %*% W (in-place, bottom-up)
+					for( int p=bn-1; p>=0; p-- ) {
+						for( int c=0; c<len; c++ )
+							wv[p*len+c] *= t[p*bn+p];
+						for( int q=0; q<p; q++ )
+							if( t[q*bn+p] != 0 )
+								vectMultiplyAdd(t[q*bn+p], wv, wv, q*len, p*len, len);
+					}
+					//A2 -= V %*% W
+					for( int i=bk2; i<m; i++ ) {
+						int ix = i*n;
+						for( int p=bk2; p<Math.min(bkmin, i+1); p++ ) {
+							double v = a[ix+p];
+							if( v != 0 )
+								vectMultiplyAdd(-v, wv, a, (p-bk2)*len, ix+cl, len);
+						}
+					}
+				}
+			});
+		}
+	}
+
+	////////////////////////////////
+	// Symmetric eigen decomposition
+
+	/**
+	 * Householder tridiagonalization Q^T A Q = T of a symmetric matrix, where
+	 * the symmetric rank-2 updates of the trailing matrix are computed in parallel
+	 * over rows. The Householder vectors are stored in the rows of A (which are
+	 * not needed anymore), and subsequently accumulated into Q in parallel over
+	 * column ranges. The diagonal and off-diagonal of T are returned in d and e.
+	 */
+	private static void tridiagonalizeInPlace(final double[] a, final int n, double[] d, double[] e,
+		final double[] q, ExecutorService pool, int k) throws DMLRuntimeException
+	{
+		final double[] p = new double[n];
+		final double[] w = new double[n];
+		double[] tau = new double[n];
+
+		for( int kk=0; kk<n-2; kk++ ) {
+			final int k1 = kk + 1;
+			final int vx = kk*n;
+			d[kk] = a[vx+kk];
+			double norm = Math.sqrt(dotProduct(a, a, vx+k1, vx+k1, n-k1));
+			if( norm == 0 ) {
+				e[kk] = 0;
+				continue;
+			}
+			double alpha = (a[vx+k1] > 0) ? -norm : norm;
+			e[kk] = alpha;
+			a[vx+k1] -= alpha;
+			final double tk = -1 / (alpha * a[vx+k1]);
+			tau[kk] = tk;
+
+			//p = tau * B %*% v (with B trailing matrix)
+			executeParallel(pool, k, k1, n, 2L*(n-k1), new RangeOp() {
+				@Override
+				public void execute(int rl, int ru) {
+					for( int i=rl; i<ru; i++ )
+						p[i] = tk * dotProduct(a, a, i*n+k1, vx+k1, n-k1);
+				}
+			});
+
+			//w = p - (tau/2 * t(v) %*% p) * v
+			double K = tk / 2 * dotProduct(a, p, vx+k1, k1, n-k1);
+			for( int i=k1; i<n; i++ )
+				w[i] = p[i] - K * a[vx+i];
+
+			//B = B - v %*% t(w) - w %*% t(v)
+			executeParallel(pool, k, k1, n, 4L*(n-k1), new RangeOp() {
+				@Override
+				public void execute(int rl, int ru) {
+					for( int i=rl; i<ru; i++ ) {
+						int ix = i*n;
+						vectMultiplyAdd(-a[vx+i], w, a, k1, ix+k1, n-k1);
+						vectMultiplyAdd(-w[i], a, a, vx+k1, ix+k1, n-k1);
+					}
+				}
+			});
+		}
+		if( n >= 2 ) {
+			d[n-2] = a[(n-2)*n+n-2];
+			e[n-2] = a[(n-2)*n+n-1];
+		}
+		d[n-1] = a[(n-1)*n+n-1];
+		e[n-1] = 0;
+
+		//accumulate Q = H_0 %*% ... %*% H_{n-3} (backwards)
+		for( int i=0; i<n; i++ )
+			q[i*n+i] = 1;
+		for( int kk=n-3; kk>=0; kk-- ) {
+			if( tau[kk] == 0 )
+				continue;
+			final int k1 = kk + 1;
+			final int vx = kk*n;
+			final double tk = tau[kk];
+			executeParallel(pool, k, k1, n, 4L*(n-k1), new RangeOp() {
+				@Override
+				public void execute(int cl, int cu) {
+					int len = cu - cl;
+					double[] wv = new double[len];
+					for( int i=k1; i<n; i++ )
+						vectMultiplyAdd(a[vx+i], q, wv, i*n+cl, 0, len);
+					for( int i=k1; i<n; i++ )
+						vectMultiplyAdd(-tk * a[vx+i], wv, q, 0, i*n+cl, len);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Symmetric tridiagonal QL algorithm with implicit shifts (derived from
+	 * the public domain JAMA library), where the Givens rotations of each QL
+	 * sweep are recorded and applied to the rows of Z in parallel. Eigenvalues
+	 * (and vectors) are sorted in increasing order.
+	 */
+	private static void tql2(double[] d, double[] e, final double[] z, final int n, ExecutorService pool, int k)
+		throws DMLRuntimeException
+	{
+		final double[] cs = new double[n];
+		final double[] sn = new double[n];
+		double f = 0;
+		double tst1 = 0;
+		double eps = Math.pow(2.0, -52.0);
+
+		for( int l=0; l<n; l++ ) {
+			//find small subdiagonal element
+			tst1 = Math.max(tst1, Math.abs(d[l]) + Math.abs(e[l]));
+			int m = l;
+			while( m < n ) {
+				if( Math.abs(e[m]) <= eps*tst1 )
+					break;
+				m++;
+			}
+
+			//if m == l, d[l] is an eigenvalue, otherwise iterate
+			if( m > l ) {
+				int iter = 0;
+				do {
+					if( ++iter > EIGEN_MAX_ITER * n )
+						throw new DMLRuntimeException("Eigen decomposition did not converge.");
+
+					//compute implicit shift
+					double g = d[l];
+					double p = (d[l+1] - g) / (2 * e[l]);
+					double r = Math.hypot(p, 1);
+					if( p < 0 )
+						r = -r;
+					d[l] = e[l] / (p + r);
+					d[l+1] = e[l] * (p + r);
+					double dl1 = d[l+1];
+					double h = g - d[l];
+					for( int i=l+2; i<n; i++ )
+						d[i] -= h;
+					f = f + h;
+
+					//implicit QL transformation
+					p = d[m];
+					double c = 1, c2 = c, c3 = c;
+					double el1 = e[l+1];
+					double s = 0, s2 = 0;
+					for( int i=m-1; i>=l; i-- ) {
+						c3 = c2;
+						c2 = c;
+						s2 = s;
+						g = c * e[i];
+						h = c * p;
+						r = Math.hypot(p, e[i]);
+						e[i+1] = s * r;
+						s = e[i] / r;
+						c = p / r;
+						p = c * d[i] - s * g;
+						d[i+1] = h + s * (c * g + s * d[i]);
+						cs[i] = c;
+						sn[i] = s;
+					}
+
+					//accumulate transformation (rotations of columns i, i+1)
+					final int l2 = l, m2 = m;
+					executeParallel(pool, k, 0, n, 6L*(m-l), new RangeOp() {
+						@Override
+						public void execute(int rl, int ru) {
+							for( int r=rl; r<ru; r++ ) {
+								int rx = r*n;
+								for( int i=m2-1; i>=l2; i-- ) {
+									double h = z[rx+i+1];
+									z[rx+i+1] = sn[i] * z[rx+i] + cs[i] * h;
+									z[rx+i] = cs[i] * z[rx+i] - sn[i] * h;
+								}
+							}
+						}
+					});
+
+					p = -s * s2 * c3 * el1 * e[l] / dl1;
+					e[l] = s * p;
+					d[l] = c * p;
+				}
+				while( Math.abs(e[l]) > eps*tst1 );
+			}
+			d[l] = d[l] + f;
+			e[l] = 0;
+		}
+
+		//sort eigenvalues and corresponding vectors (increasing order)
+		for( int i=0; i<n-1; i++ ) {
+			int kx = i;
+			double p = d[i];
+			for( int j=i+1; j<n; j++ )
+				if( d[j] < p ) {
+					kx = j;
+					p = d[j];
+				}
+			if( kx != i ) {
+				d[kx] = d[i];
+				d[i] = p;
+				for( int j=0; j<n; j++ ) {
+					p = z[j*n+i];
+					z[j*n+i] = z[j*n+kx];
+					z[j*n+kx] = p;
+				}
+			}
+		}
+	}
+
+	////////////////////////////////
+	// Utility functions
+
+	private static int checkSquare(MatrixBlock in, String fname)
+		throws DMLRuntimeException
+	{
+		if( in.getNumRows() != in.getNumColumns() )
+			throw new DMLRuntimeException("Input to "+fname+"() must be square matrix -- given: a "
+				+ in.getNumRows() + "x" + in.getNumColumns() + " matrix.");
+		return in.getNumRows();
+	}
+
+	private static boolean isSymmetric(double[] a, int n, double eps) {
+		for( int i=0; i<n; i++ )
+			for( int j=i+1; j<n; j++ ) {
+				double aij = a[i*n+j];
+				double aji = a[j*n+i];
+				if( Math.abs(aij - aji) > Math.max(Math.abs(aij), Math.abs(aji)) * eps )
+					return false;
+			}
+		return true;
+	}
+
+	/**
+	 * Creates a row-major dense copy of the given matrix block.
+	 *
+	 * @param in matrix block
+	 * @return dense array
+	 */
+	public static double[] toDenseArray(MatrixBlock in) {
+		double[] ret = new double[in.getNumRows()*in.getNumColumns()];
+		DataConverter.copyToDoubleVector(in, ret, 0);
+		return ret;
+	}
+
+	private static void toDenseArray(MatrixBlock in, double[] ret, int n, int cl) {
+		if( in.isEmptyBlock(false) )
+			return;
+		int m = in.getNumRows();
+		int clen = in.getNumColumns();
+		if( in.isInSparseFormat() ) {
+			SparseBlock sblock = in.getSparseBlock();
+			for( int i=0; i<m; i++ ) {
+				if( sblock.isEmpty(i) )
+					continue;
+				int apos = sblock.pos(i);
+				int alen = sblock.size(i);
+				int[] aix = sblock.indexes(i);
+				double[] avals = sblock.values(i);
+				for( int j=apos; j<apos+alen; j++ )
+					ret[i*n+cl+aix[j]] = avals[j];
+			}
+		}
+		else {
+			double[] dblock = in.getDenseBlock();
+			for( int i=0; i<m; i++ )
+				System.arraycopy(dblock, i*clen, ret, i*n+cl, clen);
+		}
+	}
+
+	private static MatrixBlock toMatrixBlock(double[] a, int m, int n) 
+		throws DMLRuntimeException
+	{
+		MatrixBlock ret = new MatrixBlock(m, n, false);
+		ret.denseBlock = a;
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ret;
+	}
+
+	private static void swapRows(double[] a, int n, int i, int j) {
+		for( int c=0, ix=i*n, jx=j*n; c<n; c++ ) {
+			double tmp = a[ix+c];
+			a[ix+c] = a[jx+c];
+			a[jx+c] = tmp;
+		}
+	}
+
+	private static double dotProduct(double[] a, double[] b, int ai, int bi, int len) {
+		double val = 0;
+		for( int i=0; i<len; i++ )
+			val += a[ai+i] * b[bi+i];
+		return val;
+	}
+
+	private static void vectMultiplyAdd(double aval, double[] b, double[] c, int bi, int ci, int len) {
+		for( int j=0; j<len; j++ )
+			c[ci+j] += aval * b[bi+j];
+	}
+
+	////////////////////////////////
+	// Parallelization utilities
+
+	private static ExecutorService createPool(int k, int n) {
+		return (k > 1 && n > BLOCKSIZE) ? Executors.newFixedThreadPool(k) : null;
+	}
+
+	private static void shutdownPool(ExecutorService pool) {
+		if( pool != null )
+			pool.shutdown();
+	}
+
+	/**
+	 * Executes the given range operation over [lb, ub), either in a single task
+	 * if the estimated work (number of units times flops per unit) is too small,
+	 * or in k tasks of balanced disjoint ranges.
+	 */
+	private static void executeParallel(ExecutorService pool, int k, int lb, int ub, long flopsPerUnit, final RangeOp op)
+		throws DMLRuntimeException
+	{
+		int len = ub - lb;
+		if( len <= 0 )
+			return;
+		if( pool == null || len < 2 || flopsPerUnit * len < PAR_MINFLOP_THRESHOLD ) {
+			op.execute(lb, ub);
+			return;
+		}
+
+		try {
+			int numTasks = Math.min(k, len);
+			ArrayList<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+			for( int i=0; i<numTasks; i++ ) {
+				final int rl = lb + (int)((long)len * i / numTasks);
+				final int ru = lb + (int)((long)len * (i+1) / numTasks);
+				tasks.add(new Callable<Object>() {
+					@Override
+					public Object call() {
+						op.execute(rl, ru);
+						return null;
+					}
+				});
+			}
+			List<Future<Object>> rtasks = pool.invokeAll(tasks);
+			for( Future<Object> task : rtasks )
+				task.get();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException("Failed parallel matrix factorization.", ex);
+		}
+	}
+
+	/**
+	 * Operation over a range of rows or columns, where
+	 * operations over disjoint ranges are independent.
+	 */
+	private static abstract class RangeOp {
+		public abstract void execute(int lb, int ub);
+	}
+}
@@ -20,9 +20,11 @@
 
 package org.apache.sysml.runtime.matrix.data;
 
+import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -30,6 +32,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.commons.math3.util.FastMath;
+import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.lops.MapMultChain.ChainType;
 import org.apache.sysml.lops.WeightedCrossEntropy.WCeMMType;
 import org.apache.sysml.lops.WeightedDivMM.WDivMMType;
@@ -37,6 +40,7 @@ import org.apache.sysml.lops.WeightedSigmoid.WSigmoidType;
 import org.apache.sysml.lops.WeightedSquaredLoss.WeightsType;
 import org.apache.sysml.lops.WeightedUnaryMM.WUMMType;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysml.runtime.functionobjects.SwapIndex;
 import org.apache.sysml.runtime.functionobjects.ValueFunction;
 import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
@@ -73,6 +77,18 @@ public class LibMatrixMult
 	private static final long PAR_MINFLOP_THRESHOLD = 2L*1024*1024; //MIN 2 MFLOP
 	private static final int L2_CACHESIZE = 256 *1024; //256KB (common size)
 	
+	//packed dense-dense matrix mult (register blocks of MRxNR, panels of MCxKC in L2, KCxNC in L3)
+	private static final int PACK_MR = 4;
+	private static final int PACK_NR = 4;
+	private static final int PACK_MC = 64;   //64x256: 128KB a panel
+	private static final int PACK_KC = 256;  //256x4: 8KB b micro panel (L1)
+	private static final int PACK_NC = 1024; //256x1024: 2MB b panel
+	private static final double PACK_MIN_SPARSITY = 0.8; //otherwise skip zeros of a
+	private static final long PACK_MIN_FMA = 2L*1024*1024; //MIN 2M multiply-adds per block
+	private static final int PACK_MAX_BUFFERS = InfrastructureAnalyzer.getLocalParallelism();
+	private static final ArrayBlockingQueue<SoftReference<double[]>> PACK_BUFFERS = 
+		new ArrayBlockingQueue<SoftReference<double[]>>(PACK_MAX_BUFFERS);
+	
 	private LibMatrixMult() {
 		//prevent instantiation via private constructor
 	}
@@ -138,9 +154,12 @@ public class LibMatrixMult
 		//pre-processing: output allocation
 		boolean tm2 = checkPrepMatrixMultRightInput(m1,m2);
 		m2 = prepMatrixMultRightInput(m1, m2);
-		ret.sparse = (m1.isUltraSparse() || m2.isUltraSparse());
+		boolean sp = checkSparseOutputMatrixMult(m1, m2);
+		ret.sparse = (m1.isUltraSparse() || m2.isUltraSparse() || sp);
 		if( !ret.sparse )
 			ret.allocateDenseBlock();
+		else if( sp )
+			ret.allocateSparseRowsBlock();
 		
 		//prepare row-upper for special cases of vector-matrix
 		boolean pm2 = checkParMatrixMultRightInputRows(m1, m2, Integer.MAX_VALUE);
@@ -152,6 +171,8 @@ public class LibMatrixMult
 			matrixMultUltraSparse(m1, m2, ret, 0, ru2);
 		else if(!m1.sparse && !m2.sparse)
 			matrixMultDenseDense(m1, m2, ret, tm2, pm2, 0, ru2, 0, cu);
+		else if(m1.sparse && m2.sparse && sp)
+			ret.nonZeros = matrixMultSparseSparseSparseOut(m1, m2, ret, 0, ru2);
 		else if(m1.sparse && m2.sparse)
 			matrixMultSparseSparse(m1, m2, ret, pm2, 0, ru2);
 		else if(m1.sparse)
@@ -204,15 +225,17 @@ public class LibMatrixMult
 		//we need to allocate sparse as well in order to prevent synchronization)
 		boolean tm2 = checkPrepMatrixMultRightInput(m1,m2);
 		m2 = prepMatrixMultRightInput(m1, m2);
-		ret.sparse = (m1.isUltraSparse() || m2.isUltraSparse());
+		ret.sparse = (m1.isUltraSparse() || m2.isUltraSparse() 
+			|| checkSparseOutputMatrixMult(m1, m2));
 		if( !ret.sparse )
 			ret.allocateDenseBlock();
-		else
+		else {
+			//tasks write disjoint rows of the output, which is only thread-safe
+			//for MCSR; since the output is overwritten anyway, we replace any
+			//existing non-thread-safe block (e.g., CSR) instead of running serially
+			if( !ret.isThreadSafe() )
+				ret.sparseBlock = SparseBlockFactory.createSparseBlock(SparseBlock.Type.MCSR, ret.rlen);
 			ret.allocateSparseRowsBlock();
-		
-		if (!ret.isThreadSafe()){
-			matrixMult(m1, m2, ret);
-			return;
 		}
 		
 		//prepare row-upper for special cases of vector-matrix / matrix-matrix
@@ -1038,6 +1061,10 @@ public class LibMatrixMult
 					for( int j=0, bix=0; j<n2; j++, bix+=cd )
 						c[cix+j] = dotProduct(a, b, aix, bix, cd);
 			}
+			else if( checkPackedMatrixMultDenseDense(m1, rl, ru, cl, cu) ) //MATRIX-MATRIX (dense lhs)
+			{
+				matrixMultDenseDensePacked(a, b, c, n, cd, rl, ru, cl, cu);
+			}
 			else                          //MATRIX-MATRIX
 			{	
 				//1) Unrolled inner loop (for better instruction-level parallelism)
@@ -1102,6 +1129,78 @@ public class LibMatrixMult
 		
 	}
 
+	/**
+	 * Dense-dense matrix multiplication of rows [rl,ru) and columns [cl,cu) via packed panels.
+	 * Panels of b (KCxNC) and a (MCxKC) are copied into a reusable buffer as contiguous micro
+	 * panels of NR columns and MR rows, respectively, which are then multiplied by a register-blocked
+	 * MRxNR micro kernel with sequential access to both inputs. Partial tiles at the borders are 
+	 * zero-padded during packing and computed via a temporary tile. In contrast to the default 
+	 * kernel, this kernel does not skip zeros in a and is hence only used for dense lhs inputs.
+	 * Panels of b with NaN or infinite values are computed with zero skipping as in the default
+	 * kernel, because 0*NaN and 0*Inf would otherwise produce NaN outputs.
+	 * 
+	 * @param a dense lhs input
+	 * @param b dense rhs input
+	 * @param c dense output
+	 * @param n number of columns in rhs and output
+	 * @param cd common dimension
+	 * @param rl row lower index
+	 * @param ru row upper index
+	 * @param cl column lower index
+	 * @param cu column upper index
+	 */
+	private static void matrixMultDenseDensePacked(double[] a, double[] b, double[] c, final int n, final int cd, int rl, int ru, int cl, int cu) 
+	{
+		//obtain reusable buffer for packed a and b panels
+		double[] buff = allocPackBuffer(PACK_MC*PACK_KC + PACK_KC*PACK_NC);
+		final int bpos = PACK_MC*PACK_KC;
+		double[] tc = new double[PACK_MR*PACK_NR];
+		
+		//blocked execution (b panel, common dim, a panel, micro panels)
+		for( int bj = cl; bj < cu; bj+=PACK_NC ) {
+			int bjlen = Math.min(cu, bj+PACK_NC)-bj;
+			for( int bk = 0; bk < cd; bk+=PACK_KC ) {
+				int bklen = Math.min(cd, bk+PACK_KC)-bk;
+				if( !packPanelRhs(b, buff, bpos, n, bk, bklen, bj, bjlen) ) {
+					//non-finite b panel: skip zeros in a (consistent w/ default kernel)
+					for( int i = rl, aix = rl*cd+bk, cix = rl*n+bj; i < ru; i++, aix+=cd, cix+=n )
+						for( int k = 0, bix = bk*n+bj; k < bklen; k++, bix+=n )
+							if( a[aix+k] != 0 )
+								vectMultiplyAdd(a[aix+k], b, c, bix, cix, bjlen);
+					continue;
+				}
+				for( int bi = rl; bi < ru; bi+=PACK_MC ) {
+					int bilen = Math.min(ru, bi+PACK_MC)-bi;
+					packPanelLhs(a, buff, 0, cd, bi, bilen, bk, bklen);
+					
+					//core micro kernel over MRxNR tiles of output
+					for( int j = 0; j < bjlen; j+=PACK_NR ) {
+						int nr = Math.min(PACK_NR, bjlen-j);
+						int bix = bpos + j*bklen;
+						for( int i = 0; i < bilen; i+=PACK_MR ) {
+							int mr = Math.min(PACK_MR, bilen-i);
+							int aix = i*bklen;
+							int cix = (bi+i)*n + bj+j;
+							if( mr == PACK_MR && nr == PACK_NR )
+								gemmMicroKernel4x4(buff, buff, c, aix, bix, cix, n, bklen);
+							else {
+								//partial tiles at the border (rest rows/cols)
+								Arrays.fill(tc, 0);
+								gemmMicroKernel4x4(buff, buff, tc, aix, bix, 0, PACK_NR, bklen);
+								for( int i2 = 0; i2 < mr; i2++, cix+=n )
+									for( int j2 = 0; j2 < nr; j2++ )
+										c[cix+j2] += tc[i2*PACK_NR+j2];
+							}
+						}
+					}
+				}
+			}
+		}
+		
+		//return buffer for reuse by subsequent calls
+		releasePackBuffer(buff);
+	}
+
 	private static void matrixMultDenseSparse(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, boolean pm2, int rl, int ru) 
 		throws DMLRuntimeException 
 	{	
@@ -1462,6 +1561,88 @@ public class LibMatrixMult
 		}
 	}
 
+	/**
+	 * Sparse-sparse matrix multiplication with sparse output (SpGEMM), which is
+	 * used if the estimated output is sparse as well. We use a row-wise Gustavson 
+	 * scheme with a thread-local sparse accumulator (dense values, flags, and list 
+	 * of touched columns) in order to compute each output row independently, and 
+	 * append the sorted row with exact capacity. Since the tasks write disjoint 
+	 * output rows, this kernel is thread-safe for MCSR outputs.
+	 * 
+	 * @param m1 first matrix
+	 * @param m2 second matrix
+	 * @param ret result matrix
+	 * @param rl row lower bound
+	 * @param ru row upper bound
+	 * @return number of non-zeros in output rows [rl, ru)
+	 */
+	private static long matrixMultSparseSparseSparseOut(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, int rl, int ru) 
+	{
+		SparseBlock a = m1.sparseBlock;
+		SparseBlock b = m2.sparseBlock;
+		SparseBlock c = ret.sparseBlock;
+		int n = m2.clen;
+		
+		//thread-local sparse accumulator
+		double[] tmp = new double[n];
+		boolean[] flags = new boolean[n];
+		int[] cix = new int[n];
+		long lnnz = 0;
+		
+		for( int i=rl; i<Math.min(ru, a.numRows()); i++ ) {
+			if( a.isEmpty(i) ) 
+				continue;
+			int apos = a.pos(i);
+			int alen = a.size(i);
+			int[] aix = a.indexes(i);
+			double[] avals = a.values(i);
+			
+			//scatter scaled rows of B into accumulator
+			int cnt = 0;
+			for( int k=apos; k<apos+alen; k++ ) {
+				if( b.isEmpty(aix[k]) )
+					continue;
+				double val = avals[k];
+				int bpos = b.pos(aix[k]);
+				int blen = b.size(aix[k]);
+				int[] bix = b.indexes(aix[k]);
+				double[] bvals = b.values(aix[k]);
+				for( int j=bpos; j<bpos+blen; j++ ) {
+					int bj = bix[j];
+					if( !flags[bj] ) {
+						flags[bj] = true;
+						cix[cnt++] = bj;
+					}
+					tmp[bj] += val * bvals[j];
+				}
+			}
+			if( cnt == 0 )
+				continue;
+			
+			//sort touched columns (scan of flags for rather dense rows)
+			if( cnt > n/16 ) {
+				for( int j=0, pos=0; j<n; j++ )
+					if( flags[j] ) cix[pos++] = j;
+			}
+			else
+				Arrays.sort(cix, 0, cnt);
+			
+			//gather output row and reset accumulator
+			c.allocate(i, cnt);
+			for( int j=0; j<cnt; j++ ) {
+				int cj = cix[j];
+				if( tmp[cj] != 0 ) {
+					c.append(i, cj, tmp[cj]);
+					lnnz++;
+				}
+				tmp[cj] = 0;
+				flags[cj] = false;
+			}
+		}
+		
+		return lnnz;
+	}
+
 	/**
 	 * This implementation applies to any combination of dense/sparse if at least one
 	 * input is ultrasparse (sparse and very few nnz). In that case, most importantly,
@@ -3450,6 +3631,17 @@ public class LibMatrixMult
 				&& 8*m2.rlen*m2.clen < 256*1024 ); //rhs fits in L2 cache
 	}
 
+	private static boolean checkSparseOutputMatrixMult( MatrixBlock m1, MatrixBlock m2 ) {
+		//sparse output if sparse-sparse (not vector-matrix) and estimated output sparse,
+		//where we use the average-case estimate because all inputs are known
+		if( !m1.sparse || !m2.sparse || m1.rlen == 1 || m1.isUltraSparse() || m2.isUltraSparse() )
+			return false;
+		double sp1 = OptimizerUtils.getSparsity(m1.rlen, m1.clen, m1.nonZeros);
+		double sp2 = OptimizerUtils.getSparsity(m2.rlen, m2.clen, m2.nonZeros);
+		double sp = OptimizerUtils.getMatMultSparsity(sp1, sp2, m1.rlen, m1.clen, m2.clen, false);
+		return MatrixBlock.evalSparseFormatInMemory(m1.rlen, m2.clen, (long)(sp * m1.rlen * m2.clen));
+	}
+
 	private static boolean checkParMatrixMultRightInputRows( MatrixBlock m1, MatrixBlock m2, int k ) {
 		//parallelize over rows in rhs matrix if number of rows in lhs/output is very small
 		return (m1.rlen==1 && LOW_LEVEL_OPTIMIZATION && m2.clen>1 && !(m1.isUltraSparse()||m2.isUltraSparse()))
@@ -3480,6 +3672,91 @@ public class LibMatrixMult
 		return ret;
 	}
 
+	private static boolean checkPackedMatrixMultDenseDense( MatrixBlock m1, int rl, int ru, int cl, int cu ) {
+		//use packed kernel if lhs is dense (no zeros to skip) and the block
+		//is large enough to amortize the packing of a and b panels
+		return (m1.nonZeros >= PACK_MIN_SPARSITY * m1.rlen * m1.clen
+			&& ru-rl >= 4*PACK_MR && cu-cl >= 4*PACK_NR
+			&& (long)(ru-rl) * m1.clen * (cu-cl) >= PACK_MIN_FMA);
+	}
+	
+	private static void packPanelLhs( double[] a, double[] ap, int apos, final int cd, int bi, int bilen, int bk, int bklen )
+	{
+		//copy a[bi:bi+bilen, bk:bk+bklen] into micro panels of MR rows, each 
+		//stored column-major (i.e., MR values per k), zero-padding the last panel
+		for( int i = 0, pix = apos; i < bilen; i+=PACK_MR ) {
+			int mr = Math.min(PACK_MR, bilen-i);
+			int aixi = (bi+i)*cd + bk;
+			for( int k = 0; k < bklen; k++, pix+=PACK_MR ) {
+				for( int i2 = 0, aix = aixi+k; i2 < mr; i2++, aix+=cd )
+					ap[pix+i2] = a[aix];
+				for( int i2 = mr; i2 < PACK_MR; i2++ )
+					ap[pix+i2] = 0;
+			}
+		}
+	}
+	
+	private static boolean packPanelRhs( double[] b, double[] bp, int bpos, final int n, int bk, int bklen, int bj, int bjlen )
+	{
+		//copy b[bk:bk+bklen, bj:bj+bjlen] into micro panels of NR columns, each
+		//stored row-major (i.e., NR values per k), zero-padding the last panel
+		//(returns false if the panel contains NaN or infinite values)
+		double chk = 0;
+		for( int j = 0, pix = bpos; j < bjlen; j+=PACK_NR ) {
+			int nr = Math.min(PACK_NR, bjlen-j);
+			for( int k = 0, bix = bk*n+bj+j; k < bklen; k++, bix+=n, pix+=PACK_NR ) {
+				for( int j2 = 0; j2 < nr; j2++ ) {
+					bp[pix+j2] = b[bix+j2];
+					chk += 0 * b[bix+j2]; //NaN for NaN/Inf
+				}
+				for( int j2 = nr; j2 < PACK_NR; j2++ )
+					bp[pix+j2] = 0;
+			}
+		}
+		return !Double.isNaN(chk);
+	}
+	
+	private static void gemmMicroKernel4x4( double[] ap, double[] bp, double[] c, int aix, int bix, int cix, final int n, final int len )
+	{
+		//4x4 register block of c (kept in registers over the entire common dimension)
+		double c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+		double c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+		double c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+		double c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+		
+		//rank-1 updates with sequential scan over packed micro panels of a and b
+		for( int k = 0; k < len; k++, aix+=4, bix+=4 ) {
+			final double a0 = ap[aix], a1 = ap[aix+1], a2 = ap[aix+2], a3 = ap[aix+3];
+			final double b0 = bp[bix], b1 = bp[bix+1], b2 = bp[bix+2], b3 = bp[bix+3];
+			c00 += a0 * b0; c01 += a0 * b1; c02 += a0 * b2; c03 += a0 * b3;
+			c10 += a1 * b0; c11 += a1 * b1; c12 += a1 * b2; c13 += a1 * b3;
+			c20 += a2 * b0; c21 += a2 * b1; c22 += a2 * b2; c23 += a2 * b3;
+			c30 += a3 * b0; c31 += a3 * b1; c32 += a3 * b2; c33 += a3 * b3;
+		}
+		
+		//write back register block into c (aggregate over common dim blocks)
+		c[cix] += c00; c[cix+1] += c01; c[cix+2] += c02; c[cix+3] += c03; cix += n;
+		c[cix] += c10; c[cix+1] += c11; c[cix+2] += c12; c[cix+3] += c13; cix += n;
+		c[cix] += c20; c[cix+1] += c21; c[cix+2] += c22; c[cix+3] += c23; cix += n;
+		c[cix] += c30; c[cix+1] += c31; c[cix+2] += c32; c[cix+3] += c33;
+	}
+	
+	private static double[] allocPackBuffer( int len ) {
+		//reuse buffers across calls and threads (soft references allow gc under memory pressure)
+		SoftReference<double[]> ref = null;
+		while( (ref = PACK_BUFFERS.poll()) != null ) {
+			double[] tmp = ref.get();
+			if( tmp != null && tmp.length >= len )
+				return tmp;
+		}
+		return new double[len];
+	}
+	
+	private static void releasePackBuffer( double[] buff ) {
+		//keep at most one buffer per core (dropped if the pool is full)
+		PACK_BUFFERS.offer(new SoftReference<double[]>(buff));
+	}
+
 	private static int copyNonZeroElements( double[] a, final int aixi, final int bk, final int bj, final int n, double[] tmpa, int[] tmpbi, final int bklen )
 	{
 		int knnz = 0;
@@ -3603,6 +3880,8 @@ public class LibMatrixMult
 				matrixMultUltraSparse(_m1, _m2, _ret, rl, ru);
 			else if(!_m1.sparse && !_m2.sparse)
 				matrixMultDenseDense(_m1, _m2, _ret, _tm2, _pm2r, rl, ru, cl, cu);
+			else if(_m1.sparse && _m2.sparse && _ret.sparse)
+				return matrixMultSparseSparseSparseOut(_m1, _m2, _ret, rl, ru);
 			else if(_m1.sparse && _m2.sparse)
 				matrixMultSparseSparse(_m1, _m2, _ret, _pm2r, rl, ru);
 			else if(_m1.sparse)
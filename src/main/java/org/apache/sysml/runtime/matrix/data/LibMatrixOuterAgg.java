@@ -19,7 +19,13 @@
 
 package org.apache.sysml.runtime.matrix.data;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.functionobjects.Builtin;
@@ -49,6 +55,8 @@ import org.apache.sysml.runtime.util.SortUtils;
  */
 public class LibMatrixOuterAgg 
 {
+	//internal configuration parameters
+	private static final long PAR_NUMCELL_THRESHOLD = 16*1024; //Min 16K vector elements
 
 	private LibMatrixOuterAgg() {
 		//prevent instantiation via private constructor
@@ -363,6 +371,149 @@ public class LibMatrixOuterAgg
 		}
 	}
 	
+	/**
+	 * Multi-threaded unary aggregate outer chain. The vector input (column vector for
+	 * rowSums, sum, rowIndexMax and rowIndexMin, row vector for colSums) is partitioned
+	 * into disjoint ranges that are processed independently against the prepared vector bv.
+	 * Row and column aggregates write disjoint output cells, while full aggregates are
+	 * computed as partial counts per task and summed up at the end.
+	 * 
+	 * @param in1Val input matrix block (vector)
+	 * @param outVal output matrix block
+	 * @param bv sorted vector of the cached input
+	 * @param bvi row indices for rowIndexMax and rowIndexMin, otherwise null
+	 * @param bOp binary operator
+	 * @param uaggOp aggregate unary operator
+	 * @param k number of threads
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static void aggregateMatrix(MatrixBlock in1Val, MatrixBlock outVal, double[] bv, int[] bvi, BinaryOperator bOp, AggregateUnaryOperator uaggOp, int k) 
+			throws DMLRuntimeException
+	{
+		//fall back to sequential version if necessary
+		if( k <= 1 || (long)in1Val.getNumRows()*in1Val.getNumColumns() < PAR_NUMCELL_THRESHOLD ) {
+			aggregateMatrix(in1Val, outVal, bv, bvi, bOp, uaggOp);
+			return;
+		}
+		
+		//prepare inputs and output (disjoint writes into dense output)
+		double[] a = DataConverter.convertToDoubleVector(in1Val);
+		outVal.allocateDenseBlock();
+		double[] c = outVal.getDenseBlock();
+		boolean fullAgg = (uaggOp.indexFn instanceof ReduceAll 
+			&& !isRowIndexMax(uaggOp) && !isRowIndexMin(uaggOp));
+		int stride = (uaggOp.indexFn instanceof ReduceRow) ? 1 : outVal.getNumColumns();
+		
+		//compute unary aggregate outer chain over vector partitions
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ArrayList<AggregateTask> tasks = new ArrayList<AggregateTask>();
+			int blklen = (int)(Math.ceil((double)a.length/k));
+			for( int i=0; i<k & i*blklen<a.length; i++ )
+				tasks.add(new AggregateTask(a, c, stride, fullAgg, bv, bvi, bOp, uaggOp, 
+					i*blklen, Math.min((i+1)*blklen, a.length)));
+			List<Future<Long>> taskret = pool.invokeAll(tasks);
+			pool.shutdown();
+			long cnt = 0;
+			for( Future<Long> task : taskret )
+				cnt += task.get();
+			if( fullAgg )
+				c[0] = cnt;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		//post-processing
+		outVal.recomputeNonZeros();
+	}
+	
+	/**
+	 * Computes the unary aggregate outer chain for a range [rl,ru) of the vector input,
+	 * and either writes the results to the output or returns the sum for full aggregates.
+	 * 
+	 * @param a dense vector input
+	 * @param c dense output
+	 * @param stride output offset between consecutive results
+	 * @param fullAgg true if full aggregate (sum)
+	 * @param bv sorted vector of the cached input
+	 * @param bvi row indices for rowIndexMax and rowIndexMin, otherwise null
+	 * @param bOp binary operator
+	 * @param uaggOp aggregate unary operator
+	 * @param rl row lower index
+	 * @param ru row upper index
+	 * @return sum of aggregates if full aggregate, otherwise 0
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static long aggregateVector(double[] a, double[] c, int stride, boolean fullAgg, 
+			double[] bv, int[] bvi, BinaryOperator bOp, AggregateUnaryOperator uaggOp, int rl, int ru) 
+			throws DMLRuntimeException
+	{
+		int agg0 = aggregateValue(0.0, bv, bvi, bOp, uaggOp);
+		long cnt = 0;
+		
+		for( int i=rl; i<ru; i++ ) {
+			int val = (a[i] == 0) ? agg0 : aggregateValue(a[i], bv, bvi, bOp, uaggOp);
+			if( fullAgg )
+				cnt += val;
+			else
+				c[i*stride] = val;
+		}
+		
+		return cnt;
+	}
+	
+	/**
+	 * Computes the unary aggregate outer chain of a single value against bv,
+	 * i.e., the count for sums or the index for rowIndexMax and rowIndexMin.
+	 * 
+	 * @param value input value
+	 * @param bv sorted vector of the cached input
+	 * @param bvi row indices for rowIndexMax and rowIndexMin, otherwise null
+	 * @param bOp binary operator
+	 * @param uaggOp aggregate unary operator
+	 * @return aggregated value
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static int aggregateValue(double value, double[] bv, int[] bvi, BinaryOperator bOp, AggregateUnaryOperator uaggOp) 
+			throws DMLRuntimeException
+	{
+		if( isRowIndexMax(uaggOp) ) {
+			if(bOp.fn instanceof LessThan)               return uarimaxLt(value, bv, bvi, bOp);
+			else if(bOp.fn instanceof LessThanEquals)    return uarimaxLe(value, bv, bvi, bOp);
+			else if(bOp.fn instanceof GreaterThan)       return uarimaxGt(value, bv, bvi, bOp);
+			else if(bOp.fn instanceof GreaterThanEquals) return uarimaxGe(value, bv, bvi, bOp);
+			else if(bOp.fn instanceof Equals)            return uarimaxEq(value, bv, bvi, bOp);
+			else if(bOp.fn instanceof NotEquals)         return uarimaxNe(value, bv, bvi, bOp);
+		}
+		else if( isRowIndexMin(uaggOp) ) {
+			if(bOp.fn instanceof LessThan)               return uariminLt(value, bv, bvi, bOp);
+			else if(bOp.fn instanceof LessThanEquals)    return uariminLe(value, bv, bvi, bOp);
+			else if(bOp.fn instanceof GreaterThan)       return uariminGt(value, bv, bvi, bOp);
+			else if(bOp.fn instanceof GreaterThanEquals) return uariminGe(value, bv, bvi, bOp);
+			else if(bOp.fn instanceof Equals)            return uariminEq(value, bv, bvi, bOp);
+			else if(bOp.fn instanceof NotEquals)         return uariminNe(value, bv, bvi, bOp);
+		}
+		else if( uaggOp.indexFn instanceof ReduceRow ) { //colSums
+			if(bOp.fn instanceof LessThan || bOp.fn instanceof GreaterThanEquals)
+				return sumRowSumGtLeColSumLtGe(value, bv, bOp);
+			else if(bOp.fn instanceof GreaterThan || bOp.fn instanceof LessThanEquals)
+				return sumRowSumLtGeColSumGtLe(value, bv, bOp);
+			else if(bOp.fn instanceof Equals || bOp.fn instanceof NotEquals)
+				return sumEqNe(value, bv, bOp);
+		}
+		else { //rowSums, sum
+			if(bOp.fn instanceof LessThan || bOp.fn instanceof GreaterThanEquals)
+				return sumRowSumLtGeColSumGtLe(value, bv, bOp);
+			else if(bOp.fn instanceof GreaterThan || bOp.fn instanceof LessThanEquals)
+				return sumRowSumGtLeColSumLtGe(value, bv, bOp);
+			else if(bOp.fn instanceof Equals || bOp.fn instanceof NotEquals)
+				return sumEqNe(value, bv, bOp);
+		}
+		
+		throw new DMLRuntimeException("Unsupported operator for unary aggregate outer chain.");
+	}
+	
 	/**
 	 * UAgg rowSums for LessThan and GreaterThanEqual operator
 	 * 
@@ -1576,4 +1727,36 @@ public class LibMatrixOuterAgg
     	}
 	}
 
-}
\ No newline at end of file
+	private static class AggregateTask implements Callable<Long> 
+	{
+		private final double[] _a;
+		private final double[] _c;
+		private final int _stride;
+		private final boolean _fullAgg;
+		private final double[] _bv;
+		private final int[] _bvi;
+		private final BinaryOperator _bOp;
+		private final AggregateUnaryOperator _uaggOp;
+		private final int _rl;
+		private final int _ru;
+
+		protected AggregateTask( double[] a, double[] c, int stride, boolean fullAgg, double[] bv, int[] bvi, 
+				BinaryOperator bOp, AggregateUnaryOperator uaggOp, int rl, int ru ) {
+			_a = a;
+			_c = c;
+			_stride = stride;
+			_fullAgg = fullAgg;
+			_bv = bv;
+			_bvi = bvi;
+			_bOp = bOp;
+			_uaggOp = uaggOp;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() throws DMLRuntimeException {
+			return aggregateVector(_a, _c, _stride, _fullAgg, _bv, _bvi, _bOp, _uaggOp, _rl, _ru);
+		}
+	}
+}
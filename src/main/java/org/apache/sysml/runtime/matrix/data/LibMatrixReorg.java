@@ -35,6 +35,7 @@ import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
+import org.apache.sysml.runtime.functionobjects.CTable;
 import org.apache.sysml.runtime.functionobjects.DiagIndex;
 import org.apache.sysml.runtime.functionobjects.RevIndex;
 import org.apache.sysml.runtime.functionobjects.SortIndex;
@@ -57,6 +58,7 @@ import org.apache.sysml.runtime.util.UtilFunctions;
  *  - rsort (sorting data/indexes)
  *  - rmempty (remove empty)
  *  - rexpand (outer/table-seq expansion)
+ *  - ctable (hash group-by, multi-threaded)
  */
 public class LibMatrixReorg 
 {
@@ -100,7 +102,7 @@ public class LibMatrixReorg
 				else
 					return transpose(in, out);
 			case REV: 
-				return rev(in, out);
+				return rev(in, out, op.getNumThreads());
 			case DIAG:      
 				return diag(in, out); 
 			case SORT:      
@@ -159,45 +161,37 @@ public class LibMatrixReorg
 		throws DMLRuntimeException
 	{
 		//redirect small or special cases to sequential execution
-		if( in.isEmptyBlock(false) || (in.rlen * in.clen < PAR_NUMCELL_THRESHOLD) || k == 1
+		if( in.isEmptyBlock(false) || ((long)in.rlen * in.clen < PAR_NUMCELL_THRESHOLD) || k == 1
 			|| (SHALLOW_DENSE_VECTOR_TRANSPOSE && !in.sparse && !out.sparse && (in.rlen==1 || in.clen==1) )
 			|| (in.sparse && !out.sparse && in.rlen==1) || (!in.sparse && out.sparse && in.rlen==1) 
-			|| (!in.sparse && out.sparse) || !out.isThreadSafe())
+			|| (out.sparse && in.nonZeros >= Integer.MAX_VALUE) )
 		{
 			return transpose(in, out);
 		}
 		
 		//Timing time = new Timing(true);
 		
+		//sparse outputs: direct construction of CSR w/o per-row allocations
+		if( out.sparse ) {
+			transposeToCSR(in, out, k);
+			return out;
+		}
+		
 		//set meta data and allocate output arrays (if required)
 		out.nonZeros = in.nonZeros;
-		if( out.sparse )
-			out.allocateSparseRowsBlock(false);
-		else
-			out.allocateDenseBlock(false);
+		out.allocateDenseBlock(false);
 		
 		//core multi-threaded transpose
 		try {
 			ExecutorService pool = Executors.newFixedThreadPool( k );
-			//pre-processing (compute nnz per column once for sparse)
-			int[] cnt = null;
-			if( in.sparse && out.sparse ) {
-				ArrayList<CountNnzTask> tasks = new ArrayList<CountNnzTask>();
-				int blklen = (int)(Math.ceil((double)in.rlen/k));
-				for( int i=0; i<k & i*blklen<in.rlen; i++ )
-					tasks.add(new CountNnzTask(in, i*blklen, Math.min((i+1)*blklen, in.rlen)));
-				List<Future<int[]>> rtasks = pool.invokeAll(tasks);
-				for( Future<int[]> rtask : rtasks )
-					cnt = mergeNnzCounts(cnt, rtask.get());
-			} 
 			//compute actual transpose and check for errors
 			ArrayList<TransposeTask> tasks = new ArrayList<TransposeTask>();
-			boolean row = (in.sparse || in.rlen >= in.clen) && !out.sparse;
+			boolean row = (in.sparse || in.rlen >= in.clen);
 			int len = row ? in.rlen : in.clen;
 			int blklen = (int)(Math.ceil((double)len/k));
 			blklen += (blklen%8 != 0)?8-blklen%8:0;
 			for( int i=0; i<k & i*blklen<len; i++ )
-				tasks.add(new TransposeTask(in, out, row, i*blklen, Math.min((i+1)*blklen, len), cnt));
+				tasks.add(new TransposeTask(in, out, row, i*blklen, Math.min((i+1)*blklen, len), null));
 			List<Future<Object>> taskret = pool.invokeAll(tasks);	
 			pool.shutdown();
 			for( Future<Object> task : taskret )
@@ -214,6 +208,12 @@ public class LibMatrixReorg
 
 	public static MatrixBlock rev( MatrixBlock in, MatrixBlock out ) 
 		throws DMLRuntimeException
+	{
+		return rev(in, out, 1);
+	}
+
+	public static MatrixBlock rev( MatrixBlock in, MatrixBlock out, int k ) 
+		throws DMLRuntimeException
 	{
 		//Timing time = new Timing(true);
 	
@@ -227,10 +227,38 @@ public class LibMatrixReorg
 			return out;
 		}
 		
-		if( in.sparse )
-			reverseSparse( in, out );
+		//set basic meta data and allocate output
+		out.sparse = in.sparse;
+		out.nonZeros = in.nonZeros;
+		if( out.sparse )
+			out.allocateSparseRowsBlock(false);
 		else
-			reverseDense( in, out );
+			out.allocateDenseBlock(false);
+		
+		//redirect small or special cases to sequential execution
+		if( k <= 1 || (long)in.rlen * in.clen < PAR_NUMCELL_THRESHOLD || !out.isThreadSafe() ) {
+			if( in.sparse )
+				reverseSparse( in, out, 0, in.rlen );
+			else
+				reverseDense( in, out, 0, in.rlen );
+		}
+		else {
+			//multi-threaded reverse over disjoint row ranges
+			try {
+				ExecutorService pool = Executors.newFixedThreadPool( k );
+				ArrayList<RevTask> tasks = new ArrayList<RevTask>();
+				int blklen = (int)(Math.ceil((double)in.rlen/k));
+				for( int i=0; i<k & i*blklen<in.rlen; i++ )
+					tasks.add(new RevTask(in, out, i*blklen, Math.min((i+1)*blklen, in.rlen)));
+				List<Future<Object>> taskret = pool.invokeAll(tasks);
+				pool.shutdown();
+				for( Future<Object> task : taskret )
+					task.get();
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
+		}
 		
 		//System.out.println("rev ("+in.rlen+", "+in.clen+", "+in.sparse+") in "+time.stop()+" ms.");
 
@@ -427,6 +455,25 @@ public class LibMatrixReorg
 	 */
 	public static MatrixBlock reshape( MatrixBlock in, MatrixBlock out, int rows, int cols, boolean rowwise ) 
 		throws DMLRuntimeException
+	{
+		return reshape(in, out, rows, cols, rowwise, 1);
+	}
+
+	/**
+	 * CP reshape operation (single input, single output matrix) with
+	 * multi-threading over disjoint ranges of output rows.
+	 * 
+	 * @param in input matrix
+	 * @param out output matrix
+	 * @param rows number of rows
+	 * @param cols number of columns
+	 * @param rowwise if true, reshape by row
+	 * @param k degree of parallelism
+	 * @return output matrix
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock reshape( MatrixBlock in, MatrixBlock out, int rows, int cols, boolean rowwise, int k ) 
+		throws DMLRuntimeException
 	{
 		int rlen = in.rlen;
 		int clen = in.clen;
@@ -449,6 +496,15 @@ public class LibMatrixReorg
 		out.clen = cols;
 		out.nonZeros = in.nonZeros;
 		
+		//redirect small or special cases to sequential execution
+		if( k > 1 && !in.isEmptyBlock(false) && (long)rlen*clen >= PAR_NUMCELL_THRESHOLD && rows > 1
+			&& !(SHALLOW_DENSE_ROWWISE_RESHAPE && rowwise && !in.sparse && !out.sparse) 
+			&& MatrixBlock.isThreadSafe(out.sparse) )
+		{
+			reshapeParallel(in, out, rows, cols, rowwise, k);
+			return out;
+		}
+		
 		//core reshape (sparse or dense)	
 		if(!in.sparse && !out.sparse)
 			reshapeDense(in, out, rows, cols, rowwise);		
@@ -463,6 +519,44 @@ public class LibMatrixReorg
 	}
 
 
+	private static void reshapeParallel( MatrixBlock in, MatrixBlock out, int rows, int cols, boolean rowwise, int k ) 
+		throws DMLRuntimeException
+	{
+		//sparse column-wise reshape via row-wise reshape of transposed input, 
+		//i.e., matrix(X, byrow=FALSE) = t(matrix(t(X), rows=cols, cols=rows)),
+		//because column-wise reshape does not map row ranges to row ranges
+		if( in.sparse && !rowwise ) {
+			MatrixBlock tmp1 = new MatrixBlock(in.clen, in.rlen, 
+				MatrixBlock.evalSparseFormatInMemory(in.clen, in.rlen, in.nonZeros));
+			tmp1 = transpose(in, tmp1, k);
+			MatrixBlock tmp2 = reshape(tmp1, new MatrixBlock(), cols, rows, true, k);
+			transpose(tmp2, out, k);
+			return;
+		}
+		
+		//allocate block if necessary
+		if( out.sparse )
+			out.allocateSparseRowsBlock(false);
+		else
+			out.allocateDenseBlock(false);
+		
+		//multi-threaded reshape over disjoint ranges of output rows
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ArrayList<ReshapeTask> tasks = new ArrayList<ReshapeTask>();
+			int blklen = (int)(Math.ceil((double)rows/k));
+			for( int i=0; i<k & i*blklen<rows; i++ )
+				tasks.add(new ReshapeTask(in, out, rows, cols, rowwise, i*blklen, Math.min((i+1)*blklen, rows)));
+			List<Future<Object>> taskret = pool.invokeAll(tasks);
+			pool.shutdown();
+			for( Future<Object> task : taskret )
+				task.get();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
 	/**
 	 * MR reshape interface - for reshape we cannot view blocks independently, and hence,
 	 * there are different CP and MR interfaces.
@@ -521,6 +615,26 @@ public class LibMatrixReorg
 	 */
 	public static MatrixBlock rmempty(MatrixBlock in, MatrixBlock ret, boolean rows, MatrixBlock select) 
 		throws DMLRuntimeException
+	{
+		return rmempty(in, ret, rows, select, 1);
+	}
+
+	/**
+	 * CP rmempty operation (single input, single output matrix), multi-threaded
+	 * over row partitions. Both passes (determining the non-empty rows/columns
+	 * and copying the selected rows/columns) run in parallel, where the output
+	 * offsets of row partitions are obtained via prefix sums over their counts.
+	 * 
+	 * @param in input matrix
+	 * @param ret output matrix
+	 * @param rows if true, remove empty rows; otherwise empty columns
+	 * @param select optional selection vector (or null)
+	 * @param k degree of parallelism
+	 * @return matrix block
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock rmempty(MatrixBlock in, MatrixBlock ret, boolean rows, MatrixBlock select, int k) 
+		throws DMLRuntimeException
 	{
 		//check for empty inputs 
 		//(the semantics of removeEmpty are that for an empty m-by-n matrix, the output 
@@ -533,10 +647,13 @@ public class LibMatrixReorg
 			return ret;
 		}
 		
+		//redirect small inputs to sequential execution
+		int lk = ((long)in.rlen * in.clen < PAR_NUMCELL_THRESHOLD || in.rlen == 1) ? 1 : Math.max(k, 1);
+		
 		if( rows )
-			return removeEmptyRows(in, ret, select);
+			return removeEmptyRows(in, ret, select, lk);
 		else //cols
-			return removeEmptyColumns(in, ret, select);
+			return removeEmptyColumns(in, ret, select, lk);
 	}
 
 	/**
@@ -647,6 +764,26 @@ public class LibMatrixReorg
 	 */
 	public static MatrixBlock rexpand(MatrixBlock in, MatrixBlock ret, double max, boolean rows, boolean cast, boolean ignore) 
 		throws DMLRuntimeException
+	{
+		return rexpand(in, ret, max, rows, cast, ignore, 1);
+	}
+
+	/**
+	 * CP rexpand operation (single input, single output), multi-threaded
+	 * over row partitions of the input vector. 
+	 * 
+	 * @param in input matrix
+	 * @param ret output matrix
+	 * @param max maximum value (number of output rows or columns)
+	 * @param rows if true, expand to rows; otherwise to columns
+	 * @param cast if true, cast input values to long 
+	 * @param ignore if true, ignore invalid input values
+	 * @param k degree of parallelism
+	 * @return output matrix
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock rexpand(MatrixBlock in, MatrixBlock ret, double max, boolean rows, boolean cast, boolean ignore, int k) 
+		throws DMLRuntimeException
 	{
 		//prepare parameters
 		int lmax = (int)UtilFunctions.toLong(max);
@@ -665,11 +802,67 @@ public class LibMatrixReorg
 			return ret;
 		}
 		
+		//redirect small inputs to sequential execution
+		int lk = (in.rlen < PAR_NUMCELL_THRESHOLD/64) ? 1 : Math.max(k, 1);
+		
 		//execute rexpand operations
-		if( rows )
-			return rexpandRows(in, ret, lmax, cast, ignore);
+		if( rows ) {
+			if( lk == 1 )
+				return rexpandRows(in, ret, lmax, cast, ignore);
+			//row expansion via multi-threaded column expansion and transpose, 
+			//which avoids the sort-based append of the sequential rexpandRows
+			MatrixBlock tmp = rexpandColumns(in, new MatrixBlock(), lmax, cast, ignore, lk);
+			ret.reset(lmax, in.rlen, tmp.sparse);
+			return transpose(tmp, ret, lk);
+		}
 		else //cols
-			return rexpandColumns(in, ret, lmax, cast, ignore);
+			return rexpandColumns(in, ret, lmax, cast, ignore, lk);
+	}
+
+	/**
+	 * CP ctable operation via hash group-by (for unknown or sparse output dimensions),
+	 * multi-threaded over row partitions with thread-local ctable maps, which are
+	 * merged into the given result map. Unspecified matrix inputs (i.e., null) are 
+	 * replaced by the given scalar values.
+	 * 
+	 * @param in1 first input matrix (row indexes)
+	 * @param in2 second input matrix (column indexes), or null
+	 * @param cst2 second input scalar, if in2 is null
+	 * @param in3 weights matrix, or null
+	 * @param cst3 weights scalar, if in3 is null
+	 * @param ignoreZeros if true, ignore (0,0) pairs of row and column indexes
+	 * @param resultMap output ctable map
+	 * @param k degree of parallelism
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static void ctable(MatrixBlock in1, MatrixBlock in2, double cst2, MatrixBlock in3, double cst3, 
+			boolean ignoreZeros, CTableMap resultMap, int k) 
+		throws DMLRuntimeException
+	{
+		//redirect small inputs to sequential execution
+		final int m = in1.rlen;
+		if( k <= 1 || (long)in1.rlen * in1.clen < PAR_NUMCELL_THRESHOLD || m == 1 ) {
+			ctable(in1, in2, cst2, in3, cst3, ignoreZeros, resultMap, null, 0, m);
+			return;
+		}
+		
+		//core multi-threaded ctable with thread-local maps
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ArrayList<CTableTask> tasks = new ArrayList<CTableTask>();
+			int blklen = (int)(Math.ceil((double)m/k));
+			for( int i=0; i<k & i*blklen<m; i++ )
+				tasks.add(new CTableTask(in1, in2, cst2, in3, cst3, ignoreZeros, 
+					i*blklen, Math.min((i+1)*blklen, m)));
+			List<Future<CTableMap>> rtasks = pool.invokeAll(tasks);
+			pool.shutdown();
+			//merge thread-local maps in order of row partitions
+			for( Future<CTableMap> rtask : rtasks )
+				resultMap.aggregate(rtask.get());
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
 	}
 
 	/**
@@ -964,18 +1157,129 @@ public class LibMatrixReorg
 	private static int[] countNnzPerColumn(MatrixBlock in, int rl, int ru) {
 		//initial pass to determine capacity (this helps to prevent
 		//sparse row reallocations and mem inefficiency w/ skew
-		int[] cnt = null;
-		if( in.sparse && in.clen <= 4096 ) { //16KB
+		return ( in.sparse && in.clen <= 4096 ) ? //16KB
+			computeNnzPerColumn(in, rl, ru) : null;
+	}
+
+	private static int[] computeNnzPerColumn(MatrixBlock in, int rl, int ru) {
+		final int n = in.clen;
+		int[] cnt = new int[n];
+		if( in.sparse ) {
 			SparseBlock a = in.sparseBlock;
-			cnt = new int[in.clen];
 			for( int i=rl; i<ru; i++ ) {
 				if( !a.isEmpty(i) )
 					countAgg(cnt, a.indexes(i), a.pos(i), a.size(i));
 			}
 		}
+		else {
+			double[] a = in.denseBlock;
+			for( int i=rl, aix=rl*n; i<ru; i++, aix+=n )
+				for( int j=0; j<n; j++ )
+					cnt[j] += (a[aix+j] != 0) ? 1 : 0;
+		}
 		return cnt;
 	}
 
+	/**
+	 * Multi-threaded transpose into a sparse output, which directly constructs 
+	 * a CSR block via a counting pass (nnz per output row) over row partitions
+	 * and a fill pass over column partitions of roughly equal number of non-zeros.
+	 * In contrast to MCSR, this avoids per-row allocations and reallocations.
+	 * 
+	 * @param in input matrix
+	 * @param out output matrix
+	 * @param k degree of parallelism
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void transposeToCSR(MatrixBlock in, MatrixBlock out, int k) 
+		throws DMLRuntimeException
+	{
+		final int m = in.rlen;
+		final int n = in.clen;
+		
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			
+			//counting pass: nnz per column (output row)
+			int[] cnt = null;
+			ArrayList<CountNnzTask> tasks = new ArrayList<CountNnzTask>();
+			int blklen = (int)(Math.ceil((double)m/k));
+			for( int i=0; i<k & i*blklen<m; i++ )
+				tasks.add(new CountNnzTask(in, i*blklen, Math.min((i+1)*blklen, m)));
+			for( Future<int[]> rtask : pool.invokeAll(tasks) )
+				cnt = mergeNnzCounts(cnt, rtask.get());
+			
+			//compute row pointers and allocate output arrays
+			int[] ptr = new int[n+1];
+			for( int j=0; j<n; j++ )
+				ptr[j+1] = ptr[j] + cnt[j];
+			int nnz = ptr[n];
+			int[] cix = new int[nnz];
+			double[] vals = new double[nnz];
+			
+			//fill pass: column partitions w/ balanced nnz (sorted output rows
+			//because each task scans the input rows in order)
+			ArrayList<TransposeCSRTask> tasks2 = new ArrayList<TransposeCSRTask>();
+			for( int cl=0, cu=0; cl<n; cl=cu ) {
+				long target = (long)nnz * (tasks2.size()+1) / k;
+				cu = cl + 1;
+				while( cu<n && ptr[cu]<target )
+					cu++;
+				tasks2.add(new TransposeCSRTask(in, ptr, cix, vals, cl, cu));
+			}
+			List<Future<Object>> taskret = pool.invokeAll(tasks2);
+			pool.shutdown();
+			for( Future<Object> task : taskret )
+				task.get();
+			
+			//set output sparse block and meta data
+			out.sparseBlock = new SparseBlockCSR(ptr, cix, vals, nnz);
+			out.nonZeros = nnz;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	private static void transposeToCSR(MatrixBlock in, int[] ptr, int[] cix, double[] vals, int cl, int cu) 
+	{
+		final int m = in.rlen;
+		final int n = in.clen;
+		
+		//current write positions per output row
+		int[] pos = Arrays.copyOfRange(ptr, cl, cu);
+		
+		if( in.sparse ) {
+			SparseBlock a = in.sparseBlock;
+			for( int i=0; i<m; i++ ) {
+				if( a.isEmpty(i) ) continue;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				int j = (cl==0) ? apos : a.posFIndexGTE(i, cl);
+				if( j < 0 ) continue;
+				for( ; j<apos+alen && aix[j]<cu; j++ ) {
+					int cpos = pos[aix[j]-cl]++;
+					cix[cpos] = i;
+					vals[cpos] = avals[j];
+				}
+			}
+		}
+		else {
+			double[] a = in.denseBlock;
+			for( int i=0, aix=0; i<m; i++, aix+=n )
+				for( int j=cl; j<cu; j++ ) {
+					double val = a[aix+j];
+					if( val != 0 ) {
+						int cpos = pos[j-cl]++;
+						cix[cpos] = i;
+						vals[cpos] = val;
+					}
+				}
+		}
+	}
+
 	private static int[] mergeNnzCounts(int[] cnt, int[] cnt2) {
 		if( cnt == null )
 			return cnt2;
@@ -984,48 +1288,35 @@ public class LibMatrixReorg
 		return cnt;
 	}
 
-	private static void reverseDense(MatrixBlock in, MatrixBlock out) 
-		throws DMLRuntimeException
+	private static void reverseDense(MatrixBlock in, MatrixBlock out, int rl, int ru) 
 	{
 		final int m = in.rlen;
 		final int n = in.clen;
 		final int len = m * n;
 		
-		//set basic meta data and allocate output
-		out.sparse = false;
-		out.nonZeros = in.nonZeros;
-		out.allocateDenseBlock(false);
-		
 		double[] a = in.getDenseBlock();
 		double[] c = out.getDenseBlock();
 		
 		//copy all rows into target positions
 		if( n == 1 ) { //column vector
-			for( int i=0; i<m; i++ )
+			for( int i=rl; i<ru; i++ )
 				c[m-1-i] = a[i];
 		}
 		else { //general matrix case
-			for( int i=0, aix=0; i<m; i++, aix+=n )
+			for( int i=rl, aix=rl*n; i<ru; i++, aix+=n )
 				System.arraycopy(a, aix, c, len-aix-n, n);
 		}
 	}
 
-	private static void reverseSparse(MatrixBlock in, MatrixBlock out) 
-		throws DMLRuntimeException
+	private static void reverseSparse(MatrixBlock in, MatrixBlock out, int rl, int ru) 
 	{
 		final int m = in.rlen;
 		
-		//set basic meta data and allocate output
-		out.sparse = true;
-		out.nonZeros = in.nonZeros;
-		
-		out.allocateSparseRowsBlock(false);
-		
 		SparseBlock a = in.getSparseBlock();
 		SparseBlock c = out.getSparseBlock();
 		
 		//copy all rows into target positions
-		for( int i=0; i<m; i++ ) {
+		for( int i=rl; i<ru; i++ ) {
 			if( !a.isEmpty(i) ) {
 				c.set(m-1-i, a.get(i), true);	
 			}
@@ -1399,6 +1690,85 @@ public class LibMatrixReorg
 		}
 	}
 	
+	/**
+	 * Reshape of a range of output rows, for all combinations of dense and sparse
+	 * inputs and outputs except sparse inputs in column-wise reshape. 
+	 * 
+	 * @param in input matrix
+	 * @param out output matrix
+	 * @param rows number of rows
+	 * @param cols number of columns
+	 * @param rowwise if true, reshape by row
+	 * @param rl row lower bound (output)
+	 * @param ru row upper bound (output)
+	 */
+	private static void reshapeRows( MatrixBlock in, MatrixBlock out, int rows, int cols, boolean rowwise, int rl, int ru )
+	{
+		final int rlen = in.rlen;
+		final int clen = in.clen;
+		final int estnnz = (int) (in.nonZeros/rows);
+		
+		if( rowwise )
+		{
+			//output rows [rl,ru) map to the contiguous range [lo,hi) of row-major
+			//cell indexes, i.e., a range of input rows w/ partial boundary rows
+			//(long indexes because total cells in sparse can be larger than int)
+			long lo = (long)rl * cols;
+			long hi = (long)ru * cols;
+			int ail = (int)(lo / clen);
+			int aiu = (int)((hi-1) / clen);
+			for( int ai=ail; ai<=aiu; ai++ ) {
+				long aix0 = (long)ai * clen;
+				int ajl = (int)Math.max(lo-aix0, 0);
+				int aju = (int)Math.min(hi-aix0, clen);
+				if( in.sparse ) {
+					SparseBlock a = in.sparseBlock;
+					if( a.isEmpty(ai) ) continue;
+					int apos = a.pos(ai);
+					int alen = a.size(ai);
+					int[] aix = a.indexes(ai);
+					double[] avals = a.values(ai);
+					int j = (ajl==0) ? apos : a.posFIndexGTE(ai, ajl);
+					if( j < 0 ) continue;
+					for( ; j<apos+alen && aix[j]<aju; j++ ) {
+						long cix = aix0 + aix[j];
+						appendValue(out, (int)(cix/cols), (int)(cix%cols), avals[j], estnnz);
+					}
+				}
+				else {
+					double[] a = in.denseBlock;
+					for( int aj=ajl; aj<aju; aj++ ) {
+						long cix = aix0 + aj;
+						double val = a[(int)cix];
+						if( val != 0 )
+							appendValue(out, (int)(cix/cols), (int)(cix%cols), val, estnnz);
+					}
+				}
+			}
+		}
+		else //colwise (dense input)
+		{
+			//note: cache-friendly on c but not an a
+			double[] a = in.denseBlock;
+			for( int i=rl; i<ru; i++ )
+				for( int j=0, aix2=i; j<cols; j++, aix2+=rows ) {
+					double val = a[ (aix2%rlen)*clen + aix2/rlen ];
+					if( val != 0 )
+						appendValue(out, i, j, val, estnnz);
+				}
+		}
+	}
+
+	private static void appendValue( MatrixBlock out, int i, int j, double val, int estnnz ) {
+		if( out.sparse ) {
+			SparseBlock c = out.sparseBlock;
+			c.allocate(i, estnnz, out.clen);
+			c.append(i, j, val);
+		}
+		else
+			out.denseBlock[i*out.clen+j] = val;
+	}
+	
 	///////////////////////////////
 	// private MR implementation //
 	///////////////////////////////
@@ -1659,203 +2029,344 @@ public class LibMatrixReorg
 		return ixout;
 	}
 
-	private static MatrixBlock removeEmptyRows(MatrixBlock in, MatrixBlock ret, MatrixBlock select) 
+	private static MatrixBlock removeEmptyRows(MatrixBlock in, MatrixBlock ret, MatrixBlock select, int k) 
 		throws DMLRuntimeException 
 	{	
 		final int m = in.rlen;
 		final int n = in.clen;
-		boolean[] flags = null; 
-		int rlen2 = 0; 
 		
-		if(select == null) 
+		//Step 1: scan block and determine non-empty rows, and the number 
+		//of non-empty rows per row partition (pass 1)
+		boolean[] flags = (select == null) ? new boolean[m] :
+			DataConverter.convertToBooleanVector(select);
+		int blklen = (int)(Math.ceil((double)m/k));
+		int numblks = (int)(Math.ceil((double)m/blklen));
+		int[] off = new int[numblks+1];
+		ExecutorService pool = (k > 1) ? Executors.newFixedThreadPool( k ) : null;
+		try {
+			if( k == 1 ) {
+				off[1] = scanNonEmptyRows(in, flags, select==null, 0, m);
+			}
+			else {
+				ArrayList<RemoveEmptyRowsTask> tasks = new ArrayList<RemoveEmptyRowsTask>();
+				for( int i=0; i<numblks; i++ )
+					tasks.add(new RemoveEmptyRowsTask(in, null, flags, select==null,
+						i*blklen, Math.min((i+1)*blklen, m), -1));
+				List<Future<Integer>> rtasks = pool.invokeAll(tasks);
+				for( int i=0; i<numblks; i++ )
+					off[i+1] = rtasks.get(i).get();
+			}
+			
+			//compute output row offsets per partition (prefix sums)
+			for( int i=0; i<numblks; i++ )
+				off[i+1] += off[i];
+			int rlen2 = off[numblks];
+			
+			//Step 2: reset result and copy rows (pass 2)
+			//dense stays dense if correct input representation (but robust for any input), 
+			//sparse might be dense/sparse
+			rlen2 = Math.max(rlen2, 1); //ensure valid output
+			boolean sp = MatrixBlock.evalSparseFormatInMemory(rlen2, n, in.nonZeros);
+			ret.reset(rlen2, n, sp);
+			if( in.isEmptyBlock(false) )
+				return ret;
+			ret.allocateDenseOrSparseBlock();
+			
+			if( k == 1 || !ret.isThreadSafe() ) {
+				copyNonEmptyRows(in, ret, flags, 0, m, 0);
+			}
+			else {
+				ArrayList<RemoveEmptyRowsTask> tasks = new ArrayList<RemoveEmptyRowsTask>();
+				for( int i=0; i<numblks; i++ )
+					tasks.add(new RemoveEmptyRowsTask(in, ret, flags, false,
+						i*blklen, Math.min((i+1)*blklen, m), off[i]));
+				for( Future<Integer> task : pool.invokeAll(tasks) )
+					task.get();
+			}
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			if( pool != null )
+				pool.shutdown();
+		}
+		
+		//check sparsity
+		if( select == null )
+			ret.nonZeros = in.nonZeros;
+		else
+			ret.recomputeNonZeros();
+		ret.examSparsity();
+
+		return ret;
+	}
+
+	private static int scanNonEmptyRows(MatrixBlock in, boolean[] flags, boolean compute, int rl, int ru) 
+	{
+		final int n = in.clen;
+		int cnt = 0;
+		
+		if( !compute ) //SELECT
 		{
-			flags = new boolean[ m ]; //false
-			//Step 1: scan block and determine non-empty rows
+			for( int i=rl; i<ru; i++ )
+				cnt += flags[i] ? 1 : 0;
+		}
+		else if( in.isEmptyBlock(false) ) 
+		{
+			//no non-empty rows
+		}
+		else if( in.sparse ) //SPARSE 
+		{
+			SparseBlock a = in.sparseBlock;				
+			for ( int i=rl; i < ru; i++ )
+				if ( !a.isEmpty(i) ) {
+					flags[i] = true;
+					cnt++;
+				}
+		}
+		else //DENSE
+		{
+			double[] a = in.denseBlock;
 			
-			if( in.sparse ) //SPARSE 
-			{
-				SparseBlock a = in.sparseBlock;				
-				for ( int i=0; i < m; i++ )
-					if ( !a.isEmpty(i) ) {
+			for(int i=rl, aix=rl*n; i<ru; i++, aix+=n) {
+				for(int j=0; j<n; j++)
+					if( a[aix+j] != 0 )
+					{
 						flags[i] = true;
-						rlen2++;
+						cnt++;
+						//early abort for current row
+						break; 
 					}
 			}
-			else //DENSE
-			{
-				double[] a = in.denseBlock;
-				
-				for(int i=0, aix=0; i<m; i++, aix+=n) {
-					for(int j=0; j<n; j++)
-						if( a[aix+j] != 0 )
-						{
-							flags[i] = true;
-							rlen2++;
-							//early abort for current row
-							break; 
-						}
-				}
-			}
-		} 
-		else {			
-			flags = DataConverter.convertToBooleanVector(select);
-			rlen2 = (int)select.getNonZeros();
-		}
-
-		//Step 2: reset result and copy rows
-		//dense stays dense if correct input representation (but robust for any input), 
-		//sparse might be dense/sparse
-		rlen2 = Math.max(rlen2, 1); //ensure valid output
-		boolean sp = MatrixBlock.evalSparseFormatInMemory(rlen2, n, in.nonZeros);
-		ret.reset(rlen2, n, sp);
-		if( in.isEmptyBlock(false) )
-			return ret;
+		}
+		
+		return cnt;
+	}
+
+	private static void copyNonEmptyRows(MatrixBlock in, MatrixBlock ret, boolean[] flags, int rl, int ru, int cix) 
+	{
+		final int n = in.clen;
 		
 		if( in.sparse ) //* <- SPARSE
 		{
 			//note: output dense or sparse
-			for( int i=0, cix=0; i<m; i++ )
-				if( flags[i] )
-					ret.appendRow(cix++, in.sparseBlock.get(i));
+			SparseBlock a = in.sparseBlock;
+			for( int i=rl; i<ru; i++ ) {
+				if( !flags[i] )
+					continue;
+				if( !a.isEmpty(i) ) {
+					if( ret.sparse ) {
+						ret.sparseBlock.set(cix, a.get(i), true);
+					}
+					else {
+						int apos = a.pos(i);
+						int alen = a.size(i);
+						int[] aix = a.indexes(i);
+						double[] avals = a.values(i);
+						double[] c = ret.denseBlock;
+						for( int j=apos, cpos=cix*n; j<apos+alen; j++ )
+							c[cpos+aix[j]] = avals[j];
+					}
+				}
+				cix++;
+			}
 		}
 		else if( !in.sparse && !ret.sparse )  //DENSE <- DENSE
 		{
-			ret.allocateDenseBlock();
 			double[] a = in.denseBlock;
 			double[] c = ret.denseBlock;
 			
-			for( int i=0, aix=0, cix=0; i<m; i++, aix+=n )
+			for( int i=rl, aix=rl*n, cpos=cix*n; i<ru; i++, aix+=n )
 				if( flags[i] ) {
-					System.arraycopy(a, aix, c, cix, n);
-					cix += n; //target index
+					System.arraycopy(a, aix, c, cpos, n);
+					cpos += n; //target index
 				}
 		}
 		else //SPARSE <- DENSE
 		{
-			ret.allocateSparseRowsBlock();
 			double[] a = in.denseBlock;
+			SparseBlock c = ret.sparseBlock;
 			
-			for( int i=0, aix=0, cix=0; i<m; i++, aix+=n )
+			for( int i=rl, aix=rl*n; i<ru; i++, aix+=n )
 				if( flags[i] ) {
 					for( int j=0; j<n; j++ )
-						ret.appendValue(cix, j, a[aix+j]);
+						if( a[aix+j] != 0 )
+							c.append(cix, j, a[aix+j]);
 					cix++;
 				}
 		}
-		
-		//check sparsity
-		ret.nonZeros = in.nonZeros;
-		ret.examSparsity();
-
-		return ret;
 	}
 
-	private static MatrixBlock removeEmptyColumns(MatrixBlock in, MatrixBlock ret, MatrixBlock select) 
+	private static MatrixBlock removeEmptyColumns(MatrixBlock in, MatrixBlock ret, MatrixBlock select, int k) 
 		throws DMLRuntimeException 
 	{
 		final int m = in.rlen;
 		final int n = in.clen;
+		int blklen = (int)(Math.ceil((double)m/k));
+		int numblks = (int)(Math.ceil((double)m/blklen));
 		
-		//Step 1: scan block and determine non-empty columns 
-		//(we optimized for cache-friendly behavior and hence don't do early abort)
-		boolean[] flags = null; 
-		
-		if (select == null) 
-		{
-			flags = new boolean[ n ]; //false
-			if( in.sparse ) //SPARSE 
-			{
-				SparseBlock a = in.sparseBlock;
-				
-				for( int i=0; i<m; i++ ) 
-					if ( !a.isEmpty(i) ) {
-						int apos = a.pos(i);
-						int alen = a.size(i);
-						int[] aix = a.indexes(i);
-						for( int j=apos; j<apos+alen; j++ )
-							flags[ aix[j] ] = true;
-					}
+		ExecutorService pool = (k > 1) ? Executors.newFixedThreadPool( k ) : null;
+		try {
+			//Step 1: scan block and determine non-empty columns (pass 1)
+			//(we optimized for cache-friendly behavior and hence don't do early abort)
+			boolean[] flags = null; 
+			if( select != null ) {
+				flags = DataConverter.convertToBooleanVector(select);
 			}
-			else //DENSE
-			{
-				double[] a = in.denseBlock;
-				
-				for(int i=0, aix=0; i<m; i++)
-					for(int j=0; j<n; j++, aix++)
-						if( a[aix] != 0 )
-							flags[j] = true; 	
+			else if( k == 1 ) {
+				flags = scanNonEmptyColumns(in, 0, m);
+			}
+			else {
+				ArrayList<RemoveEmptyColumnsTask> tasks = new ArrayList<RemoveEmptyColumnsTask>();
+				for( int i=0; i<numblks; i++ )
+					tasks.add(new RemoveEmptyColumnsTask(in, null, null, null, 
+						i*blklen, Math.min((i+1)*blklen, m)));
+				for( Future<boolean[]> rtask : pool.invokeAll(tasks) )
+					flags = mergeFlags(flags, rtask.get());
 			}
-		} 
-		else {			
-			flags = DataConverter.convertToBooleanVector(select);
+			
+			//Step 2: determine number of columns and create mapping 
+			//of flags to target indexes (prefix sums)
+			int clen2 = 0;
+			int[] cix = new int[n];
+			for( int j=0; j<n; j++ )
+				if( flags[j] )
+					cix[j] = clen2++;
+			
+			//Step 3: reset result and copy cols (pass 2)
+			//dense stays dense if correct input representation (but robust for any input), 
+			// sparse might be dense/sparse
+			clen2 = Math.max(clen2, 1); //ensure valid output
+			boolean sp = MatrixBlock.evalSparseFormatInMemory(m, clen2, in.nonZeros);
+			ret.reset(m, clen2, sp);
+			if( in.isEmptyBlock(false) )
+				return ret;
+			ret.allocateDenseOrSparseBlock();
+			
+			if( k == 1 || !ret.isThreadSafe() ) {
+				copyNonEmptyColumns(in, ret, flags, cix, 0, m);
+			}
+			else {
+				ArrayList<RemoveEmptyColumnsTask> tasks = new ArrayList<RemoveEmptyColumnsTask>();
+				for( int i=0; i<numblks; i++ )
+					tasks.add(new RemoveEmptyColumnsTask(in, ret, flags, cix, 
+						i*blklen, Math.min((i+1)*blklen, m)));
+				for( Future<boolean[]> task : pool.invokeAll(tasks) )
+					task.get();
+			}
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			if( pool != null )
+				pool.shutdown();
 		}
+		
+		//check sparsity
+		if( select == null )
+			ret.nonZeros = in.nonZeros;
+		else
+			ret.recomputeNonZeros();
+		ret.examSparsity();
+		
+		return ret;
+	}
 
+	private static boolean[] scanNonEmptyColumns(MatrixBlock in, int rl, int ru) 
+	{
+		final int n = in.clen;
+		boolean[] flags = new boolean[ n ]; //false
 		
-		//Step 2: determine number of columns
-		int clen2 = 0;
-		for( int j=0; j<n; j++ ) {
-			clen2 += flags[j] ? 1 : 0;
+		if( in.isEmptyBlock(false) ) 
+		{
+			//no non-empty columns
 		}
-		
-		//Step 3: create mapping of flags to target indexes
-		int[] cix = new int[n];
-		for( int j=0, pos=0; j<n; j++ ) {
-			if( flags[j] )
-				cix[j] = pos++;	
+		else if( in.sparse ) //SPARSE 
+		{
+			SparseBlock a = in.sparseBlock;
+			
+			for( int i=rl; i<ru; i++ ) 
+				if ( !a.isEmpty(i) ) {
+					int apos = a.pos(i);
+					int alen = a.size(i);
+					int[] aix = a.indexes(i);
+					for( int j=apos; j<apos+alen; j++ )
+						flags[ aix[j] ] = true;
+				}
+		}
+		else //DENSE
+		{
+			double[] a = in.denseBlock;
+			
+			for(int i=rl, aix=rl*n; i<ru; i++)
+				for(int j=0; j<n; j++, aix++)
+					if( a[aix] != 0 )
+						flags[j] = true; 	
 		}
 		
-		//Step 3: reset result and copy cols
-		//dense stays dense if correct input representation (but robust for any input), 
-		// sparse might be dense/sparse
-		clen2 = Math.max(clen2, 1); //ensure valid output
-		boolean sp = MatrixBlock.evalSparseFormatInMemory(m, clen2, in.nonZeros);
-		ret.reset(m, clen2, sp);
-		if( in.isEmptyBlock(false) )
-			return ret;
+		return flags;
+	}
+
+	private static boolean[] mergeFlags(boolean[] flags, boolean[] flags2) {
+		if( flags == null )
+			return flags2;
+		for( int j=0; j<flags.length; j++ )
+			flags[j] |= flags2[j];
+		return flags;
+	}
+
+	private static void copyNonEmptyColumns(MatrixBlock in, MatrixBlock ret, boolean[] flags, int[] cix, int rl, int ru) 
+	{
+		final int n = in.clen;
+		final int clen2 = ret.clen;
 		
 		if( in.sparse ) //* <- SPARSE 
 		{
 			//note: output dense or sparse
 			SparseBlock a = in.sparseBlock;
 			
-			for( int i=0; i<m; i++ ) 
+			for( int i=rl; i<ru; i++ ) 
 				if ( !a.isEmpty(i) ) {
 					int apos = a.pos(i);
 					int alen = a.size(i);
 					int[] aix = a.indexes(i);
 					double[] avals = a.values(i);
-					for( int j=apos; j<apos+alen; j++ )
-						if( flags[aix[j]] )
-							ret.appendValue(i, cix[aix[j]], avals[j]);
+					if( ret.sparse ) {
+						SparseBlock c = ret.sparseBlock;
+						for( int j=apos; j<apos+alen; j++ )
+							if( flags[aix[j]] )
+								c.append(i, cix[aix[j]], avals[j]);
+					}
+					else {
+						double[] c = ret.denseBlock;
+						for( int j=apos, lcix=i*clen2; j<apos+alen; j++ )
+							if( flags[aix[j]] )
+								c[ lcix+cix[aix[j]] ] = avals[j];
+					}
 				}
 		}
 		else if( !in.sparse && !ret.sparse )  //DENSE <- DENSE
 		{
-			ret.allocateDenseBlock();
 			double[] a = in.denseBlock;
 			double[] c = ret.denseBlock;
 			
-			for(int i=0, aix=0, lcix=0; i<m; i++, lcix+=clen2)
+			for(int i=rl, aix=rl*n, lcix=rl*clen2; i<ru; i++, lcix+=clen2)
 				for(int j=0; j<n; j++, aix++)
 					if( flags[j] )
 						 c[ lcix+cix[j] ] = a[aix];	
 		}
 		else //SPARSE <- DENSE
 		{
-			ret.allocateSparseRowsBlock();
 			double[] a = in.denseBlock;
+			SparseBlock c = ret.sparseBlock;
 			
-			for(int i=0, aix=0; i<m; i++)
+			for(int i=rl, aix=rl*n; i<ru; i++)
 				for(int j=0; j<n; j++, aix++)
 					if( flags[j] && a[aix]!=0 )
-						 ret.appendValue(i, cix[j], a[aix]);	
+						 c.append(i, cix[j], a[aix]);	
 		}
-		
-		//check sparsity
-		ret.nonZeros = in.nonZeros;
-		ret.examSparsity();
-		
-		return ret;
 	}
 
 	private static MatrixBlock rexpandRows(MatrixBlock in, MatrixBlock ret, int max, boolean cast, boolean ignore) 
@@ -1905,7 +2416,7 @@ public class LibMatrixReorg
 		return ret;
 	}
 
-	private static MatrixBlock rexpandColumns(MatrixBlock in, MatrixBlock ret, int max, boolean cast, boolean ignore) 
+	private static MatrixBlock rexpandColumns(MatrixBlock in, MatrixBlock ret, int max, boolean cast, boolean ignore, int k) 
 		throws DMLRuntimeException
 	{
 		//set meta data
@@ -1914,10 +2425,43 @@ public class LibMatrixReorg
 		final long nnz = in.nonZeros;
 		boolean sp = MatrixBlock.evalSparseFormatInMemory(rlen, clen, nnz);
 		ret.reset(rlen, clen, sp);
+		ret.allocateDenseOrSparseBlock();
+		
+		//expand input horizontally, directly into the dense or sparse 
+		//output rows of disjoint row partitions
+		long lnnz = 0;
+		if( k == 1 || !ret.isThreadSafe() ) {
+			lnnz = rexpandColumns(in, ret, max, cast, ignore, 0, rlen);
+		}
+		else {
+			try {
+				ExecutorService pool = Executors.newFixedThreadPool( k );
+				ArrayList<RExpandColsTask> tasks = new ArrayList<RExpandColsTask>();
+				int blklen = (int)(Math.ceil((double)rlen/k));
+				for( int i=0; i<k & i*blklen<rlen; i++ )
+					tasks.add(new RExpandColsTask(in, ret, max, cast, ignore, 
+						i*blklen, Math.min((i+1)*blklen, rlen)));
+				List<Future<Long>> rtasks = pool.invokeAll(tasks);
+				pool.shutdown();
+				for( Future<Long> rtask : rtasks )
+					lnnz += rtask.get();
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
+		}
+		ret.setNonZeros(lnnz);
 		
+		return ret;
+	}
+
+	private static long rexpandColumns(MatrixBlock in, MatrixBlock ret, int max, boolean cast, boolean ignore, int rl, int ru) 
+		throws DMLRuntimeException
+	{
 		//expand input horizontally (input vector likely dense 
 		//but generic implementation for general case)
-		for( int i=0; i<rlen; i++ )
+		long lnnz = 0;
+		for( int i=rl; i<ru; i++ )
 		{
 			//get value and cast if necessary (table)
 			double val = in.quickGetValue(i, 0);
@@ -1929,11 +2473,90 @@ public class LibMatrixReorg
 				throw new DMLRuntimeException("Invalid input value <= 0 for ignore=false: "+val);
 				
 			//set expanded value if matching
-			if( val == Math.floor(val) && val >= 1 && val <= max )
-				ret.appendValue(i, (int)(val-1), 1);
+			if( val == Math.floor(val) && val >= 1 && val <= max ) {
+				if( ret.sparse ) {
+					ret.sparseBlock.allocate(i, 1);
+					ret.sparseBlock.append(i, (int)(val-1), 1);
+				}
+				else
+					ret.denseBlock[i*max+(int)(val-1)] = 1;
+				lnnz++;
+			}
 		}
 		
-		return ret;
+		return lnnz;
+	}
+
+	/**
+	 * Range-based ctable kernel over rows rl to ru (exclusive), shared by the 
+	 * single- and multi-threaded CP ctable and MatrixBlock.ternaryOperations. 
+	 * Unspecified matrix inputs (i.e., null) are replaced by the given scalar 
+	 * values, and the output is either the given ctable map or, if non-null, 
+	 * the given result block (w/o nnz maintenance).
+	 * 
+	 * @param in1 first input matrix (row indexes)
+	 * @param in2 second input matrix (column indexes), or null
+	 * @param cst2 second input scalar, if in2 is null
+	 * @param in3 weights matrix, or null
+	 * @param cst3 weights scalar, if in3 is null
+	 * @param ignoreZeros if true, ignore (0,0) pairs of row and column indexes
+	 * @param resultMap output ctable map, if resultBlock is null
+	 * @param resultBlock output matrix block, or null
+	 * @param rl row lower bound (inclusive)
+	 * @param ru row upper bound (exclusive)
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	static void ctable(MatrixBlock in1, MatrixBlock in2, double cst2, MatrixBlock in3, double cst3, 
+			boolean ignoreZeros, CTableMap resultMap, MatrixBlock resultBlock, int rl, int ru) 
+		throws DMLRuntimeException
+	{
+		CTable ctable = CTable.getCTableFnObject();
+		
+		if( ignoreZeros && in2 != null && in3 == null //SPARSE-SAFE & SPARSE INPUTS
+			&& in1.sparse && in2.sparse )
+		{
+			//note: only used if both inputs have aligned zeros, which
+			//allows us to infer that the nnz both inputs are equivalent
+			
+			//early abort on empty blocks possible
+			if( in1.isEmptyBlock(false) )
+				return;
+			
+			SparseBlock a = in1.sparseBlock;
+			SparseBlock b = in2.sparseBlock;
+			for( int i=rl; i<ru; i++ )
+				if( !a.isEmpty(i) ) {
+					int apos = a.pos(i);
+					int alen = a.size(i);
+					double[] avals = a.values(i);
+					int bpos = b.pos(i);
+					double[] bvals = b.values(i); 
+					if( resultBlock == null ) {
+						for( int j=0; j<alen; j++ )
+							ctable.execute(avals[apos+j], bvals[bpos+j], cst3, ignoreZeros, resultMap);
+					}
+					else {
+						for( int j=0; j<alen; j++ )
+							ctable.execute(avals[apos+j], bvals[bpos+j], cst3, ignoreZeros, resultBlock);
+					}
+				}
+		}
+		else //SPARSE-UNSAFE | GENERIC INPUTS
+		{
+			//sparse-unsafe ctable execution
+			//(because input values of 0 are invalid and have to result in errors) 
+			final int n = in1.clen;
+			for( int i=rl; i<ru; i++ )
+				for( int j=0; j<n; j++ ) {
+					double v1 = in1.quickGetValue(i, j);
+					double v2 = (in2 != null) ? in2.quickGetValue(i, j) : cst2;
+					double w = (in3 != null) ? in3.quickGetValue(i, j) : cst3;
+					if( resultBlock == null )
+						ctable.execute(v1, v2, w, ignoreZeros, resultMap);
+					else
+						ctable.execute(v1, v2, w, ignoreZeros, resultBlock);
+				}
+		}
 	}
 
 	private static void copyColVector( MatrixBlock in, int ixin, double[] tmp, int[] tmpi, int len)
@@ -2124,6 +2747,82 @@ public class LibMatrixReorg
 		}
 	}
 
+	private static class TransposeCSRTask implements Callable<Object>
+	{
+		private final MatrixBlock _in;
+		private final int[] _ptr;
+		private final int[] _cix;
+		private final double[] _vals;
+		private final int _cl;
+		private final int _cu;
+
+		protected TransposeCSRTask(MatrixBlock in, int[] ptr, int[] cix, double[] vals, int cl, int cu) {
+			_in = in;
+			_ptr = ptr;
+			_cix = cix;
+			_vals = vals;
+			_cl = cl;
+			_cu = cu;
+		}
+		
+		@Override
+		public Object call() {
+			transposeToCSR(_in, _ptr, _cix, _vals, _cl, _cu);
+			return null;
+		}
+	}
+
+	private static class RevTask implements Callable<Object>
+	{
+		private final MatrixBlock _in;
+		private final MatrixBlock _out;
+		private final int _rl;
+		private final int _ru;
+
+		protected RevTask(MatrixBlock in, MatrixBlock out, int rl, int ru) {
+			_in = in;
+			_out = out;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			if( _in.sparse )
+				reverseSparse(_in, _out, _rl, _ru);
+			else
+				reverseDense(_in, _out, _rl, _ru);
+			return null;
+		}
+	}
+
+	private static class ReshapeTask implements Callable<Object>
+	{
+		private final MatrixBlock _in;
+		private final MatrixBlock _out;
+		private final int _rows;
+		private final int _cols;
+		private final boolean _rowwise;
+		private final int _rl;
+		private final int _ru;
+
+		protected ReshapeTask(MatrixBlock in, MatrixBlock out, int rows, int cols, boolean rowwise, int rl, int ru) {
+			_in = in;
+			_out = out;
+			_rows = rows;
+			_cols = cols;
+			_rowwise = rowwise;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			reshapeRows(_in, _out, _rows, _cols, _rowwise, _rl, _ru);
+			return null;
+		}
+	}
+
 	private static class CountNnzTask implements Callable<int[]>
 	{
 		private MatrixBlock _in = null;
@@ -2138,7 +2837,124 @@ public class LibMatrixReorg
 		
 		@Override
 		public int[] call() throws DMLRuntimeException {
-			return countNnzPerColumn(_in, _rl, _ru);
+			return computeNnzPerColumn(_in, _rl, _ru);
+		}
+	}
+
+	private static class RemoveEmptyRowsTask implements Callable<Integer>
+	{
+		private MatrixBlock _in = null;
+		private MatrixBlock _ret = null;
+		private boolean[] _flags = null;
+		private boolean _compute = false;
+		private int _rl = -1;
+		private int _ru = -1;
+		private int _cix = -1;
+
+		protected RemoveEmptyRowsTask(MatrixBlock in, MatrixBlock ret, boolean[] flags, boolean compute, int rl, int ru, int cix) {
+			_in = in;
+			_ret = ret;
+			_flags = flags;
+			_compute = compute;
+			_rl = rl;
+			_ru = ru;
+			_cix = cix;
+		}
+		
+		@Override
+		public Integer call() {
+			//scan non-empty rows (pass 1) or copy rows to output offset (pass 2)
+			if( _ret == null )
+				return scanNonEmptyRows(_in, _flags, _compute, _rl, _ru);
+			copyNonEmptyRows(_in, _ret, _flags, _rl, _ru, _cix);
+			return _ru - _rl;
+		}
+	}
+
+	private static class RemoveEmptyColumnsTask implements Callable<boolean[]>
+	{
+		private MatrixBlock _in = null;
+		private MatrixBlock _ret = null;
+		private boolean[] _flags = null;
+		private int[] _cix = null;
+		private int _rl = -1;
+		private int _ru = -1;
+
+		protected RemoveEmptyColumnsTask(MatrixBlock in, MatrixBlock ret, boolean[] flags, int[] cix, int rl, int ru) {
+			_in = in;
+			_ret = ret;
+			_flags = flags;
+			_cix = cix;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public boolean[] call() {
+			//scan non-empty columns (pass 1) or copy columns (pass 2)
+			if( _ret == null )
+				return scanNonEmptyColumns(_in, _rl, _ru);
+			copyNonEmptyColumns(_in, _ret, _flags, _cix, _rl, _ru);
+			return _flags;
+		}
+	}
+
+	private static class RExpandColsTask implements Callable<Long>
+	{
+		private MatrixBlock _in = null;
+		private MatrixBlock _ret = null;
+		private int _max = -1;
+		private boolean _cast = false;
+		private boolean _ignore = false;
+		private int _rl = -1;
+		private int _ru = -1;
+
+		protected RExpandColsTask(MatrixBlock in, MatrixBlock ret, int max, boolean cast, boolean ignore, int rl, int ru) {
+			_in = in;
+			_ret = ret;
+			_max = max;
+			_cast = cast;
+			_ignore = ignore;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() throws DMLRuntimeException {
+			return rexpandColumns(_in, _ret, _max, _cast, _ignore, _rl, _ru);
+		}
+	}
+
+	private static class CTableTask implements Callable<CTableMap>
+	{
+		private MatrixBlock _in1 = null;
+		private MatrixBlock _in2 = null;
+		private double _cst2 = -1;
+		private MatrixBlock _in3 = null;
+		private double _cst3 = -1;
+		private boolean _ignoreZeros = false;
+		private int _rl = -1;
+		private int _ru = -1;
+
+		protected CTableTask(MatrixBlock in1, MatrixBlock in2, double cst2, MatrixBlock in3, double cst3, 
+			boolean ignoreZeros, int rl, int ru) 
+		{
+			_in1 = in1;
+			_in2 = in2;
+			_cst2 = cst2;
+			_in3 = in3;
+			_cst3 = cst3;
+			_ignoreZeros = ignoreZeros;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public CTableMap call() throws DMLRuntimeException {
+			//thread-local hash group-by over row partition
+			CTableMap map = new CTableMap();
+			ctable(_in1, _in2, _cst2, _in3, _cst3, _ignoreZeros, map, null, _rl, _ru);
+			return map;
 		}
 	}
 }
@@ -21,12 +21,14 @@ package org.apache.sysml.runtime.matrix.data;
 
 import java.io.DataInput;
 import java.io.DataOutput;
+import java.io.EOFException;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutput;
 import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
@@ -1819,13 +1821,18 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			MatrixBlockDataInput mbin = (MatrixBlockDataInput)in;
 			nonZeros = mbin.readDoubleArray(limit, denseBlock);
 		}
-		else if( in instanceof DataInputBuffer && MRJobConfiguration.USE_BINARYBLOCK_SERIALIZATION ) 
+		else if( in instanceof DataInputBuffer ) 
 		{
-			//workaround because sequencefile.reader.next(key, value) does not yet support serialization framework
+			//zero-copy bulk deserialize from the underlying byte array
+			//(e.g., sequencefile.reader.next(key, value) in binary block readers)
 			DataInputBuffer din = (DataInputBuffer)in;
-			MatrixBlockDataInput mbin = new FastBufferedDataInputStream(din);
-			nonZeros = mbin.readDoubleArray(limit, denseBlock);			
-			((FastBufferedDataInputStream)mbin).close();
+			if( din.getLength()-din.getPosition() < (long)limit*8 )
+				throw new EOFException();
+			ByteBuffer.wrap(din.getData(), din.getPosition(), limit*8)
+				.asDoubleBuffer().get(denseBlock, 0, limit);
+			din.skipBytes(limit*8);
+			for( int i=0; i<limit; i++ )
+				nonZeros += (denseBlock[i]!=0) ? 1 : 0;
 		}
 		else //default deserialize
 		{
@@ -4937,7 +4944,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			else
 				mbOut.reset(iRows, iCols, false);
 
-			LibMatrixOuterAgg.aggregateMatrix(mbLeft, mbOut, bv, bvi, bOp, uaggOp);
+			if( uaggOp.getNumThreads() > 1 )
+				LibMatrixOuterAgg.aggregateMatrix(mbLeft, mbOut, bv, bvi, bOp, uaggOp, uaggOp.getNumThreads());
+			else
+				LibMatrixOuterAgg.aggregateMatrix(mbLeft, mbOut, bv, bvi, bOp, uaggOp);
 		} else
 			throw new DMLRuntimeException("Unsupported operator for unary aggregate operations.");
 		
@@ -5026,9 +5036,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 
 	public MatrixBlock removeEmptyOperations( MatrixBlock ret, boolean rows, MatrixBlock select )
 		throws DMLRuntimeException 
+	{	
+		return removeEmptyOperations(ret, rows, select, 1);
+	}
+
+	public MatrixBlock removeEmptyOperations( MatrixBlock ret, boolean rows, MatrixBlock select, int k )
+		throws DMLRuntimeException 
 	{	
 		MatrixBlock result = checkType(ret);
-		return LibMatrixReorg.rmempty(this, result, rows, select);
+		return LibMatrixReorg.rmempty(this, result, rows, select, k);
 	}
 
 	public MatrixBlock removeEmptyOperations( MatrixBlock ret, boolean rows)
@@ -5039,9 +5055,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 
 	public MatrixBlock rexpandOperations( MatrixBlock ret, double max, boolean rows, boolean cast, boolean ignore )
 		throws DMLRuntimeException 
+	{	
+		return rexpandOperations(ret, max, rows, cast, ignore, 1);
+	}
+
+	public MatrixBlock rexpandOperations( MatrixBlock ret, double max, boolean rows, boolean cast, boolean ignore, int k )
+		throws DMLRuntimeException 
 	{	
 		MatrixBlock result = checkType(ret);
-		return LibMatrixReorg.rexpand(this, result, max, rows, cast, ignore);
+		return LibMatrixReorg.rexpand(this, result, max, rows, cast, ignore, k);
 	}
 	
 	
@@ -5148,30 +5170,13 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		throws DMLRuntimeException 
 	{
 		MatrixBlock that2 = checkType(that2Val);
-		CTable ctable = CTable.getCTableFnObject();
-		double v2 = scalarThat;
 		
 		//sparse-unsafe ctable execution
-		//(because input values of 0 are invalid and have to result in errors) 
-		if ( resultBlock == null ) {
-			for( int i=0; i<rlen; i++ )
-				for( int j=0; j<clen; j++ )
-				{
-					double v1 = this.quickGetValue(i, j);
-					double w = that2.quickGetValue(i, j);
-					ctable.execute(v1, v2, w, false, resultMap);
-				}
-		}
-		else {
-			for( int i=0; i<rlen; i++ )
-				for( int j=0; j<clen; j++ )
-				{
-					double v1 = this.quickGetValue(i, j);
-					double w = that2.quickGetValue(i, j);
-					ctable.execute(v1, v2, w, false, resultBlock);
-				}
+		LibMatrixReorg.ctable(this, null, scalarThat, that2, 0, false, resultMap, resultBlock, 0, rlen);
+		
+		//maintain nnz (if necessary)
+		if( resultBlock!=null )
 			resultBlock.recomputeNonZeros();
-		}
 	}
 
 	/**
@@ -5187,29 +5192,12 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			double scalarThat2, CTableMap resultMap, MatrixBlock resultBlock)
 			throws DMLRuntimeException 
 	{
-		CTable ctable = CTable.getCTableFnObject();
-		double v2 = scalarThat;
-		double w = scalarThat2;
-		
 		//sparse-unsafe ctable execution
-		//(because input values of 0 are invalid and have to result in errors) 
-		if ( resultBlock == null ) { 
-			for( int i=0; i<rlen; i++ )
-				for( int j=0; j<clen; j++ )
-				{
-					double v1 = this.quickGetValue(i, j);
-					ctable.execute(v1, v2, w, false, resultMap);
-				}
-		}
-		else {
-			for( int i=0; i<rlen; i++ )
-				for( int j=0; j<clen; j++ )
-				{
-					double v1 = this.quickGetValue(i, j);
-					ctable.execute(v1, v2, w, false, resultBlock);
-				}	
+		LibMatrixReorg.ctable(this, null, scalarThat, null, scalarThat2, false, resultMap, resultBlock, 0, rlen);
+		
+		//maintain nnz (if necessary)
+		if( resultBlock!=null )
 			resultBlock.recomputeNonZeros();
-		}		
 	}
 	
 	/**
@@ -5270,59 +5258,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			     CTableMap resultMap, MatrixBlock resultBlock)
 			throws DMLRuntimeException 
 	{	
-		//setup ctable computation
+		//sparse-safe (ignore zeros, sparse inputs) or generic ctable execution
 		MatrixBlock that = checkType(thatVal);
-		CTable ctable = CTable.getCTableFnObject();
-		double w = scalarThat2;
-		
-		if( ignoreZeros //SPARSE-SAFE & SPARSE INPUTS
-			&& this.sparse && that.sparse )
-		{
-			//note: only used if both inputs have aligned zeros, which
-			//allows us to infer that the nnz both inputs are equivalent
-			
-			//early abort on empty blocks possible
-			if( this.isEmptyBlock(false) && that.isEmptyBlock(false) )
-				return;
-			
-			SparseBlock a = this.sparseBlock;
-			SparseBlock b = that.sparseBlock;
-			for( int i=0; i<rlen; i++ )
-			{
-				if( !a.isEmpty(i) )
-				{
-					int alen = a.size(i);
-					int apos = a.pos(i);
-					double[] avals = a.values(i);
-					int bpos = b.pos(i);
-					double[] bvals = b.values(i); 
-					
-					if( resultBlock == null ) {
-						for( int j=0; j<alen; j++ )
-							ctable.execute(avals[apos+j], bvals[bpos+j], w, ignoreZeros, resultMap);		
-					}
-					else {
-						for( int j=0; j<alen; j++ )
-							ctable.execute(avals[apos+j], bvals[bpos+j], w, ignoreZeros, resultBlock);			
-					}
-				}
-			}	
-		}
-		else //SPARSE-UNSAFE | GENERIC INPUTS
-		{
-			//sparse-unsafe ctable execution
-			//(because input values of 0 are invalid and have to result in errors) 
-			for( int i=0; i<rlen; i++ )
-				for( int j=0; j<clen; j++ )
-				{
-					double v1 = this.quickGetValue(i, j);
-					double v2 = that.quickGetValue(i, j);
-					if( resultBlock == null )
-						ctable.execute(v1, v2, w, ignoreZeros, resultMap);
-					else
-						ctable.execute(v1, v2, w, ignoreZeros, resultBlock);
-				}
-		}
+		LibMatrixReorg.ctable(this, that, 0, null, scalarThat2, ignoreZeros, resultMap, resultBlock, 0, rlen);
 		
 		//maintain nnz (if necessary)
 		if( resultBlock!=null )
@@ -5391,33 +5329,13 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{	
 		MatrixBlock that = checkType(thatVal);
 		MatrixBlock that2 = checkType(that2Val);
-		CTable ctable = CTable.getCTableFnObject();
 		
 		//sparse-unsafe ctable execution
-		//(because input values of 0 are invalid and have to result in errors) 
-		if(resultBlock == null) 
-		{
-			for( int i=0; i<rlen; i++ )
-				for( int j=0; j<clen; j++ )
-				{
-					double v1 = this.quickGetValue(i, j);
-					double v2 = that.quickGetValue(i, j);
-					double w = that2.quickGetValue(i, j);
-					ctable.execute(v1, v2, w, false, resultMap);
-				}		
-		}
-		else 
-		{
-			for( int i=0; i<rlen; i++ )
-				for( int j=0; j<clen; j++ )
-				{
-					double v1 = this.quickGetValue(i, j);
-					double v2 = that.quickGetValue(i, j);
-					double w = that2.quickGetValue(i, j);
-					ctable.execute(v1, v2, w, false, resultBlock);
-				}
+		LibMatrixReorg.ctable(this, that, 0, that2, 0, false, resultMap, resultBlock, 0, rlen);
+		
+		//maintain nnz (if necessary)
+		if( resultBlock!=null )
 			resultBlock.recomputeNonZeros();
-		}
 	}
 	
 	@Override
@@ -5673,9 +5591,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	 */
 	public static MatrixBlock seqOperations(double from, double to, double incr) 
 		throws DMLRuntimeException 
+	{
+		return seqOperations(from, to, incr, 1);
+	}
+	
+	public static MatrixBlock seqOperations(double from, double to, double incr, int k) 
+		throws DMLRuntimeException 
 	{
 		MatrixBlock out = new MatrixBlock();
-		LibMatrixDatagen.generateSequence( out, from, to, incr );
+		LibMatrixDatagen.generateSequence( out, from, to, incr, k );
 		
 		return out;
 	}
@@ -5690,9 +5614,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 
 	public static MatrixBlock sampleOperations(long range, int size, boolean replace, long seed) 
 		throws DMLRuntimeException 
+	{
+		return sampleOperations(range, size, replace, seed, 1);
+	}
+	
+	public static MatrixBlock sampleOperations(long range, int size, boolean replace, long seed, int k) 
+		throws DMLRuntimeException 
 	{
 		MatrixBlock out = new MatrixBlock();
-		LibMatrixDatagen.generateSample( out, range, size, replace, seed );
+		LibMatrixDatagen.generateSample( out, range, size, replace, seed, k );
 		
 		return out;
 	}
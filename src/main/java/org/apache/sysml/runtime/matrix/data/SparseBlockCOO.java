@@ -57,7 +57,15 @@ public class SparseBlockCOO extends SparseBlock
 		_values = new double[capacity];
 		_size = 0;
 	}
-	
+
+	public SparseBlockCOO(int rlen, int[] rowInd, int[] colInd, double[] values, int nnz) {
+		_rlen = rlen;
+		_rindexes = rowInd;
+		_cindexes = colInd;
+		_values = values;
+		_size = nnz;
+	}
+
 	/**
 	 * Copy constructor sparse block abstraction.
 	 * 
@@ -238,7 +238,7 @@ public class SparseBlockMCSR extends SparseBlock
 	@Override
 	public void set(int r, SparseRow row, boolean deep) {
 		//copy values into existing row to avoid allocation
-		if( _rows[r] != null && _rows[r].capacity() >= row.size() && deep )
+		if( deep && _rows[r] != null && _rows[r].capacity() >= row.size() )
 			_rows[r].copy(row);
 		//set new sparse row (incl allocation if required)
 		else 
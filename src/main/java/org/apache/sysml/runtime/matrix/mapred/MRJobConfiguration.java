@@ -297,7 +297,10 @@ public class MRJobConfiguration
 	
 	public static Class<? extends Converter> getConverterClass(InputInfo inputinfo, int brlen, int bclen, ConvertTarget target)
 	{
-
+		//libsvm is only supported for CP and Spark
+		if( inputinfo == InputInfo.LIBSVMInputInfo )
+			throw new RuntimeException("Text libsvm input is not supported in MR.");
+		
 		Class<? extends Converter> converterClass=IdenticalConverter.class;
 		if(inputinfo.inputValueClass.equals(MatrixCell.class))
 		{
@@ -40,21 +40,25 @@ import org.apache.wink.json4j.JSONArray;
 import org.apache.wink.json4j.JSONException;
 import org.apache.wink.json4j.JSONObject;
 import org.apache.sysml.lops.Lop;
+import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.Pair;
 import org.apache.sysml.runtime.transform.MVImputeAgent.MVMethod;
-import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderParallel;
+import org.apache.sysml.runtime.transform.meta.QuantileSketch;
 import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
-public class BinAgent extends Encoder 
+public class BinAgent extends EncoderParallel 
 {	
 	private static final long serialVersionUID = 1917445005206076078L;
 
 	public static final String MIN_PREFIX = "min";
 	public static final String MAX_PREFIX = "max";
 	public static final String NBINS_PREFIX = "nbins";
+	public static final String EQUI_WIDTH = "equi-width";
+	public static final String EQUI_HEIGHT = "equi-height";
 
 	private int[] _numBins = null;
 	private double[] _min=null, _max=null;	// min and max among non-missing values
@@ -64,6 +68,10 @@ public class BinAgent extends Encoder
 	private double[][] _binMins = null;
 	private double[][] _binMaxs = null;
 	
+	//frame transform-encode attributes
+	private boolean[] _equiHeight = null;
+	private QuantileSketch[] _sketches = null;
+	
 	public BinAgent(JSONObject parsedSpec, String[] colnames, int clen) 
 		throws JSONException, IOException 
 	{
@@ -80,6 +88,9 @@ public class BinAgent extends Encoder
 		if( colsOnly ) {
 			List<Integer> collist = TfMetaUtils.parseBinningColIDs(parsedSpec, colnames);
 			initColList(ArrayUtils.toPrimitive(collist.toArray(new Integer[0])));
+			if( parsedSpec.get(TfUtils.TXMETHOD_BIN) instanceof JSONArray )
+				initBinningMethods((JSONArray)parsedSpec.get(TfUtils.TXMETHOD_BIN), colnames,
+					parsedSpec.containsKey("ids") && parsedSpec.getBoolean("ids"));
 		}
 		else 
 		{
@@ -102,6 +113,29 @@ public class BinAgent extends Encoder
 		}
 	}
 
+	private void initBinningMethods(JSONArray colspecs, String[] colnames, boolean ids) 
+		throws JSONException
+	{
+		//parse number of bins and binning method per column (aligned w/ sorted column list)
+		_numBins = new int[_colList.length];
+		_equiHeight = new boolean[_colList.length];
+		for( int i=0; i<colspecs.size(); i++ ) {
+			JSONObject colspec = (JSONObject) colspecs.get(i);
+			int colID = ids ? colspec.getInt("id") : 
+				(ArrayUtils.indexOf(colnames, colspec.get("name")) + 1);
+			int pos = Arrays.binarySearch(_colList, colID);
+			_numBins[pos] = colspec.containsKey(TfUtils.JSON_NBINS) ? 
+				UtilFunctions.toInt(colspec.get(TfUtils.JSON_NBINS)) : -1;
+			String method = colspec.containsKey("method") ? 
+				UtilFunctions.unquote(colspec.get("method").toString()) : EQUI_WIDTH;
+			if( _numBins[pos] <= 0 )
+				throw new JSONException("Invalid number of bins for column "+colID+": "+colspec.get(TfUtils.JSON_NBINS));
+			if( !method.equals(EQUI_WIDTH) && !method.equals(EQUI_HEIGHT) )
+				throw new JSONException("Unknown binning method '"+method+"' for column "+colID+".");
+			_equiHeight[pos] = method.equals(EQUI_HEIGHT);
+		}
+	}
+
 	public int[] getNumBins() { return _numBins; }
 	public double[] getMin()  { return _min; }
 	public double[] getBinWidths() { return _binWidths; }
@@ -297,13 +331,143 @@ public class BinAgent extends Encoder
 
 	@Override
 	public MatrixBlock encode(FrameBlock in, MatrixBlock out) {
-		build(in);
-		return apply(in, out);
+		return encode(in, out, 1);
+	}
+	
+	@Override
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out, int k) {
+		build(in, k);
+		return apply(in, out, k);
 	}
 
 	@Override
 	public void build(FrameBlock in) {
-		// TODO Auto-generated method stub
+		build(in, 1);
+	}
+	
+	@Override
+	public void build(FrameBlock in, int k) {
+		if( !isApplicable() || _numBins == null )
+			return;
+		_binMins = new double[_colList.length][];
+		_binMaxs = new double[_colList.length][];
+		buildColumnParallel(in, k);
+	}
+	
+	@Override
+	protected void buildColumn(FrameBlock in, int j) {
+		QuantileSketch sketch = new QuantileSketch();
+		updateSketch(in, j, sketch);
+		double[][] bins = computeBins(sketch, _numBins[j], _equiHeight[j]);
+		_binMins[j] = bins[0];
+		_binMaxs[j] = bins[1];
+	}
+	
+	/**
+	 * Partial build of the given block of a larger input (e.g., a partition 
+	 * in spark), which accumulates per-column sketches across calls.
+	 * 
+	 * @param in input frame block
+	 */
+	public void buildPartial(FrameBlock in) {
+		if( !isApplicable() || _numBins == null )
+			return;
+		if( _sketches == null ) {
+			_sketches = new QuantileSketch[_colList.length];
+			for( int j=0; j<_colList.length; j++ )
+				_sketches[j] = new QuantileSketch();
+		}
+		for( int j=0; j<_colList.length; j++ )
+			updateSketch(in, j, _sketches[j]);
+	}
+	
+	public QuantileSketch[] getSketchesPartial() {
+		return _sketches;
+	}
+	
+	public int getNumBins(int colID) {
+		return _numBins[isApplicable(colID)];
+	}
+	
+	public boolean isEquiHeight(int colID) {
+		return _equiHeight[isApplicable(colID)];
+	}
+	
+	private void updateSketch(FrameBlock in, int j, QuantileSketch sketch) {
+		int colID = _colList[j];
+		ValueType vt = in.getSchema()[colID-1];
+		if( _equiHeight[j] ) {
+			//equi-height: streaming quantile sketch
+			for( int i=0; i<in.getNumRows(); i++ )
+				sketch.update(getNumericValue(vt, in.get(i, colID-1)));
+		}
+		else {
+			//equi-width: min and max only
+			double min = Double.POSITIVE_INFINITY;
+			double max = Double.NEGATIVE_INFINITY;
+			for( int i=0; i<in.getNumRows(); i++ ) {
+				double val = getNumericValue(vt, in.get(i, colID-1));
+				if( !Double.isNaN(val) ) {
+					min = Math.min(min, val);
+					max = Math.max(max, val);
+				}
+			}
+			if( min <= max ) {
+				sketch.update(min);
+				sketch.update(max);
+			}
+		}
+	}
+	
+	private static double getNumericValue(ValueType vt, Object val) {
+		//missing values are ignored for building the bins
+		if( val == null || (vt==ValueType.STRING && val.toString().isEmpty()) )
+			return Double.NaN;
+		return UtilFunctions.objectToDouble(vt, val);
+	}
+	
+	/**
+	 * Computes the lower and upper boundaries of the bins from the given sketch,
+	 * either equi-width (based on min and max) or equi-height (based on quantiles).
+	 * For equi-height, duplicate boundaries of skewed inputs are merged, which
+	 * might result in fewer than the requested number of bins.
+	 * 
+	 * @param sketch quantile sketch of the column
+	 * @param nbins number of bins
+	 * @param equiHeight true for equi-height binning
+	 * @return array of lower and upper boundaries
+	 */
+	public static double[][] computeBins(QuantileSketch sketch, int nbins, boolean equiHeight) {
+		if( sketch.isEmpty() ) //single bin for all values
+			return new double[][]{new double[]{0}, new double[]{0}};
+		double min = sketch.getMin();
+		double max = sketch.getMax();
+		double[] maxs = new double[nbins];
+		int len = 0;
+		if( equiHeight ) {
+			double[] phis = new double[nbins-1];
+			for( int i=0; i<phis.length; i++ )
+				phis[i] = (double)(i+1) / nbins;
+			double[] q = sketch.getQuantiles(phis);
+			for( int i=0; i<q.length; i++ )
+				if( q[i] < max && (len==0 || q[i] > maxs[len-1]) )
+					maxs[len++] = q[i];
+		}
+		else {
+			double width = (max - min) / nbins;
+			for( int i=0; i<nbins-1 && width>0; i++ )
+				maxs[len++] = min + (i+1) * width;
+		}
+		maxs[len++] = max;
+		
+		double[][] ret = new double[][]{new double[len], Arrays.copyOf(maxs, len)};
+		ret[0][0] = min;
+		System.arraycopy(maxs, 0, ret[0], 1, len-1);
+		return ret;
+	}
+	
+	public static String constructBinMapEntry(double min, double max) {
+		return min + Lop.DATATYPE_PREFIX + max;
 	}
 	
 	/**
@@ -336,21 +500,68 @@ public class BinAgent extends Encoder
 
 	@Override
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
+		return apply(in, out, 1);
+	}
+	
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		return applyRowParallel(in, out, out, k);
+	}
+	
+	@Override
+	protected void applyRows(FrameBlock in, MatrixBlock out, MatrixBlock ret, int rl, int ru) {
 		for(int j=0; j<_colList.length; j++) {
 			int colID = _colList[j];
-			for( int i=0; i<in.getNumRows(); i++ ) {
-				double inVal = UtilFunctions.objectToDouble(
-						in.getSchema()[colID-1], in.get(i, colID-1));
-				int ix = Arrays.binarySearch(_binMaxs[j], inVal);
-				int binID = ((ix < 0) ? Math.abs(ix+1) : ix) + 1;		
-				out.quickSetValue(i, colID-1, binID);
+			ValueType vt = in.getSchema()[colID-1];
+			for( int i=rl; i<ru; i++ ) {
+				double inVal = getNumericValue(vt, in.get(i, colID-1));
+				ret.quickSetValue(i, colID-1, getBinID(j, inVal));
 			}	
 		}
+	}
+
+	@Override
+	public double[] applyRow(Object[] in, double[] out, double[] ret) {
+		for( int j=0; j<_colList.length; j++ ) {
+			int colID = _colList[j];
+			Object val = in[colID-1];
+			double inVal = (val==null || (val instanceof String 
+				&& ((String)val).isEmpty())) ? Double.NaN : objectToDouble(val);
+			out[colID-1] = getBinID(j, inVal);
+		}
 		return out;
 	}
+	
+	private double getBinID(int j, double inVal) {
+		//missing values as NaN, and values outside the range of the build 
+		//input into the first or last bin (valid codes for dummy coding)
+		if( Double.isNaN(inVal) )
+			return Double.NaN;
+		int ix = Arrays.binarySearch(_binMaxs[j], inVal);
+		int binID = ((ix < 0) ? Math.abs(ix+1) : ix) + 1;
+		return Math.min(Math.max(binID, 1), _binMaxs[j].length);
+	}
 
 	@Override
 	public FrameBlock getMetaData(FrameBlock meta) {
+		if( !isApplicable() || _binMaxs == null )
+			return meta;
+		
+		//allocate additional output rows if necessary
+		int maxBins = 0;
+		for( int j=0; j<_colList.length; j++ )
+			maxBins = Math.max(maxBins, _binMaxs[j].length);
+		while( meta.getNumRows() < maxBins )
+			meta.appendRow(new Object[meta.getNumColumns()]);
+		
+		//create compact meta data representation (bin boundaries)
+		for( int j=0; j<_colList.length; j++ ) {
+			int colID = _colList[j]; //1-based
+			for( int i=0; i<_binMaxs[j].length; i++ )
+				meta.set(i, colID-1, constructBinMapEntry(_binMins[j][i], _binMaxs[j][i]));
+			meta.getColumnMetadata(colID-1).setNumDistinct(_binMaxs[j].length);
+		}
+		
 		return meta;
 	}
 	
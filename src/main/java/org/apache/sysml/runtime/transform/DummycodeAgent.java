@@ -41,13 +41,14 @@ import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.mapred.OutputCollector;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
-import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.transform.encode.EncoderParallel;
 import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
 import org.apache.sysml.runtime.util.UtilFunctions;
 import org.apache.wink.json4j.JSONException;
 import org.apache.wink.json4j.JSONObject;
 
-public class DummycodeAgent extends Encoder 
+public class DummycodeAgent extends EncoderParallel 
 {		
 	private static final long serialVersionUID = 5832130477659116489L;
 
@@ -376,12 +377,22 @@ public class DummycodeAgent extends Encoder
 	public MatrixBlock encode(FrameBlock in, MatrixBlock out) {
 		return apply(in, out);
 	}
+	
+	@Override
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out, int k) {
+		return apply(in, out, k);
+	}
 
 	@Override
 	public void build(FrameBlock in) {
 		//do nothing
 	}
 	
+	@Override
+	protected void buildColumn(FrameBlock in, int j) {
+		//do nothing (no build phase)
+	}
+	
 	/**
 	 * Method to apply transformations.
 	 * 
@@ -421,26 +432,80 @@ public class DummycodeAgent extends Encoder
 	}
 	
 	@Override
-	public MatrixBlock apply(FrameBlock in, MatrixBlock out) 
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
+		return apply(in, out, 1);
+	}
+	
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) 
 	{
-		MatrixBlock ret = new MatrixBlock(out.getNumRows(), (int)_dummycodedLength, false);
+		//estimate output sparsity (at most one non-zero per input column and row),
+		//and allocate the output directly in sparse format if beneficial
+		int rlen = out.getNumRows();
+		boolean sparse = MatrixBlock.evalSparseFormatInMemory(
+			rlen, _dummycodedLength, (long)rlen * out.getNumColumns());
+		MatrixBlock ret = new MatrixBlock(rlen, (int)_dummycodedLength, sparse);
+		if( sparse )
+			ret.allocateSparseRowsBlock();
 		
-		for( int i=0; i<out.getNumRows(); i++ ) {
-			for(int colID=1, idx=0, ncolID=1; colID <= out.getNumColumns(); colID++) {
+		ret = applyRowParallel(in, out, ret, k);
+		
+		//maintain nnz of sparse output (direct row appends)
+		if( sparse )
+			ret.recomputeNonZeros();
+		return ret;
+	}
+	
+	@Override
+	protected void applyRows(FrameBlock in, MatrixBlock out, MatrixBlock ret, int rl, int ru) 
+	{
+		SparseBlock sblock = ret.isInSparseFormat() ? ret.getSparseBlock() : null;
+		int clen = out.getNumColumns();
+		for( int i=rl; i<ru; i++ ) {
+			if( sblock != null )
+				sblock.allocate(i, clen);
+			for(int colID=1, idx=0, ncolID=1; colID <= clen; colID++) {
 				double val = out.quickGetValue(i, colID-1);
+				int pos = -1;
 				if(idx < _colList.length && colID==_colList[idx]) {
-					ret.quickSetValue(i, ncolID-1+(int)val-1, 1);
+					if( !Double.isNaN(val) ) //missing values as all-zero
+						pos = ncolID-1+(int)val-1;
+					val = 1;
 					ncolID += _domainSizes[idx];
 					idx++;
 				}
 				else {
-					double ptval = UtilFunctions.objectToDouble(in.getSchema()[colID-1], in.get(i, colID-1));
-					ret.quickSetValue(i, ncolID-1, ptval);
+					//pass-through of previously encoded value (e.g., recode, hash)
+					pos = ncolID-1;
 					ncolID++;
 				}
+				//output columns are strictly increasing, i.e., append in sparse
+				if( pos < 0 )
+					continue;
+				else if( sblock != null )
+					sblock.append(i, pos, val);
+				else
+					ret.quickSetValue(i, pos, val);
+			}
+		}
+	}
+
+	@Override
+	public double[] applyRow(Object[] in, double[] out, double[] ret) {
+		Arrays.fill(ret, 0, (int)_dummycodedLength, 0);
+		for(int colID=1, idx=0, ncolID=1; colID <= _clen; colID++) {
+			double val = out[colID-1];
+			if(idx < _colList.length && colID==_colList[idx]) {
+				if( !Double.isNaN(val) ) //missing values as all-zero
+					ret[ncolID-1+(int)val-1] = 1;
+				ncolID += _domainSizes[idx];
+				idx++;
+			}
+			else {
+				ret[ncolID-1] = val;
+				ncolID++;
 			}
 		}
-		
 		return ret;
 	}
 
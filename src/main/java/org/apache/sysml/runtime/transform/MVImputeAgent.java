@@ -51,11 +51,11 @@ import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.Pair;
 import org.apache.sysml.runtime.matrix.operators.CMOperator;
 import org.apache.sysml.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
-import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderParallel;
 import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
-public class MVImputeAgent extends Encoder 
+public class MVImputeAgent extends EncoderParallel 
 {	
 	private static final long serialVersionUID = 9057868620144662194L;
 
@@ -88,6 +88,7 @@ public class MVImputeAgent extends Encoder
 	private CM_COV_Object[] _scnomvVarList = null;		// column-level variances, computed so far
 	
 	private String[] _replacementList = null;		// replacements: for global_mean, mean; and for global_mode, recode id of mode category
+	private double[] _replacements = null;			// pre-parsed replacements for frame apply (NaN if not yet available)
 	private String[] _NAstrings = null;
 	private List<Integer> _rcList = null; 
 	private HashMap<Integer,HashMap<String,Long>> _hist = null;
@@ -917,43 +918,64 @@ public class MVImputeAgent extends Encoder
 	
 	@Override
 	public MatrixBlock encode(FrameBlock in, MatrixBlock out) {
-		build(in);
-		return apply(in, out);
+		return encode(in, out, 1);
+	}
+	
+	@Override
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out, int k) {
+		build(in, k);
+		return apply(in, out, k);
 	}
 	
 	@Override
 	public void build(FrameBlock in) {
+		build(in, 1);
+	}
+	
+	@Override
+	public void build(FrameBlock in, int k) {
+		if( !isApplicable() )
+			return;
+		
+		//allocate mode histograms if necessary (before concurrent access)
+		for( int j=0; j<_colList.length; j++ )
+			if( _mvMethodList[j] == MVMethod.GLOBAL_MODE && !_hist.containsKey(_colList[j]) )
+				_hist.put(_colList[j], new HashMap<String,Long>());
+		
+		//build column statistics (independent, potentially in parallel)
+		buildColumnParallel(in, k);
+		parseReplacements(false);
+	}
+	
+	@Override
+	protected void buildColumn(FrameBlock in, int j) {
 		try {
-			for( int j=0; j<_colList.length; j++ ) {
-				int colID = _colList[j];
-				if( _mvMethodList[j] == MVMethod.GLOBAL_MEAN ) {
-					//compute global column mean (scale)
-					long off = _countList[j];
-					for( int i=0; i<in.getNumRows(); i++ )
-						_meanFn.execute2(_meanList[j], UtilFunctions.objectToDouble(
-							in.getSchema()[colID-1], in.get(i, colID-1)), off+i+1);
-					_replacementList[j] = String.valueOf(_meanList[j]._sum);
-					_countList[j] += in.getNumRows();
+			int colID = _colList[j];
+			if( _mvMethodList[j] == MVMethod.GLOBAL_MEAN ) {
+				//compute global column mean (scale)
+				long off = _countList[j];
+				for( int i=0; i<in.getNumRows(); i++ )
+					_meanFn.execute2(_meanList[j], UtilFunctions.objectToDouble(
+						in.getSchema()[colID-1], in.get(i, colID-1)), off+i+1);
+				_replacementList[j] = String.valueOf(_meanList[j]._sum);
+				_countList[j] += in.getNumRows();
+			}
+			else if( _mvMethodList[j] == MVMethod.GLOBAL_MODE ) {
+				//compute global column mode (categorical), i.e., most frequent category
+				HashMap<String,Long> hist = _hist.get(colID);
+				for( int i=0; i<in.getNumRows(); i++ ) {
+					String key = String.valueOf(in.get(i, colID-1));
+					if( key != null && !key.isEmpty() ) {
+						Long val = hist.get(key);
+						hist.put(key, (val!=null) ? val+1 : 1);
+					}	
 				}
-				else if( _mvMethodList[j] == MVMethod.GLOBAL_MODE ) {
-					//compute global column mode (categorical), i.e., most frequent category
-					HashMap<String,Long> hist = _hist.containsKey(colID) ? 
-							_hist.get(colID) : new HashMap<String,Long>();
-					for( int i=0; i<in.getNumRows(); i++ ) {
-						String key = String.valueOf(in.get(i, colID-1));
-						if( key != null && !key.isEmpty() ) {
-							Long val = hist.get(key);
-							hist.put(key, (val!=null) ? val+1 : 1);
-						}	
+				long max = Long.MIN_VALUE; 
+				for( Entry<String, Long> e : hist.entrySet() ) 
+					if( e.getValue() > max  ) {
+						_replacementList[j] = e.getKey();
+						max = e.getValue();
 					}
-					_hist.put(colID, hist);
-					long max = Long.MIN_VALUE; 
-					for( Entry<String, Long> e : hist.entrySet() ) 
-						if( e.getValue() > max  ) {
-							_replacementList[j] = e.getKey();
-							max = e.getValue();
-						}
-				}
 			}
 		}
 		catch(Exception ex) {
@@ -993,16 +1015,35 @@ public class MVImputeAgent extends Encoder
 	
 	@Override
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
-		for(int i=0; i<in.getNumRows(); i++) {
+		return apply(in, out, 1);
+	}
+	
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		return applyRowParallel(in, out, out, k);
+	}
+	
+	@Override
+	protected void applyRows(FrameBlock in, MatrixBlock out, MatrixBlock ret, int rl, int ru) {
+		for(int i=rl; i<ru; i++) {
 			for(int j=0; j<_colList.length; j++) {
 				int colID = _colList[j];
 				if( Double.isNaN(out.quickGetValue(i, colID-1)) )
-					out.quickSetValue(i, colID-1, Double.parseDouble(_replacementList[j]));
+					ret.quickSetValue(i, colID-1, _replacements[j]);
 			}
 		}
-		return out;
 	}
 	
+	@Override
+	public double[] applyRow(Object[] in, double[] out, double[] ret) {
+		for(int j=0; j<_colList.length; j++) {
+			int colID = _colList[j];
+			if( Double.isNaN(out[colID-1]) )
+				out[colID-1] = _replacements[j];
+		}
+		return out;
+	}
+
 	@Override
 	public FrameBlock getMetaData(FrameBlock out) {
 		for( int j=0; j<_colList.length; j++ ) {
@@ -1019,15 +1060,32 @@ public class MVImputeAgent extends Encoder
 			int colID = _colList[j];	
 			String mvVal = UtilFunctions.unquote(meta.getColumnMetadata(colID-1).getMvValue()); 
 			if( _rcList.contains(colID) ) {
-				Long mvVal2 = meta.getRecodeMap(colID-1).get(mvVal);
-				if( mvVal2 == null)
+				int mvVal2 = meta.getRecodeMap(colID-1).get(mvVal);
+				if( mvVal2 < 0 )
 					throw new RuntimeException("Missing recode value for impute value '"+mvVal+"' (colID="+colID+").");
-				_replacementList[j] = mvVal2.toString();
+				_replacementList[j] = String.valueOf(mvVal2);
 			}
 			else {
 				_replacementList[j] = mvVal;
 			}
 		}
+		parseReplacements(true);
+	}
+	
+	/**
+	 * Parses the replacement values once instead of per row on apply, where 
+	 * replacements of recoded columns are valid codes only after initMetaData.
+	 * 
+	 * @param rcCodes true if replacements of recoded columns are recode ids
+	 */
+	private void parseReplacements(boolean rcCodes) {
+		_replacements = new double[_colList.length];
+		for( int j=0; j<_colList.length; j++ ) {
+			boolean valid = _replacementList[j] != null && (rcCodes 
+				|| _rcList == null || !_rcList.contains(_colList[j]));
+			_replacements[j] = valid ? 
+				UtilFunctions.parseToDouble(_replacementList[j]) : Double.NaN;
+		}
 	}
 
 	public void initRecodeIDList(List<Integer> rcList) {
@@ -31,6 +31,7 @@ import org.apache.wink.json4j.JSONException;
 import org.apache.wink.json4j.JSONObject;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.transform.encode.Encoder;
 import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
 import org.apache.sysml.runtime.util.UtilFunctions;
@@ -112,8 +113,10 @@ public class OmitAgent extends Encoder
 			numRows += valid ? 1 : 0;
 		}
 		
-		//copy over valid rows into the output
-		MatrixBlock ret = new MatrixBlock(numRows, out.getNumColumns(), false);
+		//copy over valid rows into the output (in the format of the 
+		//input, e.g., to preserve sparse outputs of dummy coding)
+		MatrixBlock ret = new MatrixBlock(numRows, out.getNumColumns(), out.isInSparseFormat());
+		SparseBlock sblock = out.isInSparseFormat() ? out.getSparseBlock() : null;
 		int pos = 0;
 		for(int i=0; i<in.getNumRows(); i++) {
 			//determine if valid row or omit
@@ -122,8 +125,20 @@ public class OmitAgent extends Encoder
 				valid &= !Double.isNaN(out.quickGetValue(i, _colList[j]-1));
 			//copy row if necessary
 			if( valid ) {
-				for(int j=0; j<out.getNumColumns(); j++)
-					ret.quickSetValue(pos, j, out.quickGetValue(i, j));
+				if( sblock != null ) {
+					if( !sblock.isEmpty(i) ) {
+						int apos = sblock.pos(i);
+						int alen = sblock.size(i);
+						int[] aix = sblock.indexes(i);
+						double[] avals = sblock.values(i);
+						for(int j=apos; j<apos+alen; j++)
+							ret.appendValue(pos, aix[j], avals[j]);
+					}
+				}
+				else {
+					for(int j=0; j<out.getNumColumns(); j++)
+						ret.appendValue(pos, j, out.quickGetValue(i, j));
+				}
 				pos++;
 			}
 		}
@@ -133,6 +148,20 @@ public class OmitAgent extends Encoder
 		
 		return ret; 
 	}
+	
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		//sequential apply because row omission changes the number of rows
+		return apply(in, out);
+	}
+
+	@Override
+	public double[] applyRow(Object[] in, double[] out, double[] ret) {
+		for(int j=0; j<_colList.length; j++)
+			if( Double.isNaN(out[_colList[j]-1]) )
+				return null;
+		return out;
+	}
 
 	@Override
 	public FrameBlock getMetaData(FrameBlock out) {
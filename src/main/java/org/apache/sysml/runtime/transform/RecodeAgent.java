@@ -30,7 +30,6 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map.Entry;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -43,13 +42,14 @@ import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.Pair;
 import org.apache.sysml.runtime.transform.MVImputeAgent.MVMethod;
 import org.apache.sysml.runtime.transform.decode.DecoderRecode;
-import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderParallel;
+import org.apache.sysml.runtime.transform.meta.RecodeMap;
 import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
 import org.apache.sysml.runtime.util.UtilFunctions;
 import org.apache.wink.json4j.JSONException;
 import org.apache.wink.json4j.JSONObject;
 
-public class RecodeAgent extends Encoder 
+public class RecodeAgent extends EncoderParallel 
 {	
 	private static final long serialVersionUID = 8213163881283341874L;
 
@@ -58,6 +58,7 @@ public class RecodeAgent extends Encoder
 	
 	//recode maps and custom map for partial recode maps 
 	private HashMap<Integer, HashMap<String, Long>> _rcdMaps  = new HashMap<Integer, HashMap<String, Long>>();
+	private HashMap<Integer, RecodeMap> _rcdMapsCP = new HashMap<Integer, RecodeMap>();
 	private HashMap<Integer, HashMap<String,String>> _finalMaps = null;
 	private HashMap<Integer, HashSet<Object>> _rcdMapsPart = null;
 	
@@ -377,35 +378,50 @@ public class RecodeAgent extends Encoder
 
 	@Override
 	public MatrixBlock encode(FrameBlock in, MatrixBlock out) {
+		return encode(in, out, 1);
+	}
+	
+	@Override
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out, int k) {
 		if( !isApplicable() )
 			return out;
 		
 		//build and apply recode maps 
-		build(in);
-		apply(in, out);
+		build(in, k);
+		apply(in, out, k);
 		
 		return out;
 	}
 
 	@Override
 	public void build(FrameBlock in) {
+		build(in, 1);
+	}
+	
+	@Override
+	public void build(FrameBlock in, int k) {
 		if( !isApplicable() )
 			return;		
 
-		Iterator<String[]> iter = in.getStringRowIterator();
-		while( iter.hasNext() ) {
-			String[] row = iter.next(); 
-			for( int j=0; j<_colList.length; j++ ) {
-				int colID = _colList[j]; //1-based
-				//allocate column map if necessary
-				if( !_rcdMaps.containsKey(colID) ) 
-					_rcdMaps.put(colID, new HashMap<String,Long>());
-				//probe and build column map
-				HashMap<String,Long> map = _rcdMaps.get(colID);
-				String key = row[colID-1];
-				if( key!=null && !key.isEmpty() && !map.containsKey(key) )
-					map.put(key, Long.valueOf(map.size()+1));
-			}
+		//allocate column maps if necessary (before concurrent access)
+		for( int j=0; j<_colList.length; j++ )
+			if( !_rcdMapsCP.containsKey(_colList[j]) ) 
+				_rcdMapsCP.put(_colList[j], new RecodeMap());
+		
+		//build column maps (independent, potentially in parallel)
+		buildColumnParallel(in, k);
+	}
+	
+	@Override
+	protected void buildColumn(FrameBlock in, int j) {
+		int colID = _colList[j]; //1-based
+		RecodeMap map = _rcdMapsCP.get(colID);
+		//probe and build column map (codes in order of first occurrence)
+		for( int i=0; i<in.getNumRows(); i++ ) {
+			Object okey = in.get(i, colID-1);
+			String key = (okey!=null) ? okey.toString() : null;
+			if( key!=null && !key.isEmpty() )
+				map.putIfAbsent(key);
 		}
 	}
 
@@ -458,18 +474,36 @@ public class RecodeAgent extends Encoder
 	
 	@Override
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
+		return apply(in, out, 1);
+	}
+	
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		return applyRowParallel(in, out, out, k);
+	}
+	
+	@Override
+	protected void applyRows(FrameBlock in, MatrixBlock out, MatrixBlock ret, int rl, int ru) {
 		//apply recode maps column wise
 		for( int j=0; j<_colList.length; j++ ) {
 			int colID = _colList[j];
-			for( int i=0; i<in.getNumRows(); i++ ) {
+			RecodeMap map = _rcdMapsCP.get(colID);
+			for( int i=rl; i<ru; i++ ) {
 				Object okey = in.get(i, colID-1);
-				String key = (okey!=null) ? okey.toString() : null;
-				String val = lookupRCDMap(colID, key);			
-				out.quickSetValue(i, colID-1, (val!=null) ? 
-						Double.parseDouble(val) : Double.NaN);
+				int code = (okey!=null) ? map.get(okey.toString()) : -1;
+				ret.quickSetValue(i, colID-1, (code>0) ? code : Double.NaN);
 			}
 		}
-		
+	}
+
+	@Override
+	public double[] applyRow(Object[] in, double[] out, double[] ret) {
+		for( int j=0; j<_colList.length; j++ ) {
+			int colID = _colList[j];
+			Object okey = in[colID-1];
+			int code = (okey!=null) ? _rcdMapsCP.get(colID).get(okey.toString()) : -1;
+			out[colID-1] = (code>0) ? code : Double.NaN;
+		}
 		return out;
 	}
 
@@ -483,21 +517,23 @@ public class RecodeAgent extends Encoder
 		//allocate output rows
 		int maxDistinct = 0;
 		for( int j=0; j<_colList.length; j++ )
-			if( _rcdMaps.containsKey(_colList[j]) )
-				maxDistinct = Math.max(maxDistinct, _rcdMaps.get(_colList[j]).size());
+			if( _rcdMapsCP.containsKey(_colList[j]) )
+				maxDistinct = Math.max(maxDistinct, _rcdMapsCP.get(_colList[j]).size());
 		meta.ensureAllocatedColumns(maxDistinct);
 		
 		//create compact meta data representation
+		StringBuilder sb = new StringBuilder();
 		for( int j=0; j<_colList.length; j++ ) {
 			int colID = _colList[j]; //1-based
-			int rowID = 0;
-			if( _rcdMaps.containsKey(_colList[j]) )
-				for( Entry<String, Long> e : _rcdMaps.get(colID).entrySet() ) {
-					String tmp = constructRecodeMapEntry(e.getKey(), e.getValue());
-					meta.set(rowID++, colID-1, tmp); 
+			RecodeMap map = _rcdMapsCP.get(colID);
+			if( map != null )
+				for( int i=0; i<map.size(); i++ ) {
+					sb.setLength(0);
+					sb.append(map.getKey(i)).append(Lop.DATATYPE_PREFIX).append(map.getCode(i));
+					meta.set(i, colID-1, sb.toString()); 
 				}
 			meta.getColumnMetadata(colID-1).setNumDistinct(
-					_rcdMaps.get(colID).size());
+					(map != null) ? map.size() : 0);
 		}
 		
 		return meta;
@@ -516,7 +552,7 @@ public class RecodeAgent extends Encoder
 		
 		for( int j=0; j<_colList.length; j++ ) {
 			int colID = _colList[j]; //1-based
-			_rcdMaps.put(colID, meta.getRecodeMap(colID-1));
+			_rcdMapsCP.put(colID, meta.getRecodeMap(colID-1));
 		}
 	}
 	
@@ -81,6 +81,7 @@ public class TfUtils implements Serializable{
 	public static final String TXMETHOD_SCALE     = "scale";
 	public static final String TXMETHOD_OMIT      = "omit";
 	public static final String TXMETHOD_MVRCD     = "mvrcd";
+	public static final String TXMETHOD_HASH      = "hash";
 		
 	//transform meta data constants (frame-based transform)
 	public static final String TXMTD_MVPREFIX = "#Meta"+Lop.DATATYPE_PREFIX+"MV";
@@ -100,6 +101,7 @@ public class TfUtils implements Serializable{
 	public static final String JSON_MTHD 	= "methods"; 
 	public static final String JSON_CONSTS = "constants"; 
 	public static final String JSON_NBINS 	= "numbins"; 		
+	public static final String JSON_K 		= "K"; //number of hash buckets
 	protected static final String MODE_FILE_SUFFIX 		= ".mode";
 	protected static final String SCALE_FILE_SUFFIX		= ".scale";
 	protected static final String DCD_FILE_NAME 		= "dummyCodeMaps.csv";	
@@ -55,6 +55,18 @@ public abstract class Decoder implements Serializable
 	 * @return returns given output frame block for convenience
 	 */
 	public abstract FrameBlock decode(MatrixBlock in, FrameBlock out);
+	
+	/**
+	 * Row decode API converting a single row of a matrix into a row of a 
+	 * frame, without intermediate matrix and frame blocks. This is the basis 
+	 * of allocation-free scoring with reused buffers.
+	 * 
+	 * @param in input row
+	 * @param out output row
+	 * 
+	 * @return returns given output row for convenience
+	 */
+	public abstract Object[] decodeRow(double[] in, Object[] out);
 
 	public abstract void initMetaData(FrameBlock meta);
 }
@@ -49,6 +49,13 @@ public class DecoderComposite extends Decoder
 		return out;
 	}
 	
+	@Override
+	public Object[] decodeRow(double[] in, Object[] out) {
+		for( Decoder decoder : _decoders )
+			out = decoder.decodeRow(in, out);
+		return out;
+	}
+	
 	@Override
 	public void initMetaData(FrameBlock meta) {
 		for( Decoder decoder : _decoders )
@@ -55,6 +55,18 @@ public class DecoderDummycode extends Decoder
 		return out;
 	}
 
+	@Override
+	public Object[] decodeRow(double[] in, Object[] out) {
+		for( int j=0; j<_colList.length; j++ ) {
+			int col = _colList[j] - 1;
+			out[col] = null;
+			for( int k=_clPos[j]; k<_cuPos[j]; k++ )
+				if( in[k-1] != 0 )
+					out[col] = UtilFunctions.doubleToObject(_schema[col], k-_clPos[j]+1);
+		}
+		return out;
+	}
+
 	@Override
 	public void initMetaData(FrameBlock meta) {
 		_clPos = new int[_colList.length]; //col lower pos 
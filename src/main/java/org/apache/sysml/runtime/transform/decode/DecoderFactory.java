@@ -50,19 +50,26 @@ public class DecoderFactory
 			List<Decoder> ldecoders = new ArrayList<Decoder>();
 		
 			//create decoders 'recode', 'dummy' and 'pass-through'
+			//note: hashed and binned columns are decoded into their bucket and bin ids
 			List<Integer> rcIDs = Arrays.asList(ArrayUtils.toObject(
 					TfMetaUtils.parseJsonIDList(jSpec, colnames, TfUtils.TXMETHOD_RECODE)));
 			List<Integer> dcIDs = Arrays.asList(ArrayUtils.toObject(
 					TfMetaUtils.parseJsonIDList(jSpec, colnames, TfUtils.TXMETHOD_DUMMYCODE))); 
-			rcIDs = new ArrayList<Integer>(CollectionUtils.union(rcIDs, dcIDs));
-			List<Integer> ptIDs = new ArrayList<Integer>(CollectionUtils
-					.subtract(UtilFunctions.getSequenceList(1, meta.getNumColumns(), 1), rcIDs)); 
+			List<Integer> haIDs = Arrays.asList(ArrayUtils.toObject(
+					TfMetaUtils.parseJsonIDList(jSpec, colnames, TfUtils.TXMETHOD_HASH)));
+			List<Integer> ptIDs = new ArrayList<Integer>(CollectionUtils.subtract(UtilFunctions
+					.getSequenceList(1, meta.getNumColumns(), 1), CollectionUtils.union(rcIDs, dcIDs))); 
+			List<Integer> binIDs = TfMetaUtils.parseBinningColIDs(jSpec, colnames);
+			rcIDs = new ArrayList<Integer>(CollectionUtils.subtract(CollectionUtils.subtract(
+					CollectionUtils.union(rcIDs, dcIDs), haIDs), binIDs));
 
 			//create default schema if unspecified (with double columns for pass-through)
 			if( schema == null ) {
 				schema = UtilFunctions.nCopies(meta.getNumColumns(), ValueType.STRING);
 				for( Integer col : ptIDs )
 					schema[col-1] = ValueType.DOUBLE;
+				for( Integer col : haIDs )
+					schema[col-1] = ValueType.DOUBLE;
 			}
 			
 			if( !dcIDs.isEmpty() ) {
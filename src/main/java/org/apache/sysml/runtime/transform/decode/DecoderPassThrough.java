@@ -56,6 +56,17 @@ public class DecoderPassThrough extends Decoder
 		return out;
 	}
 	
+	@Override
+	public Object[] decodeRow(double[] in, Object[] out) {
+		//zeros as typed values (except strings) similar to frame columns
+		for( int j=0; j<_colList.length; j++ ) {
+			ValueType vt = _schema[_colList[j]-1];
+			out[_colList[j]-1] = UtilFunctions.doubleToObject(
+				vt, in[_srcCols[j]-1], vt==ValueType.STRING);
+		}
+		return out;
+	}
+	
 	@Override
 	public void initMetaData(FrameBlock meta) {
 		if( _dcCols.length > 0 ) {
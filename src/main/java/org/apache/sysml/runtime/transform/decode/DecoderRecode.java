@@ -19,14 +19,12 @@
 
 package org.apache.sysml.runtime.transform.decode;
 
-import java.util.HashMap;
-
-import org.apache.sysml.lops.Lop;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.Pair;
 import org.apache.sysml.runtime.transform.TfUtils;
+import org.apache.sysml.runtime.transform.meta.RecodeMap;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
 /**
@@ -38,7 +36,8 @@ public class DecoderRecode extends Decoder
 {
 	private static final long serialVersionUID = -3784249774608228805L;
 
-	private HashMap<Long, Object>[] _rcMaps = null;
+	//inverted recode maps (objects indexed by code)
+	private Object[][] _rcMaps = null;
 	private boolean _onOut = false;
 	
 	protected DecoderRecode(ValueType[] schema, boolean onOut, int[] rcCols) {
@@ -55,7 +54,7 @@ public class DecoderRecode extends Decoder
 					double val = UtilFunctions.objectToDouble(
 							out.getSchema()[colID-1], out.get(i, colID-1));
 					long key = UtilFunctions.toLong(val);
-					out.set(i, colID-1, _rcMaps[j].get(key));
+					out.set(i, colID-1, lookupRCDMap(_rcMaps[j], key));
 				}
 			}
 		}
@@ -65,7 +64,7 @@ public class DecoderRecode extends Decoder
 				for( int j=0; j<_colList.length; j++ ) {
 					double val = in.quickGetValue(i, _colList[j]-1);
 					long key = UtilFunctions.toLong(val);
-					out.set(i, _colList[j]-1, _rcMaps[j].get(key));
+					out.set(i, _colList[j]-1, lookupRCDMap(_rcMaps[j], key));
 				}
 			}
 		}
@@ -73,23 +72,37 @@ public class DecoderRecode extends Decoder
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
+	public Object[] decodeRow(double[] in, Object[] out) {
+		for( int j=0; j<_colList.length; j++ ) {
+			int col = _colList[j] - 1;
+			double val = _onOut ? //recode on output (after dummy)
+				UtilFunctions.objectToDouble(_schema[col], out[col]) : in[col];
+			out[col] = lookupRCDMap(_rcMaps[j], UtilFunctions.toLong(val));
+		}
+		return out;
+	}
+
+	@Override
 	public void initMetaData(FrameBlock meta) {
-		//initialize recode maps according to schema
-		_rcMaps = new HashMap[_colList.length];
+		//initialize inverted recode maps according to schema
+		_rcMaps = new Object[_colList.length][];
 		for( int j=0; j<_colList.length; j++ ) {
-			HashMap<Long, Object> map = new HashMap<Long, Object>();
-			for( int i=0; i<meta.getNumRows(); i++ ) {
-				if( meta.get(i, _colList[j]-1)==null )
-					break; //reached end of recode map
-				String[] tmp = meta.get(i, _colList[j]-1).toString().split(Lop.DATATYPE_PREFIX);				
-				Object obj = UtilFunctions.stringToObject(_schema[_colList[j]-1], tmp[0]);
-				map.put(Long.parseLong(tmp[1]), obj);				
-			}
-			_rcMaps[j] = map;
+			RecodeMap map = meta.getRecodeMap(_colList[j]-1);
+			int maxCode = 0;
+			for( int i=0; i<map.size(); i++ )
+				maxCode = Math.max(maxCode, map.getCode(i));
+			Object[] objs = new Object[maxCode+1];
+			for( int i=0; i<map.size(); i++ )
+				objs[map.getCode(i)] = UtilFunctions.stringToObject(
+					_schema[_colList[j]-1], map.getKey(i));
+			_rcMaps[j] = objs;
 		}
 	}
 	
+	private static Object lookupRCDMap(Object[] map, long key) {
+		return (key > 0 && key < map.length) ? map[(int)key] : null;
+	}
+	
 	/**
 	 * Parses a line of &lt;token, ID, count&gt; into &lt;token, ID&gt; pairs, where 
 	 * quoted tokens (potentially including separators) are supported.
@@ -29,6 +29,7 @@ import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.IntWritable;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.mapred.OutputCollector;
+import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.transform.DistinctValue;
@@ -128,6 +129,79 @@ public abstract class Encoder implements Serializable
 	 */
 	public abstract MatrixBlock apply(FrameBlock in, MatrixBlock out);
 	
+	/**
+	 * Block encode: build and apply (transform encode), with column-parallel
+	 * build and row-partitioned parallel apply for k&gt;1 (if supported).
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @param k degree of parallelism
+	 * @return output matrix block
+	 */
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out, int k) {
+		//sequential encode by default
+		return encode(in, out);
+	}
+	
+	/**
+	 * Build the transform meta data for the given block input, with 
+	 * column-parallel build for k&gt;1 (if supported).
+	 * 
+	 * @param in input frame block
+	 * @param k degree of parallelism
+	 */
+	public void build(FrameBlock in, int k) {
+		//sequential build by default
+		build(in);
+	}
+	
+	/**
+	 * Encode input data blockwise according to existing transform meta
+	 * data (transform apply), with row-partitioned parallel apply for 
+	 * k&gt;1 (if supported).
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @param k degree of parallelism
+	 * @return output matrix block
+	 */
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		//sequential apply by default
+		return apply(in, out);
+	}
+	
+	/**
+	 * Row encode according to existing transform meta data (transform apply)
+	 * of a single row without intermediate frame and matrix blocks, where out 
+	 * is the output row of previous encoders and ret the output buffer of 
+	 * encoders that change the number of columns (e.g., dummy coding). This
+	 * is the basis of allocation-free scoring with reused buffers.
+	 * 
+	 * @param in input row
+	 * @param out output row of previous encoders
+	 * @param ret output buffer of the final number of columns
+	 * @return output row (out or ret), or null if the row is omitted
+	 */
+	public abstract double[] applyRow(Object[] in, double[] out, double[] ret);
+	
+	/**
+	 * Converts a value of a row into a double value, where the value type
+	 * is inferred from the object (e.g., string or typed rows), and missing
+	 * values are converted to 0 similar to typed frame columns.
+	 * 
+	 * @param val value object
+	 * @return double value
+	 */
+	protected static double objectToDouble(Object val) {
+		if( val == null )
+			return 0;
+		else if( val instanceof String )
+			return UtilFunctions.objectToDouble(ValueType.STRING, val);
+		else if( val instanceof Boolean )
+			return ((Boolean)val) ? 1 : 0;
+		return ((Number)val).doubleValue();
+	}
+	
 	/**
 	 * Encode input data according to existing transform meta
 	 * data (transform apply).
@@ -66,9 +66,14 @@ public class EncoderComposite extends Encoder
 	
 	@Override
 	public MatrixBlock encode(FrameBlock in, MatrixBlock out) {
+		return encode(in, out, 1);
+	}
+	
+	@Override
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out, int k) {
 		//build meta data first (for all encoders)
 		for( Encoder encoder : _encoders )
-			encoder.build(in);
+			encoder.build(in, k);
 		
 		//propagate meta data 
 		_meta = new FrameBlock(in.getNumColumns(), ValueType.STRING);
@@ -79,15 +84,20 @@ public class EncoderComposite extends Encoder
 		
 		//apply meta data
 		for( Encoder encoder : _encoders )
-			out = encoder.apply(in, out);
+			out = encoder.apply(in, out, k);
 			
 		return out;
 	}
 
 	@Override
 	public void build(FrameBlock in) {
+		build(in, 1);
+	}
+	
+	@Override
+	public void build(FrameBlock in, int k) {
 		for( Encoder encoder : _encoders )
-			encoder.build(in);
+			encoder.build(in, k);
 	}
 
 
@@ -100,11 +110,27 @@ public class EncoderComposite extends Encoder
 	
 	@Override 
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
+		return apply(in, out, 1);
+	}
+	
+	@Override 
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		//apply encoders in order, each with row-partitioned apply 
+		//(barrier between encoders because of data dependencies)
 		for( Encoder encoder : _encoders )
-			out = encoder.apply(in, out);
+			out = encoder.apply(in, out, k);
 		return out;
 	}
 	
+	@Override
+	public double[] applyRow(Object[] in, double[] out, double[] ret) {
+		//apply encoders in order, where encoders after dummy coding
+		//operate in-place on the output buffer
+		for( int i=0; i<_encoders.size() && out!=null; i++ )
+			out = _encoders.get(i).applyRow(in, out, ret);
+		return out;
+	}
+
 	@Override
 	public FrameBlock getMetaData(FrameBlock out) {
 		if( _meta != null )
@@ -62,16 +62,21 @@ public class EncoderFactory
 			JSONObject jSpec = new JSONObject(spec);
 			List<Encoder> lencoders = new ArrayList<Encoder>();
 		
-			//prepare basic id lists (recode, dummycode, pass-through)
-			//note: any dummycode column requires recode as preparation
+			//prepare basic id lists (recode, dummycode, hash, pass-through)
+			//note: any dummycode column requires recode as preparation,
+			//except hashed and binned columns which are directly dummycoded
+			//by bucket and bin, respectively
 			List<Integer> rcIDs = Arrays.asList(ArrayUtils.toObject(
 					TfMetaUtils.parseJsonIDList(jSpec, colnames, TfUtils.TXMETHOD_RECODE)));
 			List<Integer> dcIDs = Arrays.asList(ArrayUtils.toObject(
 					TfMetaUtils.parseJsonIDList(jSpec, colnames, TfUtils.TXMETHOD_DUMMYCODE))); 
-			rcIDs = new ArrayList<Integer>(CollectionUtils.union(rcIDs, dcIDs));
+			List<Integer> haIDs = Arrays.asList(ArrayUtils.toObject(
+					TfMetaUtils.parseJsonIDList(jSpec, colnames, TfUtils.TXMETHOD_HASH)));
 			List<Integer> binIDs = TfMetaUtils.parseBinningColIDs(jSpec, colnames); 
-			List<Integer> ptIDs = new ArrayList<Integer>(CollectionUtils.subtract(
-					CollectionUtils.subtract(UtilFunctions.getSequenceList(1, clen, 1), rcIDs), binIDs)); 
+			rcIDs = new ArrayList<Integer>(CollectionUtils.subtract(CollectionUtils.subtract(
+					CollectionUtils.union(rcIDs, dcIDs), haIDs), binIDs));
+			List<Integer> ptIDs = new ArrayList<Integer>(CollectionUtils.subtract(CollectionUtils.subtract(
+					CollectionUtils.subtract(UtilFunctions.getSequenceList(1, clen, 1), rcIDs), binIDs), haIDs)); 
 			List<Integer> oIDs = Arrays.asList(ArrayUtils.toObject(
 					TfMetaUtils.parseJsonIDList(jSpec, colnames, TfUtils.TXMETHOD_OMIT))); 
 			List<Integer> mvIDs = Arrays.asList(ArrayUtils.toObject(
@@ -83,13 +88,15 @@ public class EncoderFactory
 				ra.setColList(ArrayUtils.toPrimitive(rcIDs.toArray(new Integer[0])));
 				lencoders.add(ra);	
 			}
+			if( !haIDs.isEmpty() )
+				lencoders.add(new EncoderFeatureHash(jSpec, colnames, clen));
 			if( !ptIDs.isEmpty() )
 				lencoders.add(new EncoderPassThrough(
 						ArrayUtils.toPrimitive(ptIDs.toArray(new Integer[0])), clen));	
-			if( !dcIDs.isEmpty() )
-				lencoders.add(new DummycodeAgent(jSpec, colnames, schema.length));
 			if( !binIDs.isEmpty() )
 				lencoders.add(new BinAgent(jSpec, colnames, schema.length, true));
+			if( !dcIDs.isEmpty() )
+				lencoders.add(new DummycodeAgent(jSpec, colnames, schema.length));
 			if( !oIDs.isEmpty() )
 				lencoders.add(new OmitAgent(jSpec, colnames, schema.length));
 			if( !mvIDs.isEmpty() ) {
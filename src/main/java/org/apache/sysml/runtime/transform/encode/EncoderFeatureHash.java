@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.transform.encode;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.OutputCollector;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.transform.DistinctValue;
+import org.apache.sysml.runtime.transform.TfUtils;
+import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
+import org.apache.sysml.runtime.util.UtilFunctions;
+import org.apache.wink.json4j.JSONException;
+import org.apache.wink.json4j.JSONObject;
+
+/**
+ * Simple atomic encoder for feature hashing, which maps the tokens of
+ * the given columns into K buckets (codes 1 to K) via a stable hash
+ * function. In contrast to recoding, there is no build phase and no
+ * materialized dictionary, i.e., the only meta data is the number of
+ * buckets K, which is exposed as number of distinct items per column
+ * (e.g., for subsequent dummy coding into K columns).
+ *
+ */
+public class EncoderFeatureHash extends EncoderParallel
+{
+	private static final long serialVersionUID = 7435806042138687342L;
+
+	private int _K = -1;
+
+	public EncoderFeatureHash(JSONObject parsedSpec, String[] colnames, int clen)
+		throws JSONException
+	{
+		super(null, clen);
+		_colList = TfMetaUtils.parseJsonIDList(parsedSpec, colnames, TfUtils.TXMETHOD_HASH);
+		_K = parsedSpec.containsKey(TfUtils.JSON_K) ?
+			UtilFunctions.toInt(parsedSpec.get(TfUtils.JSON_K)) : -1;
+		if( isApplicable() && _K <= 0 )
+			throw new JSONException("Feature hashing requires a positive number "
+				+ "of buckets '"+TfUtils.JSON_K+"', but found: "+parsedSpec.get(TfUtils.JSON_K));
+	}
+
+	public int getNumBuckets() {
+		return _K;
+	}
+
+	/**
+	 * Returns the bucket (1-based code) of the given token, where the
+	 * hash function is independent of JVM or platform.
+	 *
+	 * @param key token
+	 * @return code in [1, K]
+	 */
+	private int getCode(String key) {
+		//string hash code is defined by the language specification,
+		//mixed for better bucket distribution of similar tokens
+		int h = key.hashCode() * 0x9E3779B9;
+		h ^= (h >>> 16);
+		return (h & Integer.MAX_VALUE) % _K + 1;
+	}
+
+	@Override
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out) {
+		return apply(in, out);
+	}
+
+	@Override
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out, int k) {
+		return apply(in, out, k);
+	}
+
+	@Override
+	public void build(FrameBlock in) {
+		//do nothing (no build phase)
+	}
+	
+	@Override
+	protected void buildColumn(FrameBlock in, int j) {
+		//do nothing (no build phase)
+	}
+
+	@Override
+	public String[] apply(String[] words) {
+		if( !isApplicable() )
+			return words;
+		for( int j=0; j<_colList.length; j++ ) {
+			int colID = _colList[j];
+			String key = UtilFunctions.unquote(words[colID-1].trim());
+			words[colID-1] = !key.isEmpty() ? Integer.toString(getCode(key)) : "NaN";
+		}
+		return words;
+	}
+
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
+		return apply(in, out, 1);
+	}
+
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		return applyRowParallel(in, out, out, k);
+	}
+
+	@Override
+	protected void applyRows(FrameBlock in, MatrixBlock out, MatrixBlock ret, int rl, int ru) {
+		for( int j=0; j<_colList.length; j++ ) {
+			int colID = _colList[j];
+			for( int i=rl; i<ru; i++ ) {
+				Object okey = in.get(i, colID-1);
+				String key = (okey!=null) ? okey.toString() : null;
+				ret.quickSetValue(i, colID-1, (key!=null && !key.isEmpty()) ?
+					getCode(key) : Double.NaN);
+			}
+		}
+	}
+
+	@Override
+	public double[] applyRow(Object[] in, double[] out, double[] ret) {
+		for( int j=0; j<_colList.length; j++ ) {
+			int colID = _colList[j];
+			Object okey = in[colID-1];
+			String key = (okey!=null) ? okey.toString() : null;
+			out[colID-1] = (key!=null && !key.isEmpty()) ? getCode(key) : Double.NaN;
+		}
+		return out;
+	}
+
+	@Override
+	public FrameBlock getMetaData(FrameBlock meta) {
+		if( !isApplicable() )
+			return meta;
+
+		//expose number of buckets as number of distinct items
+		//(no materialized meta data, i.e., no additional rows)
+		for( int j=0; j<_colList.length; j++ )
+			meta.getColumnMetadata(_colList[j]-1).setNumDistinct(_K);
+		return meta;
+	}
+
+	@Override
+	public void initMetaData(FrameBlock meta) {
+		//ensure number of buckets for subsequent encoders, independent
+		//of the meta data source (e.g., recomputed cardinality in spark)
+		getMetaData(meta);
+	}
+
+	@Override
+	public void mapOutputTransformationMetadata(OutputCollector<IntWritable, DistinctValue> out, int taskID, TfUtils agents) throws IOException {
+		throw new RuntimeException("File-based api not supported.");
+	}
+
+	@Override
+	public void mergeAndOutputTransformationMetadata(Iterator<DistinctValue> values, String outputDir, int colID, FileSystem fs, TfUtils agents) throws IOException {
+		throw new RuntimeException("File-based api not supported.");
+	}
+
+	@Override
+	public void loadTxMtd(JobConf job, FileSystem fs, Path txMtdDir, TfUtils agents) throws IOException {
+		throw new RuntimeException("File-based api not supported.");
+	}
+}
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.transform.encode;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Base class for transform encoders that support column-parallel build and
+ * row-partitioned parallel apply. Encoders that change the number of rows 
+ * (e.g., omit) or delegate to other encoders (composite) directly extend
+ * Encoder and handle the parallel build and apply themselves.
+ * 
+ */
+public abstract class EncoderParallel extends Encoder
+{
+	private static final long serialVersionUID = 4526318467105470563L;
+	
+	//minimum number of rows for row-partitioned parallel apply
+	protected static final int PAR_NUMROWS_THRESHOLD = 1024;
+	
+	protected EncoderParallel( int[] colList, int clen ) {
+		super(colList, clen);
+	}
+	
+	/**
+	 * Build the transform meta data of the j-th column in the column list,
+	 * which is the basis of column-parallel build. Encoders that support this
+	 * need to keep independent per-column state.
+	 * 
+	 * @param in input frame block
+	 * @param j position in column list
+	 */
+	protected abstract void buildColumn(FrameBlock in, int j);
+	
+	/**
+	 * Encode rows rl to ru (exclusive) of the given input, where out is the
+	 * output of previous encoders and ret the output of this encoder (equal 
+	 * to out for in-place encoders). This is the basis of row-partitioned 
+	 * parallel apply, where ret is preallocated in dense or thread-safe
+	 * sparse format (i.e., concurrent updates of disjoint rows).
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block of previous encoders
+	 * @param ret output matrix block
+	 * @param rl row lower bound (inclusive)
+	 * @param ru row upper bound (exclusive)
+	 */
+	protected abstract void applyRows(FrameBlock in, MatrixBlock out, MatrixBlock ret, int rl, int ru);
+	
+	/**
+	 * Builds the meta data of all columns in the column list via buildColumn,
+	 * in parallel over columns for k&gt;1.
+	 * 
+	 * @param in input frame block
+	 * @param k degree of parallelism
+	 */
+	protected void buildColumnParallel(FrameBlock in, int k) {
+		int numCols = (_colList != null) ? _colList.length : 0;
+		if( k <= 1 || numCols <= 1 ) {
+			for( int j=0; j<numCols; j++ )
+				buildColumn(in, j);
+			return;
+		}
+		
+		ExecutorService pool = Executors.newFixedThreadPool(Math.min(k, numCols));
+		try {
+			ArrayList<BuildColumnTask> tasks = new ArrayList<BuildColumnTask>();
+			for( int j=0; j<numCols; j++ )
+				tasks.add(new BuildColumnTask(this, in, j));
+			for( Future<Object> rtask : pool.invokeAll(tasks) )
+				rtask.get(); //error handling
+		}
+		catch(Exception ex) {
+			throw new RuntimeException("Failed parallel transform build.", ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
+	/**
+	 * Encodes all rows of the given input via applyRows, in parallel over 
+	 * disjoint row partitions for k&gt;1.
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block of previous encoders
+	 * @param ret output matrix block
+	 * @param k degree of parallelism
+	 * @return output matrix block
+	 */
+	protected MatrixBlock applyRowParallel(FrameBlock in, MatrixBlock out, MatrixBlock ret, int k) {
+		int nrow = in.getNumRows();
+		if( k <= 1 || nrow < PAR_NUMROWS_THRESHOLD || !ret.isThreadSafe() ) {
+			applyRows(in, out, ret, 0, nrow);
+			return ret;
+		}
+		
+		//preallocate dense or sparse (MCSR) output (keep existing values of in-place 
+		//encoders), and recompute nnz afterwards because of concurrent updates
+		if( ret.isInSparseFormat() )
+			ret.allocateSparseRowsBlock(false);
+		else
+			ret.allocateDenseBlock(false);
+		ExecutorService pool = Executors.newFixedThreadPool(k);
+		try {
+			ArrayList<ApplyRowsTask> tasks = new ArrayList<ApplyRowsTask>();
+			int blklen = (int)Math.ceil((double)nrow / k);
+			for( int i=0; i<k & i*blklen<nrow; i++ )
+				tasks.add(new ApplyRowsTask(this, in, out, ret, i*blklen, Math.min((i+1)*blklen, nrow)));
+			for( Future<Object> rtask : pool.invokeAll(tasks) )
+				rtask.get(); //error handling
+		}
+		catch(Exception ex) {
+			throw new RuntimeException("Failed parallel transform apply.", ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+		ret.recomputeNonZeros();
+		
+		return ret;
+	}
+	
+	private static class BuildColumnTask implements Callable<Object> 
+	{
+		private final EncoderParallel _encoder;
+		private final FrameBlock _in;
+		private final int _j;
+		
+		protected BuildColumnTask(EncoderParallel encoder, FrameBlock in, int j) {
+			_encoder = encoder;
+			_in = in;
+			_j = j;
+		}
+		
+		@Override
+		public Object call() throws Exception {
+			_encoder.buildColumn(_in, _j);
+			return null;
+		}
+	}
+	
+	private static class ApplyRowsTask implements Callable<Object> 
+	{
+		private final EncoderParallel _encoder;
+		private final FrameBlock _in;
+		private final MatrixBlock _out;
+		private final MatrixBlock _ret;
+		private final int _rl;
+		private final int _ru;
+		
+		protected ApplyRowsTask(EncoderParallel encoder, FrameBlock in, MatrixBlock out, MatrixBlock ret, int rl, int ru) {
+			_encoder = encoder;
+			_in = in;
+			_out = out;
+			_ret = ret;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() throws Exception {
+			_encoder.applyRows(_in, _out, _ret, _rl, _ru);
+			return null;
+		}
+	}
+}
@@ -40,7 +40,7 @@ import org.apache.sysml.runtime.util.UtilFunctions;
  * it can be used as a drop-in replacement for any other encoder. 
  * 
  */
-public class EncoderPassThrough extends Encoder
+public class EncoderPassThrough extends EncoderParallel
 {
 	private static final long serialVersionUID = -8473768154646831882L;
 	
@@ -52,11 +52,21 @@ public class EncoderPassThrough extends Encoder
 	public MatrixBlock encode(FrameBlock in, MatrixBlock out) {
 		return apply(in, out);
 	}
+	
+	@Override
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out, int k) {
+		return apply(in, out, k);
+	}
 
 	@Override
 	public void build(FrameBlock in) {
 		//do nothing
 	}
+	
+	@Override
+	protected void buildColumn(FrameBlock in, int j) {
+		//do nothing (no build phase)
+	}
 
 	@Override
 	public String[] apply(String[] in) {
@@ -65,17 +75,36 @@ public class EncoderPassThrough extends Encoder
 	
 	@Override 
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
+		return apply(in, out, 1);
+	}
+	
+	@Override 
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		return applyRowParallel(in, out, out, k);
+	}
+	
+	@Override
+	protected void applyRows(FrameBlock in, MatrixBlock out, MatrixBlock ret, int rl, int ru) {
 		for( int j=0; j<_colList.length; j++ ) {
 			int col = _colList[j]-1;
 			ValueType vt = in.getSchema()[col];
-			for( int i=0; i<in.getNumRows(); i++ ) {
+			for( int i=rl; i<ru; i++ ) {
 				Object val = in.get(i, col);
-				out.quickSetValue(i, col, (val==null||(vt==ValueType.STRING 
+				ret.quickSetValue(i, col, (val==null||(vt==ValueType.STRING 
 						&& val.toString().isEmpty())) ? Double.NaN : 
 						UtilFunctions.objectToDouble(vt, val));
 			}
 		}
-		
+	}
+
+	@Override
+	public double[] applyRow(Object[] in, double[] out, double[] ret) {
+		for( int j=0; j<_colList.length; j++ ) {
+			int col = _colList[j]-1;
+			Object val = in[col];
+			out[col] = (val==null || (val instanceof String 
+				&& ((String)val).isEmpty())) ? Double.NaN : objectToDouble(val);
+		}
 		return out;
 	}
 
@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.transform.meta;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Mergeable streaming quantile sketch (KLL-style compactor hierarchy)
+ * for approximate quantiles in a single pass with bounded memory. Level h
+ * holds items of weight 2^h; if a level exceeds its capacity, it is sorted
+ * and every other item is promoted to the next level. Capacities decay
+ * geometrically from the top level, which bounds the size of the sketch
+ * to O(k) items. Sketches of disjoint partitions can be merged into a
+ * sketch of the union (e.g., per-partition sketches in spark). For less
+ * than k items, the sketch is exact.
+ *
+ * The compaction offsets alternate deterministically (instead of random
+ * coin flips), which makes the results reproducible.
+ */
+public class QuantileSketch implements Serializable
+{
+	private static final long serialVersionUID = -4562367263419513453L;
+
+	public static final int DEFAULT_K = 256;
+	private static final double CAPACITY_DECAY = 2d/3;
+	private static final int MIN_CAPACITY = 8;
+
+	private final int _k;
+	private final ArrayList<double[]> _levels; //items per level
+	private final ArrayList<Integer> _sizes;   //number of items per level
+	private long _n = 0;
+	private double _min = Double.POSITIVE_INFINITY;
+	private double _max = Double.NEGATIVE_INFINITY;
+	private int _offsets = 0; //bit vector of alternating offsets
+
+	public QuantileSketch() {
+		this(DEFAULT_K);
+	}
+
+	public QuantileSketch(int k) {
+		_k = Math.max(k, MIN_CAPACITY);
+		_levels = new ArrayList<double[]>();
+		_sizes = new ArrayList<Integer>();
+		addLevel();
+	}
+
+	public long getN() {
+		return _n;
+	}
+
+	public double getMin() {
+		return _min;
+	}
+
+	public double getMax() {
+		return _max;
+	}
+
+	public boolean isEmpty() {
+		return _n == 0;
+	}
+
+	/**
+	 * Number of retained items, i.e., the size of the sketch.
+	 *
+	 * @return number of retained items
+	 */
+	public int getNumRetained() {
+		int ret = 0;
+		for( int h=0; h<_sizes.size(); h++ )
+			ret += _sizes.get(h);
+		return ret;
+	}
+
+	/**
+	 * Adds a single value to the sketch; NaN values are ignored.
+	 *
+	 * @param v value
+	 */
+	public void update(double v) {
+		if( Double.isNaN(v) )
+			return;
+		_min = Math.min(_min, v);
+		_max = Math.max(_max, v);
+		_n++;
+		append(0, v);
+		if( _sizes.get(0) >= capacity(0) )
+			compress();
+	}
+
+	/**
+	 * Merges the given sketch into this sketch, where the input
+	 * sketch remains unchanged.
+	 *
+	 * @param that quantile sketch
+	 */
+	public void merge(QuantileSketch that) {
+		if( that == null || that.isEmpty() )
+			return;
+		_min = Math.min(_min, that._min);
+		_max = Math.max(_max, that._max);
+		_n += that._n;
+		for( int h=0; h<that._levels.size(); h++ ) {
+			if( h >= _levels.size() )
+				addLevel();
+			double[] items = that._levels.get(h);
+			for( int i=0; i<that._sizes.get(h); i++ )
+				append(h, items[i]);
+		}
+		compress();
+	}
+
+	/**
+	 * Returns the approximate phi-quantile, i.e., the smallest retained value
+	 * whose (weighted) rank is at least phi*N. The quantiles 0 and 1 are the
+	 * exact min and max values.
+	 *
+	 * @param phi quantile in [0,1]
+	 * @return quantile value, NaN if empty
+	 */
+	public double getQuantile(double phi) {
+		return getQuantiles(new double[]{phi})[0];
+	}
+
+	/**
+	 * Returns the approximate quantiles for the given sorted
+	 * array of phis, with a single sort of the retained items.
+	 *
+	 * @param phis sorted quantiles in [0,1]
+	 * @return quantile values, NaN if empty
+	 */
+	public double[] getQuantiles(double[] phis) {
+		double[] ret = new double[phis.length];
+		if( isEmpty() ) {
+			Arrays.fill(ret, Double.NaN);
+			return ret;
+		}
+
+		//collect and sort weighted items
+		int len = getNumRetained();
+		double[] vals = new double[len];
+		long[] wts = new long[len];
+		int pos = 0;
+		for( int h=0; h<_levels.size(); h++ ) {
+			double[] items = _levels.get(h);
+			for( int i=0; i<_sizes.get(h); i++, pos++ ) {
+				vals[pos] = items[i];
+				wts[pos] = 1L << h;
+			}
+		}
+		sortByValue(vals, wts);
+
+		//scan cumulative weights (total weight is N)
+		long cum = 0; int ix = 0;
+		for( int j=0; j<phis.length; j++ ) {
+			if( phis[j] <= 0 ) {
+				ret[j] = _min; continue;
+			}
+			if( phis[j] >= 1 ) {
+				ret[j] = _max; continue;
+			}
+			double rank = phis[j] * _n;
+			while( ix < len-1 && cum + wts[ix] < rank )
+				cum += wts[ix++];
+			ret[j] = vals[ix];
+		}
+		return ret;
+	}
+
+	private void addLevel() {
+		_levels.add(new double[MIN_CAPACITY]);
+		_sizes.add(0);
+	}
+
+	private int capacity(int h) {
+		int depth = _levels.size() - h - 1;
+		return Math.max(MIN_CAPACITY, (int)Math.ceil(_k * Math.pow(CAPACITY_DECAY, depth)));
+	}
+
+	private void append(int h, double v) {
+		double[] items = _levels.get(h);
+		int size = _sizes.get(h);
+		if( size == items.length ) {
+			items = Arrays.copyOf(items, items.length * 2);
+			_levels.set(h, items);
+		}
+		items[size] = v;
+		_sizes.set(h, size+1);
+	}
+
+	private void compress() {
+		//compact levels bottom-up until all levels within capacity
+		for( int h=0; h<_levels.size(); h++ ) {
+			if( _sizes.get(h) < capacity(h) )
+				continue;
+			if( h+1 == _levels.size() )
+				addLevel();
+			double[] items = _levels.get(h);
+			int size = _sizes.get(h);
+			Arrays.sort(items, 0, size);
+			//keep odd item (if any) at current level
+			int odd = size % 2;
+			int offset = (_offsets >>> (h % 32)) & 1;
+			_offsets ^= (1 << (h % 32));
+			for( int i=odd+offset; i<size; i+=2 )
+				append(h+1, items[i]);
+			_sizes.set(h, odd); //retain smallest item if odd
+		}
+	}
+
+	private static void sortByValue(double[] vals, long[] wts) {
+		//sort index permutation by value, then reorder both arrays
+		Integer[] ix = new Integer[vals.length];
+		for( int i=0; i<ix.length; i++ )
+			ix[i] = i;
+		final double[] fvals = vals;
+		Arrays.sort(ix, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer a, Integer b) {
+				return Double.compare(fvals[a], fvals[b]);
+			}
+		});
+		double[] tvals = vals.clone();
+		long[] twts = wts.clone();
+		for( int i=0; i<ix.length; i++ ) {
+			vals[i] = tvals[ix[i]];
+			wts[i] = twts[ix[i]];
+		}
+	}
+}
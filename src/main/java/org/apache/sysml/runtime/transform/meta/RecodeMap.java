@@ -0,0 +1,368 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.transform.meta;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * This native string - int hashmap is a memory-efficient replacement of
+ * {@code HashMap<String,Long>} for recode maps (token to code). In contrast
+ * to a default hashmap, we use open addressing (linear probing) over a
+ * primitive table of entry indexes, and store all tokens as UTF-8 bytes
+ * in a single byte arena. Hence, there are no entry, boxed code, or string
+ * objects per distinct token, which is important for high-cardinality
+ * categorical columns.
+ *
+ * Entries are kept in insertion order, which allows to iterate over
+ * tokens and codes via {@link #getKey(int)} and {@link #getCode(int)}.
+ * Lookups are read-only and allocation-free and hence, safe for
+ * concurrent readers (e.g., row-partitioned parallel transform apply).
+ *
+ */
+public class RecodeMap implements Serializable
+{
+	private static final long serialVersionUID = -5322950375838474470L;
+
+	private static final int INIT_CAPACITY = 8;
+	private static final int RESIZE_FACTOR = 2;
+	private static final float LOAD_FACTOR = 0.75f;
+
+	//entries in insertion order (key bytes at _offsets[i] to _offsets[i+1])
+	private transient byte[] _keys = null;
+	private transient int[] _offsets = null;
+	private transient int[] _codes = null;
+	private transient int[] _hashes = null;
+	private transient int _size = -1;
+
+	//open-addressing hash table of entry indexes + 1 (0 for empty)
+	private transient int[] _table = null;
+
+	public RecodeMap() {
+		this(INIT_CAPACITY);
+	}
+
+	public RecodeMap(int capacity) {
+		allocate(Math.max(capacity, INIT_CAPACITY), 8*Math.max(capacity, INIT_CAPACITY));
+	}
+
+	public int size() {
+		return _size;
+	}
+
+	/**
+	 * Returns the code of the given token.
+	 *
+	 * @param key token
+	 * @return code, or -1 if the token does not exist
+	 */
+	public int get(String key) {
+		int ix = indexOf(key, hash(key));
+		return (ix >= 0) ? _codes[ix] : -1;
+	}
+
+	public boolean containsKey(String key) {
+		return indexOf(key, hash(key)) >= 0;
+	}
+
+	/**
+	 * Adds the given token with code size()+1 if it does not exist yet,
+	 * i.e., assigns codes in order of first occurrence.
+	 *
+	 * @param key token
+	 * @return code of existing or added token
+	 */
+	public int putIfAbsent(String key) {
+		int hash = hash(key);
+		int ix = indexOf(key, hash);
+		if( ix >= 0 )
+			return _codes[ix];
+		int code = _size + 1;
+		append(key, hash, code);
+		return code;
+	}
+
+	/**
+	 * Adds the given token or replaces the code of an existing token.
+	 *
+	 * @param key token
+	 * @param code code
+	 */
+	public void put(String key, int code) {
+		int hash = hash(key);
+		int ix = indexOf(key, hash);
+		if( ix >= 0 )
+			_codes[ix] = code;
+		else
+			append(key, hash, code);
+	}
+
+	/**
+	 * Returns the token of the i-th entry (in insertion order).
+	 *
+	 * @param ix entry index
+	 * @return token
+	 */
+	public String getKey(int ix) {
+		return decode(_keys, _offsets[ix], _offsets[ix+1]);
+	}
+
+	/**
+	 * Returns the code of the i-th entry (in insertion order).
+	 *
+	 * @param ix entry index
+	 * @return code
+	 */
+	public int getCode(int ix) {
+		return _codes[ix];
+	}
+
+	public long getInMemorySize() {
+		return 16 + 4*8 //object and fields
+			+ 16 + _keys.length + 3*(16 + 4L*_codes.length)
+			+ 16 + 4L*_table.length;
+	}
+
+	private void allocate(int capacity, int keyCapacity) {
+		_keys = new byte[keyCapacity];
+		_offsets = new int[capacity+1];
+		_codes = new int[capacity];
+		_hashes = new int[capacity];
+		_size = 0;
+		_table = new int[tableSizeFor(capacity)];
+	}
+
+	private int indexOf(String key, int hash) {
+		int mask = _table.length - 1;
+		for( int pos = hash & mask; ; pos = (pos+1) & mask ) {
+			int ix = _table[pos] - 1;
+			if( ix < 0 )
+				return -1;
+			if( _hashes[ix] == hash && equalsKey(ix, key) )
+				return ix;
+		}
+	}
+
+	private void append(String key, int hash, int code) {
+		//ensure entry and key capacity
+		if( _size == _codes.length )
+			resizeEntries(_codes.length * RESIZE_FACTOR);
+		int off = _offsets[_size];
+		int len = encodedLength(key);
+		if( (long)off + len > _keys.length ) {
+			long newLen = Math.max((long)_keys.length * RESIZE_FACTOR, (long)off + len);
+			if( newLen > Integer.MAX_VALUE - 8 )
+				throw new RuntimeException("Recode map exceeded the maximum size of "
+					+ "encoded tokens: "+(off+(long)len)+" bytes.");
+			_keys = Arrays.copyOf(_keys, (int)newLen);
+		}
+
+		//append entry and key bytes
+		encode(key, _keys, off);
+		_offsets[_size+1] = off + len;
+		_codes[_size] = code;
+		_hashes[_size] = hash;
+		_size++;
+
+		//add to hash table, resize if necessary
+		if( _size >= LOAD_FACTOR * _table.length )
+			rehash(_table.length * RESIZE_FACTOR);
+		else
+			insert(_size-1);
+	}
+
+	private void insert(int ix) {
+		int mask = _table.length - 1;
+		int pos = _hashes[ix] & mask;
+		while( _table[pos] != 0 )
+			pos = (pos+1) & mask;
+		_table[pos] = ix + 1;
+	}
+
+	private void resizeEntries(int capacity) {
+		_offsets = Arrays.copyOf(_offsets, capacity+1);
+		_codes = Arrays.copyOf(_codes, capacity);
+		_hashes = Arrays.copyOf(_hashes, capacity);
+	}
+
+	private void rehash(int tableSize) {
+		//rehash all entries based on cached hash codes
+		_table = new int[tableSize];
+		for( int ix=0; ix<_size; ix++ )
+			insert(ix);
+	}
+
+	private boolean equalsKey(int ix, String key) {
+		//compare string with encoded bytes (without encoding into temporary buffer)
+		byte[] keys = _keys;
+		int pos = _offsets[ix];
+		int end = _offsets[ix+1];
+		int len = key.length();
+		for( int i=0; i<len; i++ ) {
+			char c = key.charAt(i);
+			if( c < 0x80 ) {
+				if( pos >= end || keys[pos++] != (byte)c )
+					return false;
+			}
+			else if( c < 0x800 ) {
+				if( pos+2 > end || keys[pos++] != (byte)(0xC0 | (c >> 6))
+					|| keys[pos++] != (byte)(0x80 | (c & 0x3F)) )
+					return false;
+			}
+			else if( isSurrogatePair(key, i) ) {
+				int cp = Character.toCodePoint(c, key.charAt(++i));
+				if( pos+4 > end || keys[pos++] != (byte)(0xF0 | (cp >> 18))
+					|| keys[pos++] != (byte)(0x80 | ((cp >> 12) & 0x3F))
+					|| keys[pos++] != (byte)(0x80 | ((cp >> 6) & 0x3F))
+					|| keys[pos++] != (byte)(0x80 | (cp & 0x3F)) )
+					return false;
+			}
+			else {
+				if( pos+3 > end || keys[pos++] != (byte)(0xE0 | (c >> 12))
+					|| keys[pos++] != (byte)(0x80 | ((c >> 6) & 0x3F))
+					|| keys[pos++] != (byte)(0x80 | (c & 0x3F)) )
+					return false;
+			}
+		}
+		return pos == end;
+	}
+
+	private static int hash(String key) {
+		//string hash code is cached by the string object
+		int h = key.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private static int tableSizeFor(int capacity) {
+		int n = INIT_CAPACITY;
+		while( n * LOAD_FACTOR <= capacity && n < (1 << 30) )
+			n *= RESIZE_FACTOR;
+		return n;
+	}
+
+	private static boolean isSurrogatePair(String key, int i) {
+		return Character.isHighSurrogate(key.charAt(i)) && i+1 < key.length()
+			&& Character.isLowSurrogate(key.charAt(i+1));
+	}
+
+	private static int encodedLength(String key) {
+		int len = key.length();
+		int ret = 0;
+		for( int i=0; i<len; i++ ) {
+			char c = key.charAt(i);
+			if( c < 0x80 )
+				ret += 1;
+			else if( c < 0x800 )
+				ret += 2;
+			else if( isSurrogatePair(key, i) ) {
+				ret += 4; i++;
+			}
+			else
+				ret += 3;
+		}
+		return ret;
+	}
+
+	private static void encode(String key, byte[] buff, int pos) {
+		//UTF-8 encoding, where unpaired surrogates are encoded as
+		//individual 3-byte chars to ensure lossless round trips
+		int len = key.length();
+		for( int i=0; i<len; i++ ) {
+			char c = key.charAt(i);
+			if( c < 0x80 )
+				buff[pos++] = (byte)c;
+			else if( c < 0x800 ) {
+				buff[pos++] = (byte)(0xC0 | (c >> 6));
+				buff[pos++] = (byte)(0x80 | (c & 0x3F));
+			}
+			else if( isSurrogatePair(key, i) ) {
+				int cp = Character.toCodePoint(c, key.charAt(++i));
+				buff[pos++] = (byte)(0xF0 | (cp >> 18));
+				buff[pos++] = (byte)(0x80 | ((cp >> 12) & 0x3F));
+				buff[pos++] = (byte)(0x80 | ((cp >> 6) & 0x3F));
+				buff[pos++] = (byte)(0x80 | (cp & 0x3F));
+			}
+			else {
+				buff[pos++] = (byte)(0xE0 | (c >> 12));
+				buff[pos++] = (byte)(0x80 | ((c >> 6) & 0x3F));
+				buff[pos++] = (byte)(0x80 | (c & 0x3F));
+			}
+		}
+	}
+
+	private static String decode(byte[] buff, int pos, int end) {
+		//inverse of encode (incl unpaired surrogates)
+		char[] chars = new char[end-pos];
+		int len = 0;
+		while( pos < end ) {
+			int b = buff[pos++] & 0xFF;
+			if( b < 0x80 )
+				chars[len++] = (char)b;
+			else if( b < 0xE0 )
+				chars[len++] = (char)(((b & 0x1F) << 6) | (buff[pos++] & 0x3F));
+			else if( b < 0xF0 ) {
+				chars[len++] = (char)(((b & 0x0F) << 12)
+					| ((buff[pos++] & 0x3F) << 6) | (buff[pos++] & 0x3F));
+			}
+			else {
+				int cp = ((b & 0x07) << 18) | ((buff[pos++] & 0x3F) << 12)
+					| ((buff[pos++] & 0x3F) << 6) | (buff[pos++] & 0x3F);
+				chars[len++] = Character.highSurrogate(cp);
+				chars[len++] = Character.lowSurrogate(cp);
+			}
+		}
+		return new String(chars, 0, len);
+	}
+
+	private void writeObject(ObjectOutputStream out)
+		throws IOException
+	{
+		//compact serialization of used entries and key bytes
+		out.defaultWriteObject();
+		out.writeInt(_size);
+		out.writeInt(_offsets[_size]);
+		out.write(_keys, 0, _offsets[_size]);
+		for( int i=0; i<_size; i++ ) {
+			out.writeInt(_offsets[i+1]);
+			out.writeInt(_codes[i]);
+		}
+	}
+
+	private void readObject(ObjectInputStream in)
+		throws IOException, ClassNotFoundException
+	{
+		//read entries and rebuild hash table
+		in.defaultReadObject();
+		int size = in.readInt();
+		int keyLen = in.readInt();
+		allocate(Math.max(size, INIT_CAPACITY), Math.max(keyLen, INIT_CAPACITY));
+		in.readFully(_keys, 0, keyLen);
+		for( int i=0; i<size; i++ ) {
+			_offsets[i+1] = in.readInt();
+			_codes[i] = in.readInt();
+			_hashes[i] = hash(decode(_keys, _offsets[i], _offsets[i+1]));
+		}
+		_size = size;
+		rehash(_table.length);
+	}
+}
@@ -350,7 +350,11 @@ public class TfMetaUtils
 					TfMetaUtils.parseJsonIDList(jSpec, colnames, TfUtils.TXMETHOD_RECODE)));
 			List<Integer> dcIDs = Arrays.asList(ArrayUtils.toObject(
 					TfMetaUtils.parseJsonIDList(jSpec, colnames, TfUtils.TXMETHOD_DUMMYCODE))); 
-			specRecodeIDs = new ArrayList<Integer>(CollectionUtils.union(rcIDs, dcIDs));
+			List<Integer> haIDs = Arrays.asList(ArrayUtils.toObject(
+					TfMetaUtils.parseJsonIDList(jSpec, colnames, TfUtils.TXMETHOD_HASH)));
+			List<Integer> binIDs = parseBinningColIDs(jSpec, colnames);
+			specRecodeIDs = new ArrayList<Integer>(CollectionUtils.subtract(CollectionUtils.subtract(
+					CollectionUtils.union(rcIDs, dcIDs), haIDs), binIDs)); //hashed/binned w/o recode maps
 		}
 		catch(Exception ex) {
 			throw new IOException(ex);
@@ -21,9 +21,13 @@ package org.apache.sysml.runtime.util;
 
 import java.io.DataInput;
 import java.io.EOFException;
+import java.io.FileInputStream;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
 
 import org.apache.sysml.runtime.matrix.data.MatrixBlockDataInput;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
@@ -34,6 +38,13 @@ public class FastBufferedDataInputStream extends FilterInputStream implements Da
 	protected byte[] _buff;
 	protected int _bufflen;
 	
+	//double view of the byte buffer for bulk deserialization
+	//(big endian, i.e., consistent with DataOutput.writeDouble)
+	protected DoubleBuffer _dbuff;
+	
+	//lazily allocated direct buffer for channel reads of local files
+	private ByteBuffer _nbuff = null;
+	
 	public FastBufferedDataInputStream( InputStream in )
 	{
 		this(in, 8192);
@@ -48,6 +59,7 @@ public class FastBufferedDataInputStream extends FilterInputStream implements Da
 		
 		_buff = new byte[ size ];
 		_bufflen = size;
+		_dbuff = ByteBuffer.wrap(_buff).asDoubleBuffer();
 	}
 
 
@@ -172,6 +184,10 @@ public class FastBufferedDataInputStream extends FilterInputStream implements Da
 		//if( len<=0 || len != varr.length )
 		//	throw new IndexOutOfBoundsException("len="+len+", varr.length="+varr.length);
 		
+		//bulk read from file channel for local (uncompressed) files
+		if( in instanceof FileInputStream )
+			return readDoubleArray(((FileInputStream)in).getChannel(), len, varr);
+		
 		//counter for non-zero elements
 		long nnz = 0;
 		
@@ -183,15 +199,42 @@ public class FastBufferedDataInputStream extends FilterInputStream implements Da
 			int maxNB = (int)Math.min(_bufflen, ((long)len-i)*8);
 			readFully(_buff, 0, maxNB);
 			
-			for( int j=0, ix=i; j<maxNB; j+=8, ix++ ) 
-			{
-				//core deserialization
-				long tmp = baToLong(_buff, j);
-				varr[ix] = Double.longBitsToDouble( tmp );
-				
-				//nnz maintenance
-				nnz += (varr[ix]!=0) ? 1 : 0; 
-			}
+			//core deserialization (bulk conversion via double view)
+			_dbuff.clear();
+			_dbuff.get(varr, i, maxNB/8);
+			
+			//nnz maintenance
+			nnz += countNonZeros(varr, i, maxNB/8);
+		}
+		
+		return nnz;
+	}
+
+	private long readDoubleArray(FileChannel channel, int len, double[] varr) 
+		throws IOException
+	{
+		//allocate direct buffer to avoid the intermediate copy of stream reads
+		if( _nbuff == null )
+			_nbuff = ByteBuffer.allocateDirect(Math.max(_bufflen, 64*1024));
+		int blen = _nbuff.capacity()/8;
+		
+		//counter for non-zero elements
+		long nnz = 0;
+		
+		//outer loop for buffered read (no read-ahead beyond the array,
+		//i.e., the stream position remains consistent for subsequent reads)
+		for( int i=0; i<len; i+=blen ) 
+		{
+			int maxNB = (int)Math.min(blen, (long)len-i) * 8;
+			_nbuff.clear().limit(maxNB);
+			while( _nbuff.hasRemaining() )
+				if( channel.read(_nbuff) < 0 )
+					throw new EOFException();
+			_nbuff.flip();
+			
+			//core deserialization and nnz maintenance
+			_nbuff.asDoubleBuffer().get(varr, i, maxNB/8);
+			nnz += countNonZeros(varr, i, maxNB/8);
 		}
 		
 		return nnz;
@@ -248,6 +291,13 @@ public class FastBufferedDataInputStream extends FilterInputStream implements Da
 		return nnz;
 	}
 
+	private static long countNonZeros( double[] varr, int pos, int len ) {
+		long nnz = 0;
+		for( int i=pos; i<pos+len; i++ )
+			nnz += (varr[i]!=0) ? 1 : 0;
+		return nnz;
+	}
+
 	private static int baToInt( byte[] ba, final int off )
 	{
 		//shift and add 4 bytes into single int
@@ -0,0 +1,331 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.util;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This buffered output stream is a replacement of BufferedWriter/OutputStreamWriter
+ * for text output formats, wrt SystemML requirements.
+ *
+ * - 1) direct formatting of numbers, characters and strings into byte buffers
+ *      (UTF-8), i.e., without intermediate string objects per value or row
+ * - 2) bounded set of reusable output buffers, i.e., bounded memory independent
+ *      of the number of rows or columns
+ * - 3) optional asynchronous write-behind of full buffers by a single writer thread,
+ *      which allows to overlap the formatting of subsequent rows with IO
+ *
+ * Doubles are formatted consistent with Double.toString (and hence, existing text
+ * outputs), with a fast path for integer values.
+ *
+ */
+public class FastBufferedTextOutputStream extends FilterOutputStream
+{
+	public static final int BUFFER_SIZE = 64*1024;
+	public static final int NUM_BUFFERS = 4;
+
+	//upper bound for fast path of integer doubles (otherwise scientific notation)
+	private static final double MAX_PLAIN_INTEGER = 1e7;
+
+	protected byte[] _buff;
+	protected int _bufflen;
+	protected int _count;
+
+	//write-behind (null for synchronous writes)
+	private ExecutorService _pool = null;
+	private final LinkedList<Future<byte[]>> _pending = new LinkedList<Future<byte[]>>();
+	private final LinkedList<byte[]> _free = new LinkedList<byte[]>();
+	private int _numBuffers = 1;
+	private boolean _closed = false;
+
+	//reused formatting buffers (no allocation per value)
+	private final StringBuilder _sb = new StringBuilder(32);
+	private final char[] _chars = new char[32];
+	private final byte[] _digits = new byte[20];
+
+	public FastBufferedTextOutputStream(OutputStream out) {
+		this(out, BUFFER_SIZE, false);
+	}
+
+	public FastBufferedTextOutputStream(OutputStream out, boolean async) {
+		this(out, BUFFER_SIZE, async);
+	}
+
+	public FastBufferedTextOutputStream(OutputStream out, int size, boolean async)
+	{
+		super(out);
+
+		if(size <= 0)
+			throw new IllegalArgumentException("Buffer size <= 0.");
+
+		_buff = new byte[size];
+		_bufflen = size;
+		_count = 0;
+
+		if( async ) {
+			_pool = Executors.newSingleThreadExecutor();
+			_numBuffers = NUM_BUFFERS;
+		}
+	}
+
+	@Override
+	public void write(int b)
+		throws IOException
+	{
+		if( _count >= _bufflen )
+			flushBuffer();
+		_buff[_count++] = (byte)b;
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len)
+		throws IOException
+	{
+		while( len > 0 ) {
+			if( _count >= _bufflen )
+				flushBuffer();
+			int llen = Math.min(len, _bufflen-_count);
+			System.arraycopy(b, off, _buff, _count, llen);
+			_count += llen;
+			off += llen;
+			len -= llen;
+		}
+	}
+
+	/**
+	 * Appends the given character (UTF-8 encoded).
+	 *
+	 * @param c character
+	 * @return this output stream
+	 * @throws IOException if IOException occurs
+	 */
+	public FastBufferedTextOutputStream append(char c)
+		throws IOException
+	{
+		if( c < 0x80 ) {
+			if( _count >= _bufflen )
+				flushBuffer();
+			_buff[_count++] = (byte)c;
+		}
+		else if( c < 0x800 ) {
+			write(0xC0 | (c >> 6));
+			write(0x80 | (c & 0x3F));
+		}
+		else {
+			write(0xE0 | (c >> 12));
+			write(0x80 | ((c >> 6) & 0x3F));
+			write(0x80 | (c & 0x3F));
+		}
+		return this;
+	}
+
+	/**
+	 * Appends the given character sequence (UTF-8 encoded).
+	 *
+	 * @param s character sequence
+	 * @return this output stream
+	 * @throws IOException if IOException occurs
+	 */
+	public FastBufferedTextOutputStream append(CharSequence s)
+		throws IOException
+	{
+		int len = s.length();
+		for( int i=0; i<len; i++ ) {
+			char c = s.charAt(i);
+			if( c < 0x80 ) { //fast path ascii
+				if( _count >= _bufflen )
+					flushBuffer();
+				_buff[_count++] = (byte)c;
+			}
+			else if( Character.isHighSurrogate(c) && i+1 < len
+				&& Character.isLowSurrogate(s.charAt(i+1)) ) {
+				int cp = Character.toCodePoint(c, s.charAt(++i));
+				write(0xF0 | (cp >> 18));
+				write(0x80 | ((cp >> 12) & 0x3F));
+				write(0x80 | ((cp >> 6) & 0x3F));
+				write(0x80 | (cp & 0x3F));
+			}
+			else
+				append(c);
+		}
+		return this;
+	}
+
+	/**
+	 * Appends the decimal representation of the given long value.
+	 *
+	 * @param v long value
+	 * @return this output stream
+	 * @throws IOException if IOException occurs
+	 */
+	public FastBufferedTextOutputStream append(long v)
+		throws IOException
+	{
+		if( v == Long.MIN_VALUE ) //not negatable
+			return append(Long.toString(v));
+		if( v < 0 ) {
+			write('-');
+			v = -v;
+		}
+		int pos = _digits.length;
+		do {
+			_digits[--pos] = (byte)('0' + (v % 10));
+			v /= 10;
+		} while( v > 0 );
+		write(_digits, pos, _digits.length-pos);
+		return this;
+	}
+
+	/**
+	 * Appends the representation of the given double value, consistent
+	 * with Double.toString.
+	 *
+	 * @param v double value
+	 * @return this output stream
+	 * @throws IOException if IOException occurs
+	 */
+	public FastBufferedTextOutputStream append(double v)
+		throws IOException
+	{
+		//fast path for integer values (w/o negative zero)
+		if( Math.abs(v) < MAX_PLAIN_INTEGER && v == Math.rint(v)
+			&& (v != 0 || Double.doubleToRawLongBits(v) == 0) ) {
+			append((long)v);
+			write('.');
+			write('0');
+		}
+		else {
+			//general case via reused string builder, which
+			//formats doubles without intermediate strings
+			_sb.setLength(0);
+			_sb.append(v);
+			int len = _sb.length();
+			if( _count + len > _bufflen )
+				flushBuffer();
+			//copy ascii chars (digits, sign, '.', 'E', NaN, Infinity)
+			_sb.getChars(0, len, _chars, 0);
+			for( int i=0; i<len; i++ )
+				_buff[_count++] = (byte)_chars[i];
+		}
+		return this;
+	}
+
+	@Override
+	public void flush()
+		throws IOException
+	{
+		flushBuffer();
+		waitForPendingWrites(0);
+		out.flush();
+	}
+
+	@Override
+	public void close()
+		throws IOException
+	{
+		if( _closed )
+			return;
+		_closed = true;
+		try {
+			flush();
+		}
+		finally {
+			if( _pool != null )
+				_pool.shutdownNow();
+			out.close();
+		}
+	}
+
+	private void flushBuffer()
+		throws IOException
+	{
+		if( _count <= 0 )
+			return;
+
+		if( _pool == null ) { //synchronous write
+			out.write(_buff, 0, _count);
+		}
+		else { //asynchronous write-behind
+			_pending.add(_pool.submit(new WriteBufferTask(out, _buff, _count)));
+			_buff = getFreeBuffer();
+		}
+		_count = 0;
+	}
+
+	private byte[] getFreeBuffer()
+		throws IOException
+	{
+		//reclaim buffers of completed writes
+		while( !_pending.isEmpty() && _pending.getFirst().isDone() )
+			_free.add(getWrittenBuffer(_pending.removeFirst()));
+
+		//allocate new buffer, or wait for oldest pending write
+		if( !_free.isEmpty() )
+			return _free.removeFirst();
+		else if( _pending.size() + 1 < _numBuffers )
+			return new byte[_bufflen];
+		else
+			return getWrittenBuffer(_pending.removeFirst());
+	}
+
+	private void waitForPendingWrites(int maxPending)
+		throws IOException
+	{
+		while( _pending.size() > maxPending )
+			_free.add(getWrittenBuffer(_pending.removeFirst()));
+	}
+
+	private static byte[] getWrittenBuffer(Future<byte[]> task)
+		throws IOException
+	{
+		try {
+			return task.get();
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed asynchronous write of text output.", ex);
+		}
+	}
+
+	private static class WriteBufferTask implements Callable<byte[]>
+	{
+		private final OutputStream _out;
+		private final byte[] _buff;
+		private final int _len;
+
+		public WriteBufferTask(OutputStream out, byte[] buff, int len) {
+			_out = out;
+			_buff = buff;
+			_len = len;
+		}
+
+		@Override
+		public byte[] call() throws Exception {
+			_out.write(_buff, 0, _len);
+			return _buff;
+		}
+	}
+}
@@ -28,6 +28,7 @@ import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Writer;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
@@ -45,6 +46,8 @@ import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
+import org.apache.sysml.runtime.io.IOCompressionUtils;
+import org.apache.sysml.runtime.io.IOCompressionUtils.BlockCodec;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
@@ -115,10 +118,11 @@ public class LocalFileUtils
 	public static Writable readWritableFromLocal(String filePathAndName, Writable ret)
 		throws IOException
 	{
-		FileInputStream fis = new FileInputStream( filePathAndName );
+		InputStream is = IOCompressionUtils.createLocalInputStream(
+				new FileInputStream( filePathAndName ));
 		DataInput in  = !(ret instanceof MatrixBlock) ? 
-				new DataInputStream(new BufferedInputStream(fis, BUFFER_SIZE)) :
-				new FastBufferedDataInputStream(fis, BUFFER_SIZE);		
+				new DataInputStream(new BufferedInputStream(is, BUFFER_SIZE)) :
+				new FastBufferedDataInputStream(is, BUFFER_SIZE);		
 		try {
 			ret.readFields(in);
 		}
@@ -161,8 +165,9 @@ public class LocalFileUtils
 	public static void writeWritableToLocal(String filePathAndName, Writable mb)
 		throws IOException
 	{	
-		FileOutputStream fos = new FileOutputStream( filePathAndName );
-		FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(fos, BUFFER_SIZE);
+		OutputStream os = IOCompressionUtils.createLocalOutputStream(
+				new FileOutputStream( filePathAndName ));
+		FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(os, BUFFER_SIZE);
 		
 		try {
 			mb.write(out);
@@ -175,6 +180,19 @@ public class LocalFileUtils
 	public static void writeByteArrayToLocal( String filePathAndName, byte[] data )
 		throws IOException
 	{	
+		//compressed byte array write via compression stream (incl header)
+		if( IOCompressionUtils.getBlockCodec() != BlockCodec.NONE ) {
+			OutputStream os = IOCompressionUtils.createLocalOutputStream(
+					new FileOutputStream( filePathAndName ));
+			try {
+				os.write(data);
+			}
+			finally {
+				IOUtilFunctions.closeSilently(os);
+			}
+			return;
+		}
+		
 		//byte array write via java.nio file channel ~10-15% faster than java.io
 		FileChannel channel = null;
 		try {
@@ -191,8 +209,9 @@ public class LocalFileUtils
 	public static int readBlockSequenceFromLocal( String filePathAndName, Pair<MatrixIndexes,MatrixValue>[] outValues, HashMap<MatrixIndexes, Integer> outMap) 
 		throws IOException
 	{
-		FileInputStream fis = new FileInputStream( filePathAndName );
-		FastBufferedDataInputStream in = new FastBufferedDataInputStream( fis, BUFFER_SIZE );
+		InputStream is = IOCompressionUtils.createLocalInputStream(
+				new FileInputStream( filePathAndName ));
+		FastBufferedDataInputStream in = new FastBufferedDataInputStream( is, BUFFER_SIZE );
 		int bufferSize = 0;
 		
 		try
@@ -219,8 +238,9 @@ public class LocalFileUtils
 		if( len > inValues.length )
 			throw new IOException("Invalid length of block sequence: len="+len+" vs data="+inValues.length);
 		
-		FileOutputStream fos = new FileOutputStream( filePathAndName );
-		FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(fos, BUFFER_SIZE);
+		OutputStream os = IOCompressionUtils.createLocalOutputStream(
+				new FileOutputStream( filePathAndName ));
+		FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(os, BUFFER_SIZE);
 		
 		try 
 		{
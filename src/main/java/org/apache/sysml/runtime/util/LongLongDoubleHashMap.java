@@ -19,7 +19,8 @@
 
 package org.apache.sysml.runtime.util;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 
 /**
  * This native long long - double hashmap is specifically designed for
@@ -28,19 +29,29 @@ import java.util.ArrayList;
  * to be more memory-efficient which is important for large maps in order
  * to keep data in the caches and prevent high-latency random memory access. 
  * 
+ * The map uses open addressing with linear probing over parallel arrays
+ * of keys and values (i.e., no entry objects), where a first key of 
+ * Long.MIN_VALUE is reserved to mark empty slots.
+ * 
  */
 public class LongLongDoubleHashMap 
 {
 	private static final int INIT_CAPACITY = 8;
 	private static final int RESIZE_FACTOR = 2;
 	private static final float LOAD_FACTOR = 0.75f;
+	private static final long EMPTY = Long.MIN_VALUE;
 
-	private LLDoubleEntry[] data = null;
+	private long[] keys1 = null;
+	private long[] keys2 = null;
+	private double[] values = null;
 	private int size = -1;
 	
 	public LongLongDoubleHashMap()
 	{
-		data = new LLDoubleEntry[INIT_CAPACITY];
+		keys1 = new long[INIT_CAPACITY];
+		keys2 = new long[INIT_CAPACITY];
+		values = new double[INIT_CAPACITY];
+		Arrays.fill(keys1, EMPTY);
 		size = 0;
 	}
 
@@ -50,92 +61,118 @@ public class LongLongDoubleHashMap
 
 	public void addValue(long key1, long key2, double value)
 	{
-		//compute entry index position
-		int hash = hash(key1, key2);
-		int ix = indexFor(hash, data.length);
-
-		//find existing entry and add value
-		for( LLDoubleEntry e = data[ix]; e!=null; e = e.next ) {
-			if( e.key1==key1 && e.key2==key2 ) {
-				e.value += value;
+		//probe from hash position until existing or empty slot
+		int mask = keys1.length - 1;
+		int ix = hash(key1, key2) & mask;
+		while( keys1[ix] != EMPTY ) {
+			if( keys1[ix]==key1 && keys2[ix]==key2 ) {
+				values[ix] += value;
 				return; //no need to append or resize
 			}
+			ix = (ix + 1) & mask;
 		}
 		
 		//add non-existing entry (constant time)
-		LLDoubleEntry enew = new LLDoubleEntry(key1, key2, value);
-		enew.next = data[ix]; //colliding entries / null
-		data[ix] = enew;
+		keys1[ix] = key1;
+		keys2[ix] = key2;
+		values[ix] = value;
 		size++;
 		
 		//resize if necessary
-		if( size >= LOAD_FACTOR*data.length )
+		if( size >= LOAD_FACTOR*keys1.length )
 			resize();
 	}
 
-	public ArrayList<LLDoubleEntry> extractValues()
-	{
-		ArrayList<LLDoubleEntry> ret = new ArrayList<LLDoubleEntry>();
-		for( LLDoubleEntry e : data ) {
-			if( e != null ) {
-				while( e.next!=null ) {
-					ret.add(e);
-					e = e.next;
-				}
-				ret.add(e);	
-			}
-		}
-
-		return ret;
+	/**
+	 * Obtain an iterator over all entries of the map in hash order. 
+	 * Note that the iterator reuses its output entry.
+	 * 
+	 * @return iterator over reused entries
+	 */
+	public Iterator<LLDoubleEntry> getIterator() {
+		return new LLDoubleIterator();
 	}
 
 	private void resize() {
-		//check for integer overflow on resize
-		if( data.length > Integer.MAX_VALUE/RESIZE_FACTOR )
-			return;
+		//check for integer overflow on resize (fail instead of silently 
+		//keeping a full table, which would cause endless probing)
+		if( keys1.length > Integer.MAX_VALUE/RESIZE_FACTOR )
+			throw new RuntimeException("LongLongDoubleHashMap exceeded its "
+				+ "maximum capacity of "+keys1.length+" entries.");
 		
-		//resize data array and copy existing contents
-		LLDoubleEntry[] olddata = data;
-		data = new LLDoubleEntry[data.length*RESIZE_FACTOR];
-		size = 0;
+		//resize data arrays
+		long[] okeys1 = keys1;
+		long[] okeys2 = keys2;
+		double[] ovalues = values;
+		keys1 = new long[okeys1.length*RESIZE_FACTOR];
+		keys2 = new long[okeys1.length*RESIZE_FACTOR];
+		values = new double[okeys1.length*RESIZE_FACTOR];
+		Arrays.fill(keys1, EMPTY);
 		
-		//rehash all entries
-		for( LLDoubleEntry e : olddata ) {
-			if( e != null ) {
-				while( e.next!=null ) {
-					addValue(e.key1, e.key2, e.value);
-					e = e.next;
-				}
-				addValue(e.key1, e.key2, e.value);	
-			}
+		//rehash all entries (known to be distinct)
+		int mask = keys1.length - 1;
+		for( int i=0; i<okeys1.length; i++ ) {
+			if( okeys1[i] == EMPTY )
+				continue;
+			int ix = hash(okeys1[i], okeys2[i]) & mask;
+			while( keys1[ix] != EMPTY )
+				ix = (ix + 1) & mask;
+			keys1[ix] = okeys1[i];
+			keys2[ix] = okeys2[i];
+			values[ix] = ovalues[i];
 		}
 	}
 
 	private static int hash(long key1, long key2) {
-		int h = UtilFunctions.longlongHashCode(key1, key2);
-		
-		// This function ensures that hashCodes that differ only by
-		// constant multiples at each bit position have a bounded
-		// number of collisions (approximately 8 at default load factor).
-		h ^= (h >>> 20) ^ (h >>> 12);
-		return h ^ (h >>> 7) ^ (h >>> 4);
+		//multiplicative mixing of both keys (and final avalanche) 
+		//because linear probing is sensitive to clustered hash codes,
+		//which are common for ctable inputs of consecutive row/column ids
+		long h = key1 * 0x9E3779B97F4A7C15L + key2;
+		h *= 0xC2B2AE3D27D4EB4FL;
+		return (int)(h ^ (h >>> 32));
 	}
 
-	private static int indexFor(int h, int length) {
-		return h & (length-1);
-	}
-
-	public class LLDoubleEntry {
+	public static class LLDoubleEntry {
 		public long key1 = Long.MAX_VALUE;
 		public long key2 = Long.MAX_VALUE;
 		public double value = Double.MAX_VALUE;
-		public LLDoubleEntry next = null;
 		
 		public LLDoubleEntry(long k1, long k2, double val) {
+			set(k1, k2, val);
+		}
+		
+		public void set(long k1, long k2, double val) {
 			key1 = k1;
 			key2 = k2;
 			value = val;
-			next = null;
+		}
+	}
+	
+	private class LLDoubleIterator implements Iterator<LLDoubleEntry> 
+	{
+		private int _pos = -1; //next non-empty slot
+		private LLDoubleEntry _entry = new LLDoubleEntry(EMPTY, EMPTY, 0); //reuse output entry
+		
+		protected LLDoubleIterator() {
+			findNext();
+		}
+		
+		@Override
+		public boolean hasNext() {
+			return _pos < keys1.length;
+		}
+
+		@Override
+		public LLDoubleEntry next() {
+			_entry.set(keys1[_pos], keys2[_pos], values[_pos]);
+			findNext();
+			return _entry;
+		}
+
+		private void findNext() {
+			_pos++;
+			while( _pos < keys1.length && keys1[_pos] == EMPTY )
+				_pos++;
 		}
 	}
 }
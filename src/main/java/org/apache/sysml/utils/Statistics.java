@@ -102,6 +102,12 @@ public class Statistics
 	private static long parforInitTime = 0; //in milli sec
 	private static long parforMergeTime = 0; //in milli sec
 	
+	//PARFOR admission control stats
+	private static long parforAdmitReserve = 0; //count
+	private static long parforAdmitThrottle = 0; //count
+	private static long parforAdmitWaitTime = 0; //in nano sec
+	private static long parforAdmitShrunkK = 0; //count
+	
 	//heavy hitter counts and times 
 	private static HashMap<String,Long> _cpInstTime   =  new HashMap<String, Long>();
 	private static HashMap<String,Long> _cpInstCounts =  new HashMap<String, Long>();
@@ -370,6 +376,13 @@ public class Statistics
 	public static synchronized void incrementParForMergeTime( long time ) {
 		parforMergeTime += time;
 	}
+	
+	public static synchronized void incrementParForAdmission( long reserve, long throttle, long waitTime, boolean shrunkK ) {
+		parforAdmitReserve += reserve;
+		parforAdmitThrottle += throttle;
+		parforAdmitWaitTime += waitTime;
+		parforAdmitShrunkK += shrunkK ? 1 : 0;
+	}
 
 	public static void startCompileTimer() {
 		if( DMLScript.STATISTICS )
@@ -423,6 +436,10 @@ public class Statistics
 		parforOptTime = 0;
 		parforInitTime = 0;
 		parforMergeTime = 0;
+		parforAdmitReserve = 0;
+		parforAdmitThrottle = 0;
+		parforAdmitWaitTime = 0;
+		parforAdmitShrunkK = 0;
 		
 		lTotalLix.set(0);
 		lTotalLixUIP.set(0);
@@ -651,6 +668,22 @@ public class Statistics
 	public static long getParforMergeTime(){
 		return parforMergeTime;
 	}
+	
+	public static long getParforAdmitReservations(){
+		return parforAdmitReserve;
+	}
+	
+	public static long getParforAdmitThrottled(){
+		return parforAdmitThrottle;
+	}
+	
+	public static long getParforAdmitWaitTime(){
+		return parforAdmitWaitTime;
+	}
+	
+	public static long getParforAdmitShrunkK(){
+		return parforAdmitShrunkK;
+	}
 
 	/**
 	 * Returns statistics of the DML program that was recently completed as a string
@@ -750,6 +783,12 @@ public class Statistics
 				sb.append("ParFor result merge time:\t" + String.format("%.3f", ((double)getParforMergeTime())/1000) + " sec.\n");	
 				sb.append("ParFor total update in-place:\t" + lTotalUIPVar + "/" + lTotalLixUIP + "/" + lTotalLix + "\n");
 			}
+			if( parforAdmitReserve>0 ){
+				sb.append("ParFor worker reservations:\t" + getParforAdmitReservations() + ".\n");
+				sb.append("ParFor throttled reservations:\t" + getParforAdmitThrottled() + ".\n");
+				sb.append("ParFor loops w/ reduced par:\t" + getParforAdmitShrunkK() + ".\n");
+				sb.append("ParFor throttled wait time:\t" + String.format("%.3f", ((double)getParforAdmitWaitTime())*1e-9) + " sec.\n");
+			}
 			sb.append("Total JIT compile time:\t\t" + ((double)getJITCompileTime())/1000 + " sec.\n");
 			sb.append("Total JVM GC count:\t\t" + getJVMgcCount() + ".\n");
 			sb.append("Total JVM GC time:\t\t" + ((double)getJVMgcTime())/1000 + " sec.\n");
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.binary.matrix;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.Timing;
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Dense-dense matrix multiplication (packed panels and register-blocked micro kernel
+ * for dense lhs, default kernel otherwise) compared against a naive reference, for
+ * shapes with partial tiles, multiple panels, and NaN/Inf values, single- and multi-threaded.
+ * The benchmark reports GFLOP/s for a number of representative shapes, and is only run if
+ * the system property systemml.test.benchmark is set to true.
+ */
+public class MatrixMultDenseDenseTest extends AutomatedTestBase
+{
+	private final static int threads = 4;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.3;
+	private final static double eps = 1e-10;
+
+	//benchmark shapes (m, cd, n) and repetitions
+	private final static int[][] shapes = new int[][]{
+		{512, 512, 512}, {2048, 256, 256}, {256, 2048, 256}, {256, 256, 2048}, {4096, 64, 512}};
+	private final static int reps = 3;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testPartialTiles() throws DMLRuntimeException {
+		runMatrixMultTest(267, 1500, 45, sparsity1, 1);
+	}
+
+	@Test
+	public void testPartialTilesMT() throws DMLRuntimeException {
+		runMatrixMultTest(267, 1500, 45, sparsity1, threads);
+	}
+
+	@Test
+	public void testMultiplePanels() throws DMLRuntimeException {
+		runMatrixMultTest(301, 700, 130, sparsity1, 1);
+	}
+
+	@Test
+	public void testMultiplePanelsMT() throws DMLRuntimeException {
+		runMatrixMultTest(301, 700, 130, sparsity1, threads);
+	}
+
+	@Test
+	public void testWideRhs() throws DMLRuntimeException {
+		runMatrixMultTest(90, 100, 1500, sparsity1, 1);
+	}
+
+	@Test
+	public void testWideRhsMT() throws DMLRuntimeException {
+		runMatrixMultTest(90, 100, 1500, sparsity1, threads);
+	}
+
+	@Test
+	public void testSparseLhs() throws DMLRuntimeException {
+		runMatrixMultTest(301, 700, 130, sparsity2, 1);
+	}
+
+	@Test
+	public void testSparseLhsMT() throws DMLRuntimeException {
+		runMatrixMultTest(301, 700, 130, sparsity2, threads);
+	}
+
+	@Test
+	public void testNonFiniteRhs() throws DMLRuntimeException {
+		runMatrixMultTest(301, 700, 130, sparsity1, 1, true);
+	}
+
+	@Test
+	public void testNonFiniteRhsMT() throws DMLRuntimeException {
+		runMatrixMultTest(301, 700, 130, sparsity1, threads, true);
+	}
+
+	@Test
+	public void testBenchmarkShapes() throws DMLRuntimeException {
+		Assume.assumeTrue(Boolean.getBoolean("systemml.test.benchmark"));
+		for( int[] shape : shapes )
+			for( int k : new int[]{1, threads} )
+				runMatrixMultBenchmark(shape[0], shape[1], shape[2], k);
+	}
+
+	private void runMatrixMultTest(int m, int cd, int n, double sparsity, int k)
+		throws DMLRuntimeException
+	{
+		runMatrixMultTest(m, cd, n, sparsity, k, false);
+	}
+
+	private void runMatrixMultTest(int m, int cd, int n, double sparsity, int k, boolean nonFinite)
+		throws DMLRuntimeException
+	{
+		double[][] A = TestUtils.generateTestMatrix(m, cd, -1, 1, sparsity, 7);
+		double[][] B = TestUtils.generateTestMatrix(cd, n, -1, 1, 0.9, 3);
+		if( nonFinite ) {
+			//row of infinite values and a single NaN in the rhs
+			for( int j=0; j<n; j++ )
+				B[5][j] = Double.POSITIVE_INFINITY;
+			B[cd-17][3] = Double.NaN;
+		}
+		MatrixBlock mbA = toDenseMatrixBlock(A);
+		MatrixBlock mbB = toDenseMatrixBlock(B);
+
+		//naive reference (skipping zeros in lhs, i.e., 0*Inf=0 as in the default kernel)
+		double[][] R = new double[m][n];
+		for( int i=0; i<m; i++ )
+			for( int l=0; l<cd; l++ )
+				if( A[i][l] != 0 )
+					for( int j=0; j<n; j++ )
+						R[i][j] += A[i][l] * B[l][j];
+
+		MatrixBlock ret = new MatrixBlock(m, n, false);
+		if( k > 1 )
+			LibMatrixMult.matrixMult(mbA, mbB, ret, k);
+		else
+			LibMatrixMult.matrixMult(mbA, mbB, ret);
+		TestUtils.compareMatrices(R, DataConverter.convertToDoubleMatrix(ret), m, n, eps);
+		Assert.assertEquals(DataConverter.convertToMatrixBlock(R).getNonZeros(), ret.getNonZeros());
+	}
+
+	private void runMatrixMultBenchmark(int m, int cd, int n, int k)
+		throws DMLRuntimeException
+	{
+		MatrixBlock mbA = toDenseMatrixBlock(TestUtils.generateTestMatrix(m, cd, -1, 1, 1.0, 7));
+		MatrixBlock mbB = toDenseMatrixBlock(TestUtils.generateTestMatrix(cd, n, -1, 1, 1.0, 3));
+
+		//best of reps (first run includes jit compilation)
+		double time = Double.MAX_VALUE;
+		for( int r=0; r<reps; r++ ) {
+			MatrixBlock ret = new MatrixBlock(m, n, false);
+			Timing timing = new Timing(true);
+			LibMatrixMult.matrixMult(mbA, mbB, ret, k);
+			time = Math.min(time, timing.stop());
+			Assert.assertEquals((long)m*n, ret.getNonZeros(), (long)m*n/100);
+		}
+
+		double gflops = 2d * m * cd * n / (time * 1e6);
+		System.out.println("MM dense-dense "+m+"x"+cd+"x"+n+" (k="+k+"): "
+			+ String.format("%.2f", gflops)+" GFLOP/s in "+String.format("%.1f", time)+"ms.");
+	}
+
+	private static MatrixBlock toDenseMatrixBlock(double[][] A) throws DMLRuntimeException {
+		MatrixBlock tmp = DataConverter.convertToMatrixBlock(A);
+		MatrixBlock ret = new MatrixBlock();
+		ret.copy(tmp, false);
+		return ret;
+	}
+}
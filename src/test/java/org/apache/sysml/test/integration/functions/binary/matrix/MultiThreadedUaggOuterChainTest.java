@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.binary.matrix;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Multi-threaded unary aggregate outer chains (rowSums, colSums, sum, rowIndexMax,
+ * rowIndexMin over outer comparisons) compared against their single-threaded
+ * counterparts and, for sums, against a naive reference.
+ */
+public class MultiThreadedUaggOuterChainTest extends AutomatedTestBase
+{
+	private final static int rows = 20000; //> PAR_NUMCELL_THRESHOLD
+	private final static int cols = 300;
+	private final static int maxVal = 50;
+	private final static int threads = 4;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	private final static String[] bopcodes = new String[]{"<", "<=", ">", ">=", "==", "!="};
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testRowSums() throws DMLRuntimeException {
+		runUaggOuterChainTest("uark+", sparsity1);
+	}
+
+	@Test
+	public void testColSumsDense() throws DMLRuntimeException {
+		runUaggOuterChainTest("uack+", sparsity1);
+	}
+
+	@Test
+	public void testColSumsSparse() throws DMLRuntimeException {
+		runUaggOuterChainTest("uack+", sparsity2);
+	}
+
+	@Test
+	public void testSum() throws DMLRuntimeException {
+		runUaggOuterChainTest("uak+", sparsity1);
+	}
+
+	@Test
+	public void testRowIndexMax() throws DMLRuntimeException {
+		runUaggOuterChainTest("uarimax", sparsity1);
+	}
+
+	@Test
+	public void testRowIndexMin() throws DMLRuntimeException {
+		runUaggOuterChainTest("uarimin", sparsity1);
+	}
+
+	private void runUaggOuterChainTest(String aopcode, double sparsity)
+		throws DMLRuntimeException
+	{
+		//column vector x and row vector y w/ duplicates and zeros, where
+		//colSums are computed over y with cached x, otherwise over x with cached y
+		boolean colAgg = aopcode.equals("uack+");
+		boolean fullAgg = aopcode.equals("uak+");
+		int n1 = colAgg ? cols : rows;
+		int n2 = colAgg ? rows : cols;
+		double[][] X = TestUtils.round(TestUtils.generateTestMatrix(n1, 1, 0, maxVal, colAgg ? 0.9 : sparsity, 7));
+		double[][] Y = TestUtils.round(TestUtils.generateTestMatrix(1, n2, 0, maxVal, colAgg ? sparsity : 0.9, 3));
+		MatrixBlock mbX = DataConverter.convertToMatrixBlock(X);
+		MatrixBlock mbY = DataConverter.convertToMatrixBlock(Y);
+		MatrixBlock left = colAgg ? mbY : mbX;
+		MatrixBlock right = colAgg ? mbX : mbY;
+		left.examSparsity();
+		Assert.assertEquals(sparsity < 0.1, left.isInSparseFormat());
+
+		for( String bopcode : bopcodes ) {
+			BinaryOperator bop = InstructionUtils.parseBinaryOperator(bopcode);
+			AggregateUnaryOperator aop = InstructionUtils.parseBasicAggregateUnaryOperator(aopcode);
+			AggregateUnaryOperator aopk = new AggregateUnaryOperator(aop.aggOp, aop.indexFn, threads);
+			MatrixBlock ret1 = left.uaggouterchainOperations(left, right, null, bop, aop);
+			MatrixBlock ret2 = left.uaggouterchainOperations(left, right, null, bop, aopk);
+
+			//naive reference of row and column counts of outer(x, y, bop)
+			double[] rref = new double[n1];
+			double[] cref = new double[n2];
+			for( int i=0; i<n1; i++ )
+				for( int j=0; j<n2; j++ )
+					if( bop.fn.execute(X[i][0], Y[0][j]) != 0 ) {
+						rref[i]++;
+						cref[j]++;
+					}
+
+			//compare single- and multi-threaded results, and sums against reference
+			int len = fullAgg ? 1 : left.getNumRows() * left.getNumColumns();
+			for( int i=0; i<len; i++ ) {
+				double v1 = colAgg ? ret1.quickGetValue(0, i) : ret1.quickGetValue(i, 0);
+				double v2 = colAgg ? ret2.quickGetValue(0, i) : ret2.quickGetValue(i, 0);
+				Assert.assertEquals("Wrong result for "+bopcode+" at "+i, v1, v2, 0);
+				if( !aopcode.startsWith("uari") && !fullAgg )
+					Assert.assertEquals("Wrong result for "+bopcode+" at "+i, (colAgg ? cref : rref)[i], v2, 0);
+			}
+			if( fullAgg ) {
+				double sum = 0;
+				for( int i=0; i<n1; i++ )
+					sum += rref[i];
+				Assert.assertEquals("Wrong sum for "+bopcode, sum, ret2.quickGetValue(0, 0), 0);
+			}
+		}
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.binary.matrix_full_other;
+
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Sparse-sparse matrix multiplication with sparse outputs (SpGEMM), 
+ * single- and multi-threaded, compared against dense matrix multiplication.
+ */
+public class FullMatrixMultiplicationSparseOutputTest extends AutomatedTestBase
+{
+	private final static int rows = 1100;
+	private final static int cols1 = 900;
+	private final static int cols2 = 1000;
+	private final static int threads = 4;
+	private final static double eps = 1e-10;
+	
+	private final static double sparsity1 = 0.003; //very sparse output
+	private final static double sparsity2 = 0.01;  //sparse output
+	private final static double sparsity3 = 0.08;  //dense output
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testSparseOutputVerySparse() {
+		runSparseOutputMatrixMultTest(sparsity1, true, false);
+	}
+	
+	@Test
+	public void testSparseOutputSparse() {
+		runSparseOutputMatrixMultTest(sparsity2, true, false);
+	}
+	
+	@Test
+	public void testDenseOutputSparse() {
+		runSparseOutputMatrixMultTest(sparsity3, false, false);
+	}
+	
+	@Test
+	public void testSparseOutputVerySparseCSR() {
+		runSparseOutputMatrixMultTest(sparsity1, true, true);
+	}
+	
+	@Test
+	public void testSparseOutputSparseCSR() {
+		runSparseOutputMatrixMultTest(sparsity2, true, true);
+	}
+	
+	private void runSparseOutputMatrixMultTest(double sparsity, boolean sparseOut, boolean csr)
+	{
+		try
+		{
+			//generate sparse inputs and dense copies
+			MatrixBlock m1 = DataConverter.convertToMatrixBlock(
+				TestUtils.generateTestMatrix(rows, cols1, -1, 1, sparsity, 7));
+			MatrixBlock m2 = DataConverter.convertToMatrixBlock(
+				TestUtils.generateTestMatrix(cols1, cols2, -1, 1, sparsity, 3));
+			Assert.assertTrue(m1.isInSparseFormat() && m2.isInSparseFormat());
+			MatrixBlock d1 = new MatrixBlock(m1);
+			d1.sparseToDense();
+			MatrixBlock d2 = new MatrixBlock(m2);
+			d2.sparseToDense();
+			
+			//dense reference, single- and multi-threaded sparse-sparse
+			MatrixBlock ret0 = new MatrixBlock(rows, cols2, false);
+			LibMatrixMult.matrixMult(d1, d2, ret0);
+			MatrixBlock ret1 = createOutput(csr);
+			LibMatrixMult.matrixMult(m1, m2, ret1);
+			MatrixBlock ret2 = createOutput(csr);
+			LibMatrixMult.matrixMult(m1, m2, ret2, threads);
+			
+			//compare results, nnz, and output formats
+			compareResults(ret0, ret1);
+			compareResults(ret0, ret2);
+			Assert.assertEquals(sparseOut, ret1.isInSparseFormat());
+			Assert.assertEquals(sparseOut, ret2.isInSparseFormat());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static MatrixBlock createOutput(boolean csr) {
+		return csr ? new MatrixBlock(rows, cols2, 0, new SparseBlockCSR(rows)) :
+			new MatrixBlock(rows, cols2, false);
+	}
+	
+	private static void compareResults(MatrixBlock ref, MatrixBlock ret) {
+		Assert.assertEquals(ref.getNonZeros(), ret.getNonZeros());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ref), 
+			DataConverter.convertToDoubleMatrix(ret), rows, cols2, eps);
+	}
+}
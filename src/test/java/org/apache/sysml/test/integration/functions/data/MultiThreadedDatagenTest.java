@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.data;
+
+import java.util.HashSet;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Multi-threaded seq and sample compared against their single-threaded
+ * counterparts (independent of the degree of parallelism), incl checks
+ * of value ranges and uniqueness for sampling without replacement.
+ */
+public class MultiThreadedDatagenTest extends AutomatedTestBase
+{
+	private final static int size = 1100000; //> PAR_NUMCELL_THRESHOLD
+	private final static int threads = 4;
+	private final static long seed = 7;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testSequence() throws DMLRuntimeException {
+		runSequenceTest(1, size, 1);
+	}
+
+	@Test
+	public void testSequenceFraction() throws DMLRuntimeException {
+		runSequenceTest(-3, 7, 1e-5);
+	}
+
+	@Test
+	public void testSequenceNegativeIncr() throws DMLRuntimeException {
+		runSequenceTest(size, -size, -1);
+	}
+
+	@Test
+	public void testSampleReplace() throws DMLRuntimeException {
+		runSampleTest(1000, size, true);
+	}
+
+	@Test
+	public void testSampleNoReplaceDense() throws DMLRuntimeException {
+		runSampleTest(size+size/3, size, false);
+	}
+
+	@Test
+	public void testSampleNoReplaceSparse() throws DMLRuntimeException {
+		runSampleTest(100L*Integer.MAX_VALUE, size, false);
+	}
+
+	@Test
+	public void testSampleNoReplaceFull() throws DMLRuntimeException {
+		runSampleTest(size, size, false);
+	}
+
+	@Test(expected = DMLRuntimeException.class)
+	public void testSampleNoReplaceSparseTooLarge() throws DMLRuntimeException {
+		//rejected before allocation (exceeds the max hash set capacity)
+		MatrixBlock.sampleOperations(100L*Integer.MAX_VALUE, (1<<30)+1, false, seed, threads);
+	}
+
+	private void runSequenceTest(double from, double to, double incr)
+		throws DMLRuntimeException
+	{
+		MatrixBlock ret1 = MatrixBlock.seqOperations(from, to, incr, 1);
+		MatrixBlock ret2 = MatrixBlock.seqOperations(from, to, incr, threads);
+		compareMatrices(ret1, ret2);
+
+		//check first and last value and nnz
+		int rows = ret2.getNumRows();
+		Assert.assertEquals(1 + (int)Math.floor((to-from)/incr), rows);
+		Assert.assertEquals(from, ret2.quickGetValue(0, 0), 0);
+		Assert.assertEquals(from+(rows-1)*incr, ret2.quickGetValue(rows-1, 0), 1e-10);
+		long nnz = ret2.getNonZeros();
+		ret2.recomputeNonZeros();
+		Assert.assertEquals(ret2.getNonZeros(), nnz);
+	}
+
+	private void runSampleTest(long range, int size, boolean replace)
+		throws DMLRuntimeException
+	{
+		MatrixBlock ret1 = MatrixBlock.sampleOperations(range, size, replace, seed, 1);
+		MatrixBlock ret2 = MatrixBlock.sampleOperations(range, size, replace, seed, threads);
+		compareMatrices(ret1, ret2);
+		Assert.assertEquals(size, ret2.getNonZeros());
+
+		//check value range and uniqueness w/o replacement
+		HashSet<Long> distinct = new HashSet<Long>();
+		for( int i=0; i<size; i++ ) {
+			double val = ret2.quickGetValue(i, 0);
+			Assert.assertTrue(val >= 1 && val <= range && val == Math.floor(val));
+			distinct.add((long)val);
+		}
+		if( replace )
+			Assert.assertEquals(range, distinct.size());
+		else
+			Assert.assertEquals(size, distinct.size());
+
+		//check different results for different seeds
+		MatrixBlock ret3 = MatrixBlock.sampleOperations(range, size, replace, seed+1, threads);
+		int diff = 0;
+		for( int i=0; i<size; i++ )
+			diff += (ret2.quickGetValue(i, 0) != ret3.quickGetValue(i, 0)) ? 1 : 0;
+		Assert.assertTrue(diff > size/2);
+	}
+
+	private static void compareMatrices(MatrixBlock expected, MatrixBlock actual) {
+		Assert.assertEquals(expected.getNumRows(), actual.getNumRows());
+		Assert.assertEquals(expected.getNumColumns(), actual.getNumColumns());
+		Assert.assertEquals(expected.getNonZeros(), actual.getNonZeros());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(expected),
+			DataConverter.convertToDoubleMatrix(actual), expected.getNumRows(), expected.getNumColumns(), 0);
+	}
+}
@@ -60,6 +60,53 @@ public class FrameSerializationTest extends AutomatedTestBase
 		runFrameSerializeTest(schemaMixed, SerType.WRITABLE_SER);
 	}
 	
+	@Test
+	public void testFrameStringsCategoricalWritable()  {
+		runFrameSerializeTest(schemaStrings, SerType.WRITABLE_SER, true, null);
+	}
+	
+	@Test
+	public void testFrameMixedCategoricalWritable()  {
+		runFrameSerializeTest(schemaMixed, SerType.WRITABLE_SER, true, null);
+	}
+	
+	@Test
+	public void testFrameMixedWritableProjection()  {
+		runFrameSerializeTest(schemaMixed, SerType.WRITABLE_SER, false, new boolean[]{true, false, true, false});
+	}
+	
+	@Test
+	public void testFrameMixedCategoricalWritableProjection()  {
+		runFrameSerializeTest(schemaMixed, SerType.WRITABLE_SER, true, new boolean[]{false, true, false, true});
+	}
+	
+	@Test
+	public void testFrameStringsCategoricalUpdateWritable() throws Exception {
+		//init categorical string frame (dictionary-encoded columns)
+		FrameBlock frame = new FrameBlock(schemaStrings);
+		for( int i=0; i<rows; i++ )
+			frame.appendRow(new Object[]{"a"+(i%7), "b"+(i%3), (i%2==0) ? null : "c"});
+		
+		//size computation w/ cached dictionaries, followed by updates 
+		//of new distinct values that need to invalidate the dictionaries
+		long size1 = frame.getExactSerializedSize();
+		frame.set(3, 0, "a-new");
+		for( int i=0; i<rows; i++ )
+			frame.set(i, 1, "b"+i); //exceeds max distinct ratio
+		long size2 = frame.getExactSerializedSize();
+		Assert.assertTrue(size2 > size1);
+		
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		frame.write(new DataOutputStream(bos));
+		Assert.assertEquals(size2, bos.size());
+		FrameBlock frame2 = new FrameBlock();
+		frame2.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<schemaStrings.length; j++ )
+				Assert.assertEquals(frame.get(i, j), frame2.get(i, j));
+		Assert.assertEquals("a-new", frame2.get(3, 0));
+	}
+	
 	@Test
 	public void testFrameStringsJava()  {
 		runFrameSerializeTest(schemaStrings, SerType.JAVA_SER);
@@ -77,12 +124,20 @@ public class FrameSerializationTest extends AutomatedTestBase
 	 * @param sparseM2
 	 * @param instType
 	 */
-	private void runFrameSerializeTest( ValueType[] schema, SerType stype)
+	private void runFrameSerializeTest( ValueType[] schema, SerType stype) {
+		runFrameSerializeTest(schema, stype, false, null);
+	}
+	
+	private void runFrameSerializeTest( ValueType[] schema, SerType stype, boolean categorical, boolean[] colmask)
 	{
 		try
 		{
-			//data generation
+			//data generation (few distinct values if categorical)
 			double[][] A = getRandomMatrix(rows, schema.length, -10, 10, 0.9, 8234); 
+			if( categorical )
+				for( int i=0; i<rows; i++ )
+					for( int j=0; j<schema.length; j++ )
+						A[i][j] = Math.round(A[i][j]);
 			
 			//init data frame
 			FrameBlock frame = new FrameBlock(schema);
@@ -103,11 +158,15 @@ public class FrameSerializationTest extends AutomatedTestBase
 				DataOutputStream dos = new DataOutputStream(bos);
 				frame.write(dos);
 				
+				//check exact serialized size
+				if( frame.getExactSerializedSize() != bos.size() )
+					Assert.fail("Wrong serialized size: "+frame.getExactSerializedSize()+", expected: "+bos.size());
+				
 				//deserialization
 				ByteArrayInputStream bis = new ByteArrayInputStream(bos.toByteArray());
 				DataInputStream dis = new DataInputStream(bis);
 				frame = new FrameBlock();
-				frame.readFields(dis);
+				frame.readFields(dis, colmask);
 			}
 			else if( stype == SerType.JAVA_SER ) {
 				//serialization
@@ -125,13 +184,17 @@ public class FrameSerializationTest extends AutomatedTestBase
 			if( frame.getNumRows() != rows )
 				Assert.fail("Wrong number of rows: "+frame.getNumRows()+", expected: "+rows);
 		
-			//check correct values			
+			//check correct values (of selected columns)
 			for( int i=0; i<rows; i++ ) 
-				for( int j=0; j<schema.length; j++ )	{
-					double tmp = UtilFunctions.objectToDouble(schema[j], frame.get(i, j));
+				for( int j=0, pos=0; j<schema.length; j++ ) {
+					if( colmask != null && !colmask[j] )
+						continue;
+					double tmp = UtilFunctions.objectToDouble(schema[j], frame.get(i, pos++));
 					if( tmp != A[i][j] )
 						Assert.fail("Wrong get value for cell ("+i+","+j+"): "+tmp+", expected: "+A[i][j]);
-				}		
+				}
+			if( colmask != null && frame.getNumColumns() != 2 )
+				Assert.fail("Wrong number of projected columns: "+frame.getNumColumns()+", expected: 2");
 		}
 		catch(Exception ex) {
 			ex.printStackTrace();
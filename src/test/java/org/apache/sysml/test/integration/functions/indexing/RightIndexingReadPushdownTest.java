@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.indexing;
+
+import java.util.HashMap;
+
+import org.junit.Test;
+
+import org.apache.sysml.conf.CompilerConfig;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class RightIndexingReadPushdownTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME = "RightIndexingReadPushdown";
+	private final static String TEST_DIR = "functions/indexing/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + RightIndexingReadPushdownTest.class.getSimpleName() + "/";
+	
+	private final static double epsilon=0.0000000001;
+	private final static int rows = 2345;
+	private final static int cols = 2134;
+	
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.02;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"B"}));
+	}
+	
+	@Test
+	public void testRowRangeDense() {
+		runReadPushdownTest(false, false, 1001, 2000, 1, cols);
+	}
+	
+	@Test
+	public void testColRangeDense() {
+		runReadPushdownTest(false, false, 1, rows, 1, 20);
+	}
+	
+	@Test
+	public void testGeneralRangeDense() {
+		runReadPushdownTest(false, false, 500, 2100, 900, 2134);
+	}
+	
+	@Test
+	public void testGeneralRangeDenseParallel() {
+		runReadPushdownTest(false, true, 500, 2100, 900, 2134);
+	}
+	
+	@Test
+	public void testRowRangeSparse() {
+		runReadPushdownTest(true, false, 1001, 2000, 1, cols);
+	}
+	
+	@Test
+	public void testColRangeSparse() {
+		runReadPushdownTest(true, false, 1, rows, 1, 20);
+	}
+	
+	@Test
+	public void testGeneralRangeSparse() {
+		runReadPushdownTest(true, false, 500, 2100, 900, 2134);
+	}
+	
+	@Test
+	public void testGeneralRangeSparseParallel() {
+		runReadPushdownTest(true, true, 500, 2100, 900, 2134);
+	}
+	
+	private void runReadPushdownTest( boolean sparse, boolean parallel, int rl, int ru, int cl, int cu ) 
+	{
+		boolean oldParBin = CompilerConfig.FLAG_PARREADWRITE_BINARY;
+		
+		try
+		{
+			CompilerConfig.FLAG_PARREADWRITE_BINARY = parallel;
+			ConfigurationManager.setGlobalConfig(new CompilerConfig());
+			
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-args", input("A"), String.valueOf(rl), 
+				String.valueOf(ru), String.valueOf(cl), String.valueOf(cu), output("B") };
+			
+			//generate and write binary block input
+			double sparsity = sparse ? sparsity2 : sparsity1;
+			double[][] A = getRandomMatrix(rows, cols, 0, 1, sparsity, 7);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, 1000, 1000, mb.getNonZeros());
+			DataConverter.writeMatrixToHDFS(mb, input("A"), OutputInfo.BinaryBlockOutputInfo, mc);
+			MapReduceTool.writeMetaDataFile(input("A.mtd"), ValueType.DOUBLE, mc, OutputInfo.BinaryBlockOutputInfo);
+			
+			//run test
+			runTest(true, false, null, -1);
+			
+			//compare result with sliced input
+			MatrixBlock ret = mb.sliceOperations(rl-1, ru-1, cl-1, cu-1, new MatrixBlock());
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("B");
+			HashMap<CellIndex, Double> expected = TestUtils.convert2DDoubleArrayToHashMap(
+				DataConverter.convertToDoubleMatrix(ret));
+			TestUtils.compareMatrices(dmlfile, expected, epsilon, "DML", "Expected");
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CompilerConfig.FLAG_PARREADWRITE_BINARY = oldParBin;
+			ConfigurationManager.setGlobalConfig(new CompilerConfig());
+		}
+	}
+}
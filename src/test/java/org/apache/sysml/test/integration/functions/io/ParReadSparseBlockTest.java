@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.io.MatrixReader;
+import org.apache.sysml.runtime.io.ReaderBinaryBlockParallel;
+import org.apache.sysml.runtime.io.ReaderTextCSVParallel;
+import org.apache.sysml.runtime.io.ReaderTextCellParallel;
+import org.apache.sysml.runtime.io.ReaderTextLIBSVMParallel;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCOO;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.matrix.data.SparseBlockMCSR;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Write/read round trips of the parallel csv, text cell, libsvm, and binary block readers 
+ * for all sparse block types (MCSR, CSR, COO) of sparse outputs, as well as dense 
+ * outputs, compared against the written data.
+ */
+public class ParReadSparseBlockTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "ParReadSparseBlockTest";
+	private final static String TEST_DIR = "functions/io/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParReadSparseBlockTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1873;
+	private final static int cols = 431;
+	private final static int blksz = 200; //multiple row and column blocks
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.02;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, 
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) );
+	}
+	
+	@Test
+	public void testCSVSparseMCSR() throws Exception {
+		runParReadSparseBlockTest(OutputInfo.CSVOutputInfo, SparseBlock.Type.MCSR, sparsity2);
+	}
+	
+	@Test
+	public void testCSVSparseCSR() throws Exception {
+		runParReadSparseBlockTest(OutputInfo.CSVOutputInfo, SparseBlock.Type.CSR, sparsity2);
+	}
+	
+	@Test
+	public void testCSVSparseCOO() throws Exception {
+		runParReadSparseBlockTest(OutputInfo.CSVOutputInfo, SparseBlock.Type.COO, sparsity2);
+	}
+	
+	@Test
+	public void testCSVDenseCSR() throws Exception {
+		runParReadSparseBlockTest(OutputInfo.CSVOutputInfo, SparseBlock.Type.CSR, sparsity1);
+	}
+	
+	@Test
+	public void testTextcellSparseMCSR() throws Exception {
+		runParReadSparseBlockTest(OutputInfo.TextCellOutputInfo, SparseBlock.Type.MCSR, sparsity2);
+	}
+	
+	@Test
+	public void testTextcellSparseCSR() throws Exception {
+		runParReadSparseBlockTest(OutputInfo.TextCellOutputInfo, SparseBlock.Type.CSR, sparsity2);
+	}
+	
+	@Test
+	public void testTextcellSparseCOO() throws Exception {
+		runParReadSparseBlockTest(OutputInfo.TextCellOutputInfo, SparseBlock.Type.COO, sparsity2);
+	}
+	
+	@Test
+	public void testTextcellDenseCOO() throws Exception {
+		runParReadSparseBlockTest(OutputInfo.TextCellOutputInfo, SparseBlock.Type.COO, sparsity1);
+	}
+	
+	@Test
+	public void testLIBSVMSparseMCSR() throws Exception {
+		runParReadSparseBlockTest(OutputInfo.LIBSVMOutputInfo, SparseBlock.Type.MCSR, sparsity2);
+	}
+	
+	@Test
+	public void testLIBSVMSparseCSR() throws Exception {
+		runParReadSparseBlockTest(OutputInfo.LIBSVMOutputInfo, SparseBlock.Type.CSR, sparsity2);
+	}
+	
+	@Test
+	public void testLIBSVMSparseCOO() throws Exception {
+		runParReadSparseBlockTest(OutputInfo.LIBSVMOutputInfo, SparseBlock.Type.COO, sparsity2);
+	}
+	
+	@Test
+	public void testBinarySparseMCSR() throws Exception {
+		runParReadSparseBlockTest(OutputInfo.BinaryBlockOutputInfo, SparseBlock.Type.MCSR, sparsity2);
+	}
+	
+	@Test
+	public void testBinarySparseCSR() throws Exception {
+		runParReadSparseBlockTest(OutputInfo.BinaryBlockOutputInfo, SparseBlock.Type.CSR, sparsity2);
+	}
+	
+	@Test
+	public void testBinarySparseCOO() throws Exception {
+		runParReadSparseBlockTest(OutputInfo.BinaryBlockOutputInfo, SparseBlock.Type.COO, sparsity2);
+	}
+	
+	@Test
+	public void testBinaryDenseCSR() throws Exception {
+		runParReadSparseBlockTest(OutputInfo.BinaryBlockOutputInfo, SparseBlock.Type.CSR, sparsity1);
+	}
+	
+	private void runParReadSparseBlockTest(OutputInfo oinfo, SparseBlock.Type stype, double sparsity) 
+		throws Exception
+	{
+		loadTestConfiguration(getTestConfiguration(TEST_NAME));
+		
+		//generate and write input data
+		double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+		MatrixBlock mbA = DataConverter.convertToMatrixBlock(A);
+		String fname = input("A");
+		MapReduceTool.deleteFileIfExistOnHDFS(fname);
+		MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, blksz, blksz, mbA.getNonZeros());
+		DataConverter.writeMatrixToHDFS(mbA, fname, oinfo, mc);
+		
+		//read via parallel reader w/ given sparse block type
+		MatrixReader reader = null;
+		if( oinfo == OutputInfo.CSVOutputInfo )
+			reader = new ReaderTextCSVParallel(new CSVFileFormatProperties(), stype);
+		else if( oinfo == OutputInfo.TextCellOutputInfo )
+			reader = new ReaderTextCellParallel(InputInfo.TextCellInputInfo, stype);
+		else if( oinfo == OutputInfo.LIBSVMOutputInfo )
+			reader = new ReaderTextLIBSVMParallel(stype);
+		else
+			reader = new ReaderBinaryBlockParallel(false, stype);
+		MatrixBlock ret = reader.readMatrixFromHDFS(fname, rows, cols, blksz, blksz, mbA.getNonZeros());
+		
+		//check representation, nnz, and values
+		boolean sparse = sparsity < MatrixBlock.SPARSITY_TURN_POINT;
+		Assert.assertEquals(sparse, ret.isInSparseFormat());
+		if( sparse ) {
+			SparseBlock sblock = ret.getSparseBlock();
+			Assert.assertTrue("Wrong sparse block type: "+sblock.getClass().getSimpleName(),
+				(stype == SparseBlock.Type.MCSR && sblock instanceof SparseBlockMCSR)
+				|| (stype == SparseBlock.Type.CSR && sblock instanceof SparseBlockCSR)
+				|| (stype == SparseBlock.Type.COO && sblock instanceof SparseBlockCOO));
+			Assert.assertEquals(ret.getNonZeros(), sblock.size());
+		}
+		Assert.assertEquals(mbA.getNonZeros(), ret.getNonZeros());
+		TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(ret), rows, cols, 0);
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.conf.CompilerConfig;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Roundtrip tests for the streaming text writers (csv, text cell, matrix market),
+ * with and without asynchronous write-behind of formatted output buffers.
+ */
+public class ReadWriteTextStreamTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "ReadWriteTextStreamTest";
+	private final static String TEST_DIR = "functions/io/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ReadWriteTextStreamTest.class.getSimpleName() + "/";
+	
+	//more cells than a single output buffer in order to exercise write-behind
+	private final static int rows = 1500;
+	private final static int cols = 97;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	private final static double eps = 1e-9;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, 
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "A" }) ); 
+	}
+	
+	@Test
+	public void testCSVDenseSync() {
+		runTextStreamReadWriteTest("csv", false, false);
+	}
+	
+	@Test
+	public void testCSVSparseSync() {
+		runTextStreamReadWriteTest("csv", true, false);
+	}
+	
+	@Test
+	public void testCSVDenseAsync() {
+		runTextStreamReadWriteTest("csv", false, true);
+	}
+	
+	@Test
+	public void testCSVSparseAsync() {
+		runTextStreamReadWriteTest("csv", true, true);
+	}
+	
+	@Test
+	public void testTextcellDenseSync() {
+		runTextStreamReadWriteTest("text", false, false);
+	}
+	
+	@Test
+	public void testTextcellSparseSync() {
+		runTextStreamReadWriteTest("text", true, false);
+	}
+	
+	@Test
+	public void testTextcellDenseAsync() {
+		runTextStreamReadWriteTest("text", false, true);
+	}
+	
+	@Test
+	public void testTextcellSparseAsync() {
+		runTextStreamReadWriteTest("text", true, true);
+	}
+	
+	@Test
+	public void testMMDenseSync() {
+		runTextStreamReadWriteTest("mm", false, false);
+	}
+	
+	@Test
+	public void testMMSparseSync() {
+		runTextStreamReadWriteTest("mm", true, false);
+	}
+	
+	@Test
+	public void testMMDenseAsync() {
+		runTextStreamReadWriteTest("mm", false, true);
+	}
+	
+	@Test
+	public void testMMSparseAsync() {
+		runTextStreamReadWriteTest("mm", true, true);
+	}
+	
+	private void runTextStreamReadWriteTest(String format, boolean sparse, boolean async) 
+	{
+		boolean oldpar = CompilerConfig.FLAG_PARREADWRITE_TEXT;
+		boolean oldasync = OptimizerUtils.ALLOW_ASYNC_TEXT_WRITE;
+		
+		try
+		{
+			//sequential write into a single file (w/ or w/o write-behind)
+			CompilerConfig.FLAG_PARREADWRITE_TEXT = false;
+			OptimizerUtils.ALLOW_ASYNC_TEXT_WRITE = async;
+			
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-args", input("A"), output("A"), format };
+			
+			//generate actual dataset 
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparse?sparsity2:sparsity1, 7);
+			writeInputMatrixWithMTD("A", A, true);
+			
+			runTest(true, false, null, -1); 
+			
+			//read written text output and compare matrices 
+			InputInfo iinfo = InputInfo.stringExternalToInputInfo(format);
+			MatrixBlock B = DataConverter.readMatrixFromHDFS(output("A"), iinfo, rows, cols, 
+				OptimizerUtils.DEFAULT_BLOCKSIZE, OptimizerUtils.DEFAULT_BLOCKSIZE);
+			Assert.assertEquals(rows, B.getNumRows());
+			Assert.assertEquals(cols, B.getNumColumns());
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(B), rows, cols, eps);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CompilerConfig.FLAG_PARREADWRITE_TEXT = oldpar;
+			OptimizerUtils.ALLOW_ASYNC_TEXT_WRITE = oldasync;
+		}
+	}
+}
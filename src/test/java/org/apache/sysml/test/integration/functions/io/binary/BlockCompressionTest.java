@@ -0,0 +1,297 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.binary;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.hadoop.io.compress.CodecPool;
+import org.apache.hadoop.io.compress.Compressor;
+import org.apache.hadoop.io.compress.Decompressor;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.controlprogram.caching.ByteBuffer;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.io.LZ4BlockCodec;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Opt-in block compression: round trips of the LZ4 block codec (compressible
+ * and incompressible data, multiple chunks, small reads and writes, pooled
+ * compressors), as well as compressed binary block files and buffer pool 
+ * evictions for the lz4 and deflate codecs.
+ */
+public class BlockCompressionTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "BlockCompressionTest";
+	private final static String TEST_DIR = "functions/io/binary/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + BlockCompressionTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1200;
+	private final static int cols = 1100;
+	private final static int blksz = 1000;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.01;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "X" }) );
+	}
+	
+	@Test
+	public void testCodecEmpty() throws IOException {
+		runCodecRoundTrip(new byte[0], false);
+	}
+	
+	@Test
+	public void testCodecCompressible() throws IOException {
+		runCodecRoundTrip(createData(3*LZ4BlockCodec.CHUNK_SIZE+17, true), false);
+	}
+	
+	@Test
+	public void testCodecIncompressible() throws IOException {
+		runCodecRoundTrip(createData(2*LZ4BlockCodec.CHUNK_SIZE+3, false), false);
+	}
+	
+	@Test
+	public void testCodecCompressibleSmallIO() throws IOException {
+		runCodecRoundTrip(createData(LZ4BlockCodec.CHUNK_SIZE+1001, true), true);
+	}
+	
+	@Test
+	public void testCodecIncompressibleSmallIO() throws IOException {
+		runCodecRoundTrip(createData(LZ4BlockCodec.CHUNK_SIZE-5, false), true);
+	}
+	
+	@Test
+	public void testCodecBlocks() throws IOException {
+		//literal runs, overlapping matches, and long match/literal lengths
+		byte[][] inputs = new byte[][] { new byte[]{1,2,3,4,5,6,7,8,9,10,11,12,13},
+			new byte[1000], createData(300, false), createData(5000, true) };
+		for( byte[] in : inputs ) {
+			byte[] c = new byte[LZ4BlockCodec.maxCompressedLength(in.length)];
+			int clen = LZ4BlockCodec.compress(in, 0, in.length, c, 0, new int[1<<12]);
+			byte[] out = new byte[in.length];
+			Assert.assertEquals(in.length, LZ4BlockCodec.decompress(c, 0, clen, out, 0));
+			Assert.assertArrayEquals(in, out);
+		}
+	}
+	
+	@Test
+	public void testCodecPool() throws IOException {
+		LZ4BlockCodec codec = new LZ4BlockCodec();
+		Compressor c1 = CodecPool.getCompressor(codec);
+		Decompressor d1 = CodecPool.getDecompressor(codec);
+		Assert.assertTrue(c1 instanceof LZ4BlockCodec.LZ4Compressor);
+		Assert.assertTrue(d1 instanceof LZ4BlockCodec.LZ4Decompressor);
+		
+		//round trip with pooled (and afterwards reused) compressor objects
+		for( int i=0; i<2; i++ ) {
+			byte[] in = createData(LZ4BlockCodec.CHUNK_SIZE+i, i==0);
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			OutputStream os = codec.createOutputStream(bos, c1);
+			os.write(in);
+			os.close();
+			InputStream is = codec.createInputStream(new ByteArrayInputStream(bos.toByteArray()), d1);
+			Assert.assertArrayEquals(in, readFully(is, in.length, false));
+			Assert.assertEquals(-1, is.read());
+			CodecPool.returnCompressor(c1);
+			CodecPool.returnDecompressor(d1);
+			Assert.assertSame(c1, CodecPool.getCompressor(codec));
+			Assert.assertSame(d1, CodecPool.getDecompressor(codec));
+		}
+	}
+	
+	@Test
+	public void testBinaryBlockDenseLZ4() throws Exception {
+		runBinaryBlockTest("lz4", sparsity1);
+	}
+	
+	@Test
+	public void testBinaryBlockSparseLZ4() throws Exception {
+		runBinaryBlockTest("lz4", sparsity2);
+	}
+	
+	@Test
+	public void testBinaryBlockSparseDeflate() throws Exception {
+		runBinaryBlockTest("deflate", sparsity2);
+	}
+	
+	@Test
+	public void testEvictionSparseLZ4() throws Exception {
+		runEvictionTest("lz4", sparsity2);
+	}
+	
+	@Test
+	public void testEvictionDenseLZ4() throws Exception {
+		runEvictionTest("lz4", sparsity1);
+	}
+	
+	@Test
+	public void testEvictionSparseDeflate() throws Exception {
+		runEvictionTest("deflate", sparsity2);
+	}
+	
+	@Test
+	public void testEvictionSparseNone() throws Exception {
+		runEvictionTest("none", sparsity2);
+	}
+	
+	private static void runCodecRoundTrip(byte[] in, boolean smallIO) 
+		throws IOException 
+	{
+		LZ4BlockCodec codec = new LZ4BlockCodec();
+		
+		//compress (w/ single-byte and small writes if requested)
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		OutputStream os = codec.createOutputStream(bos);
+		if( smallIO ) {
+			for( int i=0; i<in.length; ) {
+				if( i % 2 == 0 )
+					os.write(in[i++]);
+				else {
+					int len = Math.min(13, in.length-i);
+					os.write(in, i, len);
+					i += len;
+				}
+			}
+		}
+		else
+			os.write(in);
+		os.close();
+		
+		//decompress and compare
+		InputStream is = codec.createInputStream(new ByteArrayInputStream(bos.toByteArray()));
+		Assert.assertArrayEquals(in, readFully(is, in.length, smallIO));
+		Assert.assertEquals(-1, is.read());
+		is.close();
+	}
+	
+	private void runBinaryBlockTest(String codec, double sparsity) 
+		throws Exception 
+	{
+		loadTestConfiguration(getTestConfiguration(TEST_NAME));
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.IO_COMPRESSION, codec);
+		ConfigurationManager.setLocalConfig(conf);
+		
+		try {
+			//write compressed binary block file and read it back
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(X);
+			String fname = output("X");
+			MapReduceTool.deleteFileIfExistOnHDFS(fname);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, blksz, blksz, mb.getNonZeros());
+			DataConverter.writeMatrixToHDFS(mb, fname, OutputInfo.BinaryBlockOutputInfo, mc);
+			MatrixBlock mb2 = DataConverter.readMatrixFromHDFS(fname, 
+				InputInfo.BinaryBlockInputInfo, rows, cols, blksz, blksz);
+			TestUtils.compareMatrices(X, DataConverter.convertToDoubleMatrix(mb2), rows, cols, 0);
+		}
+		finally {
+			ConfigurationManager.clearLocalConfigs();
+		}
+	}
+	
+	private void runEvictionTest(String codec, double sparsity) 
+		throws Exception 
+	{
+		loadTestConfiguration(getTestConfiguration(TEST_NAME));
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.IO_COMPRESSION, codec);
+		ConfigurationManager.setLocalConfig(conf);
+		
+		try {
+			//serialize and evict block as done by the buffer pool
+			double[][] X = TestUtils.round(getRandomMatrix(rows, cols, 0, 10, sparsity, 7));
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(X);
+			String fname = output("X");
+			new File(fname).getParentFile().mkdirs();
+			ByteBuffer bbuff = new ByteBuffer(mb.getExactSerializedSize());
+			bbuff.serializeBlock(mb);
+			Assert.assertEquals(sparsity < MatrixBlock.SPARSITY_TURN_POINT, !bbuff.isShallow());
+			bbuff.evictBuffer(fname);
+			
+			//check compressed file (magic number) and restored block
+			boolean compressed = !codec.equals("none");
+			Assert.assertEquals(compressed, new File(fname).length() < mb.getExactSerializedSize());
+			FileInputStream fis = new FileInputStream(fname);
+			try {
+				Assert.assertEquals(compressed, fis.read() == 0xC0);
+			}
+			finally {
+				IOUtilFunctions.closeSilently(fis);
+			}
+			MatrixBlock mb2 = (MatrixBlock) LocalFileUtils.readCacheBlockFromLocal(fname, true);
+			TestUtils.compareMatrices(X, DataConverter.convertToDoubleMatrix(mb2), rows, cols, 0);
+			Assert.assertEquals(mb.getNonZeros(), mb2.getNonZeros());
+		}
+		finally {
+			ConfigurationManager.clearLocalConfigs();
+		}
+	}
+	
+	private static byte[] createData(int len, boolean compressible) {
+		byte[] ret = new byte[len];
+		Random rand = new Random(7);
+		if( compressible ) {
+			for( int i=0; i<len; i++ )
+				ret[i] = (byte)((i % 1000 < 500) ? (i % 7) : rand.nextInt(4));
+		}
+		else
+			rand.nextBytes(ret);
+		return ret;
+	}
+	
+	private static byte[] readFully(InputStream is, int len, boolean smallIO) 
+		throws IOException 
+	{
+		byte[] ret = new byte[len];
+		int pos = 0;
+		while( pos < len ) {
+			int n = smallIO ? ((pos % 2 == 0) ? is.read() : is.read(ret, pos, Math.min(11, len-pos))) :
+				is.read(ret, pos, len-pos);
+			Assert.assertTrue("Unexpected end of stream", n >= 0);
+			if( smallIO && pos % 2 == 0 )
+				ret[pos++] = (byte) n;
+			else
+				pos += n;
+		}
+		return ret;
+	}
+}
@@ -19,15 +19,24 @@
 
 package org.apache.sysml.test.integration.functions.io.binary;
 
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+
 import org.junit.Assert;
 import org.junit.Test;
 
+import org.apache.hadoop.io.DataInputBuffer;
+import org.apache.hadoop.io.DataOutputBuffer;
 import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.caching.CacheDataInput;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
 import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.FastBufferedDataInputStream;
+import org.apache.sysml.runtime.util.LocalFileUtils;
 import org.apache.sysml.runtime.util.MapReduceTool;
 import org.apache.sysml.test.integration.AutomatedTestBase;
 import org.apache.sysml.test.integration.TestConfiguration;
@@ -89,6 +98,18 @@ public class SerializeTest extends AutomatedTestBase
 		runSerializeTest( rows1, cols1, 0.0001 ); 
 	}
 
+	@Test
+	public void testDenseBlockDataInputs() 
+	{ 
+		runDeserializeInputsTest( rows1, cols1, 1.0 ); 
+	}
+	
+	@Test
+	public void testSparseBlockDataInputs() 
+	{ 
+		runDeserializeInputsTest( rows1, cols1, 0.1 ); 
+	}
+
 	private void runSerializeTest( int rows, int cols, double sparsity ) 
 	{
 		try
@@ -126,4 +147,61 @@ public class SerializeTest extends AutomatedTestBase
 			throw new RuntimeException(ex);
 		}
 	}
-}
\ No newline at end of file
+
+	private void runDeserializeInputsTest( int rows, int cols, double sparsity ) 
+	{
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			//generate and serialize actual dataset
+			double[][] X = getRandomMatrix(rows, cols, -1.0, 1.0, sparsity, 7); 
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(X);
+			DataOutputBuffer dout = new DataOutputBuffer();
+			mb.write(dout);
+			byte[] data = new byte[dout.getLength()];
+			System.arraycopy(dout.getData(), 0, data, 0, data.length);
+			
+			//deserialize via in-memory byte array (buffer pool restore)
+			MatrixBlock mb2 = new MatrixBlock();
+			mb2.readFields(new CacheDataInput(data));
+			checkMatrixBlock(mb, mb2);
+			
+			//deserialize via data input buffer (sequence file reads)
+			DataInputBuffer din = new DataInputBuffer();
+			din.reset(data, data.length);
+			MatrixBlock mb3 = new MatrixBlock();
+			mb3.readFields(din);
+			checkMatrixBlock(mb, mb3);
+			
+			//deserialize via buffered input stream (spark, hdfs streams)
+			MatrixBlock mb4 = new MatrixBlock();
+			mb4.readFields(new FastBufferedDataInputStream(new ByteArrayInputStream(data)));
+			checkMatrixBlock(mb, mb4);
+			
+			//deserialize via default data input
+			MatrixBlock mb5 = new MatrixBlock();
+			mb5.readFields(new DataInputStream(new ByteArrayInputStream(data)));
+			checkMatrixBlock(mb, mb5);
+			
+			//deserialize via local file (buffer pool eviction)
+			String fname = output("X.local");
+			new File(fname).getParentFile().mkdirs();
+			LocalFileUtils.writeMatrixBlockToLocal(fname, mb);
+			checkMatrixBlock(mb, LocalFileUtils.readMatrixBlockFromLocal(fname));
+		}
+		catch(Exception ex)
+		{
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static void checkMatrixBlock( MatrixBlock mb1, MatrixBlock mb2 ) {
+		Assert.assertEquals(mb1.getNonZeros(), mb2.getNonZeros());
+		for( int i=0; i<mb1.getNumRows(); i++ )
+			for( int j=0; j<mb1.getNumColumns(); j++ )
+				Assert.assertEquals(mb1.quickGetValue(i, j), mb2.quickGetValue(i, j), eps);
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.csv;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.io.CSVTokenizer;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Byte-level CSV tokenization (with and without quotes, single- and multi-character
+ * delimiters) compared against explicit tokens and the string-based splits of
+ * IOUtilFunctions, as well as the byte-level number parsing.
+ */
+public class CSVTokenizerTest extends AutomatedTestBase 
+{
+	private final static String[] lines = new String[] {
+		"1,2,3", " 1 , 2 ,3 ", "1,,3", ",,", ",", "", "   ", "1.5,-2e3,",
+		"\"a\",\"b,c\",d", "\"a\"\"b\",c", "\"aa\"a,b", "\"a,b", "a\"b\",c",
+		"1::2::::3", "::1::", "1:2::3", "\"x::y\"::z", "äö,ü" };
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testTokensNoQuotes() {
+		checkTokens("1, 2 ,,4,", ",", false, "1", "2", "", "4", "");
+		checkTokens("\"a,b\",c", ",", false, "\"a", "b\"", "c");
+		checkTokens("", ",", false);
+		checkTokens(",", ",", false, "", "");
+	}
+	
+	@Test
+	public void testTokensQuotes() {
+		checkTokens("\"a,b\",c", ",", true, "\"a,b\"", "c");
+		checkTokens("\"a\"\"b\",\"\"", ",", true, "\"a\"\"b\"", "\"\"");
+		checkTokens("\"aa\"a,b", ",", true, "\"aa\"a", "b");
+		checkTokens("\"a,b", ",", true, "\"a", "b");
+		checkTokens("", ",", true, "");
+	}
+	
+	@Test
+	public void testTokensEmptyFields() {
+		checkTokens(",,", ",", true, "", "", "");
+		checkTokens(" , ,", ",", false, "", "", "");
+		checkTokens("1,,", ",", true, "1", "", "");
+	}
+	
+	@Test
+	public void testTokensMultiCharDelim() {
+		checkTokens("1::2::::3", "::", false, "1", "2", "", "3");
+		checkTokens("1:2::3:", "::", false, "1:2", "3:");
+		checkTokens("\"x::y\"::z", "::", true, "\"x::y\"", "z");
+		checkTokens("::", "::", false, "", "");
+	}
+	
+	@Test
+	public void testSplitEquivalenceNoQuotes() {
+		for( String line : lines )
+			for( String delim : new String[]{",", "::", ":"} )
+				checkTokens(line, delim, false, split(line, delim, false));
+	}
+	
+	@Test
+	public void testSplitEquivalenceQuotes() {
+		for( String line : lines )
+			for( String delim : new String[]{",", "::", ":"} )
+				checkTokens(line, delim, true, split(line, delim, true));
+	}
+	
+	@Test
+	public void testParseValues() {
+		String[] vals = new String[]{"0", "-0", "7", "-12", "3.25", "1e-3", "-2.5E7", 
+			".5", "5.", "+1.5", "0.1", "123456789012345678", "1.7976931348623157E308", 
+			"4.9E-324", "NaN", "Infinity", "-Infinity", "0.30000000000000004"};
+		CSVTokenizer tok = new CSVTokenizer(",", false);
+		for( String val : vals ) {
+			byte[] buf = (" "+val+" ,1").getBytes(StandardCharsets.UTF_8);
+			tok.reset(buf, buf.length);
+			tok.next();
+			Assert.assertEquals("Wrong value for "+val, Double.parseDouble(val), tok.getDouble(), 0);
+		}
+		for( String val : new String[]{"0", "17", "-42", "9223372036854775807"} ) {
+			byte[] buf = val.getBytes(StandardCharsets.UTF_8);
+			tok.reset(buf, buf.length);
+			tok.next();
+			Assert.assertEquals("Wrong value for "+val, Long.parseLong(val), tok.getLong());
+		}
+		for( String val : new String[]{"true", "TRUE", "True", "false", "tru", "truee", "1"} ) {
+			byte[] buf = val.getBytes(StandardCharsets.UTF_8);
+			tok.reset(buf, buf.length);
+			tok.next();
+			Assert.assertEquals("Wrong value for "+val, Boolean.parseBoolean(val), tok.getBoolean());
+			Assert.assertTrue(tok.equals(val));
+		}
+	}
+	
+	private static void checkTokens(String line, String delim, boolean quotes, String... expected) {
+		byte[] buf = line.getBytes(StandardCharsets.UTF_8);
+		//reused buffer w/ trailing garbage
+		byte[] buf2 = new byte[buf.length+3];
+		System.arraycopy(buf, 0, buf2, 0, buf.length);
+		buf2[buf.length] = ',';
+		
+		CSVTokenizer tok = new CSVTokenizer(delim, quotes);
+		tok.reset(buf2, buf.length);
+		ArrayList<String> tokens = new ArrayList<String>();
+		while( tok.hasNext() ) {
+			tok.next();
+			Assert.assertEquals(tok.getString().isEmpty(), tok.isEmpty());
+			tokens.add(tok.getString());
+		}
+		Assert.assertArrayEquals("Wrong tokens for '"+line+"' ("+delim+")", 
+			expected, tokens.toArray(new String[0]));
+	}
+	
+	private static String[] split(String line, String delim, boolean quotes) {
+		//readers trim lines and tokens before parsing
+		String tmp = line.trim();
+		if( !quotes && tmp.isEmpty() )
+			return new String[0];
+		String[] parts = quotes ? 
+			IOUtilFunctions.splitCSV(tmp, delim) : IOUtilFunctions.split(tmp, delim);
+		for( int i=0; i<parts.length; i++ )
+			parts[i] = parts[i].trim();
+		return parts;
+	}
+}
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.csv;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.FrameReaderTextCSV;
+import org.apache.sysml.runtime.io.FrameReaderTextCSVParallel;
+import org.apache.sysml.runtime.io.ReaderTextCSV;
+import org.apache.sysml.runtime.io.ReaderTextCSVParallel;
+import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.runtime.util.UtilFunctions;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Parallel CSV matrix and frame reads compared against the sequential readers 
+ * and the written data, for multi-file inputs (multiple splits independent of the
+ * degree of parallelism) with headers, empty fields w/ fill values, quotes, and 
+ * multi-character delimiters.
+ */
+public class ReadCSVParallelTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "ReadCSVParallelTest";
+	private final static String TEST_DIR = "functions/io/csv/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ReadCSVParallelTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1234;
+	private final static int cols = 27;
+	private final static int files = 3;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.05;
+	private final static double fillValue = 7;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, 
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) );
+	}
+	
+	@Test
+	public void testReadMatrixDense() throws Exception {
+		runReadCSVMatrixTest(",", false, sparsity1, false);
+	}
+	
+	@Test
+	public void testReadMatrixSparse() throws Exception {
+		runReadCSVMatrixTest(",", false, sparsity2, false);
+	}
+	
+	@Test
+	public void testReadMatrixHeader() throws Exception {
+		runReadCSVMatrixTest(",", true, sparsity1, false);
+	}
+	
+	@Test
+	public void testReadMatrixFillDense() throws Exception {
+		runReadCSVMatrixTest(",", true, sparsity1, true);
+	}
+	
+	@Test
+	public void testReadMatrixFillSparse() throws Exception {
+		runReadCSVMatrixTest(",", false, sparsity2, true);
+	}
+	
+	@Test
+	public void testReadMatrixMultiCharDelim() throws Exception {
+		runReadCSVMatrixTest("::", true, sparsity1, true);
+	}
+	
+	@Test
+	public void testReadFrame() throws Exception {
+		runReadCSVFrameTest(",", false);
+	}
+	
+	@Test
+	public void testReadFrameHeader() throws Exception {
+		runReadCSVFrameTest(",", true);
+	}
+	
+	@Test
+	public void testReadFrameMultiCharDelim() throws Exception {
+		runReadCSVFrameTest("::", true);
+	}
+	
+	private void runReadCSVMatrixTest(String delim, boolean header, double sparsity, boolean fill) 
+		throws IOException, DMLRuntimeException 
+	{
+		loadTestConfiguration(getTestConfiguration(TEST_NAME));
+		
+		//generate data and expected result (zeros as empty fields if fill)
+		double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+		String[][] cells = new String[rows][cols];
+		double[][] R = new double[rows][cols];
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ ) {
+				boolean empty = fill && A[i][j] == 0;
+				cells[i][j] = empty ? "" : String.valueOf(A[i][j]);
+				R[i][j] = empty ? fillValue : A[i][j];
+			}
+		String fname = input("A");
+		writeCSVFiles(fname, cells, delim, header);
+		
+		//read sequential and parallel
+		CSVFileFormatProperties props = new CSVFileFormatProperties(header, delim, fill, fillValue, null);
+		MatrixBlock mb1 = new ReaderTextCSV(props).readMatrixFromHDFS(fname, rows, cols, -1, -1, -1);
+		MatrixBlock mb2 = new ReaderTextCSVParallel(props).readMatrixFromHDFS(fname, rows, cols, -1, -1, -1);
+		
+		//compare against data and sequential read
+		double[][] R1 = DataConverter.convertToDoubleMatrix(mb1);
+		double[][] R2 = DataConverter.convertToDoubleMatrix(mb2);
+		TestUtils.compareMatrices(R, R1, rows, cols, 0);
+		TestUtils.compareMatrices(R, R2, rows, cols, 0);
+		long nnz = mb2.getNonZeros();
+		mb2.recomputeNonZeros();
+		Assert.assertEquals(mb1.getNonZeros(), nnz);
+		Assert.assertEquals(mb2.getNonZeros(), nnz);
+	}
+	
+	private void runReadCSVFrameTest(String delim, boolean header) 
+		throws IOException, DMLRuntimeException 
+	{
+		loadTestConfiguration(getTestConfiguration(TEST_NAME));
+		
+		//generate data w/ quoted cells containing delimiters and escaped quotes
+		ValueType[] schema = new ValueType[]{ValueType.STRING, ValueType.DOUBLE, ValueType.INT, ValueType.BOOLEAN};
+		String[][] cells = new String[rows][schema.length];
+		String[][] R = new String[rows][schema.length];
+		for( int i=0; i<rows; i++ ) {
+			R[i][0] = (i%3==0) ? "\"a"+delim+i+"\"" : (i%3==1) ? "\"b\"\"" + i + "\"" : "c"+i;
+			R[i][1] = String.valueOf(i*0.5);
+			R[i][2] = String.valueOf(i);
+			R[i][3] = String.valueOf(i%2==0);
+			for( int j=0; j<schema.length; j++ )
+				cells[i][j] = R[i][j];
+			if( i%7==0 ) { //empty field w/ fill value
+				cells[i][1] = "";
+				R[i][1] = String.valueOf(fillValue);
+			}
+		}
+		String fname = input("F");
+		writeCSVFiles(fname, cells, delim, header);
+		
+		//read sequential and parallel
+		CSVFileFormatProperties props = new CSVFileFormatProperties(header, delim, true, fillValue, null);
+		FrameBlock fb1 = new FrameReaderTextCSV(props).readFrameFromHDFS(fname, schema, rows, schema.length);
+		FrameBlock fb2 = new FrameReaderTextCSVParallel(props).readFrameFromHDFS(fname, schema, rows, schema.length);
+		
+		//compare against data and sequential read
+		Assert.assertEquals(rows, fb2.getNumRows());
+		if( header )
+			Assert.assertArrayEquals(fb1.getColumnNames(), fb2.getColumnNames());
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<schema.length; j++ ) {
+				Object expected = UtilFunctions.stringToObject(schema[j], R[i][j]);
+				Assert.assertEquals("Wrong value at ("+i+","+j+")", expected, fb1.get(i, j));
+				Assert.assertEquals("Wrong value at ("+i+","+j+")", expected, fb2.get(i, j));
+			}
+	}
+	
+	private static void writeCSVFiles(String fname, String[][] cells, String delim, boolean header) 
+		throws IOException
+	{
+		MapReduceTool.deleteFileIfExistOnHDFS(fname);
+		File dir = new File(fname);
+		dir.mkdirs();
+		
+		//write rows into multiple part files, header only in first file
+		int blen = (cells.length + files - 1) / files;
+		for( int k=0; k<files; k++ ) {
+			BufferedWriter bw = new BufferedWriter(new FileWriter(new File(dir, "0-m-0000"+k)));
+			try {
+				if( k==0 && header ) {
+					for( int j=0; j<cells[0].length; j++ )
+						bw.write(((j>0) ? delim : "") + "C" + (j+1));
+					bw.write("\n");
+				}
+				for( int i=k*blen; i<Math.min((k+1)*blen, cells.length); i++ ) {
+					for( int j=0; j<cells[i].length; j++ )
+						bw.write(((j>0) ? delim : "") + cells[i][j]);
+					bw.write("\n");
+				}
+			}
+			finally {
+				bw.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.libsvm;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.conf.CompilerConfig;
+import org.apache.sysml.lops.LopProperties.ExecType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.MatrixReader;
+import org.apache.sysml.runtime.io.ReaderTextLIBSVM;
+import org.apache.sysml.runtime.io.ReaderTextLIBSVMParallel;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class ReadWriteLIBSVMTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "ReadWriteLIBSVMTest";
+	private final static String TEST_DIR = "functions/io/libsvm/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ReadWriteLIBSVMTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1200;
+	private final static int cols = 73;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	private final static double eps = 1e-9;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, 
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "B" }) ); 
+	}
+	
+	@Test
+	public void testLIBSVMDenseSeqCP() {
+		runLIBSVMReadWriteTest(false, false, ExecType.CP);
+	}
+	
+	@Test
+	public void testLIBSVMSparseSeqCP() {
+		runLIBSVMReadWriteTest(true, false, ExecType.CP);
+	}
+	
+	@Test
+	public void testLIBSVMDenseParCP() {
+		runLIBSVMReadWriteTest(false, true, ExecType.CP);
+	}
+	
+	@Test
+	public void testLIBSVMSparseParCP() {
+		runLIBSVMReadWriteTest(true, true, ExecType.CP);
+	}
+	
+	@Test
+	public void testLIBSVMDenseSP() {
+		runLIBSVMReadWriteTest(false, true, ExecType.SPARK);
+	}
+	
+	@Test
+	public void testLIBSVMSparseSP() {
+		runLIBSVMReadWriteTest(true, true, ExecType.SPARK);
+	}
+	
+	@Test
+	public void testLIBSVMBlankCommentLinesSeq() throws IOException, DMLRuntimeException {
+		runLIBSVMBlankCommentLinesTest(false, false);
+	}
+	
+	@Test
+	public void testLIBSVMBlankCommentLinesPar() throws IOException, DMLRuntimeException {
+		runLIBSVMBlankCommentLinesTest(true, false);
+	}
+	
+	@Test
+	public void testLIBSVMBlankCommentLinesSeqUnknownDims() throws IOException, DMLRuntimeException {
+		runLIBSVMBlankCommentLinesTest(false, true);
+	}
+	
+	@Test
+	public void testLIBSVMBlankCommentLinesParUnknownDims() throws IOException, DMLRuntimeException {
+		runLIBSVMBlankCommentLinesTest(true, true);
+	}
+	
+	private void runLIBSVMReadWriteTest(boolean sparse, boolean parallel, ExecType et) 
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = (et==ExecType.SPARK) ? RUNTIME_PLATFORM.SPARK : RUNTIME_PLATFORM.SINGLE_NODE;
+		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
+		if( rtplatform == RUNTIME_PLATFORM.SPARK )
+			DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+		boolean oldpar = CompilerConfig.FLAG_PARREADWRITE_TEXT;
+		
+		try
+		{
+			CompilerConfig.FLAG_PARREADWRITE_TEXT = parallel;
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-args", 
+				input("A"), output("A.libsvm"), output("B") };
+			
+			//generate actual dataset (w/ label as last column)
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparse?sparsity2:sparsity1, 7);
+			writeInputMatrixWithMTD("A", A, true);
+			
+			runTest(true, false, null, -1); 
+			
+			//compare matrices 
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("B");
+			HashMap<CellIndex, Double> input = TestUtils.convert2DDoubleArrayToHashMap(A);
+			TestUtils.compareMatrices(dmlfile, input, eps, "Stat-DML", "Stat-Input");
+		}
+		finally {
+			rtplatform = platformOld;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
+			CompilerConfig.FLAG_PARREADWRITE_TEXT = oldpar;
+		}
+	}
+	
+	private void runLIBSVMBlankCommentLinesTest(boolean parallel, boolean unknownDims) 
+		throws IOException, DMLRuntimeException
+	{
+		loadTestConfiguration(getTestConfiguration(TEST_NAME));
+		
+		//write libsvm file w/ empty, whitespace-only, and full-line comment lines
+		String fname = input("L");
+		File file = new File(fname);
+		file.getParentFile().mkdirs();
+		BufferedWriter bw = new BufferedWriter(new FileWriter(file));
+		try {
+			bw.write("# leading comment\n");
+			bw.write("1 1:2.5 3:4\n");
+			bw.write("\n");
+			bw.write("   \t \n");
+			bw.write("-1 2:7\n");
+			bw.write("  # indented comment\n");
+			bw.write("0\n");
+			bw.write("\r\n");
+			bw.write("3 1:1 4:-2\n");
+		}
+		finally {
+			bw.close();
+		}
+		
+		//read with known or unknown dimensions (rows x features+label)
+		MatrixReader reader = parallel ? new ReaderTextLIBSVMParallel() : new ReaderTextLIBSVM();
+		MatrixBlock ret = unknownDims ? reader.readMatrixFromHDFS(fname, -1, -1, 1000, 1000, -1) :
+			reader.readMatrixFromHDFS(fname, 4, 5, 1000, 1000, -1);
+		
+		//compare against expected rows
+		double[][] R = new double[][]{
+			{2.5, 0, 4, 0, 1}, {0, 7, 0, 0, -1}, {0, 0, 0, 0, 0}, {1, 0, 0, -2, 3}};
+		Assert.assertEquals(4, ret.getNumRows());
+		Assert.assertEquals(5, ret.getNumColumns());
+		Assert.assertEquals(8, ret.getNonZeros());
+		for( int i=0; i<R.length; i++ )
+			for( int j=0; j<R[i].length; j++ )
+				Assert.assertEquals("Wrong value at ("+i+","+j+")", R[i][j], ret.quickGetValue(i, j), eps);
+	}
+}
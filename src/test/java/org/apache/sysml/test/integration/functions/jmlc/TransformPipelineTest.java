@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.jmlc;
+
+import java.util.Random;
+
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.api.jmlc.TransformPipeline;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.transform.decode.Decoder;
+import org.apache.sysml.runtime.transform.decode.DecoderFactory;
+import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.apache.sysml.runtime.util.UtilFunctions;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TransformPipelineTest extends AutomatedTestBase 
+{
+	private final static int rows = 1234;
+	private final static String[] colnames = new String[]{"C1", "C2", "C3", "C4"};
+	
+	private final static String SPEC_RECODE = "{\"ids\": true, \"recode\": [1, 3]}";
+	private final static String SPEC_DUMMY = "{\"ids\": true, \"recode\": [1, 3], \"dummycode\": [1, 3]}";
+	private final static String SPEC_HASHBIN = "{\"ids\": true, \"hash\": [1], \"K\": 5, \"recode\": [3], \"dummycode\": [1, 4], "
+		+ "\"bin\": [{\"id\": 4, \"method\": \"equi-height\", \"numbins\": 3}]}";
+	private final static String SPEC_OMIT = "{\"ids\": true, \"recode\": [1, 3], \"omit\": [2]}";
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testTransformPipelineRecode() {
+		runTransformPipelineTest(SPEC_RECODE, false);
+	}
+	
+	@Test
+	public void testTransformPipelineDummycode() {
+		runTransformPipelineTest(SPEC_DUMMY, false);
+	}
+	
+	@Test
+	public void testTransformPipelineHashBinDummycode() {
+		runTransformPipelineTest(SPEC_HASHBIN, false);
+	}
+	
+	@Test
+	public void testTransformPipelineOmit() {
+		runTransformPipelineTest(SPEC_OMIT, true);
+	}
+	
+	private void runTransformPipelineTest(String spec, boolean omit)
+	{
+		Connection conn = new Connection();
+		try
+		{
+			//create string frame w/ missing values (only for omit)
+			FrameBlock in = new FrameBlock(UtilFunctions.nCopies(4, ValueType.STRING), colnames);
+			Random rand = new Random(7);
+			for( int i=0; i<rows; i++ )
+				in.appendRow(new String[]{"a"+rand.nextInt(13), 
+					(omit && rand.nextInt(10)==0) ? null : String.valueOf(rand.nextInt(100)), 
+					"b"+rand.nextInt(5), String.valueOf(rand.nextDouble())});
+			
+			//reference block-wise encode and decode
+			Encoder encoder = EncoderFactory.createEncoder(spec, colnames, 4, null);
+			MatrixBlock out = encoder.encode(in, new MatrixBlock(rows, 4, false));
+			FrameBlock meta = encoder.getMetaData(new FrameBlock(4, ValueType.STRING));
+			meta.setColumnNames(colnames);
+			Decoder decoder = DecoderFactory.createDecoder(spec, colnames, null, meta);
+			FrameBlock dout = decoder.decode(out, new FrameBlock(decoder.getSchema()));
+			
+			//row-wise encode and decode via compiled pipeline
+			TransformPipeline pipe = conn.prepareTransformPipeline(spec, meta);
+			Assert.assertEquals(out.getNumColumns(), pipe.getNumOutputCols());
+			int pos = 0;
+			for( int i=0; i<rows; i++ ) {
+				String[] row = new String[4];
+				for( int j=0; j<4; j++ )
+					row[j] = (String)in.get(i, j);
+				double[] erow = pipe.encode(row);
+				if( omit && row[1] == null ) {
+					Assert.assertNull(erow);
+					continue;
+				}
+				for( int j=0; j<out.getNumColumns(); j++ )
+					Assert.assertEquals("("+i+","+j+")", out.quickGetValue(pos, j), erow[j], 0);
+				Object[] drow = pipe.decode(erow);
+				for( int j=0; j<4; j++ )
+					Assert.assertEquals("("+i+","+j+")", dout.get(pos, j), drow[j]);
+				pos++;
+			}
+			Assert.assertEquals(out.getNumRows(), pos);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			conn.close();
+		}
+	}
+}
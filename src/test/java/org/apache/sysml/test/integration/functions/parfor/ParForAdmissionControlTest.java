@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.parfor;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.controlprogram.parfor.LocalParWorkerBudget;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * Runtime admission control of local parfor workers, where a small memory budget
+ * forces fewer concurrent workers than the configured degree of parallelism.
+ */
+public class ParForAdmissionControlTest extends AutomatedTestBase 
+{
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_NAME = "parfor_admission";
+	private final static String TEST_NAME2 = "parfor_admission2"; //opt=NONE, unknown estimate
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForAdmissionControlTest.class.getSimpleName() + "/";
+	
+	private final static int iters = 8;
+	private final static int dim = 1000; //8MB per intermediate
+	private final static long mem = 24*1024*1024; //< 2 concurrent workers
+	private final static long size = 10*1024*1024;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) );
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "R" }) );
+	}
+	
+	@Test
+	public void testWorkerBudgetThrottling() throws Exception {
+		//budget for a single reservation, but k=4 workers
+		final LocalParWorkerBudget budget = new LocalParWorkerBudget(3*size/2, 4);
+		final long[] results = new long[iters];
+		Thread[] threads = new Thread[4];
+		budget.reserve(size); //block concurrent workers
+		for( int i=0; i<threads.length; i++ ) {
+			final int pos = i;
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for( int j=pos; j<iters; j+=4 ) {
+							budget.reserve(size);
+							results[j] = (long)j*j;
+							budget.release(size);
+						}
+					}
+					catch(InterruptedException ex) {
+						throw new RuntimeException(ex);
+					}
+				}
+			});
+			threads[i].start();
+		}
+		
+		//wait until all workers are throttled, then release
+		for( Thread t : threads )
+			while( t.getState() != Thread.State.WAITING )
+				Thread.sleep(1);
+		budget.release(size);
+		for( Thread t : threads )
+			t.join();
+		
+		for( int j=0; j<iters; j++ )
+			Assert.assertEquals((long)j*j, results[j]);
+		Assert.assertEquals(iters+1, budget.getNumReservations());
+		Assert.assertTrue(budget.getNumThrottled() >= threads.length);
+		Assert.assertEquals(1, budget.getEffectiveParallelism());
+		Assert.assertEquals(4, budget.getMaxParallelism());
+	}
+	
+	@Test
+	public void testParForAdmissionReducedParallelism() {
+		runParForAdmissionControlTest(TEST_NAME);
+	}
+	
+	@Test
+	public void testParForAdmissionUnknownEstimate() {
+		runParForAdmissionControlTest(TEST_NAME2);
+	}
+	
+	private void runParForAdmissionControlTest(String testname)
+	{
+		//force throttling via small memory budget (intermediates fit into 
+		//memory but the budget does not allow for two concurrent workers)
+		long oldmem = InfrastructureAnalyzer.getLocalMaxMemory();
+		InfrastructureAnalyzer.setLocalMaxMemory(mem);
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(testname);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + testname + ".dml";
+			programArgs = new String[]{"-stats", "-args", 
+				String.valueOf(iters), String.valueOf(dim), output("R") };
+	
+			//run test
+			runTest(true, false, null, -1);
+			
+			//compare result w/ expected sums (i+3)*dim^2 
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("R");
+			for( int i=1; i<=iters; i++ )
+				Assert.assertEquals((double)(i+3)*dim*dim, dmlfile.get(new CellIndex(i,1)), 0);
+			
+			//check admission control statistics (no admission control w/o 
+			//worker memory estimate, i.e., if the optimizer is disabled)
+			if( testname.equals(TEST_NAME) ) {
+				Assert.assertEquals(iters, Statistics.getParforAdmitReservations());
+				Assert.assertTrue(Statistics.getParforAdmitThrottled() > 0);
+				Assert.assertEquals(1, Statistics.getParforAdmitShrunkK());
+			}
+			else {
+				Assert.assertEquals(0, Statistics.getParforAdmitReservations());
+				Assert.assertEquals(0, Statistics.getParforAdmitThrottled());
+			}
+		}
+		finally
+		{
+			InfrastructureAnalyzer.setLocalMaxMemory(oldmem);
+		}
+	}
+}
@@ -0,0 +1,331 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.reorg;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.CTableMap;
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.operators.SimpleOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Multi-threaded removeEmpty, rexpand, ctable, transpose, reshape, and rev
+ * compared against their single-threaded counterparts, for dense and sparse 
+ * inputs and outputs.
+ */
+public class MultiThreadedReorgTest extends AutomatedTestBase
+{
+	private final static int rows = 2100;
+	private final static int cols = 600; //> PAR_NUMCELL_THRESHOLD
+	private final static int rowsExpand = 50000;
+	private final static int maxVal = 100;
+	private final static int threads = 4;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.002;
+	private final static double eps = 1e-8; //different summation order
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testRemoveEmptyRowsDense() throws DMLRuntimeException {
+		runRemoveEmptyTest(true, false, false);
+	}
+
+	@Test
+	public void testRemoveEmptyRowsSparse() throws DMLRuntimeException {
+		runRemoveEmptyTest(true, true, false);
+	}
+
+	@Test
+	public void testRemoveEmptyRowsSelect() throws DMLRuntimeException {
+		runRemoveEmptyTest(true, false, true);
+	}
+
+	@Test
+	public void testRemoveEmptyColsDense() throws DMLRuntimeException {
+		runRemoveEmptyTest(false, false, false);
+	}
+
+	@Test
+	public void testRemoveEmptyColsSparse() throws DMLRuntimeException {
+		runRemoveEmptyTest(false, true, false);
+	}
+
+	@Test
+	public void testRemoveEmptyColsSelect() throws DMLRuntimeException {
+		runRemoveEmptyTest(false, true, true);
+	}
+
+	@Test
+	public void testRExpandCols() throws DMLRuntimeException {
+		runRExpandTest(false, false);
+	}
+
+	@Test
+	public void testRExpandColsCast() throws DMLRuntimeException {
+		runRExpandTest(false, true);
+	}
+
+	@Test
+	public void testRExpandRows() throws DMLRuntimeException {
+		runRExpandTest(true, false);
+	}
+
+	@Test
+	public void testCTableMatrixWeights() throws DMLRuntimeException {
+		runCTableTest(true, true, false);
+	}
+
+	@Test
+	public void testCTableScalarWeight() throws DMLRuntimeException {
+		runCTableTest(true, false, false);
+	}
+
+	@Test
+	public void testCTableScalarWeightIgnoreZeros() throws DMLRuntimeException {
+		runCTableTest(true, false, true);
+	}
+
+	@Test
+	public void testCTableHistogram() throws DMLRuntimeException {
+		runCTableTest(false, false, false);
+	}
+
+	@Test
+	public void testCTableWeightedHistogram() throws DMLRuntimeException {
+		runCTableTest(false, true, false);
+	}
+
+	@Test
+	public void testTransposeSparseSparse() throws DMLRuntimeException {
+		runTransposeTest(true, true);
+	}
+
+	@Test
+	public void testTransposeDenseSparse() throws DMLRuntimeException {
+		runTransposeTest(false, true);
+	}
+
+	@Test
+	public void testTransposeSparseDense() throws DMLRuntimeException {
+		runTransposeTest(true, false);
+	}
+
+	@Test
+	public void testReshapeRowwiseDense() throws DMLRuntimeException {
+		runReshapeTest(false, true);
+	}
+
+	@Test
+	public void testReshapeRowwiseSparse() throws DMLRuntimeException {
+		runReshapeTest(true, true);
+	}
+
+	@Test
+	public void testReshapeColwiseDense() throws DMLRuntimeException {
+		runReshapeTest(false, false);
+	}
+
+	@Test
+	public void testReshapeColwiseSparse() throws DMLRuntimeException {
+		runReshapeTest(true, false);
+	}
+
+	@Test
+	public void testRevDense() throws DMLRuntimeException {
+		runRevTest(false);
+	}
+
+	@Test
+	public void testRevSparse() throws DMLRuntimeException {
+		runRevTest(true);
+	}
+
+	private void runRemoveEmptyTest(boolean margin, boolean sparse, boolean select)
+		throws DMLRuntimeException
+	{
+		double[][] A = TestUtils.generateTestMatrix(rows, cols, -1, 1, sparse?sparsity2:sparsity1, 7);
+		for( int i=0; i<rows; i++ ) //empty rows and columns
+			for( int j=0; j<cols; j++ )
+				if( (margin && i%3==0) || (!margin && j%5==0) )
+					A[i][j] = 0;
+		MatrixBlock in = DataConverter.convertToMatrixBlock(A);
+		in.examSparsity();
+		MatrixBlock sel = null;
+		if( select ) {
+			double[][] S = TestUtils.round(TestUtils.generateTestMatrix(
+				margin?rows:1, margin?1:cols, 0, 1, 1.0, 3));
+			sel = DataConverter.convertToMatrixBlock(S);
+		}
+
+		MatrixBlock ret1 = LibMatrixReorg.rmempty(in, new MatrixBlock(), margin, sel, 1);
+		MatrixBlock ret2 = LibMatrixReorg.rmempty(in, new MatrixBlock(), margin, sel, threads);
+		compareMatrices(ret1, ret2, 0);
+	}
+
+	private void runRExpandTest(boolean dirRows, boolean cast)
+		throws DMLRuntimeException
+	{
+		double[][] A = TestUtils.generateTestMatrix(rowsExpand, 1, 0, maxVal+10, 0.9, 11);
+		if( !cast )
+			A = TestUtils.round(A);
+		MatrixBlock in = DataConverter.convertToMatrixBlock(A);
+
+		MatrixBlock ret1 = LibMatrixReorg.rexpand(in, new MatrixBlock(), maxVal, dirRows, cast, true, 1);
+		MatrixBlock ret2 = LibMatrixReorg.rexpand(in, new MatrixBlock(), maxVal, dirRows, cast, true, threads);
+		compareMatrices(ret1, ret2, 0);
+
+		//check expanded cells against input
+		long nnz = 0;
+		for( int i=0; i<rowsExpand; i++ ) {
+			long val = (long) A[i][0];
+			if( val >= 1 && val <= maxVal ) {
+				Assert.assertEquals(1, dirRows ? ret2.quickGetValue((int)val-1, i) :
+					ret2.quickGetValue(i, (int)val-1), 0);
+				nnz++;
+			}
+		}
+		Assert.assertEquals(nnz, ret2.getNonZeros());
+	}
+
+	private void runCTableTest(boolean matrix2, boolean weights, boolean ignoreZeros)
+		throws DMLRuntimeException
+	{
+		double[][] A = TestUtils.round(TestUtils.generateTestMatrix(rows, cols, 1, 50, 1.0, 13));
+		double[][] B = TestUtils.round(TestUtils.generateTestMatrix(rows, cols, 1, 70, 1.0, 17));
+		double[][] W = TestUtils.generateTestMatrix(rows, cols, 0, 1, 1.0, 19);
+		if( ignoreZeros ) { //aligned zeros in sparse inputs
+			A = TestUtils.round(TestUtils.generateTestMatrix(rows, cols, 1, 50, 0.05, 13));
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					B[i][j] = (A[i][j] != 0) ? B[i][j] : 0;
+		}
+		MatrixBlock in1 = DataConverter.convertToMatrixBlock(A);
+		MatrixBlock in2 = DataConverter.convertToMatrixBlock(B);
+		MatrixBlock in3 = DataConverter.convertToMatrixBlock(W);
+		in1.examSparsity();
+		in2.examSparsity();
+
+		//reference via single-threaded ternary operations
+		SimpleOperator op = new SimpleOperator(null);
+		CTableMap map0 = new CTableMap();
+		if( matrix2 && weights )
+			in1.ternaryOperations(op, in2, in3, map0, null);
+		else if( matrix2 )
+			in1.ternaryOperations(op, in2, 2, ignoreZeros, map0, null);
+		else if( weights )
+			in1.ternaryOperations(op, 3, in3, map0, null);
+		else
+			in1.ternaryOperations(op, 3, 2, map0, null);
+
+		CTableMap map1 = new CTableMap();
+		CTableMap map2 = new CTableMap();
+		LibMatrixReorg.ctable(in1, matrix2?in2:null, 3, weights?in3:null, 2, ignoreZeros, map1, 1);
+		LibMatrixReorg.ctable(in1, matrix2?in2:null, 3, weights?in3:null, 2, ignoreZeros, map2, threads);
+
+		Assert.assertEquals(map0.getMaxRow(), map2.getMaxRow());
+		Assert.assertEquals(map0.getMaxColumn(), map2.getMaxColumn());
+		MatrixBlock ret0 = DataConverter.convertToMatrixBlock(map0);
+		compareMatrices(ret0, DataConverter.convertToMatrixBlock(map1), 0);
+		compareMatrices(ret0, DataConverter.convertToMatrixBlock(map2), eps);
+	}
+
+	private void runTransposeTest(boolean sparseIn, boolean sparseOut)
+		throws DMLRuntimeException
+	{
+		//skewed inputs w/ empty rows and columns
+		double[][] A = TestUtils.generateTestMatrix(rows, cols, -1, 1, sparseIn?sparsity2:sparsity1, 7);
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				if( i%7==0 || j%11==0 || (j<10 && i%2==0) )
+					A[i][j] = (j<10 && i%2==0) ? 1 : 0;
+		MatrixBlock in = new MatrixBlock();
+		in.copy(DataConverter.convertToMatrixBlock(A), sparseIn);
+
+		MatrixBlock ret1 = LibMatrixReorg.transpose(in, new MatrixBlock(cols, rows, sparseOut), 1);
+		MatrixBlock ret2 = LibMatrixReorg.transpose(in, new MatrixBlock(cols, rows, sparseOut), threads);
+		Assert.assertEquals(sparseOut, ret2.isInSparseFormat());
+		compareMatrices(ret1, ret2, 0);
+		checkSortedSparseRows(ret2);
+	}
+
+	private void runReshapeTest(boolean sparse, boolean rowwise)
+		throws DMLRuntimeException
+	{
+		double[][] A = TestUtils.generateTestMatrix(rows, cols, -1, 1, sparse?sparsity2:sparsity1, 7);
+		MatrixBlock in = DataConverter.convertToMatrixBlock(A);
+		in.examSparsity();
+
+		//reshapes w/ aligned and unaligned row boundaries, and to column vector
+		int[][] dims = new int[][]{{rows*3, cols/3}, {cols, rows}, {rows/7*4, cols*7/4}, {rows*cols, 1}};
+		for( int[] dim : dims ) {
+			MatrixBlock ret1 = LibMatrixReorg.reshape(in, new MatrixBlock(), dim[0], dim[1], rowwise, 1);
+			MatrixBlock ret2 = LibMatrixReorg.reshape(in, new MatrixBlock(), dim[0], dim[1], rowwise, threads);
+			compareMatrices(ret1, ret2, 0);
+			checkSortedSparseRows(ret2);
+		}
+	}
+
+	private void runRevTest(boolean sparse)
+		throws DMLRuntimeException
+	{
+		double[][] A = TestUtils.generateTestMatrix(rows, cols, -1, 1, sparse?sparsity2:sparsity1, 7);
+		MatrixBlock in = DataConverter.convertToMatrixBlock(A);
+		in.examSparsity();
+
+		MatrixBlock ret1 = LibMatrixReorg.rev(in, new MatrixBlock(rows, cols, sparse), 1);
+		MatrixBlock ret2 = LibMatrixReorg.rev(in, new MatrixBlock(rows, cols, sparse), threads);
+		compareMatrices(ret1, ret2, 0);
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				Assert.assertEquals(A[rows-1-i][j], ret2.quickGetValue(i, j), 0);
+	}
+
+	private static void checkSortedSparseRows(MatrixBlock mb) {
+		if( !mb.isInSparseFormat() || mb.isEmptyBlock(false) )
+			return;
+		SparseBlock sb = mb.getSparseBlock();
+		for( int i=0; i<mb.getNumRows(); i++ ) {
+			if( sb.isEmpty(i) ) continue;
+			int apos = sb.pos(i);
+			int alen = sb.size(i);
+			int[] aix = sb.indexes(i);
+			for( int j=apos+1; j<apos+alen; j++ )
+				Assert.assertTrue(aix[j-1] < aix[j]);
+		}
+	}
+
+	private static void compareMatrices(MatrixBlock expected, MatrixBlock actual, double tol) {
+		Assert.assertEquals(expected.getNumRows(), actual.getNumRows());
+		Assert.assertEquals(expected.getNumColumns(), actual.getNumColumns());
+		Assert.assertEquals(expected.getNonZeros(), actual.getNonZeros());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(expected),
+			DataConverter.convertToDoubleMatrix(actual), expected.getNumRows(), expected.getNumColumns(), tol);
+	}
+}
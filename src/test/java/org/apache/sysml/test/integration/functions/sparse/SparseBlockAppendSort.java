@@ -19,6 +19,8 @@
 
 package org.apache.sysml.test.integration.functions.sparse;
 
+import java.util.Iterator;
+
 import org.junit.Assert;
 import org.junit.Test;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
@@ -175,8 +177,11 @@ public class SparseBlockAppendSort extends AutomatedTestBase
 				for( int i=0; i<rows; i++ )
 					for( int j=0; j<cols; j++ )
 						map.addValue(i, j, A[i][j]);
-				for( LLDoubleEntry e : map.extractValues() ) //random hash order
+				Iterator<LLDoubleEntry> iter = map.getIterator();
+				while( iter.hasNext() ) { //random hash order
+					LLDoubleEntry e = iter.next();
 					sblock.append((int)e.key1, (int)e.key2, e.value);
+				}
 			}	
 			
 			//sort appended values
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.tensor;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.ConvolutionParameters;
+import org.apache.sysml.runtime.matrix.data.LibMatrixDNN;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Batched im2col convolutions (forward with fused bias, backward filter,
+ * backward data) compared against a naive reference implementation, for
+ * small images (multiple images per batch) and partial last batches.
+ */
+public class Conv2DBatchedTest extends AutomatedTestBase
+{
+	private final static double eps = 1e-10;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testConv2dDenseSmallImages() throws DMLRuntimeException {
+		runConv2dTest(37, 3, 6, 4, 3, 1, 0, 1.0, false, 1);
+	}
+
+	@Test
+	public void testConv2dDenseSmallImagesMT() throws DMLRuntimeException {
+		runConv2dTest(37, 3, 6, 4, 3, 1, 0, 1.0, false, 4);
+	}
+
+	@Test
+	public void testConv2dDenseStridePadBiasMT() throws DMLRuntimeException {
+		runConv2dTest(41, 2, 9, 5, 3, 2, 1, 1.0, true, 4);
+	}
+
+	@Test
+	public void testConv2dDensePadBias() throws DMLRuntimeException {
+		runConv2dTest(29, 3, 7, 4, 3, 1, 1, 1.0, true, 1);
+	}
+
+	@Test
+	public void testConv2dDenseLargePadStrideMT() throws DMLRuntimeException {
+		runConv2dTest(29, 2, 8, 3, 3, 3, 2, 1.0, false, 4);
+	}
+
+	@Test
+	public void testConv2dSparseBias() throws DMLRuntimeException {
+		runConv2dTest(23, 2, 8, 3, 3, 1, 1, 0.05, true, 1);
+	}
+
+	@Test
+	public void testConv2dSparseBiasMT() throws DMLRuntimeException {
+		runConv2dTest(23, 2, 8, 3, 3, 1, 1, 0.05, true, 4);
+	}
+
+	@Test
+	public void testConv2dBackwardFilterMT() throws DMLRuntimeException {
+		runConv2dBackwardFilterTest(39, 3, 7, 4, 3, 2, 1, 1.0, 4);
+	}
+
+	@Test
+	public void testConv2dBackwardFilterSparse() throws DMLRuntimeException {
+		runConv2dBackwardFilterTest(39, 3, 7, 4, 3, 1, 0, 0.05, 1);
+	}
+
+	@Test
+	public void testConv2dBackwardDataMT() throws DMLRuntimeException {
+		runConv2dBackwardDataTest(43, 3, 7, 4, 3, 2, 1, 1.0, 4);
+	}
+
+	@Test
+	public void testConv2dBackwardDataSparse() throws DMLRuntimeException {
+		runConv2dBackwardDataTest(43, 3, 7, 4, 3, 1, 0, 0.05, 1);
+	}
+
+	private void runConv2dTest(int N, int C, int HW, int K, int RS, int stride, int pad,
+			double sparsity, boolean bias, int k) throws DMLRuntimeException
+	{
+		ConvolutionParameters params = new ConvolutionParameters(N, C, HW, HW, K, RS, RS, stride, stride, pad, pad, k);
+		double[][] X = TestUtils.generateTestMatrix(N, C*HW*HW, -1, 1, sparsity, 7);
+		double[][] F = TestUtils.generateTestMatrix(K, C*RS*RS, -1, 1, 1.0, 3);
+		double[][] B = TestUtils.generateTestMatrix(K, 1, -1, 1, 1.0, 5);
+		if( bias )
+			params.bias = toMatrixBlock(B);
+
+		MatrixBlock out = new MatrixBlock(N, K*params.P*params.Q, false);
+		out.allocateDenseBlock();
+		LibMatrixDNN.conv2d(toMatrixBlock(X), toMatrixBlock(F), out, params);
+
+		//naive reference convolution
+		int PQ = params.P*params.Q;
+		double[][] R = new double[N][K*PQ];
+		for(int n=0; n<N; n++)
+			for(int f=0; f<K; f++)
+				for(int p=0; p<params.P; p++)
+					for(int q=0; q<params.Q; q++) {
+						double sum = bias ? B[f][0] : 0;
+						for(int c=0; c<C; c++)
+							for(int r=0; r<RS; r++)
+								for(int s=0; s<RS; s++) {
+									int h = p*stride - pad + r;
+									int w = q*stride - pad + s;
+									if( h>=0 && h<HW && w>=0 && w<HW )
+										sum += X[n][c*HW*HW + h*HW + w] * F[f][c*RS*RS + r*RS + s];
+								}
+						R[n][f*PQ + p*params.Q + q] = sum;
+					}
+
+		compareMatrices(R, out);
+		Assert.assertEquals(toMatrixBlock(R).getNonZeros(), out.getNonZeros());
+	}
+
+	private void runConv2dBackwardFilterTest(int N, int C, int HW, int K, int RS, int stride, int pad,
+			double sparsity, int k) throws DMLRuntimeException
+	{
+		ConvolutionParameters params = new ConvolutionParameters(N, C, HW, HW, K, RS, RS, stride, stride, pad, pad, k);
+		int PQ = params.P*params.Q;
+		double[][] X = TestUtils.generateTestMatrix(N, C*HW*HW, -1, 1, 1.0, 7);
+		double[][] D = TestUtils.generateTestMatrix(N, K*PQ, -1, 1, sparsity, 9);
+
+		MatrixBlock out = new MatrixBlock(K, C*RS*RS, false);
+		out.allocateDenseBlock();
+		LibMatrixDNN.conv2dBackwardFilter(toMatrixBlock(X), toMatrixBlock(D), out, params);
+
+		//naive reference backward filter
+		double[][] R = new double[K][C*RS*RS];
+		for(int n=0; n<N; n++)
+			for(int f=0; f<K; f++)
+				for(int p=0; p<params.P; p++)
+					for(int q=0; q<params.Q; q++)
+						for(int c=0; c<C; c++)
+							for(int r=0; r<RS; r++)
+								for(int s=0; s<RS; s++) {
+									int h = p*stride - pad + r;
+									int w = q*stride - pad + s;
+									if( h>=0 && h<HW && w>=0 && w<HW )
+										R[f][c*RS*RS + r*RS + s] += D[n][f*PQ + p*params.Q + q] * X[n][c*HW*HW + h*HW + w];
+								}
+
+		compareMatrices(R, out);
+	}
+
+	private void runConv2dBackwardDataTest(int N, int C, int HW, int K, int RS, int stride, int pad,
+			double sparsity, int k) throws DMLRuntimeException
+	{
+		ConvolutionParameters params = new ConvolutionParameters(N, C, HW, HW, K, RS, RS, stride, stride, pad, pad, k);
+		int PQ = params.P*params.Q;
+		double[][] F = TestUtils.generateTestMatrix(K, C*RS*RS, -1, 1, 1.0, 3);
+		double[][] D = TestUtils.generateTestMatrix(N, K*PQ, -1, 1, sparsity, 9);
+
+		MatrixBlock out = new MatrixBlock(N, C*HW*HW, false);
+		out.allocateDenseBlock();
+		LibMatrixDNN.conv2dBackwardData(toMatrixBlock(F), toMatrixBlock(D), out, params);
+
+		//naive reference backward data
+		double[][] R = new double[N][C*HW*HW];
+		for(int n=0; n<N; n++)
+			for(int f=0; f<K; f++)
+				for(int p=0; p<params.P; p++)
+					for(int q=0; q<params.Q; q++)
+						for(int c=0; c<C; c++)
+							for(int r=0; r<RS; r++)
+								for(int s=0; s<RS; s++) {
+									int h = p*stride - pad + r;
+									int w = q*stride - pad + s;
+									if( h>=0 && h<HW && w>=0 && w<HW )
+										R[n][c*HW*HW + h*HW + w] += D[n][f*PQ + p*params.Q + q] * F[f][c*RS*RS + r*RS + s];
+								}
+
+		compareMatrices(R, out);
+	}
+
+	private static MatrixBlock toMatrixBlock(double[][] A) throws DMLRuntimeException {
+		MatrixBlock ret = DataConverter.convertToMatrixBlock(A);
+		ret.examSparsity();
+		return ret;
+	}
+
+	private static void compareMatrices(double[][] expected, MatrixBlock actual) {
+		TestUtils.compareMatrices(expected, DataConverter.convertToDoubleMatrix(actual),
+			expected.length, expected[0].length, eps);
+	}
+}
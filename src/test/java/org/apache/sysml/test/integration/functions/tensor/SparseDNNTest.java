@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.tensor;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.ConvolutionParameters;
+import org.apache.sysml.runtime.matrix.data.LibMatrixDNN;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Sparse inputs and sparse outputs of the DNN operations, compared
+ * against dense inputs and dense outputs, single- and multi-threaded.
+ */
+public class SparseDNNTest extends AutomatedTestBase
+{
+	private final static int N = 27;
+	private final static int C = 3;
+	private final static int HW = 10;
+	private final static int K = 4;
+	private final static double sparsity = 0.1;
+	private final static double eps = 1e-10;
+
+	private enum DNNOp {
+		CONV2D, CONV2D_BIAS, MAXPOOL, RELU_MAXPOOL, MAXPOOL_BACKWARD, RELU_BACKWARD, BIAS_ADD
+	}
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testConv2d() throws DMLRuntimeException {
+		runSparseDNNTest(DNNOp.CONV2D, 1);
+	}
+
+	@Test
+	public void testConv2dMT() throws DMLRuntimeException {
+		runSparseDNNTest(DNNOp.CONV2D, 4);
+	}
+
+	@Test
+	public void testConv2dBias() throws DMLRuntimeException {
+		runSparseDNNTest(DNNOp.CONV2D_BIAS, 4);
+	}
+
+	@Test
+	public void testMaxPooling() throws DMLRuntimeException {
+		runSparseDNNTest(DNNOp.MAXPOOL, 1);
+	}
+
+	@Test
+	public void testMaxPoolingMT() throws DMLRuntimeException {
+		runSparseDNNTest(DNNOp.MAXPOOL, 4);
+	}
+
+	@Test
+	public void testReluMaxPoolingMT() throws DMLRuntimeException {
+		runSparseDNNTest(DNNOp.RELU_MAXPOOL, 4);
+	}
+
+	@Test
+	public void testMaxPoolingBackwardMT() throws DMLRuntimeException {
+		runSparseDNNTest(DNNOp.MAXPOOL_BACKWARD, 4);
+	}
+
+	@Test
+	public void testReluBackward() throws DMLRuntimeException {
+		runSparseDNNTest(DNNOp.RELU_BACKWARD, 1);
+	}
+
+	@Test
+	public void testReluBackwardMT() throws DMLRuntimeException {
+		runSparseDNNTest(DNNOp.RELU_BACKWARD, 4);
+	}
+
+	@Test
+	public void testBiasAdd() throws DMLRuntimeException {
+		runSparseDNNTest(DNNOp.BIAS_ADD, 1);
+	}
+
+	@Test
+	public void testBiasAddMT() throws DMLRuntimeException {
+		runSparseDNNTest(DNNOp.BIAS_ADD, 4);
+	}
+
+	@Test
+	public void testEstimateNnzConv2d() throws DMLRuntimeException {
+		ConvolutionParameters params = createParams(1);
+		MatrixBlock X = toMatrixBlock(TestUtils.generateTestMatrix(N, C*HW*HW, -1, 1, 0.001, 7), true);
+		MatrixBlock B = toMatrixBlock(TestUtils.generateTestMatrix(K, 1, -1, 1, 1.0, 3), false);
+		long len = (long)N*K*params.P*params.Q;
+		Assert.assertTrue(LibMatrixDNN.estimateNnzConv2d(X, null, params) < len);
+		Assert.assertEquals(len, LibMatrixDNN.estimateNnzConv2d(X, B, params));
+	}
+
+	private void runSparseDNNTest(DNNOp op, int k) throws DMLRuntimeException {
+		//inputs with sparse and negative values (e.g., relu inputs)
+		double[][] X = TestUtils.generateTestMatrix(N, C*HW*HW, -1, 1, sparsity, 7);
+		double[][] F = TestUtils.generateTestMatrix(K, C*9, -1, 1, 1.0, 3);
+		double[][] B = TestUtils.generateTestMatrix(K, 1, -1, 1, 0.5, 5);
+		double[][] D = TestUtils.generateTestMatrix(N, C*HW*HW, -1, 1, sparsity, 9);
+
+		//reference: dense inputs, dense outputs
+		double[][] R = DataConverter.convertToDoubleMatrix(
+			runDNNOp(op, X, F, B, D, false, false, k));
+		for( boolean sparseIn : new boolean[]{false, true} )
+			for( boolean sparseOut : new boolean[]{false, true} ) {
+				MatrixBlock out = runDNNOp(op, X, F, B, D, sparseIn, sparseOut, k);
+				if( op != DNNOp.MAXPOOL_BACKWARD )
+					Assert.assertEquals(sparseOut, out.isInSparseFormat());
+				TestUtils.compareMatrices(R, DataConverter.convertToDoubleMatrix(out), R.length, R[0].length, eps);
+				out.recomputeNonZeros();
+				Assert.assertEquals(toMatrixBlock(R, false).getNonZeros(), out.getNonZeros());
+			}
+	}
+
+	private static MatrixBlock runDNNOp(DNNOp op, double[][] X, double[][] F, double[][] B, double[][] D,
+		boolean sparseIn, boolean sparseOut, int k) throws DMLRuntimeException
+	{
+		ConvolutionParameters params = createParams(k);
+		MatrixBlock in = toMatrixBlock(X, sparseIn);
+		switch( op ) {
+			case CONV2D:
+			case CONV2D_BIAS: {
+				if( op == DNNOp.CONV2D_BIAS )
+					params.bias = toMatrixBlock(B, false);
+				MatrixBlock out = createOutput(N, K*params.P*params.Q, sparseOut);
+				LibMatrixDNN.conv2d(in, toMatrixBlock(F, false), out, params);
+				return out;
+			}
+			case MAXPOOL:
+			case RELU_MAXPOOL: {
+				if( op == DNNOp.RELU_MAXPOOL )
+					params.minValForMaxPoolOperations = 0;
+				MatrixBlock out = createOutput(N, C*params.P*params.Q, sparseOut);
+				LibMatrixDNN.maxpooling(in, out, params);
+				return out;
+			}
+			case MAXPOOL_BACKWARD: {
+				//dense output only, sparse dout
+				double[][] dout = TestUtils.generateTestMatrix(N, C*params.P*params.Q, -1, 1, 0.3, 11);
+				MatrixBlock out = createOutput(N, C*HW*HW, false);
+				LibMatrixDNN.maxpoolingBackward(in, toMatrixBlock(dout, sparseOut), out, params);
+				return out;
+			}
+			case RELU_BACKWARD: {
+				MatrixBlock out = createOutput(N, C*HW*HW, sparseOut);
+				LibMatrixDNN.reluBackward(in, toMatrixBlock(D, sparseIn), out, k);
+				return out;
+			}
+			case BIAS_ADD: {
+				MatrixBlock out = createOutput(N, C*HW*HW, sparseOut);
+				double[][] bias = TestUtils.generateTestMatrix(C, 1, -1, 1, 0.5, 5);
+				LibMatrixDNN.biasAdd(in, toMatrixBlock(bias, sparseIn), out, k);
+				return out;
+			}
+			default:
+				throw new DMLRuntimeException("Unsupported op: "+op);
+		}
+	}
+
+	private static ConvolutionParameters createParams(int k) {
+		//3x3 filters and windows, stride 1, padding 1
+		return new ConvolutionParameters(N, C, HW, HW, K, 3, 3, 1, 1, 1, 1, k);
+	}
+
+	private static MatrixBlock createOutput(int rows, int cols, boolean sparse) {
+		MatrixBlock out = new MatrixBlock(rows, cols, sparse);
+		out.allocateDenseOrSparseBlock();
+		return out;
+	}
+
+	private static MatrixBlock toMatrixBlock(double[][] A, boolean sparse) throws DMLRuntimeException {
+		MatrixBlock tmp = DataConverter.convertToMatrixBlock(A);
+		MatrixBlock ret = new MatrixBlock();
+		ret.copy(tmp, sparse);
+		return ret;
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.ternary;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.apache.sysml.runtime.matrix.data.CTableMap;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.util.LongLongDoubleHashMap.LLDoubleEntry;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Ctable maps (open-addressing hash group-by) compared against a
+ * java hash map, incl resizing, merging and sparse/dense extraction.
+ */
+public class CTableMapTest extends AutomatedTestBase
+{
+	private final static int rows = 1500;
+	private final static int cols = 700;
+	private final static double eps = 1e-10;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testCTableMapDense() {
+		runCTableMapTest(1500000, false, 7);
+	}
+
+	@Test
+	public void testCTableMapSparse() {
+		runCTableMapTest(20000, false, 7);
+	}
+
+	@Test
+	public void testCTableMapDenseMerge() {
+		runCTableMapTest(1500000, true, 3);
+	}
+
+	@Test
+	public void testCTableMapSparseMerge() {
+		runCTableMapTest(20000, true, 3);
+	}
+
+	private void runCTableMapTest(int ncells, boolean merge, long seed)
+	{
+		//aggregate random cells incl duplicates, zero and
+		//out-of-bounds cells into ctable map and reference
+		Random rand = new Random(seed);
+		CTableMap map = new CTableMap();
+		CTableMap map2 = new CTableMap();
+		HashMap<MatrixIndexes, Double> ref = new HashMap<MatrixIndexes, Double>();
+		for( int k=0; k<ncells; k++ ) {
+			long i = rand.nextInt(rows+10) + 1;
+			long j = rand.nextInt(cols) + 1;
+			double w = (k%100==0) ? 0 : rand.nextDouble();
+			(merge && k%2==0 ? map2 : map).aggregate(i, j, w);
+			MatrixIndexes ix = new MatrixIndexes(i, j);
+			ref.put(ix, ref.containsKey(ix) ? ref.get(ix)+w : w);
+		}
+		if( merge )
+			map.aggregate(map2);
+
+		//check size, summaries, and entries
+		Assert.assertEquals(ref.size(), map.size());
+		int count = 0;
+		long maxRow = -1, maxCol = -1;
+		Iterator<LLDoubleEntry> iter = map.getIterator();
+		while( iter.hasNext() ) {
+			LLDoubleEntry e = iter.next();
+			Assert.assertEquals(ref.get(new MatrixIndexes(e.key1, e.key2)), e.value, eps);
+			maxRow = Math.max(maxRow, e.key1);
+			maxCol = Math.max(maxCol, e.key2);
+			count++;
+		}
+		Assert.assertEquals(ref.size(), count);
+		Assert.assertEquals(maxRow, map.getMaxRow());
+		Assert.assertEquals(maxCol, map.getMaxColumn());
+
+		//check extraction with specified dims (ignore out-of-bounds cells)
+		MatrixBlock mb = map.toMatrixBlock(rows, cols);
+		long nnz = 0;
+		double[][] R = new double[rows][cols];
+		for( MatrixIndexes ix : ref.keySet() )
+			if( ix.getRowIndex() <= rows && ref.get(ix) != 0 ) {
+				R[(int)ix.getRowIndex()-1][(int)ix.getColumnIndex()-1] = ref.get(ix);
+				nnz++;
+			}
+		Assert.assertEquals(nnz, mb.getNonZeros());
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				Assert.assertEquals(R[i][j], mb.quickGetValue(i, j), eps);
+		if( mb.isInSparseFormat() ) { //sorted rows
+			for( int i=0; i<rows; i++ )
+				if( !mb.getSparseBlock().isEmpty(i) ) {
+					int apos = mb.getSparseBlock().pos(i);
+					int alen = mb.getSparseBlock().size(i);
+					int[] aix = mb.getSparseBlock().indexes(i);
+					for( int j=apos+1; j<apos+alen; j++ )
+						Assert.assertTrue(aix[j-1] < aix[j]);
+				}
+		}
+	}
+}
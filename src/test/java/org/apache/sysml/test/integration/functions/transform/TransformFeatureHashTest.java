@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.transform;
+
+import java.util.Random;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TransformFeatureHashTest extends AutomatedTestBase
+{
+	private final static int rows = 3571; //> parallelization threshold
+	private final static int threads = 4;
+	private final static int K = 17;
+	private final static ValueType[] schema = new ValueType[]{
+		ValueType.STRING, ValueType.DOUBLE, ValueType.STRING};
+	private final static String[] colnames = new String[]{"C1", "C2", "C3"};
+
+	private final static String SPEC_HASH = "{\"ids\": true, \"hash\": [1, 3], \"K\": "+K+"}";
+	private final static String SPEC_DUMMY = "{\"ids\": true, \"hash\": [1, 3], \"K\": "+K+", \"dummycode\": [3]}";
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testFeatureHash() {
+		runFeatureHashTest(SPEC_HASH, false);
+	}
+
+	@Test
+	public void testFeatureHashDummycode() {
+		runFeatureHashTest(SPEC_DUMMY, true);
+	}
+
+	private void runFeatureHashTest(String spec, boolean dummy)
+	{
+		try
+		{
+			FrameBlock in = createFrame(rows, 7);
+
+			//transform encode (sequential and parallel)
+			Encoder enc1 = EncoderFactory.createEncoder(spec, colnames, schema.length, null);
+			MatrixBlock out1 = enc1.encode(in, new MatrixBlock(rows, schema.length, false), 1);
+			FrameBlock meta = enc1.getMetaData(new FrameBlock(schema.length, ValueType.STRING));
+			Encoder enc2 = EncoderFactory.createEncoder(spec, colnames, schema.length, null);
+			MatrixBlock out2 = enc2.encode(in, new MatrixBlock(rows, schema.length, false), threads);
+			compareMatrices(out1, out2);
+			Assert.assertEquals(K, meta.getColumnMetadata(0).getNumDistinct());
+			Assert.assertEquals(K, meta.getColumnMetadata(2).getNumDistinct());
+			Assert.assertEquals(0, meta.getNumRows()); //no dictionaries
+
+			//transform apply w/ meta data (sequential and parallel)
+			meta.setColumnNames(colnames);
+			Encoder enc3 = EncoderFactory.createEncoder(spec, colnames, schema.length, meta);
+			MatrixBlock out3 = enc3.apply(in, new MatrixBlock(rows, schema.length, false), 1);
+			Encoder enc4 = EncoderFactory.createEncoder(spec, colnames, schema.length, meta);
+			MatrixBlock out4 = enc4.apply(in, new MatrixBlock(rows, schema.length, false), threads);
+			compareMatrices(out1, out3);
+			compareMatrices(out3, out4);
+
+			//check bucket ranges and consistent codes of equal tokens
+			Assert.assertEquals(dummy ? 2+K : 3, out1.getNumColumns());
+			double[] codes = new double[53];
+			for( int i=0; i<rows; i++ ) {
+				double c1 = out1.quickGetValue(i, 0);
+				int token = Integer.parseInt(((String)in.get(i, 0)).substring(1));
+				Assert.assertTrue(c1 >= 1 && c1 <= K);
+				Assert.assertTrue(codes[token]==0 || codes[token]==c1);
+				codes[token] = c1;
+				if( dummy ) {
+					double sum = 0;
+					for( int j=2; j<2+K; j++ )
+						sum += out1.quickGetValue(i, j);
+					Assert.assertEquals((in.get(i, 2)==null) ? 0 : 1, sum, 0);
+				}
+				else {
+					double c3 = out1.quickGetValue(i, 2);
+					Assert.assertTrue((in.get(i, 2)==null) ?
+						Double.isNaN(c3) : (c3 >= 1 && c3 <= K));
+				}
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private static FrameBlock createFrame(int rows, long seed) {
+		FrameBlock ret = new FrameBlock(schema, colnames);
+		Random rand = new Random(seed);
+		for( int i=0; i<rows; i++ ) {
+			ret.appendRow(new Object[]{ "a"+rand.nextInt(53),
+				Double.valueOf(rand.nextDouble()),
+				(rand.nextInt(10)==0) ? null : "b"+rand.nextInt(1000)});
+		}
+		return ret;
+	}
+
+	private static void compareMatrices(MatrixBlock m1, MatrixBlock m2) {
+		Assert.assertEquals(m1.getNumRows(), m2.getNumRows());
+		Assert.assertEquals(m1.getNumColumns(), m2.getNumColumns());
+		for( int i=0; i<m1.getNumRows(); i++ )
+			for( int j=0; j<m1.getNumColumns(); j++ ) {
+				double v1 = m1.quickGetValue(i, j), v2 = m2.quickGetValue(i, j);
+				Assert.assertTrue("("+i+","+j+")", v1==v2 || (Double.isNaN(v1) && Double.isNaN(v2)));
+			}
+	}
+}
@@ -0,0 +1,307 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.transform;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.io.MatrixReaderFactory;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.apache.sysml.runtime.transform.meta.QuantileSketch;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TransformFrameBinningTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME1 = "TransformFrameEncodeApply";
+	private final static String TEST_DIR = "functions/transform/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + TransformFrameBinningTest.class.getSimpleName() + "/";
+	
+	private final static String DATASET = "homes3/homes.csv";
+	private final static String SPEC = "homes3/homes.tfspec_bin3.json"; //equi-height, incl dummycode
+	
+	private final static int rows = 3571; //> parallelization threshold
+	private final static int nbins = 7;
+	private final static ValueType[] schema = new ValueType[]{ValueType.DOUBLE, ValueType.DOUBLE};
+	private final static String[] colnames = new String[]{"C1", "C2"};
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "y" }) );
+	}
+	
+	@Test
+	public void testSketchExactSmall() {
+		QuantileSketch sketch = new QuantileSketch();
+		for( int i=100; i>=1; i-- )
+			sketch.update(i);
+		Assert.assertEquals(25, sketch.getQuantile(0.25), 0);
+		Assert.assertEquals(50, sketch.getQuantile(0.5), 0);
+		Assert.assertEquals(1, sketch.getQuantile(0), 0);
+		Assert.assertEquals(100, sketch.getQuantile(1), 0);
+	}
+	
+	@Test
+	public void testSketchLargeSkewed() {
+		runSketchTest(1);
+	}
+	
+	@Test
+	public void testSketchLargeSkewedMerge() {
+		runSketchTest(8);
+	}
+	
+	@Test
+	public void testEquiHeightEncodeApply() {
+		runBinningTest("equi-height");
+	}
+	
+	@Test
+	public void testEquiWidthEncodeApply() {
+		runBinningTest("equi-width");
+	}
+	
+	@Test
+	public void testEquiWidthApplyOutOfRange() {
+		runBinningApplyOutOfRangeTest(false);
+	}
+	
+	@Test
+	public void testEquiWidthApplyOutOfRangeDummycode() {
+		runBinningApplyOutOfRangeTest(true);
+	}
+	
+	@Test
+	public void testHomesEquiHeightSingleNodeCSV() {
+		runTransformTest(RUNTIME_PLATFORM.SINGLE_NODE);
+	}
+	
+	@Test
+	public void testHomesEquiHeightSparkCSV() {
+		runTransformTest(RUNTIME_PLATFORM.SPARK);
+	}
+	
+	private void runSketchTest(int parts) {
+		//skewed (exponential) values in random order
+		int n = 1000000;
+		double[] vals = new double[n];
+		Random rand = new Random(7);
+		for( int i=0; i<n; i++ )
+			vals[i] = -Math.log(1-rand.nextDouble());
+		
+		//build single or merged partition sketches
+		QuantileSketch sketch = new QuantileSketch();
+		int blen = n / parts;
+		for( int p=0; p<parts; p++ ) {
+			QuantileSketch psketch = (parts==1) ? sketch : new QuantileSketch();
+			for( int i=p*blen; i<(p+1)*blen; i++ )
+				psketch.update(vals[i]);
+			if( parts > 1 )
+				sketch.merge(psketch);
+		}
+		Assert.assertEquals(n, sketch.getN());
+		Assert.assertTrue(sketch.getNumRetained() < 2000);
+		
+		//check rank error of approximate quantiles
+		Arrays.sort(vals);
+		for( double phi=0.05; phi<1; phi+=0.05 ) {
+			double q = sketch.getQuantile(phi);
+			int rank = Arrays.binarySearch(vals, q);
+			Assert.assertTrue("phi="+phi+": "+rank, Math.abs((double)rank/n - phi) < 0.02);
+		}
+	}
+	
+	private void runBinningTest(String method)
+	{
+		try
+		{
+			String spec = "{\"ids\": true, \"bin\": [{\"id\": 1, \"method\": \""+method+"\", \"numbins\": "+nbins+"}, "
+				+ "{\"id\": 2, \"method\": \""+method+"\", \"numbins\": "+nbins+"}], \"dummycode\": [2]}";
+			FrameBlock in = new FrameBlock(schema, colnames);
+			Random rand = new Random(3);
+			for( int i=0; i<rows; i++ )
+				in.appendRow(new Object[]{Double.valueOf(Math.exp(4*rand.nextDouble())),
+					Double.valueOf(-Math.log(1-rand.nextDouble()))});
+			
+			//transform encode (sequential and parallel)
+			Encoder enc1 = EncoderFactory.createEncoder(spec, colnames, schema.length, null);
+			MatrixBlock out1 = enc1.encode(in, new MatrixBlock(rows, schema.length, false), 1);
+			FrameBlock meta = enc1.getMetaData(new FrameBlock(schema.length, ValueType.STRING));
+			Encoder enc2 = EncoderFactory.createEncoder(spec, colnames, schema.length, null);
+			MatrixBlock out2 = enc2.encode(in, new MatrixBlock(rows, schema.length, false), 4);
+			compareMatrices(out1, out2);
+			Assert.assertEquals(1+nbins, out1.getNumColumns());
+			
+			//transform apply w/ meta data
+			meta.setColumnNames(colnames);
+			Encoder enc3 = EncoderFactory.createEncoder(spec, colnames, schema.length, meta);
+			MatrixBlock out3 = enc3.apply(in, new MatrixBlock(rows, schema.length, false), 1);
+			compareMatrices(out1, out3);
+			
+			//check bin occupancy (skewed inputs)
+			int[] counts1 = new int[nbins];
+			int[] counts2 = new int[nbins];
+			for( int i=0; i<rows; i++ ) {
+				counts1[(int)out1.quickGetValue(i, 0)-1]++;
+				for( int j=0; j<nbins; j++ )
+					counts2[j] += (int)out1.quickGetValue(i, 1+j);
+			}
+			if( method.equals("equi-height") ) {
+				for( int j=0; j<nbins; j++ ) {
+					Assert.assertEquals(rows/nbins, counts1[j], 0.1*rows/nbins);
+					Assert.assertEquals(rows/nbins, counts2[j], 0.1*rows/nbins);
+				}
+			}
+			else {
+				//equi-width bins of exponential data are heavily skewed
+				Assert.assertTrue(counts2[0] > 3*counts2[nbins-1]);
+				Assert.assertTrue(counts1[0] > 3*counts1[nbins-1]);
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runBinningApplyOutOfRangeTest(boolean dummyBins)
+	{
+		try
+		{
+			//4 equi-width bins over [0,99] on C1, recode and dummycode on C2
+			ValueType[] schema2 = new ValueType[]{ValueType.DOUBLE, ValueType.STRING};
+			String spec = "{\"ids\": true, \"bin\": [{\"id\": 1, \"method\": \"equi-width\", \"numbins\": 4}], "
+				+ "\"recode\": [2], \"dummycode\": "+(dummyBins ? "[1, 2]" : "[2]")+"}";
+			FrameBlock in = new FrameBlock(schema2, colnames);
+			for( int i=0; i<100; i++ )
+				in.appendRow(new Object[]{Double.valueOf(i), "v"+(i%3)});
+			Encoder enc1 = EncoderFactory.createEncoder(spec, colnames, schema2.length, null);
+			enc1.encode(in, new MatrixBlock(in.getNumRows(), schema2.length, false), 1);
+			FrameBlock meta = enc1.getMetaData(new FrameBlock(schema2.length, ValueType.STRING));
+			meta.setColumnNames(colnames);
+			
+			//apply to values above and below the build range, and missing values
+			//(NaN in typed frame columns, where null would be stored as 0)
+			Object[][] rows2 = new Object[][]{{Double.valueOf(1000), "v0"}, 
+				{Double.valueOf(-5), "v1"}, {Double.NaN, "v2"}, {Double.valueOf(50), "v0"}};
+			double[] expected = new double[]{4, 1, Double.NaN, 3};
+			FrameBlock in2 = new FrameBlock(schema2, colnames);
+			for( Object[] row : rows2 )
+				in2.appendRow(row);
+			Encoder enc2 = EncoderFactory.createEncoder(spec, colnames, schema2.length, meta);
+			MatrixBlock out = enc2.apply(in2, new MatrixBlock(rows2.length, schema2.length, false), 1);
+			int ncol = (dummyBins ? 4 : 1) + 3;
+			Assert.assertEquals(ncol, out.getNumColumns());
+			
+			//check frame and row apply (incl null as missing value)
+			double[] ret = new double[ncol];
+			for( int i=0; i<rows2.length; i++ ) {
+				double[] tmp = enc2.applyRow(rows2[i], new double[schema2.length], ret);
+				for( int j=0; j<ncol; j++ )
+					Assert.assertEquals("("+i+","+j+")", out.quickGetValue(i, j), tmp[j], 0);
+				if( rows2[i][0] instanceof Double && ((Double)rows2[i][0]).isNaN() ) {
+					double[] tmp2 = enc2.applyRow(new Object[]{null, rows2[i][1]}, new double[schema2.length], ret);
+					for( int j=0; j<ncol; j++ )
+						Assert.assertEquals("("+i+","+j+")", out.quickGetValue(i, j), tmp2[j], 0);
+				}
+				if( dummyBins ) {
+					for( int j=0; j<4; j++ )
+						Assert.assertEquals(expected[i]==j+1 ? 1 : 0, out.quickGetValue(i, j), 0);
+				}
+				else
+					Assert.assertEquals(expected[i], out.quickGetValue(i, 0), 0);
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runTransformTest(RUNTIME_PLATFORM rt)
+	{
+		RUNTIME_PLATFORM rtold = rtplatform;
+		boolean csvReblockOld = OptimizerUtils.ALLOW_FRAME_CSV_REBLOCK;
+		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
+		rtplatform = rt;
+		if( rtplatform == RUNTIME_PLATFORM.SPARK )
+			DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+		
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME1);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME1 + ".dml";
+			programArgs = new String[]{"-nvargs", 
+				"DATA=" + HOME + "input/" + DATASET,
+				"TFSPEC=" + HOME + "input/" + SPEC,
+				"TFDATA1=" + output("tfout1"),
+				"TFDATA2=" + output("tfout2"),
+				"OFMT=csv" };
+			
+			OptimizerUtils.ALLOW_FRAME_CSV_REBLOCK = true;
+			runTest(true, false, null, -1); 
+			
+			//read input/output and compare
+			double[][] R1 = DataConverter.convertToDoubleMatrix(MatrixReaderFactory
+				.createMatrixReader(InputInfo.CSVInputInfo)
+				.readMatrixFromHDFS(output("tfout1"), -1L, -1L, 1000, 1000, -1));
+			double[][] R2 = DataConverter.convertToDoubleMatrix(MatrixReaderFactory
+				.createMatrixReader(InputInfo.CSVInputInfo)
+				.readMatrixFromHDFS(output("tfout2"), -1L, -1L, 1000, 1000, -1));
+			TestUtils.compareMatrices(R1, R2, R1.length, R1[0].length, 0);
+			
+			//check equi-height bins of saleprice (w/o ties, exact sketch) 
+			//and dummycoded sqft (3+4 columns before saleprice)
+			Assert.assertEquals(12, R1[0].length);
+			int[] counts = new int[3];
+			for( int i=0; i<R1.length; i++ )
+				counts[(int)R1[i][10]-1]++;
+			for( int j=0; j<3; j++ )
+				Assert.assertEquals(R1.length/3, counts[j], 0.2*R1.length/3);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			rtplatform = rtold;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
+			OptimizerUtils.ALLOW_FRAME_CSV_REBLOCK = csvReblockOld;
+		}
+	}
+	
+	private static void compareMatrices(MatrixBlock m1, MatrixBlock m2) {
+		double[][] R1 = DataConverter.convertToDoubleMatrix(m1);
+		double[][] R2 = DataConverter.convertToDoubleMatrix(m2);
+		TestUtils.compareMatrices(R1, R2, R1.length, R1[0].length, 0);
+	}
+}
@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.transform;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map.Entry;
+import java.util.Random;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Multi-threaded transform encode and apply (recode, dummycode, impute, 
+ * and equi-width binning) compared against their single-threaded 
+ * counterparts and against independently computed expected outputs.
+ */
+public class TransformFrameEncodeApplyParallelTest extends AutomatedTestBase
+{
+	private final static int rows = 3571; //> parallelization threshold
+	private final static int threads = 4;
+	private final static ValueType[] schema = new ValueType[]{
+		ValueType.STRING, ValueType.DOUBLE, ValueType.STRING, ValueType.DOUBLE};
+	private final static String[] colnames = new String[]{"C1", "C2", "C3", "C4"};
+	private final static int nbins = 5; //divides rows-1, i.e., exact bin boundaries
+
+	private final static String SPEC_RECODE = "{\"ids\": true, \"recode\": [1, 3]}";
+	private final static String SPEC_DUMMY = "{\"ids\": true, \"recode\": [1, 3], \"dummycode\": [1, 3]}";
+	private final static String SPEC_IMPUTE = "{\"ids\": true, \"recode\": [1, 3], "
+		+ "\"impute\": [{\"id\": 2, \"method\": \"global_mean\"}, {\"id\": 3, \"method\": \"global_mode\"}]}";
+	private final static String SPEC_BIN = "{\"ids\": true, \"recode\": [1, 3], "
+		+ "\"bin\": [{\"id\": 4, \"method\": \"equi-width\", \"numbins\": "+nbins+"}]}";
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testRecodeParallel() {
+		runTransformParallelTest(SPEC_RECODE, false, false, false);
+	}
+
+	@Test
+	public void testDummycodeParallel() {
+		runTransformParallelTest(SPEC_DUMMY, true, false, false);
+	}
+
+	@Test
+	public void testImputeParallel() {
+		runTransformParallelTest(SPEC_IMPUTE, false, true, false);
+	}
+
+	@Test
+	public void testBinParallel() {
+		runTransformParallelTest(SPEC_BIN, false, false, true);
+	}
+
+	private void runTransformParallelTest(String spec, boolean dummy, boolean impute, boolean bin)
+	{
+		try
+		{
+			FrameBlock in = createFrame(rows, 7);
+
+			//transform encode (sequential and parallel)
+			Encoder enc1 = EncoderFactory.createEncoder(spec, colnames, schema.length, null);
+			MatrixBlock out1 = enc1.encode(in, new MatrixBlock(rows, schema.length, false), 1);
+			FrameBlock meta1 = enc1.getMetaData(new FrameBlock(schema.length, ValueType.STRING));
+			Encoder enc2 = EncoderFactory.createEncoder(spec, colnames, schema.length, null);
+			MatrixBlock out2 = enc2.encode(in, new MatrixBlock(rows, schema.length, false), threads);
+			FrameBlock meta2 = enc2.getMetaData(new FrameBlock(schema.length, ValueType.STRING));
+			checkExpectedOutput(in, out1, dummy, impute, bin);
+			compareMatrices(out1, out2);
+			for( int j=0; j<schema.length; j++ )
+				Assert.assertEquals(meta1.getColumnMetadata(j).getNumDistinct(),
+					meta2.getColumnMetadata(j).getNumDistinct());
+
+			//transform apply (sequential and parallel)
+			meta1.setColumnNames(colnames);
+			Encoder enc3 = EncoderFactory.createEncoder(spec, colnames, schema.length, meta1);
+			MatrixBlock out3 = enc3.apply(in, new MatrixBlock(rows, schema.length, false), 1);
+			Encoder enc4 = EncoderFactory.createEncoder(spec, colnames, schema.length, meta1);
+			MatrixBlock out4 = enc4.apply(in, new MatrixBlock(rows, schema.length, false), threads);
+			compareMatrices(out1, out3);
+			compareMatrices(out3, out4);
+			
+			//check direct sparse output of wide dummy coding
+			Assert.assertEquals(dummy, out1.isInSparseFormat());
+			Assert.assertEquals(dummy, out2.isInSparseFormat());
+			Assert.assertEquals(dummy, out4.isInSparseFormat());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private static FrameBlock createFrame(int rows, long seed) {
+		FrameBlock ret = new FrameBlock(schema, colnames);
+		Random rand = new Random(seed);
+		for( int i=0; i<rows; i++ ) {
+			ret.appendRow(new Object[]{ "a"+rand.nextInt(53),
+				(rand.nextInt(10)==0) ? null : Double.valueOf(rand.nextDouble()),
+				(rand.nextInt(10)==0) ? null : "b"+rand.nextInt(7),
+				Double.valueOf(i)});
+		}
+		return ret;
+	}
+
+	private static void checkExpectedOutput(FrameBlock in, MatrixBlock out, boolean dummy, boolean impute, boolean bin) {
+		//independent reference statistics: distinct values, mean, mode
+		HashSet<Object> distinct1 = new HashSet<Object>();
+		HashMap<Object,Integer> counts3 = new HashMap<Object,Integer>();
+		double sum = 0; int cnt = 0;
+		for( int i=0; i<in.getNumRows(); i++ ) {
+			distinct1.add(in.get(i, 0));
+			if( in.get(i, 1) != null ) {
+				sum += (Double)in.get(i, 1); cnt++;
+			}
+			if( in.get(i, 2) != null )
+				counts3.put(in.get(i, 2), counts3.containsKey(in.get(i, 2)) ?
+					counts3.get(in.get(i, 2))+1 : 1);
+		}
+		Object mode = null;
+		for( Entry<Object,Integer> e : counts3.entrySet() )
+			if( mode == null || e.getValue() > counts3.get(mode) )
+				mode = e.getKey();
+		int nd1 = distinct1.size(), nd3 = counts3.size();
+		
+		//column offsets of (dummy coded) output columns
+		int[] off = dummy ? new int[]{0, nd1, nd1+1, nd1+1+nd3} : new int[]{0, 1, 2, 3};
+		Assert.assertEquals(dummy ? nd1+nd3+2 : 4, out.getNumColumns());
+		
+		//check consistent 1:1 recode maps, and pass-through, imputed, and binned values
+		HashMap<Object,Integer> map1 = new HashMap<Object,Integer>();
+		HashMap<Object,Integer> map3 = new HashMap<Object,Integer>();
+		double width = (double)(in.getNumRows()-1) / nbins;
+		for( int i=0; i<in.getNumRows(); i++ ) {
+			checkRecode(map1, in.get(i, 0), getCode(out, i, off[0], nd1, dummy), nd1);
+			Object key3 = (in.get(i, 2)==null && impute) ? mode : in.get(i, 2);
+			checkRecode(map3, key3, getCode(out, i, off[2], nd3, dummy), nd3);
+			Double val2 = (Double)in.get(i, 1);
+			Assert.assertEquals("C2 in row "+i, (val2!=null) ? val2 : impute ? sum/cnt : Double.NaN, 
+				out.quickGetValue(i, off[1]), 1e-10);
+			double val4 = (Double)in.get(i, 3);
+			Assert.assertEquals("C4 in row "+i, bin ? Math.max(Math.ceil(val4/width), 1) : val4, 
+				out.quickGetValue(i, off[3]), 0);
+		}
+		Assert.assertEquals(nd1, new HashSet<Integer>(map1.values()).size());
+		Assert.assertEquals(nd3, new HashSet<Integer>(map3.values()).size());
+	}
+	
+	private static double getCode(MatrixBlock out, int i, int off, int len, boolean dummy) {
+		if( !dummy )
+			return out.quickGetValue(i, off);
+		//position of the single one in the dummy coded columns (NaN if all-zero)
+		double code = Double.NaN;
+		for( int j=0; j<len; j++ ) {
+			double val = out.quickGetValue(i, off+j);
+			if( val != 0 ) {
+				Assert.assertTrue("Invalid dummy code in row "+i, val==1 && Double.isNaN(code));
+				code = j + 1;
+			}
+		}
+		return code;
+	}
+	
+	private static void checkRecode(HashMap<Object,Integer> map, Object key, double code, int ndistinct) {
+		if( key == null ) {
+			Assert.assertTrue("Expected NaN for missing value, but found "+code, Double.isNaN(code));
+			return;
+		}
+		Assert.assertTrue("Invalid code "+code, code >= 1 && code <= ndistinct);
+		Integer code2 = map.put(key, (int)code);
+		Assert.assertTrue("Inconsistent code for "+key, code2 == null || code2 == (int)code);
+	}
+
+	private static void compareMatrices(MatrixBlock m1, MatrixBlock m2) {
+		Assert.assertEquals(m1.getNumRows(), m2.getNumRows());
+		Assert.assertEquals(m1.getNumColumns(), m2.getNumColumns());
+		Assert.assertEquals(m1.getNonZeros(), m2.getNonZeros());
+		for( int i=0; i<m1.getNumRows(); i++ )
+			for( int j=0; j<m1.getNumColumns(); j++ )
+				Assert.assertEquals("("+i+","+j+")", m1.quickGetValue(i, j), m2.quickGetValue(i, j), 0);
+	}
+}
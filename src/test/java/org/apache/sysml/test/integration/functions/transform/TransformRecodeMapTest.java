@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.transform;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map.Entry;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.transform.RecodeAgent;
+import org.apache.sysml.runtime.transform.meta.RecodeMap;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TransformRecodeMapTest extends AutomatedTestBase
+{
+	private final static int distinct = 100000;
+	private final static String[] special = new String[]{
+		"a", "\u00e4\u00f6\u00fc", "\u20ac 12", "\ud83d\ude00x", "x\ud800y", "\u0000"};
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testRecodeMapHighCardinality() {
+		RecodeMap map = new RecodeMap();
+		HashMap<String,Long> ref = createReference(map);
+		checkRecodeMap(map, ref);
+	}
+
+	@Test
+	public void testRecodeMapSerialization() throws Exception {
+		RecodeMap map = new RecodeMap();
+		HashMap<String,Long> ref = createReference(map);
+
+		//serialize and deserialize map
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(bos);
+		oos.writeObject(map);
+		oos.close();
+		ObjectInputStream ois = new ObjectInputStream(
+			new ByteArrayInputStream(bos.toByteArray()));
+		RecodeMap map2 = (RecodeMap) ois.readObject();
+		ois.close();
+
+		checkRecodeMap(map2, ref);
+	}
+
+	@Test
+	public void testRecodeMapFromMetaFrame() {
+		RecodeMap map = new RecodeMap();
+		HashMap<String,Long> ref = createReference(map);
+
+		//create meta data frame and parse recode map
+		FrameBlock meta = new FrameBlock(1, ValueType.STRING);
+		meta.ensureAllocatedColumns(map.size());
+		for( int i=0; i<map.size(); i++ )
+			meta.set(i, 0, RecodeAgent.constructRecodeMapEntry(
+				map.getKey(i), Long.valueOf(map.getCode(i))));
+
+		checkRecodeMap(meta.getRecodeMap(0), ref);
+	}
+
+	private static HashMap<String,Long> createReference(RecodeMap map) {
+		HashMap<String,Long> ref = new HashMap<String,Long>();
+		for( int i=0; i<distinct; i++ ) {
+			String key = special[i % special.length] + (i / special.length);
+			Assert.assertEquals(i+1, map.putIfAbsent(key));
+			Assert.assertEquals(i+1, map.putIfAbsent(key)); //existing
+			ref.put(key, Long.valueOf(i+1));
+		}
+		return ref;
+	}
+
+	private static void checkRecodeMap(RecodeMap map, HashMap<String,Long> ref) {
+		Assert.assertEquals(ref.size(), map.size());
+		for( Entry<String,Long> e : ref.entrySet() )
+			Assert.assertEquals(e.getValue().longValue(), map.get(e.getKey()));
+		for( int i=0; i<map.size(); i++ )
+			Assert.assertEquals(ref.get(map.getKey(i)).longValue(), map.getCode(i));
+		Assert.assertEquals(-1, map.get("unseen"));
+		Assert.assertFalse(map.containsKey(special[1]));
+	}
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.unary.matrix;
+
+import java.util.Arrays;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.CholeskyDecomposition;
+import org.apache.commons.math3.linear.EigenDecomposition;
+import org.apache.commons.math3.linear.LUDecomposition;
+import org.apache.commons.math3.linear.QRDecomposition;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.LibMatrixDecomp;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Blocked, multi-threaded dense factorizations compared against
+ * commons-math, and across different degrees of parallelism.
+ */
+public class DenseFactorizationTest extends AutomatedTestBase
+{
+	private final static int rows = 351; //> several panels
+	private final static int cols = 167;
+	private final static int threads = 4;
+	private final static double eps = 1e-8;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testCholesky() throws DMLRuntimeException {
+		double[][] A = createSPDMatrix(rows, 7);
+		MatrixBlock L1 = LibMatrixDecomp.cholesky(toMatrixBlock(A), 1);
+		MatrixBlock L2 = LibMatrixDecomp.cholesky(toMatrixBlock(A), threads);
+		RealMatrix L = new CholeskyDecomposition(new Array2DRowRealMatrix(A)).getL();
+		compareMatrices(L.getData(), L1, eps);
+		compareMatrices(L1, L2, 0);
+	}
+
+	@Test(expected=DMLRuntimeException.class)
+	public void testCholeskyNotPositiveDefinite() throws DMLRuntimeException {
+		double[][] A = createSPDMatrix(rows, 7);
+		A[rows/2][rows/2] = -1;
+		LibMatrixDecomp.cholesky(toMatrixBlock(A), threads);
+	}
+
+	@Test
+	public void testLU() throws DMLRuntimeException {
+		double[][] A = TestUtils.generateTestMatrix(rows, rows, -1, 1, 1.0, 3);
+		MatrixBlock[] ret1 = LibMatrixDecomp.lu(toMatrixBlock(A), 1);
+		MatrixBlock[] ret2 = LibMatrixDecomp.lu(toMatrixBlock(A), threads);
+		LUDecomposition lu = new LUDecomposition(new Array2DRowRealMatrix(A));
+		compareMatrices(lu.getP().getData(), ret1[0], 0);
+		compareMatrices(lu.getL().getData(), ret1[1], eps);
+		compareMatrices(lu.getU().getData(), ret1[2], eps);
+		for( int i=0; i<3; i++ )
+			compareMatrices(ret1[i], ret2[i], 0);
+	}
+
+	@Test
+	public void testQRTall() throws DMLRuntimeException {
+		runQRTest(rows, cols);
+	}
+
+	@Test
+	public void testQRWide() throws DMLRuntimeException {
+		runQRTest(cols, rows);
+	}
+
+	@Test
+	public void testEigen() throws DMLRuntimeException {
+		double[][] A = createSPDMatrix(rows, 11);
+		MatrixBlock[] ret1 = LibMatrixDecomp.eigen(toMatrixBlock(A), 1);
+		MatrixBlock[] ret2 = LibMatrixDecomp.eigen(toMatrixBlock(A), threads);
+		double[] evals = new EigenDecomposition(new Array2DRowRealMatrix(A)).getRealEigenvalues();
+		Arrays.sort(evals);
+		for( int i=0; i<rows; i++ ) {
+			Assert.assertEquals(evals[i], ret1[0].quickGetValue(i, 0), eps * Math.abs(evals[i]));
+			//check A %*% v = lambda * v and unit length
+			double lambda = ret1[0].quickGetValue(i, 0);
+			double norm = 0;
+			for( int r=0; r<rows; r++ ) {
+				double av = 0;
+				for( int c=0; c<rows; c++ )
+					av += A[r][c] * ret1[1].quickGetValue(c, i);
+				Assert.assertEquals(lambda * ret1[1].quickGetValue(r, i), av, eps * Math.abs(lambda));
+				norm += Math.pow(ret1[1].quickGetValue(r, i), 2);
+			}
+			Assert.assertEquals(1, norm, eps);
+		}
+		compareMatrices(ret1[0], ret2[0], 0);
+		compareMatrices(ret1[1], ret2[1], 0);
+	}
+
+	@Test
+	public void testInverse() throws DMLRuntimeException {
+		double[][] A = TestUtils.generateTestMatrix(rows, rows, -1, 1, 1.0, 5);
+		MatrixBlock ret1 = LibMatrixDecomp.inverse(toMatrixBlock(A), 1);
+		MatrixBlock ret2 = LibMatrixDecomp.inverse(toMatrixBlock(A), threads);
+		RealMatrix inv = new QRDecomposition(new Array2DRowRealMatrix(A)).getSolver().getInverse();
+		compareMatrices(inv.getData(), ret1, 1e-6);
+		compareMatrices(ret1, ret2, 0);
+	}
+
+	@Test(expected=DMLRuntimeException.class)
+	public void testInverseSingular() throws DMLRuntimeException {
+		double[][] A = TestUtils.generateTestMatrix(rows, rows, -1, 1, 1.0, 5);
+		A[rows-1] = A[0].clone(); //identical rows
+		LibMatrixDecomp.inverse(toMatrixBlock(A), threads);
+	}
+
+	@Test
+	public void testSolveGeneral() throws DMLRuntimeException {
+		runSolveTest(TestUtils.generateTestMatrix(rows, rows, -1, 1, 1.0, 9), 1e-6);
+	}
+
+	@Test
+	public void testSolveSymmetricPositiveDefinite() throws DMLRuntimeException {
+		runSolveTest(createSPDMatrix(rows, 13), eps);
+	}
+
+	@Test
+	public void testSolveLeastSquares() throws DMLRuntimeException {
+		runSolveTest(TestUtils.generateTestMatrix(rows, cols, -1, 1, 1.0, 17), eps);
+	}
+
+	private void runQRTest(int m, int n) throws DMLRuntimeException {
+		double[][] A = TestUtils.generateTestMatrix(m, n, -1, 1, 1.0, 19);
+		MatrixBlock[] ret1 = LibMatrixDecomp.qr(toMatrixBlock(A), 1);
+		MatrixBlock[] ret2 = LibMatrixDecomp.qr(toMatrixBlock(A), threads);
+		QRDecomposition qr = new QRDecomposition(new Array2DRowRealMatrix(A));
+		compareMatrices(qr.getH().getData(), ret1[0], eps);
+		compareMatrices(qr.getR().getData(), ret1[1], eps);
+		compareMatrices(ret1[0], ret2[0], 0);
+		compareMatrices(ret1[1], ret2[1], 0);
+	}
+
+	private void runSolveTest(double[][] A, double tol) throws DMLRuntimeException {
+		double[][] B = TestUtils.generateTestMatrix(A.length, 3, -1, 1, 1.0, 23);
+		MatrixBlock ret1 = LibMatrixDecomp.solve(toMatrixBlock(A), toMatrixBlock(B), 1);
+		MatrixBlock ret2 = LibMatrixDecomp.solve(toMatrixBlock(A), toMatrixBlock(B), threads);
+		RealMatrix X = new QRDecomposition(new Array2DRowRealMatrix(A))
+			.getSolver().solve(new Array2DRowRealMatrix(B));
+		compareMatrices(X.getData(), ret1, tol);
+		compareMatrices(ret1, ret2, 0);
+	}
+
+	private static double[][] createSPDMatrix(int n, long seed) {
+		//A = t(X) %*% X + n * I
+		double[][] X = TestUtils.generateTestMatrix(n, n, -1, 1, 1.0, seed);
+		double[][] A = new double[n][n];
+		for( int i=0; i<n; i++ )
+			for( int j=0; j<=i; j++ ) {
+				double s = (i==j) ? n : 0;
+				for( int r=0; r<n; r++ )
+					s += X[r][i] * X[r][j];
+				A[i][j] = A[j][i] = s;
+			}
+		return A;
+	}
+
+	private static MatrixBlock toMatrixBlock(double[][] A) throws DMLRuntimeException {
+		return DataConverter.convertToMatrixBlock(A);
+	}
+
+	private static void compareMatrices(double[][] expected, MatrixBlock actual, double tol) {
+		TestUtils.compareMatrices(expected, DataConverter.convertToDoubleMatrix(actual),
+			expected.length, expected[0].length, tol);
+	}
+
+	private static void compareMatrices(MatrixBlock expected, MatrixBlock actual, double tol) {
+		compareMatrices(DataConverter.convertToDoubleMatrix(expected), actual, tol);
+	}
+}
@@ -41,8 +41,10 @@ import org.junit.runners.Suite;
 	
 	MapMultChainTest.class,
 	MapMultLimitTest.class,
+	MatrixMultDenseDenseTest.class,
 	MatrixMultiplicationTest.class,
 	MatrixVectorTest.class,
+	MultiThreadedUaggOuterChainTest.class,
 	OuterProductTest.class,
 	QuantileTest.class,
 	ScalarAdditionTest.class,
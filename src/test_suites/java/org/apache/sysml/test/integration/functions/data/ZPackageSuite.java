@@ -28,6 +28,7 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
 	FullReblockTest.class,
 	FullStringInitializeTest.class,
+	MultiThreadedDatagenTest.class,
 	RandTest1.class,
 	RandTest2.class,
 	RandTest3.class,
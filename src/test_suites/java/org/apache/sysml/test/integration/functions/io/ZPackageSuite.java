@@ -33,6 +33,7 @@ import org.junit.runners.Suite;
 	IOTest4.class,
 	IOTest5.class,
 	ScalarIOTest.class,
+	ParReadSparseBlockTest.class,
 	SeqParReadTest.class
 })
 
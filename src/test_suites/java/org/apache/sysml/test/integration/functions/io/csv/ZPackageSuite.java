@@ -27,7 +27,9 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
 	CSVParametersTest.class,
+	CSVTokenizerTest.class,
 	FormatChangeTest.class,
+	ReadCSVParallelTest.class,
 	ReadCSVTest.class,
 	WriteCSVTest.class
 })
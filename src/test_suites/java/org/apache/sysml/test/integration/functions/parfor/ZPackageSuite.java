@@ -27,6 +27,7 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
 	ForLoopPredicateTest.class,
+	ParForAdmissionControlTest.class,
 	ParForAdversarialLiteralsTest.class,
 	ParForColwiseDataPartitioningTest.class,
 	ParForDataPartitionLeftIndexingTest.class,
@@ -28,9 +28,11 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
 	Conv2DBackwardDataTest.class,
 	Conv2DBackwardTest.class,
+	Conv2DBatchedTest.class,
 	Conv2DTest.class,
 	PoolBackwardTest.class,
-	PoolTest.class
+	PoolTest.class,
+	SparseDNNTest.class
 })
 
 
@@ -29,6 +29,7 @@ import org.junit.runners.Suite;
 	CentralMomentWeightsTest.class,
 	CovarianceWeightsTest.class,
 	CTableMatrixIgnoreZerosTest.class,
+	CTableMapTest.class,
 	CTableSequenceTest.class,
 	QuantileWeightsTest.class,
 	TableOutputTest.class,